@@ -0,0 +1,98 @@
+package bench;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import game.AutoDecisions;
+import game.BinaryCache;
+import game.Board;
+import game.BoardGenerator;
+import game.CardDecks;
+import game.GameEngine;
+import game.GameRandom;
+
+/**
+ * The data shared by the benchmarks: the paths of the game files, the players of
+ * a benchmark game and a generator for boards of any size. The benchmarks are
+ * run from the GameOfStrife folder, so the data files are found the same way the
+ * game finds them.
+ */
+public final class BenchmarkData {
+	public static final String DATA_PATH = "./data/";
+	public static final String PATH1 = DATA_PATH + "path1.json";
+	public static final String PATH2 = DATA_PATH + "path2.json";
+	public static final String CARDS1 = DATA_PATH + "cards1.json";
+
+	public static final int DIE_FACES = 6;
+	public static final int WIN_POINTS = 3;
+	public static final int MAX_TURNS = 100000;
+	public static final String[][] PLAYER_INFO = { { "Player 1", "Netherlands" }, { "Player 2", "Morocco" },
+			{ "Player 3", "Friesland" }, { "Player 4", "Hungary" } };
+
+	private BenchmarkData() {
+	}
+
+	/**
+	 * Loads a board the way the game does.
+	 *
+	 * @param path the path of the board file
+	 * @return the loaded board
+	 */
+	public static Board loadBoard(String path) {
+		Board board = new Board();
+		board.loadPathFromJson(path);
+		return board;
+	}
+
+	/**
+	 * Loads the card decks the way the game does.
+	 *
+	 * @param path the path of the card file
+	 * @return the loaded card decks
+	 */
+	public static CardDecks loadCards(String path) {
+		CardDecks cardDecks = new CardDecks();
+		cardDecks.loadCardDeckFromJson(path);
+		return cardDecks;
+	}
+
+	/**
+	 * Starts a seeded headless game with computer players.
+	 *
+	 * @param board     the board to play on
+	 * @param cardDecks the card decks to play with
+	 * @param seed      the seed of the game
+	 * @return the new game
+	 */
+	public static GameEngine newGame(Board board, CardDecks cardDecks, long seed) {
+		GameRandom random = new GameRandom(seed);
+		return new GameEngine(board, cardDecks, DIE_FACES, WIN_POINTS, PLAYER_INFO,
+				new AutoDecisions(random.split()), random);
+	}
+
+	/**
+	 * Writes a board made by the BoardGenerator with the given number of tiles to a
+	 * temporary file, with the default settings of the generator: one big loop in
+	 * which one in ten tiles is a branch point and one in a thousand a victory
+	 * tile, so the generated boards have the same mix of forced runs and choices
+	 * as the real ones at any size. The binary form is written only when the
+	 * board is first loaded, like for a board that was made by hand.
+	 *
+	 * @param tiles the number of tiles, at least 2
+	 * @return the file with the board, deleted with its binary form when the JVM
+	 *         exits
+	 * @throws IOException if the file cannot be written
+	 */
+	public static File generateBoard(int tiles) throws IOException {
+		File file = File.createTempFile("generated-board-" + tiles + "-", ".json");
+		file.deleteOnExit();
+		BinaryCache.binaryFile(file.getPath()).deleteOnExit();
+		try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+			new BoardGenerator(tiles, 1).write(writer);
+		}
+		return file;
+	}
+}
@@ -0,0 +1,90 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import game.ActiveEffect;
+import game.Board;
+import game.Card;
+import game.CardDecks;
+import game.GameEngine;
+import game.Player;
+import game.Tile;
+
+/**
+ * Measures drawing cards and the countdown of the effects of the cards, which
+ * runs every time the turn passes to the next player.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+@State(Scope.Thread)
+public class CardBenchmark {
+	private CardDecks cardDecks;
+	private Player player;
+	private Tile[] tiles;
+	private int next;
+
+	@Setup
+	public void setUp() {
+		Board board = BenchmarkData.loadBoard(BenchmarkData.PATH1);
+		cardDecks = BenchmarkData.loadCards(BenchmarkData.CARDS1);
+		player = BenchmarkData.newGame(board, cardDecks, 1).getCurrentPlayer();
+		tiles = board.getAllTiles().toArray(new Tile[0]);
+	}
+
+	/**
+	 * A game where one card effect ends every turn and a new one is started, so the
+	 * number of active effects stays the same during the countdown.
+	 */
+	@State(Scope.Thread)
+	public static class Countdown {
+		@Param({ "0", "16", "256" })
+		public int activeEffects;
+
+		private GameEngine game;
+		private Card card;
+
+		@Setup
+		public void setUp() {
+			CardDecks cardDecks = BenchmarkData.loadCards(BenchmarkData.CARDS1);
+			game = BenchmarkData.newGame(BenchmarkData.loadBoard(BenchmarkData.PATH1), cardDecks, 1);
+			card = cardDecks.getCardsByType("red").get(0);
+			for (int duration = 1; duration <= activeEffects; duration++) {
+				game.getEffectScheduler().schedule(card, game.getCurrentPlayer(), ActiveEffect.Kind.INCOME, 0,
+						duration);
+			}
+		}
+	}
+
+	@Benchmark
+	public Card drawCard() {
+		player.setCurrentTile(tiles[next]);
+		next = next + 1 == tiles.length ? 0 : next + 1;
+		return player.drawCard(cardDecks);
+	}
+
+	@Benchmark
+	public int effectCountdown(Countdown countdown) {
+		GameEngine game = countdown.game;
+		if (countdown.activeEffects > 0) {
+			game.getEffectScheduler().schedule(countdown.card, game.getCurrentPlayer(), ActiveEffect.Kind.INCOME, 0,
+					countdown.activeEffects);
+		}
+		game.nextTurn();
+		return game.getEffectScheduler().size();
+	}
+}
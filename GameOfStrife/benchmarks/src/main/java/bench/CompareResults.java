@@ -0,0 +1,70 @@
+package bench;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * Compares two JMH result files written with "-rf json" and prints the score of
+ * every benchmark in both files and how much faster (above 1) or slower (below
+ * 1) the new result is.
+ *
+ * Usage: java -cp benchmarks/target/benchmarks.jar bench.CompareResults
+ * benchmarks/baseline/baseline.json new.json
+ */
+public final class CompareResults {
+	private CompareResults() {
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length != 2) {
+			System.err.println("Usage: CompareResults <baseline.json> <new.json>");
+			System.exit(1);
+		}
+		Map<String, JSONObject> baseline = readResults(args[0]);
+		Map<String, JSONObject> current = readResults(args[1]);
+
+		System.out.printf("%-90s %14s %14s %8s%n", "Benchmark", "Baseline", "New", "Speedup");
+		for (Map.Entry<String, JSONObject> entry : current.entrySet()) {
+			JSONObject now = entry.getValue();
+			JSONObject before = baseline.get(entry.getKey());
+			double score = now.getDouble("score");
+			String unit = now.getString("scoreUnit");
+			if (before == null) {
+				System.out.printf("%-90s %14s %14.3f %8s %s%n", entry.getKey(), "-", score, "-", unit);
+			} else {
+				double old = before.getDouble("score");
+				System.out.printf("%-90s %14.3f %14.3f %8.2f %s%n", entry.getKey(), old, score, old / score, unit);
+			}
+		}
+	}
+
+	/**
+	 * Reads the primary results of a JMH result file, keyed on the name of the
+	 * benchmark and its parameters.
+	 */
+	private static Map<String, JSONObject> readResults(String path) throws IOException {
+		String json = new String(Files.readAllBytes(Paths.get(path)), StandardCharsets.UTF_8);
+		JSONArray runs = new JSONArray(json);
+		Map<String, JSONObject> results = new LinkedHashMap<>();
+		for (int i = 0; i < runs.length(); i++) {
+			JSONObject run = runs.getJSONObject(i);
+			StringBuilder key = new StringBuilder(run.getString("benchmark").replace("bench.", ""));
+			JSONObject params = run.optJSONObject("params");
+			if (params != null) {
+				for (String name : new TreeSet<>(params.keySet())) {
+					key.append(' ').append(name).append('=').append(params.getString(name));
+				}
+			}
+			results.put(key.toString(), run.getJSONObject("primaryMetric"));
+		}
+		return results;
+	}
+}
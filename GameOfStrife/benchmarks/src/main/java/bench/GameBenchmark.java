@@ -0,0 +1,61 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import game.Board;
+import game.CardDecks;
+import game.GameEngine;
+
+/**
+ * Measures complete headless games between computer players, from the first
+ * turn until a player has won. Every game has its own seed, the board and the
+ * card decks are loaded once. playGameFromFiles also loads the board and the cards for
+ * every game, as a single game started from the command line does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+@State(Scope.Thread)
+public class GameBenchmark {
+	@Param({ BenchmarkData.PATH1 })
+	public String boardPath;
+
+	private Board board;
+	private CardDecks cardDecks;
+	private long seed;
+
+	@Setup
+	public void setUp() {
+		board = BenchmarkData.loadBoard(boardPath);
+		cardDecks = BenchmarkData.loadCards(BenchmarkData.CARDS1);
+	}
+
+	@Benchmark
+	public int playGame() {
+		GameEngine game = BenchmarkData.newGame(board, cardDecks, seed++);
+		game.playGame(BenchmarkData.MAX_TURNS);
+		return game.getTurnsPlayed();
+	}
+
+	@Benchmark
+	public int playGameFromFiles() {
+		GameEngine game = BenchmarkData.newGame(BenchmarkData.loadBoard(boardPath),
+				BenchmarkData.loadCards(BenchmarkData.CARDS1), seed++);
+		game.playGame(BenchmarkData.MAX_TURNS);
+		return game.getTurnsPlayed();
+	}
+}
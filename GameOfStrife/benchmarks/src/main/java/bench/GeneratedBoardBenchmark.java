@@ -0,0 +1,81 @@
+package bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import game.Board;
+import game.BoardReader;
+import game.CompiledBoard;
+import game.GameEngine;
+import game.Player;
+import game.Tile;
+
+/**
+ * Measures how loading, compiling and moving over a board scale with its size,
+ * on generated boards from a hundred to a million tiles. loadPathFromJson uses
+ * the binary form of the board, readPathJson always reads the JSON text. The
+ * large boards need a large heap, so the benchmarks run in forks with 4 GB.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(value = 3, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+@State(Scope.Thread)
+public class GeneratedBoardBenchmark {
+	@Param({ "100", "10000", "1000000" })
+	public int tiles;
+
+	private File boardFile;
+	private Board board;
+	private GameEngine game;
+	private Player player;
+	private Tile[] allTiles;
+	private int next;
+
+	@Setup
+	public void setUp() throws IOException {
+		boardFile = BenchmarkData.generateBoard(tiles);
+		board = BenchmarkData.loadBoard(boardFile.getPath());
+		game = BenchmarkData.newGame(board, BenchmarkData.loadCards(BenchmarkData.CARDS1), 1);
+		player = game.getCurrentPlayer();
+		allTiles = board.getAllTiles().toArray(new Tile[0]);
+	}
+
+	@Benchmark
+	public Board loadPathFromJson() {
+		return BenchmarkData.loadBoard(boardFile.getPath());
+	}
+
+	@Benchmark
+	public CompiledBoard readPathJson() throws IOException {
+		return BoardReader.read(boardFile.getPath());
+	}
+
+	@Benchmark
+	public CompiledBoard compile() {
+		return new CompiledBoard(board.getAllTiles());
+	}
+
+	@Benchmark
+	public Tile move() {
+		player.setResources(0);
+		player.setCurrentTile(allTiles[next]);
+		next = (next + 7919) % allTiles.length;
+		player.move(BenchmarkData.DIE_FACES, game);
+		return player.getCurrentTile();
+	}
+}
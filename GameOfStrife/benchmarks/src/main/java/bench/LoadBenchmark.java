@@ -0,0 +1,53 @@
+package bench;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import game.Board;
+import game.BoardReader;
+import game.CardDecks;
+import game.CompiledBoard;
+
+/**
+ * Measures loading the board and the card decks from their JSON files, which
+ * happens at the start of every game. readPathJson always reads the JSON text,
+ * without the binary form that loadPathFromJson uses when it is up to date.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+public class LoadBenchmark {
+	@State(Scope.Benchmark)
+	public static class BoardFile {
+		@Param({ BenchmarkData.PATH1, BenchmarkData.PATH2 })
+		public String boardPath;
+	}
+
+	@Benchmark
+	public Board loadPathFromJson(BoardFile file) {
+		return BenchmarkData.loadBoard(file.boardPath);
+	}
+
+	@Benchmark
+	public CompiledBoard readPathJson(BoardFile file) throws IOException {
+		return BoardReader.read(file.boardPath);
+	}
+
+	@Benchmark
+	public CardDecks loadCardDeckFromJson() {
+		return BenchmarkData.loadCards(BenchmarkData.CARDS1);
+	}
+}
@@ -0,0 +1,80 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import game.AutoDecisions;
+import game.Board;
+import game.CardDecks;
+import game.CompiledBoard;
+import game.GameEngine;
+import game.GameRandom;
+import game.Player;
+import game.Tile;
+
+/**
+ * Measures Player.move on the real boards. Every move starts
+ * on the next tile of the board, so all tiles and all branch points are used.
+ * With stepByStep the game hides its compiled board and the player walks the
+ * lists of next tiles one step at a time, as a reference for the compiled moves.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+@State(Scope.Thread)
+public class MoveBenchmark {
+	@Param({ BenchmarkData.PATH1, BenchmarkData.PATH2 })
+	public String boardPath;
+
+	@Param({ "6", "60" })
+	public int dieValue;
+
+	@Param({ "false", "true" })
+	public boolean stepByStep;
+
+	private GameEngine game;
+	private Player player;
+	private Tile[] tiles;
+	private int next;
+
+	@Setup
+	public void setUp() {
+		Board board = BenchmarkData.loadBoard(boardPath);
+		CardDecks cardDecks = BenchmarkData.loadCards(BenchmarkData.CARDS1);
+		if (stepByStep) {
+			game = new GameEngine(board, cardDecks, BenchmarkData.DIE_FACES, BenchmarkData.WIN_POINTS,
+					BenchmarkData.PLAYER_INFO, new AutoDecisions(new GameRandom(1)), new GameRandom(1)) {
+				@Override
+				public CompiledBoard getCompiledBoard() {
+					return null;
+				}
+			};
+		} else {
+			game = BenchmarkData.newGame(board, cardDecks, 1);
+		}
+		player = game.getCurrentPlayer();
+		tiles = board.getAllTiles().toArray(new Tile[0]);
+	}
+
+	@Benchmark
+	public Tile move() {
+		player.setResources(0);
+		player.setCurrentTile(tiles[next]);
+		next = next + 1 == tiles.length ? 0 : next + 1;
+		player.move(dieValue, game);
+		return player.getCurrentTile();
+	}
+}
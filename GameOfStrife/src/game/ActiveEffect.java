@@ -0,0 +1,90 @@
+package game;
+
+/**
+ * An ActiveEffect is a card effect with a duration, like a higher income or a
+ * die with more faces. It remembers which card caused it, which player drew
+ * that card and at which turn of the EffectScheduler it expires, so the effect
+ * is always undone for the right player.
+ */
+public final class ActiveEffect {
+
+	/**
+	 * The kinds of effects a card can have for a number of turns.
+	 */
+	public enum Kind {
+		// The income of the owner is changed
+		INCOME,
+		// The number of faces of the die is changed
+		DIE_FACES,
+		// The owner takes extra steps on every roll
+		STEPS_BONUS
+	}
+
+	private final Card card;
+	private final Player owner;
+	private final Kind kind;
+	private final int value;
+	private final long expiryTurn;
+	private final long sequence;
+
+	/**
+	 * Constructs an active effect. Effects are created by the EffectScheduler.
+	 *
+	 * @param card       the card that caused the effect
+	 * @param owner      the player that drew the card
+	 * @param kind       what the effect changes
+	 * @param value      by how much it was changed
+	 * @param expiryTurn the turn of the scheduler at which the effect ends
+	 * @param sequence   the order in which the effects were scheduled
+	 */
+	ActiveEffect(Card card, Player owner, Kind kind, int value, long expiryTurn, long sequence) {
+		this.card = card;
+		this.owner = owner;
+		this.kind = kind;
+		this.value = value;
+		this.expiryTurn = expiryTurn;
+		this.sequence = sequence;
+	}
+
+	/**
+	 * @return the card that caused the effect
+	 */
+	public Card getCard() {
+		return card;
+	}
+
+	/**
+	 * @return the player that drew the card
+	 */
+	public Player getOwner() {
+		return owner;
+	}
+
+	/**
+	 * @return what the effect changes
+	 */
+	public Kind getKind() {
+		return kind;
+	}
+
+	/**
+	 * @return by how much the effect changed the income, die faces or steps
+	 */
+	public int getValue() {
+		return value;
+	}
+
+	/**
+	 * @return the turn of the scheduler at which the effect ends
+	 */
+	public long getExpiryTurn() {
+		return expiryTurn;
+	}
+
+	/**
+	 * @return the order in which the effects were scheduled
+	 */
+	long getSequence() {
+		return sequence;
+	}
+}
@@ -0,0 +1,67 @@
+package game;
+
+import java.util.List;
+import static game.SymbolicConstants.*;
+
+/**
+ * AutoDecisions is a GameDecisions implementation without any user interface.
+ * It picks paths, options and target players at random and always buys a
+ * victory point when it can afford one. It is used to play complete games
+ * headless, for instance for simulations and tests.
+ */
+public class AutoDecisions implements GameDecisions {
+	private GameRandom random;
+
+	/**
+	 * Constructs an AutoDecisions that makes its choices with a new random
+	 * source.
+	 */
+	public AutoDecisions() {
+		this(new GameRandom());
+	}
+
+	/**
+	 * Constructs an AutoDecisions that makes its choices with the given random
+	 * source, so its choices can be reproduced.
+	 *
+	 * @param random the random source used for every choice
+	 */
+	public AutoDecisions(GameRandom random) {
+		this.random = random;
+	}
+
+	@Override
+	public int choosePath(Player player, List<Tile> nextTiles) {
+		return random.nextInt(nextTiles.size());
+	}
+
+	@Override
+	public boolean buyVictoryPoint(Player player) {
+		return player.getResources() >= VICTORY_POINT_COST;
+	}
+
+	@Override
+	public int choosePlayer(Card card, Player player, List<Player> otherPlayers) {
+		return random.nextInt(otherPlayers.size());
+	}
+
+	@Override
+	public int chooseOption(Card card, Player player, String[] options) {
+		return random.nextInt(options.length);
+	}
+
+	@Override
+	public void showCard(Card card, String title) {
+		// Nothing to show without a user interface
+	}
+
+	@Override
+	public void showMessage(String title, String message) {
+		// Nothing to show without a user interface
+	}
+
+	@Override
+	public void gameOver(Player winner) {
+		// The engine keeps track of the winner itself
+	}
+}
@@ -0,0 +1,343 @@
+package game;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import static game.SymbolicConstants.*;
+
+/**
+ * BinaryCache keeps a compiled binary form of every board and card file next to
+ * the JSON file, as "path1.json.bin". The binary form starts with the SHA-256
+ * hash of the JSON it was made from, so it is used as long as the content of
+ * the JSON is the same, and made again from the JSON as soon as it changes. The
+ * length and modification time of the JSON are kept as well, so the hash is
+ * only computed again when one of them has changed.
+ *
+ * The binary files are read through a memory-mapped FileChannel. A board is a
+ * few int arrays that are copied out in bulk, and the cards are stored as their
+ * compiled CardEffects, with the types and descriptions in one string table.
+ * Starting a game or a simulation worker then costs about as much as creating
+ * the tiles and cards, without org.json, and every process on the same machine
+ * reads the same pages of the page cache.
+ *
+ * The cache is only an optimization: when a binary file cannot be read or
+ * written (for instance in a read-only folder) the JSON is used as before. Run
+ * with -Dgameofstrife.binaryCache=false to always read the JSON.
+ */
+public final class BinaryCache {
+	public static final String EXTENSION = ".bin";
+	public static final String ENABLED_PROPERTY = "gameofstrife.binaryCache";
+
+	private static final int MAGIC = 0x474f5342; // "GOSB"
+	private static final int VERSION = 2;
+	private static final byte KIND_BOARD = 1;
+	private static final byte KIND_CARDS = 2;
+	private static final int HASH_LENGTH = 32;
+
+	/**
+	 * Writes the payload of a binary file.
+	 */
+	private interface Payload {
+		void write(DataOutputStream out) throws IOException;
+	}
+
+	/**
+	 * The JSON file a binary form is made from, with its hash computed only when
+	 * it is needed.
+	 */
+	private static final class Source {
+		private final String filePath;
+		private final long length;
+		private final long lastModified;
+		private byte[] hash;
+		// Whether the binary form has the right hash but an old length or time
+		private boolean outdated;
+
+		Source(String filePath) throws IOException {
+			File file = new File(filePath);
+			if (!file.isFile()) {
+				throw new NoSuchFileException(filePath);
+			}
+			this.filePath = filePath;
+			this.length = file.length();
+			this.lastModified = file.lastModified();
+		}
+
+		byte[] hash() throws IOException {
+			if (hash == null) {
+				hash = BinaryCache.hash(filePath);
+			}
+			return hash;
+		}
+	}
+
+	private BinaryCache() {
+	}
+
+	/**
+	 * @return whether the binary files are used, which is the default
+	 */
+	public static boolean isEnabled() {
+		return !"false".equalsIgnoreCase(System.getProperty(ENABLED_PROPERTY));
+	}
+
+	/**
+	 * Loads a board file as a compiled board, from its binary form if that was
+	 * made from the same JSON, and otherwise from the JSON, after which the binary
+	 * form is written for the next time.
+	 *
+	 * @param filePath the path to the JSON file containing the board layout
+	 * @return the compiled board with linked tiles
+	 * @throws IOException            if the JSON file cannot be read
+	 * @throws org.json.JSONException if the JSON file is not a valid board
+	 */
+	public static CompiledBoard loadBoard(String filePath) throws IOException {
+		if (!isEnabled()) {
+			return BoardReader.read(filePath);
+		}
+		Source source = new Source(filePath);
+		ByteBuffer cached = open(source, KIND_BOARD);
+		if (cached != null) {
+			try {
+				CompiledBoard board = CompiledBoard.read(cached);
+				if (source.outdated) {
+					save(source, KIND_BOARD, board::write);
+				}
+				return board;
+			} catch (BufferUnderflowException | IllegalArgumentException e) {
+				// A damaged binary file is made again from the JSON
+			}
+		}
+		source.hash();
+		CompiledBoard board = BoardReader.read(filePath);
+		save(source, KIND_BOARD, board::write);
+		return board;
+	}
+
+	/**
+	 * Writes the binary form of a board file from a board that was compiled some
+	 * other way, like a generated board, so the first load does not parse the JSON
+	 * either. The board must be the same as the one in the JSON file.
+	 *
+	 * @param filePath the path to the JSON file containing the board layout
+	 * @param board    the compiled board of the file
+	 * @throws IOException if the JSON file cannot be read
+	 */
+	public static void saveBoard(String filePath, CompiledBoard board) throws IOException {
+		if (isEnabled()) {
+			save(new Source(filePath), KIND_BOARD, board::write);
+		}
+	}
+
+	/**
+	 * Loads the compiled cards of a card file, from its binary form if that was
+	 * made from the same JSON, and otherwise by parsing and compiling the JSON,
+	 * after which the binary form is written for the next time.
+	 *
+	 * @param filePath the path to the JSON file containing card data
+	 * @return the cards in the order of the file
+	 * @throws IOException              if the JSON file cannot be read
+	 * @throws org.json.JSONException   if the JSON file is not valid card JSON
+	 * @throws IllegalArgumentException if a card cannot be compiled
+	 */
+	public static List<Card> loadCards(String filePath) throws IOException {
+		if (!isEnabled()) {
+			return CardCatalog.parseCards(readCards(filePath));
+		}
+		Source source = new Source(filePath);
+		ByteBuffer cached = open(source, KIND_CARDS);
+		if (cached != null) {
+			try {
+				List<Card> cards = CardCatalog.readCards(cached);
+				if (source.outdated) {
+					save(source, KIND_CARDS, out -> CardCatalog.writeCards(out, cards));
+				}
+				return cards;
+			} catch (BufferUnderflowException | IllegalArgumentException e) {
+				// A damaged binary file is made again from the JSON
+			}
+		}
+		source.hash();
+		List<Card> cards = CardCatalog.parseCards(readCards(filePath));
+		save(source, KIND_CARDS, out -> CardCatalog.writeCards(out, cards));
+		return cards;
+	}
+
+	/**
+	 * @param filePath the path to a JSON file
+	 * @return the path of its binary form
+	 */
+	public static File binaryFile(String filePath) {
+		return new File(filePath + EXTENSION);
+	}
+
+	/**
+	 * Parses the cards of a card file from its JSON text.
+	 */
+	private static JSONArray readCards(String filePath) throws IOException {
+		String json = new String(Files.readAllBytes(new File(filePath).toPath()), StandardCharsets.UTF_8);
+		return new JSONObject(json).getJSONArray(JSON_CARDS);
+	}
+
+	/**
+	 * Computes the SHA-256 hash of the content of a file, read through a
+	 * memory-mapped buffer.
+	 */
+	private static byte[] hash(String filePath) throws IOException {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+		try (FileChannel channel = FileChannel.open(new File(filePath).toPath(), StandardOpenOption.READ)) {
+			long size = channel.size();
+			long position = 0;
+			while (position < size) {
+				long length = Math.min(size - position, Integer.MAX_VALUE);
+				digest.update(channel.map(FileChannel.MapMode.READ_ONLY, position, length));
+				position += length;
+			}
+		}
+		return digest.digest();
+	}
+
+	/**
+	 * Maps the binary form of a JSON file and checks its header. When the length
+	 * and modification time of the JSON are the same as when the binary form was
+	 * made, the JSON is not read at all; otherwise the binary form is only used if
+	 * the hash of the JSON is still the same.
+	 *
+	 * @return the buffer at the start of the payload, or null if there is no
+	 *         usable binary form made from the same JSON
+	 */
+	private static ByteBuffer open(Source source, byte kind) {
+		Path path = binaryFile(source.filePath).toPath();
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION || buffer.get() != kind) {
+				return null;
+			}
+			long length = buffer.getLong();
+			long lastModified = buffer.getLong();
+			byte[] stored = new byte[HASH_LENGTH];
+			buffer.get(stored);
+			if (length == source.length && lastModified == source.lastModified) {
+				return buffer;
+			}
+			source.outdated = true;
+			return Arrays.equals(stored, source.hash()) ? buffer : null;
+		} catch (IOException | BufferUnderflowException e) {
+			// No binary form yet, or one that cannot be read. When the JSON itself
+			// cannot be read, that is reported when it is parsed.
+			return null;
+		}
+	}
+
+	/**
+	 * Writes the binary form of a JSON file. The file is written under a temporary
+	 * name and then moved into place, so other processes never map half a file.
+	 * It gets the permissions of the JSON, so every user that can read the JSON
+	 * can map the binary form as well. Failing to write the binary form is not an
+	 * error.
+	 */
+	private static void save(Source source, byte kind, Payload payload) {
+		Path target = binaryFile(source.filePath).getAbsoluteFile().toPath();
+		Path temporary = null;
+		try {
+			temporary = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+			try (OutputStream file = Files.newOutputStream(temporary);
+					DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeByte(kind);
+				out.writeLong(source.length);
+				out.writeLong(source.lastModified);
+				out.write(source.hash());
+				payload.write(out);
+			}
+			copyPermissions(Paths.get(source.filePath), temporary);
+			try {
+				Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} catch (IOException | SecurityException e) {
+			// Without a binary form the JSON is simply parsed again next time
+			if (temporary != null) {
+				temporary.toFile().delete();
+			}
+		}
+	}
+
+	/**
+	 * Gives a file the read and write permissions of another file. A temporary
+	 * file is only readable by its owner, which would keep processes of other
+	 * users from sharing the binary form. Without POSIX permissions (on Windows)
+	 * the file keeps the permissions of its folder.
+	 */
+	private static void copyPermissions(Path from, Path to) throws IOException {
+		try {
+			Set<PosixFilePermission> permissions = Files.getPosixFilePermissions(from);
+			permissions.remove(PosixFilePermission.OWNER_EXECUTE);
+			permissions.remove(PosixFilePermission.GROUP_EXECUTE);
+			permissions.remove(PosixFilePermission.OTHERS_EXECUTE);
+			Files.setPosixFilePermissions(to, permissions);
+		} catch (UnsupportedOperationException e) {
+			// The file system has no POSIX permissions
+		}
+	}
+
+	/**
+	 * Writes a string as its length and UTF-8 bytes.
+	 */
+	static void writeString(DataOutputStream out, String value) throws IOException {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	/**
+	 * Reads a string written by writeString.
+	 */
+	static String readString(ByteBuffer in) {
+		byte[] bytes = new byte[readLength(in)];
+		in.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Reads a length, which can never be more than the bytes that are left.
+	 */
+	static int readLength(ByteBuffer in) {
+		int length = in.getInt();
+		if (length < 0 || length > in.remaining()) {
+			throw new IllegalArgumentException("Invalid length " + length);
+		}
+		return length;
+	}
+}
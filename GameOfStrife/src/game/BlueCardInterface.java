@@ -1,9 +1,5 @@
 package game;
 
-import java.util.Map;
-
-import gui.GameOfStrife;
-
 public interface BlueCardInterface {
 
 	/**
@@ -12,13 +8,13 @@ public interface BlueCardInterface {
 	 * CHOICE_OPTIONS	-	Card that provides a choice between two options with set outcomes.
 	 * CHOICE_GAMBLE	-	Card that provides a choice between two options with set and/or random outcomes.
 	 */
-	void executeCard(GameOfStrife game);
+	void executeCard(GameEngine game);
 
 	/**
 	 * Logic for removing any active effects with a duration:
-	 * METHOD_CHANGE_STEPS		-		Subtracts the amount of steps defined on the card from the current player's step bonus.
-	 * METHOD_CHANGE_INCOME		-		Subtracts the income bonus defined on the card from the current player's income.
+	 * METHOD_CHANGE_STEPS		-		Subtracts the amount of steps defined on the card from the owner's step bonus.
+	 * METHOD_CHANGE_INCOME		-		Subtracts the income bonus defined on the card from the owner's income.
 	 */
-	void removeEffect(GameOfStrife game, Map<String, Object> effectData);
+	void removeEffect(GameEngine game, ActiveEffect effect);
 
 }
\ No newline at end of file
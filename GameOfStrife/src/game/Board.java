@@ -1,84 +1,57 @@
 package game;
 
 // Imports
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.HashMap;
 import java.util.Map;
 import javax.swing.*;
-import java.util.Random;
-
-import org.json.JSONArray;
-import org.json.JSONObject;
 
 public class Board {
 
 	// Creates a new arraylist pathList, a new hashmap tileMap, and a new arraylist
 	// victoryTiles
 	private List<Tile> pathList = new ArrayList<>();
-	private Map<Integer, Tile> tileMap = new HashMap<>(); // ID -> Tile for linking
+	private Map<Integer, Tile> tileMap = new HashMap<>(); // ID -> Tile, built when asked for
 	private List<Tile> victoryTiles = new ArrayList<>();
+	private CompiledBoard compiledBoard = new CompiledBoard(pathList);
 
 	/**
-	 * Loads all tiles from a JSON file and builds the game board. - Tiles are
-	 * stored in pathList (arraylist) and tileMap (hashmap). - Tiles marked as
-	 * "victory" are stored in victoryTiles. - Tile connections (via 'next') are
-	 * established. Exceptions are handled for when something is wrong with the name
-	 * and contents of the JSON.
+	 * Constructs an empty board, to be loaded with loadPathFromJson.
+	 */
+	public Board() {
+	}
+
+	/**
+	 * Constructs a board on a board that is already compiled, like one loaded by
+	 * BinaryCache.loadBoard. Unlike loadPathFromJson this shows no error dialog,
+	 * so the caller reports a file that cannot be loaded.
+	 *
+	 * @param compiledBoard the compiled board with linked tiles
+	 */
+	public Board(CompiledBoard compiledBoard) {
+		useCompiledBoard(compiledBoard);
+	}
+
+	/**
+	 * Loads all tiles from a JSON file and builds the game board. - The file is
+	 * read in one pass by BoardReader, straight into a CompiledBoard for fast
+	 * movement and lookups, without building the JSON in memory first. - The
+	 * compiled board is kept by BinaryCache, so next time it is mapped from its
+	 * binary form as long as the JSON has not changed. - Tiles are stored in
+	 * pathList in the order of the file. - Tiles marked as "victory" are stored
+	 * in victoryTiles, a missing "victory" counts as false. - Tile connections
+	 * (via 'next') are established, also to tiles later in the file. Exceptions
+	 * are handled for when something is wrong with the name and contents of the
+	 * JSON.
 	 * 
 	 * @param filePath the path to the JSON file containing the board layout
 	 */
 
 	public void loadPathFromJson(String filePath) {
 		try {
-			String jsonData = readJSONFile(filePath);
-			JSONObject jsonObject = new JSONObject(jsonData);
-			JSONArray pathArray = jsonObject.getJSONArray("path");
-
-			// Create and store all tiles
-			for (int i = 0; i < pathArray.length(); i++) {
-				JSONObject tileData = pathArray.getJSONObject(i);
-				Tile tile = new Tile(tileData.getInt("ID"), tileData.getString("type"), tileData.getInt("x_coord"),
-						tileData.getInt("y_coord"), tileData.getInt("width"), tileData.getInt("height"),
-						tileData.getBoolean("victory"));
-				tileMap.put(tile.getID(), tile);
-				pathList.add(tile);
-
-				if (tile.getVictory()) {
-					victoryTiles.add(tile);
-
-					// If no victory tiles exist, pick one tile randomly
-					if (this.victoryTiles.isEmpty()) {
-						Random rand = new Random();
-						Tile randomTile = this.pathList.get(rand.nextInt(this.pathList.size()));
-						this.victoryTiles.add(randomTile);
-					}
-				}
-
-			}
-
-			// Link tiles via their "next" connections
-			for (int i = 0; i < pathArray.length(); i++) {
-				JSONObject tileData = pathArray.getJSONObject(i);
-				int id = tileData.getInt("ID");
-				Tile tile = tileMap.get(id);
-
-				if (tileData.has("next")) {
-					JSONArray nextArray = tileData.getJSONArray("next");
-
-					for (int j = 0; j < nextArray.length(); j++) {
-						int nextID = nextArray.getInt(j);
-						Tile nextTile = tileMap.get(nextID);
-
-						if (nextTile != null) {
-							tile.addNextTile(nextTile);
-						}
-					}
-				}
-			}
+			useCompiledBoard(BinaryCache.loadBoard(filePath));
 
 		} catch (IOException e) {
 			handleFatalError("You don't have the correct path JSON file");
@@ -87,6 +60,22 @@ public class Board {
 		}
 	}
 
+	/**
+	 * Uses the tiles of a compiled board and collects its victory tiles.
+	 */
+	private void useCompiledBoard(CompiledBoard compiledBoard) {
+		this.compiledBoard = compiledBoard;
+		pathList = compiledBoard.getTiles();
+		tileMap = null;
+
+		victoryTiles = new ArrayList<>();
+		for (int i = 0; i < compiledBoard.size(); i++) {
+			if (compiledBoard.isVictory(i)) {
+				victoryTiles.add(compiledBoard.getTile(i));
+			}
+		}
+	}
+
 	/**
 	 * Displays an error message and stops the program.
 	 */
@@ -97,23 +86,18 @@ public class Board {
 	}
 
 	/**
-	 * Reads a JSON file from disk and returns its contents as a string.
-	 */
-	private static String readJSONFile(String filePath) throws IOException {
-		StringBuilder content = new StringBuilder();
-		try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-			String line;
-			while ((line = reader.readLine()) != null) {
-				content.append(line).append("\n"); // Add newline for better readability
-			}
-		}
-		return content.toString();
-	}
-
-	/**
+	 * Returns the tile map (ID -> Tile). The map is only built when it is asked
+	 * for, the game itself finds tiles through the compiled board.
+	 * 
 	 * @return the tile map (ID -> Tile)
 	 */
 	public Map<Integer, Tile> getPath() {
+		if (this.tileMap == null) {
+			this.tileMap = new HashMap<>();
+			for (Tile tile : pathList) {
+				this.tileMap.put(tile.getID(), tile);
+			}
+		}
 		return this.tileMap;
 	}
 
@@ -124,6 +108,23 @@ public class Board {
 		return this.pathList;
 	}
 
+	/**
+	 * @return the board compiled into arrays, for fast movement and lookups
+	 */
+	public CompiledBoard getCompiledBoard() {
+		return this.compiledBoard;
+	}
+
+	/**
+	 * Finds a tile by its ID in constant time.
+	 *
+	 * @param ID the ID of the tile
+	 * @return the Tile with the specified ID, or null if not found
+	 */
+	public Tile findTileByID(int ID) {
+		return this.compiledBoard.findTileByID(ID);
+	}
+
 	/**
 	 * @return the list of tiles that are marked as victory tiles
 	 */
@@ -134,25 +135,28 @@ public class Board {
 	/**
 	 * Gets the starting tile of the board. If no tile with type "start" is found,
 	 * it falls back to the tile with ID = 0. If neither are found, the program
-	 * exits with an error message.
+	 * exits with an error message. The start tile does not have to be the first
+	 * tile of the file.
 	 *
 	 * @return the starting Tile
 	 */
 	public Tile getStartingTile() {
-		for (Tile tile : pathList) {
-			if ("start".equalsIgnoreCase(tile.getType())) {
-				return tile;
-			} else if (tile.getID() == 0) {
-				return tile;
-			}
-
-			else {
-				handleErrorTile("You don't have a starting tile");
-
-			}
+		int startIndex = compiledBoard.getStartIndex();
+		if (startIndex == -1) {
+			handleErrorTile("You don't have a starting tile");
+			return null;
 		}
-		return null;
+		return compiledBoard.getTile(startIndex);
+	}
 
+	/**
+	 * Checks the loaded board for every defect at once, without exiting.
+	 *
+	 * @return the report with the defects of the board
+	 * @see BoardValidator#validate(String)
+	 */
+	public BoardReport validate() {
+		return BoardValidator.validate(compiledBoard);
 	}
 
 	/**
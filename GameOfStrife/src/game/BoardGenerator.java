@@ -0,0 +1,279 @@
+package game;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * A BoardGenerator makes boards of any size for scale and stress tests, in the
+ * same "path" JSON format as the boards in the data folder or straight into a
+ * CompiledBoard.
+ *
+ * A generated board is one big loop: the start tile 0 leads to tile 1, every
+ * tile leads to the next one, and the last tile leads back to tile 1. Branch
+ * points get shortcuts that skip ahead on the loop, so every tile can be
+ * reached and no player can get stuck, and the boards pass BoardValidator at
+ * any size. The tiles are laid out in rows that go left and right in turns, so
+ * a generated board can also be drawn by the BoardPanel.
+ *
+ * The same seed and settings always give the same board, whether it is written
+ * as JSON or generated in memory.
+ *
+ * Run it with: java -cp "bin:libs/json-20250107.jar" game.BoardGenerator
+ * [tiles] [file] [seed] [branch chance] [victory density]
+ */
+public class BoardGenerator {
+	private static final String[] COLOURS = { "green", "blue", "red", "white" };
+
+	private final int tileCount;
+	private final long seed;
+	private double branchChance = 0.1;
+	private int branchFactor = 2;
+	private int[] colourWeights = { 1, 1, 1, 1 };
+	private double victoryDensity = 0.001;
+	private int columns = 100;
+	private int tileSize = 50;
+
+	/**
+	 * Constructs a generator for boards with the given number of tiles. By default
+	 * one in ten tiles is a branch point with two next tiles, the colours are
+	 * equally likely and one in a thousand tiles is a victory tile.
+	 *
+	 * @param tileCount the number of tiles, including the start tile
+	 * @param seed      the seed of the board
+	 * @throws IllegalArgumentException if there are less than two tiles
+	 */
+	public BoardGenerator(int tileCount, long seed) {
+		if (tileCount < 2) {
+			throw new IllegalArgumentException("A board needs at least two tiles");
+		}
+		this.tileCount = tileCount;
+		this.seed = seed;
+	}
+
+	/**
+	 * Sets the chance that a tile is a branch point.
+	 *
+	 * @param branchChance the chance between 0 and 1
+	 */
+	public void setBranchChance(double branchChance) {
+		if (branchChance < 0 || branchChance > 1) {
+			throw new IllegalArgumentException("The branch chance must be between 0 and 1");
+		}
+		this.branchChance = branchChance;
+	}
+
+	/**
+	 * Sets the largest number of next tiles of a branch point. Every branch point
+	 * has between two and this number of next tiles.
+	 *
+	 * @param branchFactor the largest number of next tiles, at least 2
+	 */
+	public void setBranchFactor(int branchFactor) {
+		if (branchFactor < 2) {
+			throw new IllegalArgumentException("A branch point has at least two next tiles");
+		}
+		this.branchFactor = branchFactor;
+	}
+
+	/**
+	 * Sets how often each colour of tile is used, relative to each other.
+	 *
+	 * @param green the weight of green tiles
+	 * @param blue  the weight of blue tiles
+	 * @param red   the weight of red tiles
+	 * @param white the weight of white tiles
+	 */
+	public void setColourWeights(int green, int blue, int red, int white) {
+		if (green < 0 || blue < 0 || red < 0 || white < 0 || green + blue + red + white == 0) {
+			throw new IllegalArgumentException("The colour weights must be positive");
+		}
+		this.colourWeights = new int[] { green, blue, red, white };
+	}
+
+	/**
+	 * Sets the chance that a tile is a victory tile. The last tile is always a
+	 * victory tile when the density is not 0, so every board can be won.
+	 *
+	 * @param victoryDensity the chance between 0 and 1
+	 */
+	public void setVictoryDensity(double victoryDensity) {
+		if (victoryDensity < 0 || victoryDensity > 1) {
+			throw new IllegalArgumentException("The victory density must be between 0 and 1");
+		}
+		this.victoryDensity = victoryDensity;
+	}
+
+	/**
+	 * Sets the layout of the tiles.
+	 *
+	 * @param columns  the number of tiles in a row
+	 * @param tileSize the width and height of a tile
+	 */
+	public void setLayout(int columns, int tileSize) {
+		if (columns < 1 || tileSize < 1) {
+			throw new IllegalArgumentException("The layout needs at least one column of tiles of at least 1 pixel");
+		}
+		this.columns = columns;
+		this.tileSize = tileSize;
+	}
+
+	/**
+	 * @return the number of tiles of the generated boards
+	 */
+	public int getTileCount() {
+		return tileCount;
+	}
+
+	/**
+	 * Generates the board in memory, without writing any JSON.
+	 *
+	 * @return the compiled board with linked tiles
+	 */
+	public CompiledBoard generate() {
+		CompiledBoard.TileArrays tiles = new CompiledBoard.TileArrays(tileCount);
+		int[] nextOffsets = new int[tileCount + 1];
+		int[] nextIds = new int[tileCount + tileCount / 8];
+		int count = 0;
+
+		TileSequence sequence = new TileSequence();
+		while (sequence.advance()) {
+			int id = sequence.id;
+			tiles.add(id, sequence.type, sequence.x, sequence.y, tileSize, tileSize, sequence.victory);
+			nextOffsets[id] = count;
+			if (count + sequence.nextCount > nextIds.length) {
+				nextIds = Arrays.copyOf(nextIds, Math.max(count + sequence.nextCount, nextIds.length * 3 / 2));
+			}
+			System.arraycopy(sequence.next, 0, nextIds, count, sequence.nextCount);
+			count += sequence.nextCount;
+		}
+		nextOffsets[tileCount] = count;
+		return new CompiledBoard(tiles, nextOffsets, Arrays.copyOf(nextIds, count));
+	}
+
+	/**
+	 * Writes the board as JSON in the format of the boards in the data folder.
+	 * The tiles are written one by one, so boards of any size can be written.
+	 *
+	 * @param out the writer to write to
+	 * @throws IOException if the board cannot be written
+	 */
+	public void write(Writer out) throws IOException {
+		StringBuilder line = new StringBuilder(160);
+		out.write("{\n  \"path\": [\n");
+		TileSequence sequence = new TileSequence();
+		while (sequence.advance()) {
+			line.setLength(0);
+			line.append("    { \"ID\": ").append(sequence.id).append(", \"type\": \"").append(sequence.type)
+					.append("\", \"x_coord\": ").append(sequence.x).append(", \"y_coord\": ").append(sequence.y)
+					.append(", \"width\": ").append(tileSize).append(", \"height\": ").append(tileSize)
+					.append(", \"next\": [");
+			for (int i = 0; i < sequence.nextCount; i++) {
+				line.append(i == 0 ? "" : ",").append(sequence.next[i]);
+			}
+			line.append("], \"victory\": \"").append(sequence.victory ? "True" : "False").append("\" }")
+					.append(sequence.id == tileCount - 1 ? "\n" : ",\n");
+			out.append(line);
+		}
+		out.write("  ]\n}\n");
+	}
+
+	/**
+	 * Writes the board as a JSON file, together with its binary form so the first
+	 * load does not have to parse the JSON.
+	 *
+	 * @param filePath the path of the JSON file
+	 * @throws IOException if the file cannot be written
+	 */
+	public void writeFile(String filePath) throws IOException {
+		try (BufferedWriter out = Files.newBufferedWriter(Paths.get(filePath), StandardCharsets.UTF_8)) {
+			write(out);
+		}
+		BinaryCache.saveBoard(filePath, generate());
+	}
+
+	/**
+	 * Walks over the tiles of the board in the order of their IDs. Both the JSON
+	 * and the compiled board are made from the same walk, so they are always the
+	 * same board.
+	 */
+	private final class TileSequence {
+		private final GameRandom random = new GameRandom(seed);
+		private final int[] next = new int[branchFactor];
+		private final int totalWeight = colourWeights[0] + colourWeights[1] + colourWeights[2] + colourWeights[3];
+		private int id = -1;
+		private String type;
+		private boolean victory;
+		private int nextCount;
+		private int x;
+		private int y;
+
+		/**
+		 * Moves to the next tile.
+		 *
+		 * @return false if there are no more tiles
+		 */
+		boolean advance() {
+			if (++id == tileCount) {
+				return false;
+			}
+			int row = id / columns;
+			int column = row % 2 == 0 ? id % columns : columns - 1 - id % columns;
+			x = column * tileSize;
+			y = row * tileSize;
+
+			if (id == 0) {
+				type = "start";
+				victory = false;
+				next[0] = 1;
+				nextCount = 1;
+				return true;
+			}
+
+			int pick = random.nextInt(totalWeight);
+			int colour = 0;
+			while (pick >= colourWeights[colour]) {
+				pick -= colourWeights[colour++];
+			}
+			type = COLOURS[colour];
+			victory = id == tileCount - 1 ? victoryDensity > 0 : random.nextDouble() < victoryDensity;
+
+			// The next tile on the loop comes first, the shortcuts skip ahead
+			next[0] = id == tileCount - 1 ? 1 : id + 1;
+			nextCount = 1;
+			if (random.nextDouble() < branchChance) {
+				int branches = 1 + random.nextInt(branchFactor - 1);
+				for (int skip = 2; skip <= branches + 1 && id + skip < tileCount; skip++) {
+					next[nextCount++] = id + skip;
+				}
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * Writes a generated board to a file.
+	 *
+	 * @param args [tiles] [file] [seed] [branch chance] [victory density]
+	 */
+	public static void main(String[] args) throws IOException {
+		int tiles = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+		String filePath = args.length > 1 ? args[1] : "./data/generated" + tiles + ".json";
+		long seed = args.length > 2 ? Long.parseLong(args[2]) : 1;
+		BoardGenerator generator = new BoardGenerator(tiles, seed);
+		if (args.length > 3) {
+			generator.setBranchChance(Double.parseDouble(args[3]));
+		}
+		if (args.length > 4) {
+			generator.setVictoryDensity(Double.parseDouble(args[4]));
+		}
+
+		long start = System.nanoTime();
+		generator.writeFile(filePath);
+		System.out.printf("Wrote %d tiles to %s in %.1f s%n", tiles, filePath, (System.nanoTime() - start) / 1e9);
+	}
+}
@@ -0,0 +1,638 @@
+package game;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.json.JSONException;
+
+/**
+ * BoardReader reads a path JSON file straight into a CompiledBoard, without
+ * building the file as a String or as JSON objects first. A small tokenizer
+ * reads the bytes of the file through a fixed buffer, the fields of every tile
+ * object are added to growing int arrays as soon as it is read, and so are the
+ * IDs of its next tiles. No Tile objects are created. Next tiles that come
+ * later in the file are resolved once all tiles are known, so the file is only
+ * read once and the memory used is close to the size of the board itself.
+ *
+ * The reader accepts the same files as org.json: keys in any order, unknown
+ * keys are skipped, numbers and booleans may be written as strings, a comma may
+ * follow the last member of an object or array and a missing "victory" counts
+ * as false. Like org.json it rejects a key that is repeated in an object and a
+ * "victory" that is not true or false. Unlike org.json it also rejects anything
+ * but whitespace after the board object. Errors are thrown as a JSONException
+ * with the position in the file.
+ */
+public class BoardReader {
+	private static final int BUFFER_SIZE = 1 << 16;
+	private static final int END = -1;
+
+	// Bits of the required keys of a tile
+	private static final int HAS_ID = 1;
+	private static final int HAS_TYPE = 2;
+	private static final int HAS_X = 4;
+	private static final int HAS_Y = 8;
+	private static final int HAS_WIDTH = 16;
+	private static final int HAS_HEIGHT = 32;
+	private static final int HAS_ALL = 63;
+	// Bits of the optional keys of a tile
+	private static final int HAS_NEXT = 64;
+	private static final int HAS_VICTORY = 128;
+
+	private final InputStream in;
+	private final byte[] buffer = new byte[BUFFER_SIZE];
+	private int position;
+	private int limit;
+	private long consumed;
+
+	// Scratch space for the bytes of a string or number
+	private byte[] text = new byte[64];
+	private int textLength;
+	// The same type name for every tile, instead of a new String per tile
+	private final Map<String, String> names = new HashMap<>();
+	// The unknown keys of the object being read, to find repeated keys
+	private final Set<String> otherKeys = new HashSet<>();
+
+	// The tiles read so far and the IDs of their next tiles
+	private CompiledBoard.TileArrays tiles = new CompiledBoard.TileArrays(256);
+	private int size;
+	private int[] nextOffsets = new int[257];
+	private int[] nextIds = new int[256];
+	private int nextCount;
+
+	/**
+	 * Constructs a reader for a stream with a board.
+	 *
+	 * @param in the stream to read, not closed by the reader
+	 */
+	private BoardReader(InputStream in) {
+		this.in = in;
+	}
+
+	/**
+	 * Reads a board file into a compiled board with linked tiles.
+	 *
+	 * @param filePath the path to the JSON file containing the board layout
+	 * @return the compiled board
+	 * @throws IOException   if the file cannot be read
+	 * @throws JSONException if the file is not a valid board
+	 */
+	public static CompiledBoard read(String filePath) throws IOException {
+		return readTiles(filePath).compile();
+	}
+
+	/**
+	 * Reads a board from a stream into a compiled board with linked tiles.
+	 *
+	 * @param in the stream with the JSON of the board, not closed
+	 * @return the compiled board
+	 * @throws IOException   if the stream cannot be read
+	 * @throws JSONException if the stream does not hold a valid board
+	 */
+	public static CompiledBoard read(InputStream in) throws IOException {
+		BoardReader reader = new BoardReader(in);
+		reader.readBoard();
+		return reader.compile();
+	}
+
+	/**
+	 * Reads the tiles of a board file without linking them, so the IDs of the next
+	 * tiles can still be checked, for instance by BoardValidator.
+	 *
+	 * @param filePath the path to the JSON file containing the board layout
+	 * @return the reader with the tiles of the file
+	 * @throws IOException   if the file cannot be read
+	 * @throws JSONException if the file is not a valid board
+	 */
+	static BoardReader readTiles(String filePath) throws IOException {
+		try (InputStream in = new FileInputStream(filePath)) {
+			BoardReader reader = new BoardReader(in);
+			reader.readBoard();
+			return reader;
+		}
+	}
+
+	/**
+	 * Compiles the tiles that were read into a board with linked tiles. The IDs of
+	 * the next tiles read from the file stay as they are.
+	 *
+	 * @return the compiled board
+	 */
+	CompiledBoard compile() {
+		return new CompiledBoard(tiles, nextOffsets, Arrays.copyOf(nextIds, nextCount));
+	}
+
+	/**
+	 * @return the number of tiles that were read
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * @param index the index of a tile in the file
+	 * @return the position of the first ID of its next tiles
+	 */
+	int getNextStart(int index) {
+		return nextOffsets[index];
+	}
+
+	/**
+	 * @param index the index of a tile in the file
+	 * @return the position after the last ID of its next tiles
+	 */
+	int getNextEnd(int index) {
+		return nextOffsets[index + 1];
+	}
+
+	/**
+	 * @param position the position of a next tile
+	 * @return the ID of the next tile as written in the file
+	 */
+	int getNextId(int position) {
+		return nextIds[position];
+	}
+
+	/**
+	 * Reads the top level object, which must have a "path" array with the tiles.
+	 */
+	private void readBoard() throws IOException {
+		boolean hasPath = false;
+		otherKeys.clear();
+		expect('{');
+		if (peek() == '}') {
+			next();
+		} else {
+			do {
+				String key = readString();
+				expect(':');
+				if (key.equals("path")) {
+					if (hasPath) {
+						throw duplicateKey(key);
+					}
+					readPath();
+					hasPath = true;
+				} else {
+					skipOther(key);
+				}
+			} while (endOfMember('}'));
+		}
+		if (!hasPath) {
+			throw error("The board has no \"path\"");
+		}
+		if (peek() != END) {
+			throw error("Unexpected text after the board");
+		}
+	}
+
+	/**
+	 * Reads the array of tiles.
+	 */
+	private void readPath() throws IOException {
+		expect('[');
+		if (peek() == ']') {
+			next();
+			return;
+		}
+		do {
+			readTile();
+		} while (endOfMember(']'));
+	}
+
+	/**
+	 * Reads one tile object, adds its fields and the IDs of its next tiles.
+	 */
+	private void readTile() throws IOException {
+		int id = 0, x = 0, y = 0, width = 0, height = 0;
+		String type = null;
+		boolean victory = false;
+		int found = 0;
+		int firstNext = nextCount;
+
+		otherKeys.clear();
+		expect('{');
+		if (peek() == '}') {
+			next();
+		} else {
+			do {
+				String key = readString();
+				expect(':');
+				int bit = keyBit(key);
+				if ((found & bit) != 0) {
+					throw duplicateKey(key);
+				}
+				found |= bit;
+				switch (bit) {
+				case HAS_ID:
+					id = readInt();
+					break;
+				case HAS_TYPE:
+					type = readName();
+					break;
+				case HAS_X:
+					x = readInt();
+					break;
+				case HAS_Y:
+					y = readInt();
+					break;
+				case HAS_WIDTH:
+					width = readInt();
+					break;
+				case HAS_HEIGHT:
+					height = readInt();
+					break;
+				case HAS_NEXT:
+					readNext();
+					break;
+				case HAS_VICTORY:
+					victory = readVictory();
+					break;
+				default:
+					skipOther(key);
+				}
+			} while (endOfMember('}'));
+		}
+		if ((found & HAS_ALL) != HAS_ALL) {
+			throw error("Tile " + size + " misses one of ID, type, x_coord, y_coord, width and height");
+		}
+
+		if (size + 1 == nextOffsets.length) {
+			nextOffsets = Arrays.copyOf(nextOffsets, size * 2 + 1);
+		}
+		tiles.add(id, type, x, y, width, height, victory);
+		nextOffsets[size] = firstNext;
+		size++;
+		nextOffsets[size] = nextCount;
+	}
+
+	/**
+	 * Reads the array with the IDs of the next tiles.
+	 */
+	private void readNext() throws IOException {
+		expect('[');
+		if (peek() == ']') {
+			next();
+			return;
+		}
+		do {
+			if (nextCount == nextIds.length) {
+				nextIds = Arrays.copyOf(nextIds, nextCount * 2);
+			}
+			nextIds[nextCount++] = readInt();
+		} while (endOfMember(']'));
+	}
+
+	/**
+	 * Returns the bit of a known key of a tile, or 0 for any other key.
+	 */
+	private static int keyBit(String key) {
+		switch (key) {
+		case "ID":
+			return HAS_ID;
+		case "type":
+			return HAS_TYPE;
+		case "x_coord":
+			return HAS_X;
+		case "y_coord":
+			return HAS_Y;
+		case "width":
+			return HAS_WIDTH;
+		case "height":
+			return HAS_HEIGHT;
+		case "next":
+			return HAS_NEXT;
+		case "victory":
+			return HAS_VICTORY;
+		default:
+			return 0;
+		}
+	}
+
+	/**
+	 * Skips the value of a key that is not used, which may not be repeated in its
+	 * object either.
+	 */
+	private void skipOther(String key) throws IOException {
+		if (!otherKeys.add(key)) {
+			throw duplicateKey(key);
+		}
+		skipValue();
+	}
+
+	/**
+	 * Reads whether a tile is a victory tile: true or false, also as a string in
+	 * any case, like getBoolean of org.json. Any other value is an error.
+	 */
+	private boolean readVictory() throws IOException {
+		int b = peek();
+		if (b == '"') {
+			String value = readString();
+			if (value.equalsIgnoreCase("true")) {
+				return true;
+			}
+			if (value.equalsIgnoreCase("false")) {
+				return false;
+			}
+			throw error("\"victory\" is not a boolean: \"" + value + "\"");
+		}
+		if (b == '{' || b == '[') {
+			throw error("\"victory\" is not a boolean");
+		}
+		readLiteral();
+		if (textEquals("true")) {
+			return true;
+		}
+		if (textEquals("false")) {
+			return false;
+		}
+		throw error("\"victory\" is not a boolean: " + new String(text, 0, textLength, StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Reads a string that is used by many tiles, like the type, as one shared
+	 * String.
+	 */
+	private String readName() throws IOException {
+		String name = readString();
+		String shared = names.putIfAbsent(name, name);
+		return shared != null ? shared : name;
+	}
+
+	/**
+	 * Reads a number, or a string with a number, as an int. Decimals are cut off,
+	 * like org.json does for getInt.
+	 */
+	private int readInt() throws IOException {
+		int b = peek();
+		if (b == '"') {
+			String value = readString().trim();
+			try {
+				return new BigDecimal(value).intValue();
+			} catch (NumberFormatException e) {
+				throw error("\"" + value + "\" is not a number");
+			}
+		}
+		if (b != '-' && (b < '0' || b > '9')) {
+			throw error("Expected a number");
+		}
+		readLiteral();
+
+		// Plain integers without a fraction or exponent
+		boolean negative = text[0] == '-';
+		int start = negative ? 1 : 0;
+		if (textLength > start && textLength - start <= 18) {
+			long value = 0;
+			int i = start;
+			while (i < textLength && text[i] >= '0' && text[i] <= '9') {
+				value = value * 10 + (text[i++] - '0');
+			}
+			if (i == textLength) {
+				return (int) (negative ? -value : value);
+			}
+		}
+		String value = new String(text, 0, textLength, StandardCharsets.US_ASCII);
+		try {
+			return new BigDecimal(value).intValue();
+		} catch (NumberFormatException e) {
+			throw error("\"" + value + "\" is not a number");
+		}
+	}
+
+	/**
+	 * Reads a string, including escaped characters.
+	 */
+	private String readString() throws IOException {
+		expect('"');
+		StringBuilder escaped = null;
+		textLength = 0;
+		while (true) {
+			int b = nextRaw();
+			if (b == '"') {
+				break;
+			}
+			if (b == END) {
+				throw error("Unterminated string");
+			}
+			if (b != '\\') {
+				addText(b);
+				continue;
+			}
+
+			// Keep the text before the escape as characters
+			if (escaped == null) {
+				escaped = new StringBuilder();
+			}
+			escaped.append(new String(text, 0, textLength, StandardCharsets.UTF_8));
+			textLength = 0;
+			int c = nextRaw();
+			switch (c) {
+			case '"':
+			case '\\':
+			case '/':
+				escaped.append((char) c);
+				break;
+			case 'b':
+				escaped.append('\b');
+				break;
+			case 'f':
+				escaped.append('\f');
+				break;
+			case 'n':
+				escaped.append('\n');
+				break;
+			case 'r':
+				escaped.append('\r');
+				break;
+			case 't':
+				escaped.append('\t');
+				break;
+			case 'u':
+				int code = 0;
+				for (int i = 0; i < 4; i++) {
+					int digit = Character.digit(nextRaw(), 16);
+					if (digit < 0) {
+						throw error("Invalid unicode escape");
+					}
+					code = code * 16 + digit;
+				}
+				escaped.append((char) code);
+				break;
+			default:
+				throw error("Invalid escape");
+			}
+		}
+		String tail = new String(text, 0, textLength, StandardCharsets.UTF_8);
+		return escaped == null ? tail : escaped.append(tail).toString();
+	}
+
+	/**
+	 * Reads the characters of a number or of true, false or null into the text.
+	 */
+	private void readLiteral() throws IOException {
+		textLength = 0;
+		int b = peek();
+		while (b != END && b != ',' && b != '}' && b != ']' && b != ':' && !isWhitespace(b)) {
+			addText(nextRaw());
+			b = peekRaw();
+		}
+		if (textLength == 0) {
+			throw error("Expected a value");
+		}
+	}
+
+	/**
+	 * Skips a value of any kind, also nested objects and arrays.
+	 */
+	private void skipValue() throws IOException {
+		int b = peek();
+		if (b == '"') {
+			readString();
+			return;
+		}
+		if (b != '{' && b != '[') {
+			readLiteral();
+			return;
+		}
+		int depth = 0;
+		do {
+			b = next();
+			if (b == '{' || b == '[') {
+				depth++;
+			} else if (b == '}' || b == ']') {
+				depth--;
+			} else if (b == '"') {
+				position--;
+				readString();
+			} else if (b == END) {
+				throw error("Unexpected end of file");
+			}
+		} while (depth > 0);
+	}
+
+	/**
+	 * Reads the separator after a member of an object or array.
+	 *
+	 * @param close the character that closes the object or array
+	 * @return true if another member follows, false if the object or array ended
+	 */
+	private boolean endOfMember(char close) throws IOException {
+		int b = next();
+		if (b == ',') {
+			// A comma before the close is allowed, like in org.json
+			if (peek() == close) {
+				next();
+				return false;
+			}
+			return true;
+		}
+		if (b == close) {
+			return false;
+		}
+		throw error("Expected ',' or '" + close + "'");
+	}
+
+	/**
+	 * Reads the next character, which must be the given one.
+	 */
+	private void expect(char expected) throws IOException {
+		if (next() != expected) {
+			throw error("Expected '" + expected + "'");
+		}
+	}
+
+	/**
+	 * @return whether the text holds exactly the given ASCII word
+	 */
+	private boolean textEquals(String word) {
+		if (textLength != word.length()) {
+			return false;
+		}
+		for (int i = 0; i < textLength; i++) {
+			if (text[i] != word.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Adds a byte to the text.
+	 */
+	private void addText(int b) {
+		if (textLength == text.length) {
+			text = Arrays.copyOf(text, textLength * 2);
+		}
+		text[textLength++] = (byte) b;
+	}
+
+	/**
+	 * @return the next character that is not whitespace, without reading it
+	 */
+	private int peek() throws IOException {
+		int b = peekRaw();
+		while (isWhitespace(b)) {
+			position++;
+			b = peekRaw();
+		}
+		return b;
+	}
+
+	/**
+	 * Reads the next character that is not whitespace, outside of strings.
+	 */
+	private int next() throws IOException {
+		int b = peek();
+		if (b != END) {
+			position++;
+		}
+		return b;
+	}
+
+	/**
+	 * Reads the next byte, also when it is whitespace.
+	 */
+	private int nextRaw() throws IOException {
+		int b = peekRaw();
+		if (b != END) {
+			position++;
+		}
+		return b;
+	}
+
+	/**
+	 * @return the next byte, or END at the end of the stream, without reading it
+	 */
+	private int peekRaw() throws IOException {
+		if (position == limit) {
+			consumed += limit;
+			position = 0;
+			limit = Math.max(0, in.read(buffer));
+			if (limit == 0) {
+				return END;
+			}
+		}
+		return buffer[position] & 0xff;
+	}
+
+	private static boolean isWhitespace(int b) {
+		return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+	}
+
+	/**
+	 * Creates an error with the position in the file.
+	 */
+	private JSONException duplicateKey(String key) {
+		return error("Duplicate key \"" + key + "\"");
+	}
+
+	private JSONException error(String message) {
+		return new JSONException(message + " at byte " + (consumed + position));
+	}
+}
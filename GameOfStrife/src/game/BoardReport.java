@@ -0,0 +1,227 @@
+package game;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A BoardReport lists every defect BoardValidator found on a board, so a board
+ * creator can fix all of them at once instead of one per launch of the game.
+ */
+public class BoardReport {
+
+	/**
+	 * The kinds of defects a board can have.
+	 */
+	public enum Kind {
+		// The file cannot be read or is not a valid board file
+		PARSE_ERROR,
+		// There is no tile of type start and no tile with ID 0
+		MISSING_START,
+		// Two or more tiles have the same ID, only the last one can be reached
+		DUPLICATE_ID,
+		// A tile has a next tile with an ID that is not on the board
+		DANGLING_EDGE,
+		// A tile cannot be reached from the start tile
+		UNREACHABLE_TILE,
+		// A player can get stuck on a tile without next tiles, before passing any
+		// victory tile
+		DEAD_END_BEFORE_VICTORY
+	}
+
+	/**
+	 * A single defect of a board.
+	 */
+	public static final class Defect {
+		private final Kind kind;
+		private final int index;
+		private final int tileId;
+		private final int otherId;
+		private final String message;
+
+		/**
+		 * Constructs a defect.
+		 *
+		 * @param kind    the kind of defect
+		 * @param index   the index of the tile in the file, or -1 for the whole board
+		 * @param tileId  the ID of the tile, or 0 for the whole board
+		 * @param otherId the ID of the other tile involved, like a missing next tile
+		 * @param message a description of the defect
+		 */
+		Defect(Kind kind, int index, int tileId, int otherId, String message) {
+			this.kind = kind;
+			this.index = index;
+			this.tileId = tileId;
+			this.otherId = otherId;
+			this.message = message;
+		}
+
+		/**
+		 * @return the kind of defect
+		 */
+		public Kind getKind() {
+			return kind;
+		}
+
+		/**
+		 * @return the index of the tile in the board file, or -1 if the defect is
+		 *         about the whole board
+		 */
+		public int getIndex() {
+			return index;
+		}
+
+		/**
+		 * @return the ID of the tile with the defect
+		 */
+		public int getTileId() {
+			return tileId;
+		}
+
+		/**
+		 * @return the ID of the other tile involved, like the missing next tile of a
+		 *         dangling edge or the tile that hides a duplicate ID
+		 */
+		public int getOtherId() {
+			return otherId;
+		}
+
+		/**
+		 * @return a description of the defect
+		 */
+		public String getMessage() {
+			return message;
+		}
+
+		@Override
+		public String toString() {
+			return kind + ": " + message;
+		}
+	}
+
+	private final String source;
+	private final int tileCount;
+	private final List<Defect> defects = new ArrayList<>();
+	private final int[] counts = new int[Kind.values().length];
+	private int total;
+
+	/**
+	 * Constructs an empty report.
+	 *
+	 * @param source    the file or board the report is about
+	 * @param tileCount the number of tiles on the board
+	 */
+	BoardReport(String source, int tileCount) {
+		this.source = source;
+		this.tileCount = tileCount;
+	}
+
+	/**
+	 * Adds a defect to the report.
+	 */
+	void add(Kind kind, int index, int tileId, int otherId, String message) {
+		defects.add(new Defect(kind, index, tileId, otherId, message));
+		count(kind);
+	}
+
+	/**
+	 * Counts a defect without listing it, for boards with too many defects of a
+	 * kind to list them all.
+	 */
+	void count(Kind kind) {
+		counts[kind.ordinal()]++;
+		total++;
+	}
+
+	/**
+	 * @return true if the board has no defects at all
+	 */
+	public boolean isValid() {
+		return total == 0;
+	}
+
+	/**
+	 * @return the number of defects, including the ones that are only counted
+	 */
+	public int getTotalCount() {
+		return total;
+	}
+
+	/**
+	 * @return every listed defect, grouped by the check that found it
+	 */
+	public List<Defect> getDefects() {
+		return Collections.unmodifiableList(defects);
+	}
+
+	/**
+	 * @param kind a kind of defect
+	 * @return the listed defects of that kind
+	 */
+	public List<Defect> getDefects(Kind kind) {
+		List<Defect> list = new ArrayList<>();
+		for (Defect defect : defects) {
+			if (defect.getKind() == kind) {
+				list.add(defect);
+			}
+		}
+		return list;
+	}
+
+	/**
+	 * @param kind a kind of defect
+	 * @return the number of defects of that kind
+	 */
+	public int getCount(Kind kind) {
+		return counts[kind.ordinal()];
+	}
+
+	/**
+	 * @return the file or board the report is about
+	 */
+	public String getSource() {
+		return source;
+	}
+
+	/**
+	 * @return the number of tiles on the board
+	 */
+	public int getTileCount() {
+		return tileCount;
+	}
+
+	/**
+	 * @return a summary with the number of defects of every kind
+	 */
+	public String getSummary() {
+		if (isValid()) {
+			return source + ": " + tileCount + " tiles, no defects";
+		}
+		StringBuilder summary = new StringBuilder(source).append(": ").append(tileCount).append(" tiles, ")
+				.append(total).append(" defects (");
+		String separator = "";
+		for (Kind kind : Kind.values()) {
+			if (getCount(kind) > 0) {
+				summary.append(separator).append(getCount(kind)).append(' ').append(kind);
+				separator = ", ";
+			}
+		}
+		return summary.append(')').toString();
+	}
+
+	/**
+	 * @return the summary followed by every defect on its own line
+	 */
+	@Override
+	public String toString() {
+		StringBuilder text = new StringBuilder(getSummary());
+		for (Defect defect : defects) {
+			text.append(System.lineSeparator()).append("  ").append(defect);
+		}
+		if (total > defects.size()) {
+			text.append(System.lineSeparator()).append("  ... and ").append(total - defects.size())
+					.append(" more");
+		}
+		return text.toString();
+	}
+}
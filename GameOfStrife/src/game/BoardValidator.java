@@ -0,0 +1,215 @@
+package game;
+
+import java.io.IOException;
+
+import org.json.JSONException;
+
+import game.BoardReport.Kind;
+
+/**
+ * BoardValidator checks a board for every defect that makes it unplayable and
+ * reports all of them at once in a BoardReport, instead of stopping the game at
+ * the first one. It runs in time linear in the number of tiles and next tiles:
+ * every check is a single pass over the tiles or a breadth-first search over
+ * the compiled board, so checking a board costs less than reading it.
+ *
+ * The validator never shows a dialog or exits, so it can be used from the board
+ * editor, from tests and from the command line:
+ *
+ * <pre>
+ * java -cp bin:libs/json-20250107.jar game.BoardValidator data/path1.json
+ * </pre>
+ */
+public final class BoardValidator {
+	// The number of defects of one kind that get a message of their own; the
+	// rest is only counted, so a broken board of a million tiles stays readable
+	private static final int MAX_LISTED_PER_KIND = 1000;
+
+	private BoardValidator() {
+	}
+
+	/**
+	 * Validates a board file. The file is read without linking the tiles, so next
+	 * tiles with an unknown ID are reported too. A file that cannot be read or is
+	 * not a valid board gives a report with a single PARSE_ERROR.
+	 *
+	 * @param filePath the path to the JSON file containing the board layout
+	 * @return the report with every defect of the board
+	 */
+	public static BoardReport validate(String filePath) {
+		BoardReader reader;
+		try {
+			reader = BoardReader.readTiles(filePath);
+		} catch (IOException | JSONException e) {
+			BoardReport report = new BoardReport(filePath, 0);
+			report.add(Kind.PARSE_ERROR, -1, 0, 0, "Cannot read the board: " + e.getMessage());
+			return report;
+		}
+
+		CompiledBoard board = reader.compile();
+		BoardReport report = new BoardReport(filePath, board.size());
+		checkStructure(board, report);
+
+		// Next tiles that are not on the board, which the compiled board leaves out
+		int listed = 0;
+		for (int i = 0; i < reader.size(); i++) {
+			for (int j = reader.getNextStart(i); j < reader.getNextEnd(i); j++) {
+				int nextId = reader.getNextId(j);
+				if (board.indexOf(nextId) == -1) {
+					add(report, listed++, Kind.DANGLING_EDGE, i, board.getId(i), nextId,
+							"Tile " + board.getId(i) + " has a next tile " + nextId + " that is not on the board");
+				}
+			}
+		}
+		checkReachability(board, report);
+		return report;
+	}
+
+	/**
+	 * Validates a compiled board. A compiled board only holds the next tiles that
+	 * exist, so dangling edges cannot be found here; use validate(String) for a
+	 * board file.
+	 *
+	 * @param board the compiled board
+	 * @return the report with every defect of the board
+	 */
+	public static BoardReport validate(CompiledBoard board) {
+		BoardReport report = new BoardReport("board", board.size());
+		checkStructure(board, report);
+		checkReachability(board, report);
+		return report;
+	}
+
+	/**
+	 * Checks for a missing start tile and duplicate IDs.
+	 */
+	private static void checkStructure(CompiledBoard board, BoardReport report) {
+		if (board.getStartIndex() == -1) {
+			report.add(Kind.MISSING_START, -1, 0, 0, "There is no tile of type start and no tile with ID 0");
+		}
+
+		// The ID lookup keeps the last tile with an ID, every earlier one is hidden
+		int listed = 0;
+		for (int i = 0; i < board.size(); i++) {
+			int id = board.getId(i);
+			int owner = board.indexOf(id);
+			if (owner != i) {
+				add(report, listed++, Kind.DUPLICATE_ID, i, id, id,
+						"Tile ID " + id + " is used by the tiles at index " + i + " and " + owner);
+			}
+		}
+	}
+
+	/**
+	 * Checks which tiles can be reached from the start tile, and whether a player
+	 * can get stuck on a tile without next tiles before passing a victory tile.
+	 */
+	private static void checkReachability(CompiledBoard board, BoardReport report) {
+		int size = board.size();
+		int start = board.getStartIndex();
+		if (start == -1 || size == 0) {
+			return;
+		}
+
+		// Search from the start without passing victory tiles: every dead end found
+		// this way can be hit before the game is won
+		boolean[] seen = new boolean[size];
+		int[] queue = new int[size];
+		int tail = search(board, start, seen, queue, 0, true);
+		int listed = 0;
+		for (int q = 0; q < tail; q++) {
+			int i = queue[q];
+			if (board.getNextCount(i) == 0 && !board.isVictory(i)) {
+				add(report, listed++, Kind.DEAD_END_BEFORE_VICTORY, i, board.getId(i), 0,
+						"Tile " + board.getId(i) + " has no next tiles and can be reached before any victory tile");
+			}
+		}
+
+		// Continue the same search through the victory tiles to find every tile
+		// that can be reached at all
+		search(board, -1, seen, queue, tail, false);
+		listed = 0;
+		for (int i = 0; i < size; i++) {
+			if (!seen[i]) {
+				add(report, listed++, Kind.UNREACHABLE_TILE, i, board.getId(i), 0,
+						"Tile " + board.getId(i) + " cannot be reached from the start tile");
+			}
+		}
+	}
+
+	/**
+	 * Runs a breadth-first search over every queued tile, adding the start tile
+	 * first if there is one. Tiles that were expanded before are expanded again,
+	 * which only costs a second look at their next tiles.
+	 *
+	 * @param board         the compiled board
+	 * @param start         the index of the first tile, or -1 to continue the queue
+	 * @param seen          the tiles that have been queued
+	 * @param queue         the queued tiles
+	 * @param tail          the number of queued tiles
+	 * @param stopAtVictory whether victory tiles are kept but not expanded
+	 * @return the number of queued tiles after the search
+	 */
+	private static int search(CompiledBoard board, int start, boolean[] seen, int[] queue, int tail,
+			boolean stopAtVictory) {
+		int head = 0;
+		if (start != -1) {
+			seen[start] = true;
+			queue[tail++] = start;
+		}
+		while (head < tail) {
+			int i = queue[head++];
+			if (!stopAtVictory || !board.isVictory(i)) {
+				tail = expand(board, i, seen, queue, tail);
+			}
+		}
+		return tail;
+	}
+
+	/**
+	 * Queues the next tiles of a tile that have not been queued yet.
+	 *
+	 * @return the number of queued tiles
+	 */
+	private static int expand(CompiledBoard board, int index, boolean[] seen, int[] queue, int tail) {
+		for (int choice = 0; choice < board.getNextCount(index); choice++) {
+			int next = board.getNext(index, choice);
+			if (!seen[next]) {
+				seen[next] = true;
+				queue[tail++] = next;
+			}
+		}
+		return tail;
+	}
+
+	/**
+	 * Adds a defect to the report with its message, or only counts it when many
+	 * defects of the same kind are already listed.
+	 */
+	private static void add(BoardReport report, int listed, Kind kind, int index, int tileId, int otherId,
+			String message) {
+		if (listed < MAX_LISTED_PER_KIND) {
+			report.add(kind, index, tileId, otherId, message);
+		} else {
+			report.count(kind);
+		}
+	}
+
+	/**
+	 * Validates the board files given as arguments and prints a report for each.
+	 * Exits with status 1 if any board has a defect, so it can be used in a build.
+	 *
+	 * @param args the paths to the board files
+	 */
+	public static void main(String[] args) {
+		boolean valid = true;
+		for (String filePath : args) {
+			BoardReport report = validate(filePath);
+			System.out.println(report);
+			valid &= report.isValid();
+		}
+		if (!valid) {
+			System.exit(1);
+		}
+	}
+}
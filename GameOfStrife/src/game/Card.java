@@ -1,9 +1,5 @@
 package game;
 
-import java.util.Map;
-
-import gui.GameOfStrife;
-
 /**
  * The abstract Card class represents a generic card used in the Game of Strife.
  * Cards can be of the type GreenCard, RedCard, and BlueCard. Each of these
@@ -63,7 +59,7 @@ public abstract class Card implements CardAction {
 	 * Applies the effect of the card to the current player in the game. This
 	 * adjusts the player's resources based on valueChange.
 	 */
-	public void executeCard(GameOfStrife game) {
+	public void executeCard(GameEngine game) {
 		game.getCurrentPlayer().adjustResources(valueChange);
 	}
 
@@ -71,6 +67,6 @@ public abstract class Card implements CardAction {
 	 * Abstract method because it does nothing at its base. It is implemented by the
 	 * Card subclasses to revert the card effects.
 	 */
-	public abstract void removeEffect(GameOfStrife game, Map<String, Object> effectData);
+	public abstract void removeEffect(GameEngine game, ActiveEffect effect);
 
 }
\ No newline at end of file
@@ -1,9 +1,5 @@
 package game;
 
-import java.util.Map;
-
-import gui.GameOfStrife;
-
 /**
  * The CardAction interface defines the behavior that all cards in the Game of
  * Strife must implement. This ensures that all cards can interact with the game
@@ -15,22 +11,21 @@ public interface CardAction {
 	 * played and should implement the logic to modify for instance the the player
 	 * resources.
 	 * 
-	 * @param game the current instance of the GameOfStrife
+	 * @param game the engine of the current game
 	 */
-	void executeCard(GameOfStrife game);
+	void executeCard(GameEngine game);
 
 	/**
 	 * Removes or reverses the effect of the card, typically used for cards with a
 	 * duration. This method should undo any changes made by executeCard, often by
-	 * doing the opposite action. The effectData map can hold additional context or
-	 * state needed for reversal.
+	 * doing the opposite action. The effect tells which player drew the card and
+	 * by how much it changed the game.
 	 *
-	 * @param game       the current instance of the GameOfStrife
-	 * @param effectData a map containing effect-specific data needed to remove the
-	 *                   effect
+	 * @param game   the engine of the current game
+	 * @param effect the expired effect that has to be removed
 	 */
 
 	// General function that simply removes the effect of a given card if that card
 	// has a duration (usually just by doing the opposite of applying the card)
-	void removeEffect(GameOfStrife game, Map<String, Object> effectData);
+	void removeEffect(GameEngine game, ActiveEffect effect);
 }
@@ -0,0 +1,328 @@
+package game;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.*;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import static game.SymbolicConstants.*;
+
+/**
+ * A CardCatalog holds every card of a card file, compiled and grouped by type.
+ * A catalog never changes after it is parsed and the cards have no state of
+ * their own, so one catalog is shared by every game in the process: the
+ * CardDecks of a game only hold the order in which its players draw the cards.
+ *
+ * Catalogs loaded from a file are cached on the path of the file, so a card
+ * file is read and parsed only once, no matter how many games are started or
+ * restarted. The file is parsed again when it has changed on disk. Between
+ * processes, BinaryCache keeps the compiled cards of a file in a binary form, so
+ * a new process neither parses the JSON text nor compiles the cards again.
+ */
+public final class CardCatalog {
+	private static final Map<String, CardCatalog> cache = new HashMap<>();
+
+	// The cards per upper case type, in the order of the JSON file
+	private final Map<String, Card[]> cardsByType;
+	private final Map<String, List<Card>> listsByType;
+	private final int size;
+	private final long lastModified;
+	private final long length;
+
+	/**
+	 * Constructs a catalog from the compiled cards.
+	 *
+	 * @param records      the cards in the order of the file
+	 * @param lastModified the modification time of the file, or 0
+	 * @param length       the length of the file, or 0
+	 */
+	private CardCatalog(List<Card> records, long lastModified, long length) {
+		Map<String, List<Card>> cards = new HashMap<>();
+		for (Card card : records) {
+			cards.computeIfAbsent(card.getType().toUpperCase(), k -> new ArrayList<>()).add(card);
+		}
+		Map<String, Card[]> arrays = new HashMap<>();
+		Map<String, List<Card>> lists = new HashMap<>();
+		int total = 0;
+		for (Map.Entry<String, List<Card>> entry : cards.entrySet()) {
+			Card[] array = entry.getValue().toArray(new Card[0]);
+			arrays.put(entry.getKey(), array);
+			lists.put(entry.getKey(), Collections.unmodifiableList(Arrays.asList(array)));
+			total += array.length;
+		}
+		this.cardsByType = arrays;
+		this.listsByType = Collections.unmodifiableMap(lists);
+		this.size = total;
+		this.lastModified = lastModified;
+		this.length = length;
+	}
+
+	/**
+	 * Returns the catalog of a card file. The file is only read the first time,
+	 * or when it has changed since; every other call returns the same catalog. The
+	 * cards are read through BinaryCache, which only parses and compiles the JSON
+	 * text when its binary form is missing or out of date.
+	 *
+	 * @param filePath the path to the JSON file containing card data
+	 * @return the catalog with the cards of the file
+	 * @throws IOException              if the file cannot be read
+	 * @throws org.json.JSONException   if the file is not valid card JSON
+	 * @throws IllegalArgumentException if a card cannot be compiled
+	 */
+	public static synchronized CardCatalog load(String filePath) throws IOException {
+		File file = new File(filePath).getAbsoluteFile();
+		String key = file.getCanonicalPath();
+		CardCatalog catalog = cache.get(key);
+		if (catalog == null || catalog.lastModified != file.lastModified() || catalog.length != file.length()) {
+			catalog = new CardCatalog(BinaryCache.loadCards(filePath), file.lastModified(), file.length());
+			cache.put(key, catalog);
+		}
+		return catalog;
+	}
+
+	/**
+	 * Parses a catalog from JSON text, without caching it.
+	 *
+	 * @param jsonData the JSON text with the cards
+	 * @return the catalog with the cards of the text
+	 * @throws org.json.JSONException   if the text is not valid card JSON
+	 * @throws IllegalArgumentException if a card cannot be compiled
+	 */
+	public static CardCatalog parse(String jsonData) {
+		return new CardCatalog(parseCards(new JSONObject(jsonData).getJSONArray(JSON_CARDS)), 0, 0);
+	}
+
+	/**
+	 * Creates the cards of a card file. Every card is compiled into its
+	 * CardEffects here, so a card with an unknown type, an unknown method type or
+	 * a missing value is reported while loading instead of when it is drawn.
+	 *
+	 * @param pathArray the JSON objects of the cards
+	 * @return the cards in the order of the file
+	 * @throws IllegalArgumentException if a card cannot be compiled
+	 */
+	static List<Card> parseCards(JSONArray pathArray) {
+		List<Card> cards = new ArrayList<>();
+
+		// Loop over each card entry in the JSON
+		for (int i = 0; i < pathArray.length(); i++) {
+			JSONObject cardData = pathArray.getJSONObject(i);
+			String cardType = cardData.getString(JSON_TYPE);
+			Card card;
+
+			if (cardType.equals(TYPE_GREEN)) {
+				// Create GreenCard from JSON
+				card = new GreenCard(cardData.getString(JSON_DESCRIPTION), cardData.getInt(JSON_VALUE_CHANGE),
+						cardType);
+
+			} else if (cardType.equals(TYPE_BLUE)) {
+				// Parse basic BlueCard fields
+				String description = cardData.getString(JSON_DESCRIPTION);
+				String choiceType = cardData.getString(JSON_CHOICE_TYPE);
+				String methodType = cardData.optString(JSON_METHOD_TYPE, "");
+				JSONArray optionsArray = cardData.optJSONArray(JSON_OPTIONS);
+				List<Map<String, Object>> options = new ArrayList<>();
+
+				// Read options array if present, and convert the array to a list of maps
+				if (optionsArray != null) {
+					for (int j = 0; j < optionsArray.length(); j++) {
+						JSONObject optionObj = optionsArray.getJSONObject(j);
+						Map<String, Object> optionMap = new HashMap<>();
+						Iterator<String> keys = optionObj.keys();
+						while (keys.hasNext()) {
+							String key = keys.next();
+							Object value = optionObj.get(key);
+							optionMap.put(key, value);
+						}
+						options.add(optionMap);
+					}
+				}
+
+				// Store remaining properties in a map
+				Map<String, Object> properties = new HashMap<>();
+				Iterator<String> keys = cardData.keys();
+				while (keys.hasNext()) {
+					String key = keys.next();
+					if (!key.equals(JSON_DESCRIPTION) && !key.equals(JSON_TYPE) && !key.equals(JSON_CHOICE_TYPE)
+							&& !key.equals(JSON_METHOD_TYPE) && !key.equals(JSON_OPTIONS)) {
+						properties.put(key, cardData.get(key));
+					}
+				}
+
+				// Create BlueCard
+				card = new BlueCard(description, cardType, choiceType, methodType, options, properties);
+
+			} else if (cardType.equals(TYPE_RED)) {
+				// Create RedCard from JSON
+				card = new RedCard(cardData.getString(JSON_DESCRIPTION), cardData.getInt(JSON_VALUE_CHANGE), cardType,
+						cardData.getString(JSON_METHOD_TYPE), cardData.getInt(JSON_DURATION));
+
+			} else {
+				throw new IllegalArgumentException("Unknown card type " + cardType);
+			}
+
+			cards.add(card);
+		}
+		return cards;
+	}
+
+	/**
+	 * Writes compiled cards in the binary format of BinaryCache: a table with
+	 * every distinct type and description, then the number of cards and for every
+	 * card the index of its type and description in the table and its value
+	 * change. A red card is followed by its effect, a blue card by its number of
+	 * options and the description index and effect of each option, or by its
+	 * player effect when it has no options.
+	 *
+	 * @param out   the stream to write to
+	 * @param cards the cards in the order of the file
+	 * @throws IOException if the stream cannot be written
+	 */
+	static void writeCards(DataOutputStream out, List<Card> cards) throws IOException {
+		Map<String, Integer> strings = new LinkedHashMap<>();
+		for (Card card : cards) {
+			strings.putIfAbsent(card.getType(), strings.size());
+			strings.putIfAbsent(card.getDescription(), strings.size());
+			if (card instanceof BlueCard) {
+				for (String description : ((BlueCard) card).getOptionDescriptions()) {
+					strings.putIfAbsent(description, strings.size());
+				}
+			}
+		}
+		out.writeInt(strings.size());
+		for (String string : strings.keySet()) {
+			BinaryCache.writeString(out, string);
+		}
+
+		out.writeInt(cards.size());
+		for (Card card : cards) {
+			out.writeInt(strings.get(card.getType()));
+			out.writeInt(strings.get(card.getDescription()));
+			out.writeInt(card.getValueChange());
+			if (card instanceof RedCard) {
+				((RedCard) card).getEffect().write(out);
+			} else if (card instanceof BlueCard) {
+				BlueCard blueCard = (BlueCard) card;
+				String[] descriptions = blueCard.getOptionDescriptions();
+				CardEffect[] effects = blueCard.getOptionEffects();
+				out.writeInt(effects.length);
+				for (int i = 0; i < effects.length; i++) {
+					out.writeInt(strings.get(descriptions[i]));
+					effects[i].write(out);
+				}
+				if (effects.length == 0) {
+					blueCard.getPlayerEffect().write(out);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Reads cards written by writeCards, creating them from their compiled
+	 * effects without any JSON.
+	 *
+	 * @param in the buffer to read from, at the start of the cards
+	 * @return the cards in the order of the file
+	 * @throws IllegalArgumentException         if the data is not valid cards
+	 * @throws java.nio.BufferUnderflowException if the data ends too early
+	 */
+	static List<Card> readCards(ByteBuffer in) {
+		String[] strings = new String[BinaryCache.readLength(in)];
+		for (int i = 0; i < strings.length; i++) {
+			strings[i] = BinaryCache.readString(in);
+		}
+
+		int count = BinaryCache.readLength(in);
+		List<Card> cards = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			String type = string(strings, in.getInt());
+			String description = string(strings, in.getInt());
+			int valueChange = in.getInt();
+			if (type.equals(TYPE_GREEN)) {
+				cards.add(new GreenCard(description, valueChange, type));
+			} else if (type.equals(TYPE_RED)) {
+				cards.add(new RedCard(description, valueChange, type, CardEffect.read(in)));
+			} else if (type.equals(TYPE_BLUE)) {
+				int optionCount = BinaryCache.readLength(in);
+				CardEffect[] effects = new CardEffect[optionCount];
+				String[] descriptions = new String[optionCount];
+				for (int j = 0; j < optionCount; j++) {
+					descriptions[j] = string(strings, in.getInt());
+					effects[j] = CardEffect.read(in);
+				}
+				CardEffect playerEffect = optionCount == 0 ? CardEffect.read(in) : null;
+				cards.add(new BlueCard(description, type, playerEffect, effects, descriptions));
+			} else {
+				throw new IllegalArgumentException("Unknown card type " + type);
+			}
+		}
+		return cards;
+	}
+
+	private static String string(String[] strings, int index) {
+		if (index < 0 || index >= strings.length) {
+			throw new IllegalArgumentException("Invalid string index " + index);
+		}
+		return strings[index];
+	}
+
+	/**
+	 * @return the upper case types of the cards in the catalog (e.g., RED, GREEN,
+	 *         BLUE)
+	 */
+	public Set<String> getTypes() {
+		return listsByType.keySet();
+	}
+
+	/**
+	 * Returns the cards of a type in the order of the JSON file.
+	 *
+	 * @param type the card type
+	 * @return an unmodifiable list of the cards, or null if there are no cards of
+	 *         that type
+	 */
+	public List<Card> getCards(String type) {
+		return type == null ? null : listsByType.get(type.toUpperCase());
+	}
+
+	/**
+	 * Returns the shared array with the cards of a type, for the decks of a game.
+	 * The array must not be changed.
+	 *
+	 * @param type the upper case card type
+	 * @return the cards of the type
+	 */
+	Card[] getCardArray(String type) {
+		return cardsByType.get(type);
+	}
+
+	/**
+	 * Finds the position of a card among the cards of its type.
+	 *
+	 * @param card a card of this catalog
+	 * @return the index in the array of its type, or -1 if it is not in this
+	 *         catalog
+	 */
+	int indexOf(Card card) {
+		Card[] cards = card.getType() == null ? null : cardsByType.get(card.getType().toUpperCase());
+		if (cards != null) {
+			for (int i = 0; i < cards.length; i++) {
+				if (cards[i] == card) {
+					return i;
+				}
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @return the number of cards in the catalog
+	 */
+	public int size() {
+		return size;
+	}
+}
@@ -0,0 +1,204 @@
+package game;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A CardDeck is the draw pile and the discard pile of one type of card in a
+ * single array of card indices. The cards before the cursor have been drawn
+ * (the discard pile, in the order they were drawn), the cards from the cursor
+ * onwards are still in the deck. Drawing a card only moves the cursor, and when
+ * the deck is empty the whole array is shuffled in place and the cursor starts
+ * over, so drawing never allocates anything.
+ *
+ * The state of a deck is just the order of the indices and the cursor, so it is
+ * cheap to copy, for instance to branch a simulation.
+ */
+public class CardDeck {
+	private Card[] cards;
+	private int[] order;
+	private int cursor;
+
+	/**
+	 * Constructs a deck with the given cards, in the given order and with nothing
+	 * drawn yet.
+	 *
+	 * @param cards the cards of the deck
+	 */
+	public CardDeck(List<Card> cards) {
+		this(cards.toArray(new Card[0]));
+	}
+
+	/**
+	 * Constructs a deck on the shared cards of a CardCatalog, without copying
+	 * them. The array must not be changed.
+	 *
+	 * @param cards the cards of the deck
+	 */
+	CardDeck(Card[] cards) {
+		this.cards = cards;
+		this.order = new int[cards.length];
+		for (int i = 0; i < order.length; i++) {
+			order[i] = i;
+		}
+	}
+
+	/**
+	 * Constructs a copy of another deck that shares its (immutable) cards.
+	 *
+	 * @param other the deck to copy
+	 */
+	private CardDeck(CardDeck other) {
+		this.cards = other.cards;
+		this.order = other.order.clone();
+		this.cursor = other.cursor;
+	}
+
+	/**
+	 * Draws the next card. When every card has been drawn, the discard pile is
+	 * shuffled and becomes the deck again.
+	 *
+	 * @param random the random source used to reshuffle
+	 * @return the drawn card, or null if the deck has no cards at all
+	 */
+	public Card draw(GameRandom random) {
+		if (order.length == 0) {
+			return null;
+		}
+		if (cursor == order.length) {
+			shuffle(random, 0);
+			cursor = 0;
+		}
+		return cards[order[cursor++]];
+	}
+
+	/**
+	 * Shuffles the cards that have not been drawn yet.
+	 *
+	 * @param random the random source
+	 */
+	public void shuffle(GameRandom random) {
+		shuffle(random, cursor);
+	}
+
+	/**
+	 * Puts every card back in the original order and shuffles the full deck.
+	 *
+	 * @param random the random source
+	 */
+	public void reset(GameRandom random) {
+		for (int i = 0; i < order.length; i++) {
+			order[i] = i;
+		}
+		cursor = 0;
+		shuffle(random, 0);
+	}
+
+	/**
+	 * Shuffles the indices from the given position to the end in place with the
+	 * Fisher-Yates algorithm, the same way GameRandom.shuffle shuffles a list.
+	 *
+	 * @param random the random source
+	 * @param from   the first position to shuffle
+	 */
+	private void shuffle(GameRandom random, int from) {
+		for (int i = order.length - 1; i > from; i--) {
+			int j = from + random.nextInt(i - from + 1);
+			int temp = order[i];
+			order[i] = order[j];
+			order[j] = temp;
+		}
+	}
+
+	/**
+	 * @return a copy of this deck that can be drawn from without changing this one
+	 */
+	public CardDeck copy() {
+		return new CardDeck(this);
+	}
+
+	/**
+	 * @return the number of cards that can still be drawn before a reshuffle
+	 */
+	public int remaining() {
+		return order.length - cursor;
+	}
+
+	/**
+	 * @return the number of cards in the deck and discard pile together
+	 */
+	public int size() {
+		return order.length;
+	}
+
+	/**
+	 * @return the position of the next card to draw
+	 */
+	public int getCursor() {
+		return cursor;
+	}
+
+	/**
+	 * @return a hash of the order of the cards and the cursor, for
+	 *         CardDecks.stateHash
+	 */
+	int stateHash() {
+		int hash = cursor;
+		for (int index : order) {
+			hash = 31 * hash + index;
+		}
+		return hash;
+	}
+
+	/**
+	 * @return a copy of the order of the card indices
+	 */
+	public int[] getOrder() {
+		return order.clone();
+	}
+
+	/**
+	 * Restores a state saved with getOrder and getCursor.
+	 *
+	 * @param order  the order of the card indices
+	 * @param cursor the position of the next card to draw
+	 * @throws IllegalArgumentException if the state does not fit this deck
+	 */
+	public void setState(int[] order, int cursor) {
+		if (order.length != this.order.length || cursor < 0 || cursor > order.length) {
+			throw new IllegalArgumentException("The state does not belong to this deck");
+		}
+		boolean[] seen = new boolean[order.length];
+		for (int index : order) {
+			if (index < 0 || index >= order.length || seen[index]) {
+				throw new IllegalArgumentException("The order is not a permutation of the cards");
+			}
+			seen[index] = true;
+		}
+		System.arraycopy(order, 0, this.order, 0, order.length);
+		this.cursor = cursor;
+	}
+
+	/**
+	 * @return the cards that can still be drawn, in the order they will be drawn
+	 */
+	public ArrayList<Card> getRemainingCards() {
+		ArrayList<Card> list = new ArrayList<>(remaining());
+		for (int i = cursor; i < order.length; i++) {
+			list.add(cards[order[i]]);
+		}
+		return list;
+	}
+
+	/**
+	 * @return the cards that have been drawn since the last reshuffle, in the
+	 *         order they were drawn
+	 */
+	public ArrayList<Card> getDrawnCards() {
+		ArrayList<Card> list = new ArrayList<>(cursor);
+		for (int i = 0; i < cursor; i++) {
+			list.add(cards[order[i]]);
+		}
+		return list;
+	}
+}
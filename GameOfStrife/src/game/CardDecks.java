@@ -1,114 +1,57 @@
 package game;
 
-import java.io.BufferedReader;
-
-import java.io.FileReader;
 import java.io.IOException;
 import java.util.*;
 
 import javax.swing.JOptionPane;
 
-import org.json.JSONArray;
-import org.json.JSONObject;
-
-import static game.SymbolicConstants.*;
-
 /**
  * The CardDecks class manages all card decks in the game, including loading
- * cards from a JSON file, shuffling, and retrieving cards by type.
+ * cards from a JSON file, shuffling, and retrieving cards by type. Every type of
+ * card has one CardDeck, which holds both the cards still to draw and the used
+ * cards. The cards themselves come from a CardCatalog that is shared by every
+ * game, the decks of a game only hold the order of the cards.
  */
 
 public class CardDecks {
 
 	// Map to store decks by type (different colored decks)
-	private Map<String, ArrayList<Card>> decks = new HashMap<>();
-	private Map<String, ArrayList<Card>> usedDecks = new HashMap<>();
+	private Map<String, CardDeck> decks = new HashMap<>();
+	// The same decks by the tile type code of CompiledBoard, for fast draws
+	private CardDeck[] decksByTypeCode = new CardDeck[CompiledBoard.TYPE_WHITE + 1];
+	// The shared cards of every type in the order of the JSON file
+	private CardCatalog catalog;
+	private GameRandom random = new GameRandom();
+
+	/**
+	 * Constructs card decks without any cards, to be loaded with
+	 * loadCardDeckFromJson.
+	 */
+	public CardDecks() {
+	}
+
+	/**
+	 * Constructs shuffled card decks with the cards of a catalog.
+	 *
+	 * @param catalog the catalog with the cards
+	 */
+	public CardDecks(CardCatalog catalog) {
+		useCatalog(catalog);
+	}
 
 	/**
 	 * Loads cards from a JSON file and adds them to the appropriate deck based on
-	 * their type. Cards are shuffled after loading.
+	 * their type. The file is parsed into a CardCatalog only once per process, so
+	 * loading the same file again only builds new decks on the same cards. Every
+	 * card is compiled into its CardEffects while parsing, so a card with an
+	 * unknown method type or a missing value is reported here instead of when it
+	 * is drawn. Cards are shuffled after loading.
 	 *
 	 * @param filePath the path to the JSON file containing card data
 	 */
 	public void loadCardDeckFromJson(String filePath) {
 		try {
-			// Read and parse the JSON file
-			String jsonData = readJSONFile(filePath);
-			JSONObject jsonObject = new JSONObject(jsonData);
-			JSONArray pathArray = jsonObject.getJSONArray(JSON_CARDS);
-
-			// Loop over each card entry in the JSON
-			for (int i = 0; i < pathArray.length(); i++) {
-				JSONObject cardData = pathArray.getJSONObject(i);
-				String cardType = cardData.getString(JSON_TYPE);
-
-				if (cardType.equals(TYPE_GREEN)) {
-					// Create and store GreenCard from JSON and add to the deck
-					GreenCard card = new GreenCard(cardData.getString(JSON_DESCRIPTION),
-							cardData.getInt(JSON_VALUE_CHANGE), cardType);
-					String type = card.getType().toUpperCase();
-					decks.computeIfAbsent(type, k -> new ArrayList<>());
-					usedDecks.computeIfAbsent(type, k -> new ArrayList<>());
-					decks.get(type).add(card);
-
-				} else if (cardType.equals(TYPE_BLUE)) {
-					// Parse basic BlueCard fields
-					String description = cardData.getString(JSON_DESCRIPTION);
-					String choiceType = cardData.getString(JSON_CHOICE_TYPE);
-					String methodType = cardData.optString(JSON_METHOD_TYPE, "");
-					JSONArray optionsArray = cardData.optJSONArray(JSON_OPTIONS);
-					List<Map<String, Object>> options = new ArrayList<>();
-
-					// Read options array if present, and convert the array to a list of maps
-					if (optionsArray != null) {
-						for (int j = 0; j < optionsArray.length(); j++) {
-							JSONObject optionObj = optionsArray.getJSONObject(j);
-							Map<String, Object> optionMap = new HashMap<>();
-							Iterator<String> keys = optionObj.keys();
-							while (keys.hasNext()) {
-								String key = keys.next();
-								Object value = optionObj.get(key);
-								optionMap.put(key, value);
-							}
-							options.add(optionMap);
-						}
-					}
-
-					// Store remaining properties in a map
-					Map<String, Object> properties = new HashMap<>();
-					Iterator<String> keys = cardData.keys();
-					while (keys.hasNext()) {
-						String key = keys.next();
-						if (!key.equals(JSON_DESCRIPTION) && !key.equals(JSON_TYPE) && !key.equals(JSON_CHOICE_TYPE)
-								&& !key.equals(JSON_METHOD_TYPE) && !key.equals(JSON_OPTIONS)) {
-							properties.put(key, cardData.get(key));
-						}
-					}
-
-					// Create and store BlueCard in the deck
-					BlueCard card = new BlueCard(description, cardType, choiceType, methodType, options, properties);
-					String type = cardType.toUpperCase();
-					decks.computeIfAbsent(type, k -> new ArrayList<>());
-					usedDecks.computeIfAbsent(type, k -> new ArrayList<>());
-					decks.get(type).add(card);
-
-				} else if (cardType.equals(TYPE_RED)) {
-					// Create RedCard from JSON and store in deck
-					RedCard card = new RedCard(cardData.getString(JSON_DESCRIPTION), cardData.getInt(JSON_VALUE_CHANGE),
-							cardType, cardData.getString(JSON_METHOD_TYPE), cardData.getInt(JSON_DURATION));
-					String type = card.getType().toUpperCase();
-					decks.computeIfAbsent(type, k -> new ArrayList<>());
-					usedDecks.computeIfAbsent(type, k -> new ArrayList<>());
-					decks.get(type).add(card);
-
-				} else {
-					// When an unexpected card type occurs
-					System.out.print("This error should not be happening");
-				}
-
-				// Shuffle all decks after adding each card
-				shuffleAllDecks();
-			}
+			useCatalog(CardCatalog.load(filePath));
 
 		} catch (IOException e) {
 			// Handle file not found or read error
@@ -120,25 +63,39 @@ public class CardDecks {
 			JOptionPane.showMessageDialog(null, "Take a look at your Cards JSON file, there is an error in the file",
 					"Error", JOptionPane.ERROR_MESSAGE);
 			System.exit(0);
+		} catch (IllegalArgumentException e) {
+			// Handle a card that could not be compiled
+			JOptionPane.showMessageDialog(null,
+					"Take a look at your Cards JSON file, there is an error in a card: " + e.getMessage(), "Error",
+					JOptionPane.ERROR_MESSAGE);
+			System.exit(0);
 		}
 	}
 
 	/**
-	 * Reads and returns the contents of a JSON file as a String.
+	 * Builds a CardDeck of every type on the shared cards of a catalog, in the
+	 * order of the JSON file, and shuffles all decks once.
 	 *
-	 * @param filePath the file path to read from
-	 * @return the content of the JSON file
-	 * @throws IOException if an error occurs during file reading
+	 * @param catalog the catalog with the cards
 	 */
-	private static String readJSONFile(String filePath) throws IOException {
-		StringBuilder content = new StringBuilder();
-		try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-			String line;
-			while ((line = reader.readLine()) != null) {
-				content.append(line).append("\n"); // Add newline for better readability
-			}
+	private void useCatalog(CardCatalog catalog) {
+		this.catalog = catalog;
+		decks.clear();
+		Arrays.fill(decksByTypeCode, null);
+		for (String type : catalog.getTypes()) {
+			CardDeck deck = new CardDeck(catalog.getCardArray(type));
+			decks.put(type, deck);
+			decksByTypeCode[CompiledBoard.typeCode(type)] = deck;
 		}
-		return content.toString();
+		shuffleAllDecks();
+	}
+
+	/**
+	 * @return the catalog the cards of these decks come from, or null if no cards
+	 *         are loaded
+	 */
+	public CardCatalog getCatalog() {
+		return catalog;
 	}
 
 	/**
@@ -151,40 +108,108 @@ public class CardDecks {
 	}
 
 	/**
-	 * Returns the list of cards for the given type.
+	 * Returns the deck of the given type.
 	 *
 	 * @param type the card type
-	 * @return a list of Card objects for the given type, or null if invalid type
+	 * @return the CardDeck for the given type, or null if invalid type
 	 */
-	public ArrayList<Card> getCardsByType(String type) {
-		if (type.equalsIgnoreCase(TYPE_GREEN) || type.equalsIgnoreCase(TYPE_BLUE) || type.equalsIgnoreCase(TYPE_RED)) {
-			return decks.get(type.toUpperCase());
-		} else {
+	public CardDeck getDeck(String type) {
+		if (type == null) {
 			return null;
 		}
+		return decks.get(type.toUpperCase());
+	}
+
+	/**
+	 * Returns the deck a player draws from on the given tile. A tile created by a
+	 * compiled board is looked up by its type code without any string operations;
+	 * a tile built by hand falls back to the code of its type name.
+	 *
+	 * @param tile the tile the player is on
+	 * @return the CardDeck for the type of the tile, or null if the tile has no
+	 *         cards
+	 */
+	public CardDeck getDeckForTile(Tile tile) {
+		CompiledBoard board = tile.getBoard();
+		if (board != null) {
+			return decksByTypeCode[board.getTypeCode(tile.getIndex())];
+		}
+		return decksByTypeCode[CompiledBoard.typeCode(tile.getType())];
+	}
+
+	/**
+	 * Returns a copy of the list of cards that can still be drawn for the given
+	 * type, in the order they will be drawn.
+	 *
+	 * @param type the card type
+	 * @return a list of Card objects for the given type, or null if invalid type
+	 */
+	public ArrayList<Card> getCardsByType(String type) {
+		CardDeck deck = getDeck(type);
+		return deck != null ? deck.getRemainingCards() : null;
 	}
 
 	/**
-	 * Returns the list of used cards for the given type.
+	 * Returns a copy of the list of used cards for the given type.
 	 *
 	 * @param type the card type
 	 * @return a list of used Card objects for the given type, or null if invalid
 	 *         type
 	 */
 	public ArrayList<Card> getUsedCardsByType(String type) {
-		if (type.equalsIgnoreCase(TYPE_GREEN) || type.equalsIgnoreCase(TYPE_BLUE) || type.equalsIgnoreCase(TYPE_RED)) {
-			return usedDecks.get(type.toUpperCase());
-		} else {
-			return null;
+		CardDeck deck = getDeck(type);
+		return deck != null ? deck.getDrawnCards() : null;
+	}
+
+	/**
+	 * @return a hash of the order of the cards and the position of the next card
+	 *         in every deck, for GameEngine.stateHash
+	 */
+	int stateHash() {
+		int hash = 0;
+		for (CardDeck deck : decksByTypeCode) {
+			hash = 31 * hash + (deck == null ? -1 : deck.stateHash());
 		}
+		return hash;
 	}
 
 	/**
-	 * Shuffles all card decks currently loaded in the game.
+	 * Shuffles the cards that can still be drawn of all card decks currently
+	 * loaded in the game.
 	 */
 	public void shuffleAllDecks() {
-		for (ArrayList<Card> deck : decks.values()) {
-			Collections.shuffle(deck);
+		for (CardDeck deck : decks.values()) {
+			deck.shuffle(random);
 		}
 	}
+
+	/**
+	 * Puts every card back in its deck in the order of the JSON file and shuffles
+	 * all decks. With the same random source this always gives the same decks, no
+	 * matter which cards were drawn before.
+	 */
+	public void resetAllDecks() {
+		for (CardDeck deck : decks.values()) {
+			deck.reset(random);
+		}
+	}
+
+	/**
+	 * Returns the random source used to shuffle the decks.
+	 *
+	 * @return the random source
+	 */
+	public GameRandom getRandom() {
+		return random;
+	}
+
+	/**
+	 * Sets the random source used to shuffle the decks, normally the one of the
+	 * game that is played with them.
+	 *
+	 * @param random the random source
+	 */
+	public void setRandom(GameRandom random) {
+		this.random = random;
+	}
 }
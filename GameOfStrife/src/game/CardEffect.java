@@ -0,0 +1,433 @@
+package game;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import static game.SymbolicConstants.*;
+
+/**
+ * A CardEffect is the compiled form of what a card (or one option of a blue
+ * card) does. The method type and values from the cards JSON file are checked
+ * and turned into an opcode and a few int fields once, when the card is loaded.
+ * Executing the effect is then a switch on the opcode, without any string
+ * comparisons, map lookups or casts, and a card with missing or wrong values
+ * fails at load instead of when it is drawn.
+ *
+ * The meaning of value, otherValue and chance depends on the opcode:
+ * SELF_MONEY / OTHER_MONEY - value: money change.
+ * INCOME_FOR_MONEY - value: income change, otherValue: money change.
+ * STEAL_MONEY - value: the amount to steal.
+ * TIMED_INCOME / TIMED_DIE_FACES / TIMED_STEPS - value: the change, for the
+ * given duration in rounds.
+ * MONEY_CHANCE - value: fixed cost, otherValue: penalty, chance: penalty
+ * chance.
+ * INCOME_CHANCE - value: success effect, otherValue: failure effect, chance:
+ * success chance.
+ */
+public final class CardEffect {
+
+	/**
+	 * Everything a card can do.
+	 */
+	public enum Opcode {
+		SELF_MONEY, OTHER_MONEY, INCOME_FOR_MONEY, TIMED_INCOME, TIMED_DIE_FACES, TIMED_STEPS, SKIP_TURN,
+		MOVE_TO_START, ROLL_AGAIN, SWAP_PLACES, MOVE_TO_PLAYER, SWAP_MONEY, STEAL_MONEY, MONEY_CHANCE,
+		INCOME_CHANCE, NO_EFFECT;
+
+		/**
+		 * @return true if the effect needs another player to be chosen
+		 */
+		public boolean targetsPlayer() {
+			return this == SWAP_PLACES || this == MOVE_TO_PLAYER || this == SWAP_MONEY || this == STEAL_MONEY;
+		}
+	}
+
+	private static final String MONEY_CHANCE_SUCCESS = "Success! You incur no further costs.";
+
+	private final Opcode opcode;
+	private final int value;
+	private final int otherValue;
+	private final int duration;
+	private final double chance;
+	// The messages of a gamble, built once so executing it does not build strings
+	private final String successMessage;
+	private final String failureMessage;
+
+	/**
+	 * Constructs a compiled effect. Effects are created by the compile methods.
+	 */
+	private CardEffect(Opcode opcode, int value, int otherValue, int duration, double chance,
+			String successMessage, String failureMessage) {
+		this.opcode = opcode;
+		this.value = value;
+		this.otherValue = otherValue;
+		this.duration = duration;
+		this.chance = chance;
+		this.successMessage = successMessage;
+		this.failureMessage = failureMessage;
+	}
+
+	/**
+	 * Creates an effect without chance.
+	 */
+	private static CardEffect of(Opcode opcode, int value, int otherValue, int duration) {
+		return of(opcode, value, otherValue, duration, 0.0);
+	}
+
+	/**
+	 * Creates an effect with the messages of a gamble, which only depend on its
+	 * opcode and values.
+	 */
+	private static CardEffect of(Opcode opcode, int value, int otherValue, int duration, double chance) {
+		switch (opcode) {
+		case MONEY_CHANCE:
+			return new CardEffect(opcode, value, otherValue, duration, chance, MONEY_CHANCE_SUCCESS,
+					"Unlucky! Penalty applied: " + otherValue);
+		case INCOME_CHANCE:
+			return new CardEffect(opcode, value, otherValue, duration, chance,
+					"Your gamble paid off! Your income increases by " + value,
+					"Unlucky! Your income has gone down by " + otherValue);
+		default:
+			return new CardEffect(opcode, value, otherValue, duration, chance, null, null);
+		}
+	}
+
+	/**
+	 * Compiles a red card.
+	 *
+	 * @param methodType  the method type of the card, like "incomeChange"
+	 * @param valueChange the value on the card
+	 * @param duration    the number of rounds a timed effect lasts
+	 * @return the compiled effect
+	 * @throws IllegalArgumentException if the method type is unknown
+	 */
+	public static CardEffect compileRed(String methodType, int valueChange, int duration) {
+		switch (methodType == null ? "" : methodType) {
+		case SELF_MONEY_CHANGE:
+			return of(Opcode.SELF_MONEY, valueChange, 0, 0);
+		case OTHER_MONEY_CHANGE:
+			return of(Opcode.OTHER_MONEY, valueChange, 0, 0);
+		case INCOME_CHANGE:
+			return of(Opcode.TIMED_INCOME, valueChange, 0, duration);
+		case DIE_CHANGE:
+			return of(Opcode.TIMED_DIE_FACES, valueChange, 0, duration);
+		case SKIP_TURN:
+			return of(Opcode.SKIP_TURN, 0, 0, 0);
+		case MOVE_TO_START:
+			return of(Opcode.MOVE_TO_START, 0, 0, 0);
+		case ROLL_AGAIN:
+			return of(Opcode.ROLL_AGAIN, 0, 0, 0);
+		default:
+			throw new IllegalArgumentException("Unknown red card method type: " + methodType);
+		}
+	}
+
+	/**
+	 * Compiles a blue card of the choice type playerChoice.
+	 *
+	 * @param methodType the method type of the card, like "swapPlaces"
+	 * @param properties the other values of the card
+	 * @return the compiled effect
+	 * @throws IllegalArgumentException if the method type is unknown or a value
+	 *                                  is not a number
+	 */
+	public static CardEffect compilePlayerChoice(String methodType, Map<String, Object> properties) {
+		switch (methodType == null ? "" : methodType) {
+		case METHOD_SWAP_PLACES:
+			return of(Opcode.SWAP_PLACES, 0, 0, 0);
+		case METHOD_MOVE_TO_PLAYER:
+			return of(Opcode.MOVE_TO_PLAYER, 0, 0, 0);
+		case METHOD_SWAP_MONEY:
+			return of(Opcode.SWAP_MONEY, 0, 0, 0);
+		case METHOD_STEAL_MONEY:
+			return of(Opcode.STEAL_MONEY, optionalInt(properties, KEY_STEAL_AMOUNT), 0, 0);
+		default:
+			throw new IllegalArgumentException("Unknown player choice method type: " + methodType);
+		}
+	}
+
+	/**
+	 * Compiles one option of a blue card of the choice type options.
+	 *
+	 * @param option the values of the option
+	 * @return the compiled effect
+	 * @throws IllegalArgumentException if the method type is unknown or a value
+	 *                                  is missing or not a number
+	 */
+	public static CardEffect compileOption(Map<String, Object> option) {
+		String methodType = methodType(option);
+		switch (methodType == null ? "" : methodType) {
+		case METHOD_SELF_MONEY_CHANGE:
+			return of(Opcode.SELF_MONEY, requiredInt(option, KEY_VALUE_CHANGE), 0, 0);
+		case METHOD_OTHER_MONEY_CHANGE:
+			return of(Opcode.OTHER_MONEY, requiredInt(option, KEY_VALUE_CHANGE), 0, 0);
+		case METHOD_INCOME_FOR_MONEY:
+			return of(Opcode.INCOME_FOR_MONEY, requiredInt(option, KEY_INCOME_CHANGE),
+					requiredInt(option, KEY_MONEY_CHANGE), 0);
+		case METHOD_MOVE_TO_START:
+			return of(Opcode.MOVE_TO_START, 0, 0, 0);
+		case METHOD_CHANGE_STEPS:
+			return of(Opcode.TIMED_STEPS, requiredInt(option, KEY_VALUE_CHANGE), 0,
+					requiredInt(option, KEY_DURATION));
+		case METHOD_CHANGE_INCOME:
+			return of(Opcode.TIMED_INCOME, requiredInt(option, KEY_VALUE_CHANGE), 0,
+					requiredInt(option, KEY_DURATION));
+		default:
+			throw new IllegalArgumentException("Unknown option method type: " + methodType);
+		}
+	}
+
+	/**
+	 * Compiles one option of a blue card of the choice type gamble.
+	 *
+	 * @param option the values of the option
+	 * @return the compiled effect
+	 * @throws IllegalArgumentException if the method type is unknown, a value is
+	 *                                  not a number or a chance is not between 0
+	 *                                  and 1
+	 */
+	public static CardEffect compileGamble(Map<String, Object> option) {
+		String methodType = methodType(option);
+		switch (methodType == null ? "" : methodType) {
+		case METHOD_MONEY_CHANCE:
+			return of(Opcode.MONEY_CHANCE, optionalInt(option, KEY_FIXED_COST), optionalInt(option, KEY_PENALTY), 0,
+					chance(option, KEY_PENALTY_CHANCE));
+		case METHOD_INCOME_CHANCE:
+			// An option without a success effect is the safe choice that does nothing
+			if (!option.containsKey(KEY_SUCCESS_EFFECT)) {
+				return of(Opcode.NO_EFFECT, 0, 0, 0);
+			}
+			return of(Opcode.INCOME_CHANCE, optionalInt(option, KEY_SUCCESS_EFFECT),
+					optionalInt(option, KEY_FAILURE_EFFECT), 0, chance(option, KEY_SUCCESS_CHANCE));
+		default:
+			throw new IllegalArgumentException("Unknown gamble method type: " + methodType);
+		}
+	}
+
+	/**
+	 * Reads the method type of an option, which is null when it is not there.
+	 */
+	private static String methodType(Map<String, Object> option) {
+		Object value = option.get(KEY_METHOD_TYPE);
+		if (value != null && !(value instanceof String)) {
+			throw new IllegalArgumentException("Invalid methodType: " + value);
+		}
+		return (String) value;
+	}
+
+	/**
+	 * Reads a number that must be there.
+	 */
+	private static int requiredInt(Map<String, Object> values, String key) {
+		if (!values.containsKey(key)) {
+			throw new IllegalArgumentException("Missing value: " + key);
+		}
+		return optionalInt(values, key);
+	}
+
+	/**
+	 * Reads a number that is 0 when it is not there.
+	 */
+	private static int optionalInt(Map<String, Object> values, String key) {
+		Object value = values.get(key);
+		if (value == null) {
+			return 0;
+		}
+		if (!(value instanceof Number)) {
+			throw new IllegalArgumentException("Not a number: " + key + " = " + value);
+		}
+		return ((Number) value).intValue();
+	}
+
+	/**
+	 * Reads a chance between 0 and 1 that is 0 when it is not there.
+	 */
+	private static double chance(Map<String, Object> values, String key) {
+		Object value = values.get(key);
+		if (value == null) {
+			return 0.0;
+		}
+		if (!(value instanceof Number)) {
+			throw new IllegalArgumentException("Not a number: " + key + " = " + value);
+		}
+		double chance = ((Number) value).doubleValue();
+		if (chance < 0.0 || chance > 1.0) {
+			throw new IllegalArgumentException("Chance out of range: " + key + " = " + value);
+		}
+		return chance;
+	}
+
+	/**
+	 * Writes the effect in the binary format of BinaryCache: the opcode, the three
+	 * int values and the chance.
+	 *
+	 * @param out the stream to write to
+	 * @throws IOException if the stream cannot be written
+	 */
+	void write(DataOutputStream out) throws IOException {
+		out.writeByte(opcode.ordinal());
+		out.writeInt(value);
+		out.writeInt(otherValue);
+		out.writeInt(duration);
+		out.writeDouble(chance);
+	}
+
+	/**
+	 * Reads an effect written by write.
+	 *
+	 * @param in the buffer to read from, at the start of the effect
+	 * @return the compiled effect
+	 * @throws IllegalArgumentException         if the data is not a valid effect
+	 * @throws java.nio.BufferUnderflowException if the data ends too early
+	 */
+	static CardEffect read(ByteBuffer in) {
+		int code = in.get();
+		if (code < 0 || code >= Opcode.values().length) {
+			throw new IllegalArgumentException("Unknown opcode " + code);
+		}
+		int value = in.getInt();
+		int otherValue = in.getInt();
+		int duration = in.getInt();
+		double chance = in.getDouble();
+		if (!(chance >= 0.0 && chance <= 1.0)) {
+			throw new IllegalArgumentException("Chance out of range: " + chance);
+		}
+		return of(Opcode.values()[code], value, otherValue, duration, chance);
+	}
+
+	/**
+	 * Executes the effect for the current player of the game.
+	 *
+	 * @param game   the engine of the current game
+	 * @param card   the card the effect belongs to, which removes timed effects
+	 *               again
+	 * @param target the chosen other player, only used by effects that target a
+	 *               player
+	 */
+	public void execute(GameEngine game, Card card, Player target) {
+		Player current = game.getCurrentPlayer();
+		switch (opcode) {
+		case SELF_MONEY:
+			current.adjustResources(value);
+			break;
+		case OTHER_MONEY:
+			for (Player player : game.getPlayers()) {
+				if (player != current) {
+					player.adjustResources(value);
+				}
+			}
+			break;
+		case INCOME_FOR_MONEY:
+			current.adjustIncome(value);
+			current.adjustResources(otherValue);
+			break;
+		case TIMED_INCOME:
+			current.adjustIncome(value);
+			schedule(game, card, current, ActiveEffect.Kind.INCOME);
+			break;
+		case TIMED_DIE_FACES:
+			game.getDie().setNumFaces(game.getDie().getNumFaces() + value);
+			schedule(game, card, current, ActiveEffect.Kind.DIE_FACES);
+			break;
+		case TIMED_STEPS:
+			schedule(game, card, current, ActiveEffect.Kind.STEPS_BONUS);
+			current.addStepsBonus(value);
+			break;
+		case SKIP_TURN:
+			game.nextTurn();
+			break;
+		case MOVE_TO_START:
+			current.setCurrentTile(game.findTileByID(0));
+			game.updatePlayerPosition(current, game.getCurrentPlayerTurn() - 1);
+			break;
+		case ROLL_AGAIN:
+			game.previousTurn();
+			break;
+		case SWAP_PLACES:
+			Tile temp = current.getCurrentTile();
+			current.setCurrentTile(target.getCurrentTile());
+			target.setCurrentTile(temp);
+			game.updatePlayerPosition(current, game.getPlayers().indexOf(current));
+			game.updatePlayerPosition(target, game.getPlayers().indexOf(target));
+			break;
+		case MOVE_TO_PLAYER:
+			current.setCurrentTile(target.getCurrentTile());
+			game.updatePlayerPosition(current, game.getPlayers().indexOf(current));
+			break;
+		case SWAP_MONEY:
+			int currentMoney = current.getResources();
+			current.setResources(target.getResources());
+			target.setResources(currentMoney);
+			break;
+		case STEAL_MONEY:
+			// The stolen amount is taken first, the gain is capped by what is left
+			target.adjustResources(-Math.min(target.getResources(), value));
+			current.adjustResources(Math.min(target.getResources(), value));
+			break;
+		case MONEY_CHANCE:
+			current.adjustResources(value);
+			if (game.getRandom().nextDouble() < chance) {
+				current.adjustResources(otherValue);
+				game.getDecisions().showMessage("Result", failureMessage);
+			} else {
+				game.getDecisions().showMessage("Result", successMessage);
+			}
+			break;
+		case INCOME_CHANCE:
+			if (game.getRandom().nextDouble() < chance) {
+				current.adjustIncome(value);
+				game.getDecisions().showMessage("Result", successMessage);
+			} else {
+				current.adjustIncome(otherValue);
+				game.getDecisions().showMessage("Result", failureMessage);
+			}
+			break;
+		case NO_EFFECT:
+		default:
+			break;
+		}
+	}
+
+	/**
+	 * Schedules the removal of a timed effect after its duration in rounds.
+	 */
+	private void schedule(GameEngine game, Card card, Player owner, ActiveEffect.Kind kind) {
+		game.getEffectScheduler().schedule(card, owner, kind, value, 1 + duration * game.getNumberOfPlayers());
+	}
+
+	/**
+	 * @return what the effect does
+	 */
+	public Opcode getOpcode() {
+		return opcode;
+	}
+
+	/**
+	 * @return the main value of the effect
+	 */
+	public int getValue() {
+		return value;
+	}
+
+	/**
+	 * @return the second value of the effect
+	 */
+	public int getOtherValue() {
+		return otherValue;
+	}
+
+	/**
+	 * @return the duration in rounds of a timed effect
+	 */
+	public int getDuration() {
+		return duration;
+	}
+
+	/**
+	 * @return the chance of a gamble
+	 */
+	public double getChance() {
+		return chance;
+	}
+}
@@ -0,0 +1,684 @@
+package game;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * CompiledBoard is a read-only copy of a loaded Board in plain int arrays. Every
+ * tile gets a dense index (0 to size - 1) in the order of the board file, and
+ * the 'next' connections are stored as one array of target indices with an
+ * offset per tile (compressed sparse rows). Moving over the board and looking up
+ * a tile by its ID then only touch primitive arrays.
+ *
+ * A board that is read, generated or loaded from its binary form keeps its
+ * tiles only in these arrays. The Tile object of an index is created the first
+ * time it is asked for and then kept, so the same index always gives the same
+ * Tile, and its next tiles are only linked when they are asked for. A board
+ * compiled from a list of Tile objects keeps those objects instead. A JumpTable
+ * is built along with the board, so players can move over long runs without
+ * choices in one go.
+ *
+ * A generated board with a million tiles takes about 58 MB this way, of which
+ * the jump table is 16 MB, where it took 134 MB with a linked Tile for every
+ * tile. That is still more than the few MB the arrays of the connections alone
+ * would take. Every Tile that is asked for adds about 56 bytes, and its list of
+ * next tiles another 48 once that is asked for. As the Tile objects are created
+ * on demand, a board must only be used by one thread at a time, like the Board
+ * it belongs to, until linkTiles has created them all. From then on the board
+ * is only read, so games that share it can be played on more threads.
+ */
+public class CompiledBoard {
+	// Type codes of the tiles
+	public static final byte TYPE_OTHER = 0;
+	public static final byte TYPE_START = 1;
+	public static final byte TYPE_GREEN = 2;
+	public static final byte TYPE_BLUE = 3;
+	public static final byte TYPE_RED = 4;
+	public static final byte TYPE_WHITE = 5;
+
+	// Use a direct ID -> index table as long as it is at most this many times
+	// larger than the number of tiles, otherwise use a hash table
+	private static final int MAX_DIRECT_SPREAD = 4;
+	private static final int NOT_FOUND = -1;
+
+	private int size;
+	// The Tile objects, null until they are asked for
+	private Tile[] tiles;
+	private int[] ids;
+	private String[] typeNames;
+	private byte[] types;
+	private int[] x;
+	private int[] y;
+	private int[] width;
+	private int[] height;
+	private long[] victory;
+	private int[] nextOffsets;
+	private int[] nextTargets;
+	private int startIndex;
+	private JumpTable jumpTable;
+	private volatile boolean linked; // every Tile is created and linked, see linkTiles
+
+	// ID -> index lookup, either direct (indexById) or open addressing (hashIds)
+	private int minId;
+	private int[] indexById;
+	private int[] hashIds;
+	private int[] hashIndices;
+
+	/**
+	 * The fields of tiles that are read or generated one by one, in arrays that
+	 * grow as tiles are added, so a board can be compiled without creating any
+	 * Tile objects.
+	 */
+	static final class TileArrays {
+		int size;
+		int[] ids;
+		String[] types;
+		int[] x;
+		int[] y;
+		int[] width;
+		int[] height;
+		long[] victory;
+
+		/**
+		 * @param capacity the number of tiles to make room for
+		 */
+		TileArrays(int capacity) {
+			ids = new int[capacity];
+			types = new String[capacity];
+			x = new int[capacity];
+			y = new int[capacity];
+			width = new int[capacity];
+			height = new int[capacity];
+			victory = new long[(capacity + 63) >>> 6];
+		}
+
+		/**
+		 * Adds a tile after the tiles added so far.
+		 */
+		void add(int id, String type, int tileX, int tileY, int tileWidth, int tileHeight, boolean isVictory) {
+			if (size == ids.length) {
+				int capacity = Math.max(16, size * 2);
+				ids = Arrays.copyOf(ids, capacity);
+				types = Arrays.copyOf(types, capacity);
+				x = Arrays.copyOf(x, capacity);
+				y = Arrays.copyOf(y, capacity);
+				width = Arrays.copyOf(width, capacity);
+				height = Arrays.copyOf(height, capacity);
+				victory = Arrays.copyOf(victory, (capacity + 63) >>> 6);
+			}
+			ids[size] = id;
+			types[size] = type;
+			x[size] = tileX;
+			y[size] = tileY;
+			width[size] = tileWidth;
+			height[size] = tileHeight;
+			if (isVictory) {
+				victory[size >>> 6] |= 1L << size;
+			}
+			size++;
+		}
+	}
+
+	/**
+	 * A read-only list of the tiles of the board, which creates the Tile of an
+	 * index when it is asked for.
+	 */
+	private final class TileList extends AbstractList<Tile> implements RandomAccess {
+		@Override
+		public Tile get(int index) {
+			if (index < 0 || index >= size) {
+				throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+			}
+			return getTile(index);
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+	}
+
+	/**
+	 * Compiles the given tiles, which must already be linked with their next
+	 * tiles. Every tile gets its index set, and the board keeps the Tile objects.
+	 * Next tiles that are not in the list are left out, just like Board leaves out
+	 * unknown IDs.
+	 *
+	 * @param tileList the tiles of the board in the order of the board file
+	 */
+	public CompiledBoard(List<Tile> tileList) {
+		size = tileList.size();
+		tiles = tileList.toArray(new Tile[size]);
+		ids = new int[size];
+		typeNames = new String[size];
+		x = new int[size];
+		y = new int[size];
+		width = new int[size];
+		height = new int[size];
+		victory = new long[(size + 63) >>> 6];
+		for (int i = 0; i < size; i++) {
+			Tile tile = tiles[i];
+			tile.setIndex(i);
+			ids[i] = tile.getID();
+			typeNames[i] = tile.getType();
+			x[i] = tile.getX();
+			y[i] = tile.getY();
+			width[i] = tile.getWidth();
+			height[i] = tile.getHeight();
+			if (tile.getVictory()) {
+				victory[i >>> 6] |= 1L << i;
+			}
+		}
+		compileTiles();
+
+		// Count the known next tiles first, so the targets fit in one array
+		nextOffsets = new int[size + 1];
+		for (int i = 0; i < size; i++) {
+			int count = 0;
+			for (Tile next : tiles[i].getNextTiles()) {
+				if (isCompiled(next)) {
+					count++;
+				}
+			}
+			nextOffsets[i + 1] = nextOffsets[i] + count;
+		}
+		nextTargets = new int[nextOffsets[size]];
+		for (int i = 0; i < size; i++) {
+			int offset = nextOffsets[i];
+			for (Tile next : tiles[i].getNextTiles()) {
+				if (isCompiled(next)) {
+					nextTargets[offset++] = next.getIndex();
+				}
+			}
+		}
+
+		jumpTable = new JumpTable(this);
+	}
+
+	/**
+	 * Compiles the fields of tiles, with the IDs of their next tiles in compressed
+	 * sparse rows, as read by BoardReader. The IDs are turned into indices in
+	 * place and unknown IDs are left out. The arrays are taken over, not copied,
+	 * and no Tile objects are created.
+	 *
+	 * @param tiles       the fields of the tiles in the order of the board file
+	 * @param nextOffsets the first position in nextIds of every tile, and the end
+	 *                    of the last tile at position size
+	 * @param nextIds     the IDs of the next tiles
+	 */
+	CompiledBoard(TileArrays tiles, int[] nextOffsets, int[] nextIds) {
+		this(tiles);
+
+		// Resolve the IDs, moving the known ones to the front of every row
+		this.nextOffsets = new int[size + 1];
+		int count = 0;
+		for (int i = 0; i < size; i++) {
+			this.nextOffsets[i] = count;
+			for (int j = nextOffsets[i]; j < nextOffsets[i + 1]; j++) {
+				int index = indexOf(nextIds[j]);
+				if (index != NOT_FOUND) {
+					nextIds[count++] = index;
+				}
+			}
+		}
+		this.nextOffsets[size] = count;
+		nextTargets = count == nextIds.length ? nextIds : Arrays.copyOf(nextIds, count);
+		jumpTable = new JumpTable(this);
+	}
+
+	/**
+	 * Takes over the fields of tiles, cut to their size, without any
+	 * connections yet.
+	 */
+	private CompiledBoard(TileArrays tiles) {
+		size = tiles.size;
+		this.tiles = new Tile[size];
+		ids = fit(tiles.ids, size);
+		typeNames = tiles.types.length == size ? tiles.types : Arrays.copyOf(tiles.types, size);
+		x = fit(tiles.x, size);
+		y = fit(tiles.y, size);
+		width = fit(tiles.width, size);
+		height = fit(tiles.height, size);
+		int words = (size + 63) >>> 6;
+		victory = tiles.victory.length == words ? tiles.victory : Arrays.copyOf(tiles.victory, words);
+		compileTiles();
+	}
+
+	private static int[] fit(int[] values, int size) {
+		return values.length == size ? values : Arrays.copyOf(values, size);
+	}
+
+	/**
+	 * Writes the board in the binary format of BinaryCache: the number of tiles,
+	 * the names of the tile types, the fields of the tiles as int arrays, the
+	 * victory bits and the compiled connections.
+	 *
+	 * @param out the stream to write to
+	 * @throws IOException if the stream cannot be written
+	 */
+	void write(DataOutputStream out) throws IOException {
+		out.writeInt(size);
+		Map<String, Integer> names = new LinkedHashMap<>();
+		for (String name : typeNames) {
+			names.putIfAbsent(name, names.size());
+		}
+		out.writeInt(names.size());
+		for (String name : names.keySet()) {
+			BinaryCache.writeString(out, name);
+		}
+
+		writeInts(out, ids);
+		for (String name : typeNames) {
+			out.writeInt(names.get(name));
+		}
+		writeInts(out, x);
+		writeInts(out, y);
+		writeInts(out, width);
+		writeInts(out, height);
+		for (long bits : victory) {
+			out.writeLong(bits);
+		}
+		for (int offset : nextOffsets) {
+			out.writeInt(offset);
+		}
+		for (int target : nextTargets) {
+			out.writeInt(target);
+		}
+	}
+
+	private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+		for (int value : values) {
+			out.writeInt(value);
+		}
+	}
+
+	/**
+	 * Reads a board written by write. The int arrays are copied out of the buffer
+	 * in bulk and no Tile objects are created, so reading a board from a
+	 * memory-mapped file costs little more than copying its arrays.
+	 *
+	 * @param in the buffer to read from, at the start of the board
+	 * @return the compiled board
+	 * @throws IllegalArgumentException         if the data is not a valid board
+	 * @throws java.nio.BufferUnderflowException if the data ends too early
+	 */
+	static CompiledBoard read(ByteBuffer in) {
+		int size = in.getInt();
+		int nameCount = in.getInt();
+		if (size < 0 || nameCount < 0 || nameCount > size) {
+			throw new IllegalArgumentException("Invalid board header");
+		}
+		String[] names = new String[nameCount];
+		for (int i = 0; i < nameCount; i++) {
+			names[i] = BinaryCache.readString(in);
+		}
+
+		TileArrays tiles = new TileArrays(0);
+		tiles.size = size;
+		tiles.ids = readInts(in, size);
+		int[] typeIndices = readInts(in, size);
+		tiles.x = readInts(in, size);
+		tiles.y = readInts(in, size);
+		tiles.width = readInts(in, size);
+		tiles.height = readInts(in, size);
+		tiles.victory = new long[(size + 63) >>> 6];
+		if (tiles.victory.length > in.remaining() / 8) {
+			throw new BufferUnderflowException();
+		}
+		in.asLongBuffer().get(tiles.victory);
+		in.position(in.position() + tiles.victory.length * 8);
+		int[] nextOffsets = readInts(in, size + 1);
+
+		if (nextOffsets[0] != 0) {
+			throw new IllegalArgumentException("Invalid connections");
+		}
+		for (int i = 0; i < size; i++) {
+			if (nextOffsets[i + 1] < nextOffsets[i]) {
+				throw new IllegalArgumentException("Invalid connections");
+			}
+		}
+		int[] nextTargets = readInts(in, nextOffsets[size]);
+		for (int target : nextTargets) {
+			if (target < 0 || target >= size) {
+				throw new IllegalArgumentException("Invalid connections");
+			}
+		}
+
+		tiles.types = new String[size];
+		for (int i = 0; i < size; i++) {
+			if (typeIndices[i] < 0 || typeIndices[i] >= nameCount) {
+				throw new IllegalArgumentException("Invalid tile type");
+			}
+			tiles.types[i] = names[typeIndices[i]];
+		}
+		CompiledBoard board = new CompiledBoard(tiles);
+		board.nextOffsets = nextOffsets;
+		board.nextTargets = nextTargets;
+		board.jumpTable = new JumpTable(board);
+		return board;
+	}
+
+	/**
+	 * Copies a number of ints out of a buffer in bulk.
+	 */
+	private static int[] readInts(ByteBuffer in, int count) {
+		if (count < 0 || count > in.remaining() / 4) {
+			throw new BufferUnderflowException();
+		}
+		int[] values = new int[count];
+		in.asIntBuffer().get(values);
+		in.position(in.position() + count * 4);
+		return values;
+	}
+
+	/**
+	 * Fills the type code of every tile, the ID lookup and the start index.
+	 */
+	private void compileTiles() {
+		types = new byte[size];
+		startIndex = NOT_FOUND;
+		for (int i = 0; i < size; i++) {
+			types[i] = typeCode(typeNames[i]);
+		}
+		buildIdLookup();
+
+		// The first tile of type start, or else the tile with ID 0
+		for (int i = 0; i < size && startIndex == NOT_FOUND; i++) {
+			if (types[i] == TYPE_START) {
+				startIndex = i;
+			}
+		}
+		if (startIndex == NOT_FOUND) {
+			startIndex = indexOf(0);
+		}
+	}
+
+	/**
+	 * Checks whether a tile is one of the tiles of this board.
+	 *
+	 * @param tile the tile to check
+	 * @return true if the tile was compiled into this board
+	 */
+	private boolean isCompiled(Tile tile) {
+		int index = tile.getIndex();
+		return index >= 0 && index < size && tiles[index] == tile;
+	}
+
+	/**
+	 * Turns the type of a tile into its type code.
+	 *
+	 * @param type the type of the tile, like "green"
+	 * @return the type code, TYPE_OTHER for unknown types
+	 */
+	public static byte typeCode(String type) {
+		if (type == null) {
+			return TYPE_OTHER;
+		}
+		switch (type.toLowerCase()) {
+		case "start":
+			return TYPE_START;
+		case "green":
+			return TYPE_GREEN;
+		case "blue":
+			return TYPE_BLUE;
+		case "red":
+			return TYPE_RED;
+		case "white":
+			return TYPE_WHITE;
+		default:
+			return TYPE_OTHER;
+		}
+	}
+
+	/**
+	 * Builds the ID -> index lookup. Dense IDs get a direct table, sparse IDs an
+	 * open addressing hash table with linear probing. When an ID is used twice,
+	 * the last tile wins, like in the tile map of Board.
+	 */
+	private void buildIdLookup() {
+		if (size == 0) {
+			indexById = new int[0];
+			return;
+		}
+		int min = ids[0];
+		int max = ids[0];
+		for (int id : ids) {
+			min = Math.min(min, id);
+			max = Math.max(max, id);
+		}
+
+		long spread = (long) max - min + 1;
+		if (spread <= (long) size * MAX_DIRECT_SPREAD) {
+			minId = min;
+			indexById = new int[(int) spread];
+			Arrays.fill(indexById, NOT_FOUND);
+			for (int i = 0; i < size; i++) {
+				indexById[ids[i] - min] = i;
+			}
+		} else {
+			// Power of two of at least twice the number of tiles
+			int capacity = Integer.highestOneBit(Math.max(2, size) * 2 - 1) << 1;
+			hashIds = new int[capacity];
+			hashIndices = new int[capacity];
+			Arrays.fill(hashIndices, NOT_FOUND);
+			for (int i = 0; i < size; i++) {
+				int slot = slot(ids[i]);
+				while (hashIndices[slot] != NOT_FOUND && hashIds[slot] != ids[i]) {
+					slot = (slot + 1) & (capacity - 1);
+				}
+				hashIds[slot] = ids[i];
+				hashIndices[slot] = i;
+			}
+		}
+	}
+
+	/**
+	 * @param id the ID of a tile
+	 * @return the first slot of the ID in the hash table
+	 */
+	private int slot(int id) {
+		int h = id * 0x9e3779b9;
+		return (h ^ (h >>> 16)) & (hashIds.length - 1);
+	}
+
+	/**
+	 * Finds the index of the tile with the given ID.
+	 *
+	 * @param id the ID of the tile
+	 * @return the index of the tile, or -1 if there is no tile with that ID
+	 */
+	public int indexOf(int id) {
+		if (hashIds == null) {
+			long offset = (long) id - minId;
+			return offset >= 0 && offset < indexById.length ? indexById[(int) offset] : NOT_FOUND;
+		}
+		int slot = slot(id);
+		while (hashIndices[slot] != NOT_FOUND) {
+			if (hashIds[slot] == id) {
+				return hashIndices[slot];
+			}
+			slot = (slot + 1) & (hashIds.length - 1);
+		}
+		return NOT_FOUND;
+	}
+
+	/**
+	 * Finds the tile with the given ID.
+	 *
+	 * @param id the ID of the tile
+	 * @return the tile, or null if there is no tile with that ID
+	 */
+	public Tile findTileByID(int id) {
+		int index = indexOf(id);
+		return index == NOT_FOUND ? null : getTile(index);
+	}
+
+	/**
+	 * @return the number of tiles on the board
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the Tile of an index, which is created the first time it is asked
+	 * for. Its next tiles are linked when they are asked for.
+	 *
+	 * @param index the index of a tile
+	 * @return the tile with that index
+	 */
+	public Tile getTile(int index) {
+		Tile tile = tiles[index];
+		if (tile == null) {
+			tile = new Tile(ids[index], typeNames[index], x[index], y[index], width[index], height[index],
+					isVictory(index));
+			tile.setIndex(index);
+			tile.setBoard(this);
+			tiles[index] = tile;
+		}
+		return tile;
+	}
+
+	/**
+	 * Creates the Tile of every index and links its next tiles, so nothing is
+	 * written to the board after this. A game that shares the board can then be
+	 * played on another thread, as long as it is handed over safely, for instance
+	 * through an executor. On a board of a million tiles this takes about 100 MB.
+	 * Does nothing once the tiles are linked.
+	 */
+	synchronized void linkTiles() {
+		if (!linked) {
+			for (int i = 0; i < size; i++) {
+				getTile(i).getNextTiles();
+			}
+			linked = true;
+		}
+	}
+
+	/**
+	 * Links the next tiles of a Tile that was created by getTile.
+	 *
+	 * @param index the index of the tile
+	 * @return the tiles a player can move to from that tile, in the order of the
+	 *         board file
+	 */
+	ArrayList<Tile> getNextTiles(int index) {
+		ArrayList<Tile> nextTiles = new ArrayList<>(getNextCount(index));
+		for (int j = nextOffsets[index]; j < nextOffsets[index + 1]; j++) {
+			nextTiles.add(getTile(nextTargets[j]));
+		}
+		return nextTiles;
+	}
+
+	/**
+	 * @return the tiles in the order of their index, as a read-only list backed by
+	 *         this board. Going over the whole list creates every Tile.
+	 */
+	public List<Tile> getTiles() {
+		return new TileList();
+	}
+
+	/**
+	 * @param index the index of a tile
+	 * @return the ID of the tile with that index
+	 */
+	public int getId(int index) {
+		return ids[index];
+	}
+
+	/**
+	 * @param index the index of a tile
+	 * @return the x coordinate of the tile with that index
+	 */
+	public int getX(int index) {
+		return x[index];
+	}
+
+	/**
+	 * @param index the index of a tile
+	 * @return the y coordinate of the tile with that index
+	 */
+	public int getY(int index) {
+		return y[index];
+	}
+
+	/**
+	 * @param index the index of a tile
+	 * @return the width of the tile with that index
+	 */
+	public int getWidth(int index) {
+		return width[index];
+	}
+
+	/**
+	 * @param index the index of a tile
+	 * @return the height of the tile with that index
+	 */
+	public int getHeight(int index) {
+		return height[index];
+	}
+
+	/**
+	 * @param index the index of a tile
+	 * @return the type of the tile with that index, as in the board file
+	 */
+	public String getTypeName(int index) {
+		return typeNames[index];
+	}
+
+	/**
+	 * @param index the index of a tile
+	 * @return the type code of the tile with that index
+	 */
+	public byte getTypeCode(int index) {
+		return types[index];
+	}
+
+	/**
+	 * @param index the index of a tile
+	 * @return true if the tile with that index is marked as a victory tile
+	 */
+	public boolean isVictory(int index) {
+		return (victory[index >>> 6] & (1L << index)) != 0;
+	}
+
+	/**
+	 * @param index the index of a tile
+	 * @return the number of tiles a player can move to from that tile
+	 */
+	public int getNextCount(int index) {
+		return nextOffsets[index + 1] - nextOffsets[index];
+	}
+
+	/**
+	 * @param index  the index of a tile
+	 * @param choice the number of the path, in the order of the board file
+	 * @return the index of the next tile on that path
+	 */
+	public int getNext(int index, int choice) {
+		return nextTargets[nextOffsets[index] + choice];
+	}
+
+	/**
+	 * @return the jump table for moving over runs without choices
+	 */
+	public JumpTable getJumpTable() {
+		return jumpTable;
+	}
+
+	/**
+	 * @return the index of the starting tile, or -1 if the board has none
+	 */
+	public int getStartIndex() {
+		return startIndex;
+	}
+}
@@ -1,7 +1,5 @@
 package game;
 
-import java.util.Random;
-
 /**
  * The die class represents the die that can be rolled to generate a random
  * value. The number of faces is configurable, and the current roll value can be
@@ -11,7 +9,7 @@ import java.util.Random;
 public class Die {
 	private int numFaces; // Number of faces on the Die
 	private int value; // Current rolled value
-	private Random random; // Random object for rolling the Die
+	private GameRandom random; // Random source for rolling the Die
 
 	/**
 	 * Constructs a Die with a specified number of faces.
@@ -19,8 +17,19 @@ public class Die {
 	 * @param numFaces The number of faces on the die (e.g., 6 for a standard die).
 	 */
 	public Die(int numFaces) {
+		this(numFaces, new GameRandom());
+	}
+
+	/**
+	 * Constructs a Die with a specified number of faces that rolls with the given
+	 * random source, so the rolls of a game can be reproduced from its seed.
+	 * 
+	 * @param numFaces The number of faces on the die.
+	 * @param random   The random source of the game.
+	 */
+	public Die(int numFaces, GameRandom random) {
 		this.numFaces = numFaces;
-		this.random = new Random();
+		this.random = random;
 		this.value = 0; // Initialize the roll as 0 so that we know it hasn't been rolled yet
 	}
 
@@ -46,6 +55,15 @@ public class Die {
 		this.numFaces = numFaces;
 	}
 
+	/**
+	 * Sets the value of the last roll, when a game is restored from a snapshot.
+	 * 
+	 * @param value The value of the last roll, or 0 if the die was not rolled yet.
+	 */
+	void setValue(int value) {
+		this.value = value;
+	}
+
 	/**
 	 * Returns the current value of the die after it has been rolled.
 	 * 
@@ -0,0 +1,128 @@
+package game;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * The EffectScheduler keeps track of all card effects with a duration. Every
+ * effect gets an absolute expiry turn, and the effects are kept in a priority
+ * queue on that turn. Passing a turn only looks at the effects that expire, so
+ * it costs nothing for effects that are still running.
+ *
+ * The turn of the scheduler goes up by one every time the game passes the turn
+ * to the next player, and down by one when a turn is taken back (ROLL_AGAIN),
+ * so a card that lasts for a number of turns keeps lasting that many turns.
+ */
+public class EffectScheduler {
+	private PriorityQueue<ActiveEffect> effects = new PriorityQueue<>(11, (a, b) -> {
+		int byTurn = Long.compare(a.getExpiryTurn(), b.getExpiryTurn());
+		return byTurn != 0 ? byTurn : Long.compare(a.getSequence(), b.getSequence());
+	});
+	private long turn = 0;
+	private long nextSequence = 0;
+
+	/**
+	 * Schedules a new effect that ends after the given number of turns.
+	 *
+	 * @param card     the card that caused the effect
+	 * @param owner    the player that drew the card
+	 * @param kind     what the effect changes
+	 * @param value    by how much it was changed
+	 * @param duration the number of turns (passes to the next player) the effect
+	 *                 lasts
+	 * @return the scheduled effect
+	 */
+	public ActiveEffect schedule(Card card, Player owner, ActiveEffect.Kind kind, int value, int duration) {
+		ActiveEffect effect = new ActiveEffect(card, owner, kind, value, turn + duration, nextSequence++);
+		effects.add(effect);
+		return effect;
+	}
+
+	/**
+	 * Passes one turn and removes the effects that have expired, in the order
+	 * they were scheduled.
+	 *
+	 * @param game the game the effects are removed from
+	 */
+	public void advance(GameEngine game) {
+		turn++;
+		while (!effects.isEmpty() && effects.peek().getExpiryTurn() <= turn) {
+			ActiveEffect effect = effects.poll();
+			effect.getCard().removeEffect(game, effect);
+		}
+	}
+
+	/**
+	 * Takes one turn back, so every active effect lasts one turn longer.
+	 */
+	public void rewind() {
+		turn--;
+	}
+
+	/**
+	 * Replaces the state of the scheduler with one saved in a GameSnapshot.
+	 *
+	 * @param turn         the current turn of the scheduler
+	 * @param nextSequence the sequence number of the next effect
+	 * @param active       the active effects
+	 */
+	void restore(long turn, long nextSequence, List<ActiveEffect> active) {
+		this.turn = turn;
+		this.nextSequence = nextSequence;
+		effects.clear();
+		effects.addAll(active);
+	}
+
+	/**
+	 * @return the sequence number the next scheduled effect gets
+	 */
+	long getNextSequence() {
+		return nextSequence;
+	}
+
+	/**
+	 * Computes a hash of the active effects for GameEngine.stateHash. The effects
+	 * are added up, so the order of the queue does not matter.
+	 *
+	 * @param players the players of the game, to hash the owners by their seat
+	 * @return the hash of the scheduler
+	 */
+	int stateHash(List<Player> players) {
+		int hash = 0;
+		for (ActiveEffect effect : effects) {
+			int h = effect.getKind().ordinal();
+			h = 31 * h + players.indexOf(effect.getOwner());
+			h = 31 * h + effect.getValue();
+			h = 31 * h + Long.hashCode(effect.getExpiryTurn());
+			h = 31 * h + Long.hashCode(effect.getSequence());
+			hash += h * 0x9e3779b1;
+		}
+		return 31 * Long.hashCode(turn) + hash;
+	}
+
+	/**
+	 * @return the current turn of the scheduler
+	 */
+	public long getTurn() {
+		return turn;
+	}
+
+	/**
+	 * @return the number of active effects
+	 */
+	public int size() {
+		return effects.size();
+	}
+
+	/**
+	 * Returns the active effects, ordered by the turn they expire.
+	 *
+	 * @return a new list with the active effects
+	 */
+	public List<ActiveEffect> getActiveEffects() {
+		List<ActiveEffect> list = new ArrayList<>(effects);
+		list.sort(effects.comparator());
+		return list;
+	}
+}
@@ -0,0 +1,151 @@
+package game;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import static game.SymbolicConstants.*;
+
+/**
+ * GameBatches plays a numbered range of headless games in batches spread over a
+ * ForkJoinPool, for Tournament and GameReplay. Every batch loads its own Board
+ * and CardDecks, which share the cards of one CardCatalog, so the workers share
+ * no game state.
+ *
+ * It also holds the setup every numbered game shares: the seat of every country
+ * and the seed of the game.
+ */
+final class GameBatches {
+
+	/**
+	 * Plays the games with the numbers from (inclusive) to (exclusive) on the given
+	 * board and card decks, which belong to this batch alone.
+	 */
+	@FunctionalInterface
+	interface Batch {
+		void play(Board board, CardDecks cardDecks, int from, int to);
+	}
+
+	private GameBatches() {
+	}
+
+	/**
+	 * Plays the games with the numbers 0 up to the given count on the given number
+	 * of threads. The range is split in about four batches per thread, so a thread
+	 * that finishes early can take over work.
+	 *
+	 * @param boardPath the path JSON file of the board
+	 * @param cardsPath the JSON file with the cards
+	 * @param count     the number of games
+	 * @param threads   the number of worker threads
+	 * @param batch     plays one batch of games
+	 * @return the time it took to play all games in nanoseconds
+	 */
+	static long run(String boardPath, String cardsPath, int count, int threads, Batch batch) {
+		int batchSize = Math.max(1, count / (threads * 4));
+
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		long start = System.nanoTime();
+		try {
+			pool.invoke(new BatchTask(boardPath, cardsPath, 0, count, batchSize, batch));
+		} finally {
+			pool.shutdown();
+		}
+		return System.nanoTime() - start;
+	}
+
+	/**
+	 * Loads a board for a batch of games.
+	 *
+	 * @param boardPath the path JSON file of the board
+	 * @return the board
+	 */
+	static Board loadBoard(String boardPath) {
+		Board board = new Board();
+		board.loadPathFromJson(boardPath);
+		return board;
+	}
+
+	/**
+	 * Loads card decks for a batch of games. The card file is only parsed for the
+	 * first batch, the others build their decks on the same cards.
+	 *
+	 * @param cardsPath the JSON file with the cards
+	 * @return the card decks
+	 */
+	static CardDecks loadCardDecks(String cardsPath) {
+		CardDecks cardDecks = new CardDecks();
+		cardDecks.loadCardDeckFromJson(cardsPath);
+		return cardDecks;
+	}
+
+	/**
+	 * Returns the index in Player.COUNTRIES of the country that plays the given seat in
+	 * the given game. The countries rotate over the seats, so every country plays
+	 * every seat.
+	 *
+	 * @param game the number of the game
+	 * @param seat the seat of the player
+	 * @return the index of the country
+	 */
+	static int countryOf(int game, int seat) {
+		return (game + seat) % Player.COUNTRIES.size();
+	}
+
+	/**
+	 * Fills in the name and country of every player of the given game.
+	 *
+	 * @param playerInfo the name and country of every seat, overwritten
+	 * @param game       the number of the game
+	 */
+	static void seatPlayers(String[][] playerInfo, int game) {
+		for (int seat = 0; seat < playerInfo.length; seat++) {
+			playerInfo[seat][0] = "Player " + (seat + 1);
+			playerInfo[seat][1] = Player.COUNTRIES.get(countryOf(game, seat));
+		}
+	}
+
+	/**
+	 * Returns the random source of the given game, seeded from the given seed and
+	 * the number of the game, so the game plays out the same on any thread.
+	 *
+	 * @param seed the seed all game seeds are derived from
+	 * @param game the number of the game
+	 * @return the random source of the game
+	 */
+	static GameRandom randomFor(long seed, int game) {
+		return new GameRandom(GameRandom.seedFor(seed, game));
+	}
+
+	/**
+	 * Fork-join task that splits a range of games in half until it is small enough
+	 * to be played as one batch.
+	 */
+	private static class BatchTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private String boardPath;
+		private String cardsPath;
+		private int from;
+		private int to;
+		private int batchSize;
+		private Batch batch;
+
+		BatchTask(String boardPath, String cardsPath, int from, int to, int batchSize, Batch batch) {
+			this.boardPath = boardPath;
+			this.cardsPath = cardsPath;
+			this.from = from;
+			this.to = to;
+			this.batchSize = batchSize;
+			this.batch = batch;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= batchSize) {
+				batch.play(loadBoard(boardPath), loadCardDecks(cardsPath), from, to);
+			} else {
+				int middle = (from + to) >>> 1;
+				invokeAll(new BatchTask(boardPath, cardsPath, from, middle, batchSize, batch),
+						new BatchTask(boardPath, cardsPath, middle, to, batchSize, batch));
+			}
+		}
+	}
+}
@@ -0,0 +1,129 @@
+package game;
+
+import java.util.List;
+
+/**
+ * The GameDecisions interface is the bridge between the GameEngine and whoever
+ * makes the choices in a game. The Swing window implements it with pop-ups, a
+ * simulation implements it with a bot, so the engine itself never has to show
+ * a dialog.
+ *
+ * The choosing methods return an index into the given options. Any index that
+ * is out of range (for instance -1 when a pop-up is closed) is treated as the
+ * first option by the engine, just like closing a pop-up always did.
+ *
+ * The notification methods at the bottom have an empty default, so a headless
+ * implementation only has to implement the actual decisions.
+ */
+public interface GameDecisions {
+
+	/**
+	 * Chooses which path a player takes at a crossroad.
+	 *
+	 * @param player    the player that is moving
+	 * @param nextTiles the tiles the player can move to
+	 * @return the index of the chosen tile
+	 */
+	int choosePath(Player player, List<Tile> nextTiles);
+
+	/**
+	 * Asks whether a player wants to buy a victory point when they pass the
+	 * victory tile.
+	 *
+	 * @param player the player on the victory tile
+	 * @return true if the player wants to buy the victory point
+	 */
+	boolean buyVictoryPoint(Player player);
+
+	/**
+	 * Chooses another player as the target of a blue card.
+	 *
+	 * @param card         the card that is being played
+	 * @param player       the player that drew the card
+	 * @param otherPlayers every player except the one that drew the card
+	 * @return the index of the chosen player in otherPlayers
+	 */
+	int choosePlayer(Card card, Player player, List<Player> otherPlayers);
+
+	/**
+	 * Chooses one of the options printed on a blue card.
+	 *
+	 * @param card    the card that is being played
+	 * @param player  the player that drew the card
+	 * @param options the descriptions of the options
+	 * @return the index of the chosen option
+	 */
+	int chooseOption(Card card, Player player, String[] options);
+
+	/**
+	 * Shows a card that has no choices (green and red cards).
+	 *
+	 * @param card  the card that was drawn
+	 * @param title the title of the card (e.g. "Green Card")
+	 */
+	void showCard(Card card, String title);
+
+	/**
+	 * Shows an informational message, like the result of a gamble.
+	 *
+	 * @param title   the title of the message
+	 * @param message the text of the message
+	 */
+	void showMessage(String title, String message);
+
+	/**
+	 * Called once when a player has reached the required number of victory points.
+	 *
+	 * @param winner the player that won the game
+	 */
+	void gameOver(Player winner);
+
+	/**
+	 * Called after the die has been rolled.
+	 *
+	 * @param value the rolled value
+	 */
+	default void dieRolled(int value) {
+	}
+
+	/**
+	 * Called when a player has drawn a card, before it is executed.
+	 *
+	 * @param card the card that was drawn
+	 */
+	default void cardDrawn(Card card) {
+	}
+
+	/**
+	 * Called when a player has been placed on a different tile.
+	 *
+	 * @param player      the player that moved
+	 * @param playerIndex the index of the player in the list of players
+	 */
+	default void playerMoved(Player player, int playerIndex) {
+	}
+
+	/**
+	 * Called when a new victory tile has been chosen.
+	 *
+	 * @param victoryTile the new victory tile
+	 */
+	default void victoryTileChanged(Tile victoryTile) {
+	}
+
+	/**
+	 * Called when the turn has passed to another player.
+	 *
+	 * @param player      the player whose turn it is now
+	 * @param playerIndex the index of that player in the list of players
+	 */
+	default void turnChanged(Player player, int playerIndex) {
+	}
+
+	/**
+	 * Called when a turn has been played completely, after the turn has passed
+	 * to the next player, or after the player won the game.
+	 */
+	default void turnEnded() {
+	}
+}
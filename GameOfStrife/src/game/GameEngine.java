@@ -0,0 +1,531 @@
+package game;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import gui.GameMovementController;
+
+/**
+ * GameEngine holds the complete state of one game of Strife: the players, the
+ * board, the card decks, the die and the list of active card effects. It runs
+ * the turns without any Swing classes, every choice is made through a
+ * GameDecisions implementation. The GameOfStrife window uses it with pop-ups,
+ * but it can just as well play complete games headless.
+ */
+public class GameEngine implements GameMovementController {
+
+	// Game state variables
+	private int currentPlayerTurn = 1;
+	private int numberOfPlayers;
+	private Die die;
+	private List<Player> players = new ArrayList<>();
+	private List<List<Player>> otherPlayers = new ArrayList<>();
+	private CardDecks cardDecks;
+	private Board board;
+	private Player currentPlayer = null;
+	private EffectScheduler effectScheduler = new EffectScheduler();
+	private int numWinPoints;
+	private Tile startTile;
+	private Tile victoryTile;
+	private GameRandom random;
+
+	// Progress of the game
+	private GameDecisions decisions;
+	private int turnsPlayed = 0;
+	private boolean gameOver = false;
+	private Player winner = null;
+
+	/**
+	 * Constructs a new game on an already loaded board and card decks. Player 1
+	 * starts and receives the first income, and a random victory tile is chosen.
+	 * The game gets a random seed.
+	 *
+	 * @param board          the loaded game board
+	 * @param cardDecks      the loaded card decks
+	 * @param dieNumFaces    the number of faces on the die
+	 * @param numOfWinPoints the required number of victory points to win
+	 * @param playerInfo     a 2D array containing player names and countries
+	 * @param decisions      the one making the choices during the game
+	 */
+	public GameEngine(Board board, CardDecks cardDecks, int dieNumFaces, int numOfWinPoints, String[][] playerInfo,
+			GameDecisions decisions) {
+		this(board, cardDecks, dieNumFaces, numOfWinPoints, playerInfo, decisions, new GameRandom());
+	}
+
+	/**
+	 * Constructs a new game that draws all its randomness from the given source.
+	 * The card decks are reset and shuffled with it, so two games with the same
+	 * seed and the same decisions play out exactly the same.
+	 *
+	 * @param board          the loaded game board
+	 * @param cardDecks      the loaded card decks
+	 * @param dieNumFaces    the number of faces on the die
+	 * @param numOfWinPoints the required number of victory points to win
+	 * @param playerInfo     a 2D array containing player names and countries
+	 * @param decisions      the one making the choices during the game
+	 * @param random         the random source of the game
+	 */
+	public GameEngine(Board board, CardDecks cardDecks, int dieNumFaces, int numOfWinPoints, String[][] playerInfo,
+			GameDecisions decisions, GameRandom random) {
+		this.board = board;
+		this.cardDecks = cardDecks;
+		this.random = random;
+		this.die = new Die(dieNumFaces, random);
+		cardDecks.setRandom(random);
+		cardDecks.resetAllDecks();
+		this.numWinPoints = numOfWinPoints;
+		this.numberOfPlayers = playerInfo.length;
+		this.decisions = decisions;
+
+		// Player 1 gets state True, the others state False
+		startTile = board.getStartingTile();
+		for (int i = 0; i < playerInfo.length; i++) {
+			players.add(new Player(playerInfo[i][0], playerInfo[i][1], i == 0, startTile));
+		}
+
+		// The other players of every player, for cards that target another player
+		for (Player player : players) {
+			List<Player> others = new ArrayList<>(players);
+			others.remove(player);
+			otherPlayers.add(Collections.unmodifiableList(others));
+		}
+
+		// Set Player 1 as current Player and pay the first income
+		currentPlayer = players.get(0);
+		currentPlayer.getPaid();
+
+		victoryTile = pickVictoryTile();
+	}
+
+	/**
+	 * Constructs a game that continues from a snapshot, with the players of the
+	 * snapshot. The board and card decks must be loaded from the same files as
+	 * the ones of the game the snapshot was taken of.
+	 *
+	 * @param board     the loaded game board
+	 * @param cardDecks the loaded card decks
+	 * @param snapshot  the snapshot to continue from
+	 * @param decisions the one making the choices during the game
+	 * @throws IllegalArgumentException if the snapshot does not fit the board or
+	 *                                  the cards
+	 */
+	public GameEngine(Board board, CardDecks cardDecks, GameSnapshot snapshot, GameDecisions decisions) {
+		this(board, cardDecks, 1, snapshot.getNumWinPoints(), snapshot.getPlayerInfo(), decisions, new GameRandom(0));
+		snapshot.restore(this);
+	}
+
+	/**
+	 * Computes a hash of the state of the game: the turn, the die, the random
+	 * source, the victory tile, every player, the position in every deck and the
+	 * active effects. Two games that played the same turns have the same hash, so
+	 * a replay that drifts from the original is noticed in the turn it happens.
+	 *
+	 * @return the hash of the state
+	 */
+	public int stateHash() {
+		int hash = currentPlayerTurn;
+		hash = 31 * hash + turnsPlayed;
+		hash = 31 * hash + die.getValue();
+		hash = 31 * hash + Long.hashCode(random.getState());
+		hash = 31 * hash + (victoryTile == null ? -1 : victoryTile.getIndex());
+		for (Player player : players) {
+			hash = 31 * hash + (player.getState() ? 1 : 0);
+			hash = 31 * hash + player.getResources();
+			hash = 31 * hash + player.getRemainingSteps();
+			hash = 31 * hash + (player.getCurrentTile() == null ? -1 : player.getCurrentTile().getIndex());
+			hash = 31 * hash + player.getIncome();
+			hash = 31 * hash + player.getStepsBonus();
+			hash = 31 * hash + player.getVictoryPoints();
+			hash = 31 * hash + player.getBankruptcies();
+		}
+		hash = 31 * hash + cardDecks.stateHash();
+		return 31 * hash + effectScheduler.stateHash(players);
+	}
+
+	/**
+	 * Takes a snapshot of the complete state of the game.
+	 *
+	 * @return the snapshot
+	 */
+	public GameSnapshot snapshot() {
+		return GameSnapshot.capture(this);
+	}
+
+	/**
+	 * Makes a copy of this game, with its own players, card decks and effects, that
+	 * makes its choices through the given decisions. The copy shares the board and
+	 * the cards, which never change during a game, so it can be played ahead
+	 * without changing this game, for instance by a bot that searches for the best
+	 * move. As the board creates its Tile objects on demand, the first copy
+	 * creates and links all of them, so the board is only read after that and the
+	 * copies can be played on other threads, for instance on a ForkJoinPool.
+	 *
+	 * @param decisions the one making the choices in the copy
+	 * @return the copy
+	 */
+	public GameEngine copy(GameDecisions decisions) {
+		board.getCompiledBoard().linkTiles();
+		return new GameEngine(board, new CardDecks(cardDecks.getCatalog()), snapshot(), decisions);
+	}
+
+	/**
+	 * Restores the progress of the game from a GameSnapshot.
+	 *
+	 * @param numWinPoints      the required number of victory points to win
+	 * @param currentPlayerTurn the turn number of the current player (1-based)
+	 * @param turnsPlayed       the number of turns played
+	 * @param winner            the winner, or null if the game is not over
+	 * @param victoryTile       the victory tile
+	 */
+	void restoreProgress(int numWinPoints, int currentPlayerTurn, int turnsPlayed, Player winner,
+			Tile victoryTile) {
+		this.numWinPoints = numWinPoints;
+		this.currentPlayerTurn = currentPlayerTurn;
+		this.currentPlayer = players.get(currentPlayerTurn - 1);
+		this.turnsPlayed = turnsPlayed;
+		this.gameOver = winner != null;
+		this.winner = winner;
+		this.victoryTile = victoryTile;
+	}
+
+	/**
+	 * Plays a single turn for the current player: rolls the die, moves the player,
+	 * executes the card of the tile the player lands on and passes the turn to the
+	 * next player.
+	 */
+	public void playTurn() {
+		turnsPlayed++;
+		die.roll();
+		int roll = die.getValue();
+		decisions.dieRolled(roll);
+
+		currentPlayer.move(roll, this);
+		updatePlayerPosition(currentPlayer, currentPlayerTurn - 1);
+		if (gameOver) {
+			decisions.turnEnded();
+			return;
+		}
+
+		Card card = currentPlayer.drawCard(cardDecks);
+		if (card != null) {
+			decisions.cardDrawn(card);
+			card.executeCard(this);
+		}
+
+		nextTurn();
+		decisions.turnEnded();
+	}
+
+	/**
+	 * Plays turns until a player has won, or until the maximum number of turns
+	 * has been played.
+	 *
+	 * @param maxTurns the maximum number of turns to play
+	 * @return the winner of the game, or null if nobody won within maxTurns
+	 */
+	public Player playGame(int maxTurns) {
+		while (!gameOver && turnsPlayed < maxTurns) {
+			playTurn();
+		}
+		return winner;
+	}
+
+	/**
+	 * Advances the game to the next player's turn. Handles countdowns for card
+	 * effects and pays the income of the next player.
+	 */
+	public void nextTurn() {
+		effectScheduler.advance(this);
+		currentPlayerTurn = (currentPlayerTurn % numberOfPlayers) + 1;
+		currentPlayer = players.get(currentPlayerTurn - 1);
+		currentPlayer.getPaid();
+		decisions.turnChanged(currentPlayer, currentPlayerTurn - 1);
+	}
+
+	/**
+	 * Reverts the game to the previous player's turn. Reverts the resources and
+	 * handles countdowns for card effects accordingly.
+	 */
+	public void previousTurn() {
+		effectScheduler.rewind();
+		currentPlayer.takeBackIncome();
+
+		currentPlayerTurn = (currentPlayerTurn - 1);
+		if (currentPlayerTurn == 0) {
+			currentPlayerTurn = numberOfPlayers;
+		}
+		currentPlayer = players.get(currentPlayerTurn - 1);
+		decisions.turnChanged(currentPlayer, currentPlayerTurn - 1);
+	}
+
+	/**
+	 * Finds and returns a tile by its unique ID.
+	 *
+	 * @param ID the ID of the tile
+	 * @return the Tile with the specified ID, or null if not found
+	 */
+	public Tile findTileByID(int ID) {
+		return board.findTileByID(ID);
+	}
+
+	/**
+	 * Randomly selects a victory tile from the board's victory tiles (where
+	 * 'victory' = True).
+	 *
+	 * @return the chosen tile, or null if the board has no victory tiles
+	 */
+	private Tile pickVictoryTile() {
+		List<Tile> victoryTiles = board.getVictoryTiles();
+		if (victoryTiles.isEmpty()) {
+			return null;
+		}
+		int randomNum = random.nextInt(victoryTiles.size());
+		return victoryTiles.get(randomNum);
+	}
+
+	/**
+	 * Lets the decisions choose a path, falling back to the first path when the
+	 * choice is out of range.
+	 *
+	 * @param nextTiles the possible next tiles the player can move to
+	 * @return the index of the selected path
+	 */
+	@Override
+	public int showPathSelectionPopup(ArrayList<Tile> nextTiles) {
+		int choice = decisions.choosePath(currentPlayer, nextTiles);
+		return (choice < 0 || choice >= nextTiles.size()) ? 0 : choice;
+	}
+
+	/**
+	 * Asks the decisions whether the current player buys a victory point. Nothing
+	 * can be bought anymore once the game is over.
+	 *
+	 * @return true if the player chooses to buy, false otherwise
+	 */
+	@Override
+	public boolean showVictoryPointsPopup() {
+		return !gameOver && decisions.buyVictoryPoint(currentPlayer);
+	}
+
+	/**
+	 * Ends the game with the current player as the winner.
+	 */
+	@Override
+	public void showEndOfGamePopup() {
+		if (gameOver) {
+			return;
+		}
+		gameOver = true;
+		winner = currentPlayer;
+		decisions.gameOver(winner);
+	}
+
+	/**
+	 * Passes a message for the current player on to the decisions.
+	 *
+	 * @param message the text of the message
+	 */
+	@Override
+	public void showMessage(String message) {
+		decisions.showMessage("Message", message);
+	}
+
+	/**
+	 * Returns the tile designated as the victory tile.
+	 *
+	 * @return the victory Tile
+	 */
+	@Override
+	public Tile getVictoryTile() {
+		return victoryTile;
+	}
+
+	/**
+	 * Designate a new random tile on the board as the victory tile.
+	 */
+	@Override
+	public void setVictoryTile() {
+		victoryTile = pickVictoryTile();
+		decisions.victoryTileChanged(victoryTile);
+	}
+
+	/**
+	 * Returns the starting tile of the board.
+	 *
+	 * @return the starting Tile
+	 */
+	@Override
+	public Tile getStartingTile() {
+		return startTile;
+	}
+
+	/**
+	 * Tells the decisions that a player has been placed on a different tile.
+	 *
+	 * @param player      the player that moved
+	 * @param playerIndex the index of the player in the list
+	 */
+	@Override
+	public void updatePlayerPosition(Player player, int playerIndex) {
+		decisions.playerMoved(player, playerIndex);
+	}
+
+	/**
+	 * Nothing to repaint, the board is redrawn through the GameDecisions
+	 * notifications.
+	 */
+	@Override
+	public void repaint() {
+	}
+
+	/**
+	 * Returns the board compiled into arrays, so players can move without walking
+	 * the Tile objects.
+	 *
+	 * @return the CompiledBoard of the game board
+	 */
+	@Override
+	public CompiledBoard getCompiledBoard() {
+		return board.getCompiledBoard();
+	}
+
+	/**
+	 * Gets the number of victory points required to win the game.
+	 *
+	 * @return the number of victory points
+	 */
+	@Override
+	public int getNumWinPoints() {
+		return this.numWinPoints;
+	}
+
+	/**
+	 * Returns the current active player.
+	 *
+	 * @return the current Player
+	 */
+	@Override
+	public Player getCurrentPlayer() {
+		return this.currentPlayer;
+	}
+
+	/**
+	 * Returns the turn number of the current player (1-based index).
+	 *
+	 * @return the current player's turn number
+	 */
+	@Override
+	public int getCurrentPlayerTurn() {
+		return this.currentPlayerTurn;
+	}
+
+	/**
+	 * Returns the list of players in the game.
+	 *
+	 * @return the list of Player objects representing the players
+	 */
+	public List<Player> getPlayers() {
+		return players;
+	}
+
+	/**
+	 * Returns every player except the current player, in the order of the
+	 * players. The lists are made once per game, so asking for them is free.
+	 *
+	 * @return an unmodifiable list with the other players
+	 */
+	public List<Player> getOtherPlayers() {
+		return otherPlayers.get(currentPlayerTurn - 1);
+	}
+
+	/**
+	 * Returns the scheduler with the active card effects of the game.
+	 *
+	 * @return the EffectScheduler of the game
+	 */
+	public EffectScheduler getEffectScheduler() {
+		return effectScheduler;
+	}
+
+	/**
+	 * Returns the current number of players in the game.
+	 *
+	 * @return the number of players
+	 */
+	public int getNumberOfPlayers() {
+		return numberOfPlayers;
+	}
+
+	/**
+	 * Returns the die used in the game.
+	 *
+	 * @return the Die object representing the game die
+	 */
+	public Die getDie() {
+		return die;
+	}
+
+	/**
+	 * Returns the game board.
+	 *
+	 * @return the Board object representing the game board
+	 */
+	public Board getBoard() {
+		return board;
+	}
+
+	/**
+	 * Returns the card decks of the game.
+	 *
+	 * @return the CardDecks the players draw from
+	 */
+	public CardDecks getCardDecks() {
+		return cardDecks;
+	}
+
+	/**
+	 * Returns the random source of the game.
+	 *
+	 * @return the GameRandom used for rolls, shuffles and gambles
+	 */
+	public GameRandom getRandom() {
+		return random;
+	}
+
+	/**
+	 * Returns the one making the choices in this game.
+	 *
+	 * @return the GameDecisions of this game
+	 */
+	public GameDecisions getDecisions() {
+		return decisions;
+	}
+
+	/**
+	 * Returns the number of turns that have been played so far.
+	 *
+	 * @return the number of played turns
+	 */
+	public int getTurnsPlayed() {
+		return turnsPlayed;
+	}
+
+	/**
+	 * Returns whether a player has won the game.
+	 *
+	 * @return true if the game is over
+	 */
+	public boolean isGameOver() {
+		return gameOver;
+	}
+
+	/**
+	 * Returns the winner of the game.
+	 *
+	 * @return the winning Player, or null if the game is not over yet
+	 */
+	public Player getWinner() {
+		return winner;
+	}
+}
@@ -0,0 +1,211 @@
+package game;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * GameRandom is the single source of randomness of a game: the die, the card
+ * shuffles, the gambles on blue cards and the choice of the victory tile all
+ * draw from it. It is the SplitMix64 generator of SplittableRandom with a seed,
+ * so a game played with the same seed and the same decisions is exactly the
+ * same game.
+ *
+ * The generator is written out here instead of wrapping a SplittableRandom,
+ * because the state of a SplittableRandom cannot be read: a GameRandom is just
+ * two longs, which a GameSnapshot saves and restores. It gives exactly the same
+ * numbers as a SplittableRandom with the same seed.
+ *
+ * A GameRandom is not thread safe, every game has its own. Parallel
+ * simulations give every game its own seed with seedFor, instead of all
+ * threads sharing one generator like Math.random.
+ */
+public class GameRandom {
+	// Odd constant of the golden ratio, also used by SplittableRandom itself
+	private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+	private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+	private long seed;
+	// The state of the generator: the next value is mixed from state + gamma
+	private long state;
+	private long gamma;
+
+	/**
+	 * Constructs a GameRandom with a random seed.
+	 */
+	public GameRandom() {
+		this(new SplittableRandom().nextLong());
+	}
+
+	/**
+	 * Constructs a GameRandom with the given seed.
+	 *
+	 * @param seed the seed of the game
+	 */
+	public GameRandom(long seed) {
+		this(seed, seed, GOLDEN_GAMMA);
+	}
+
+	/**
+	 * Constructs a GameRandom with the given state, for instance one that was
+	 * split off from another generator or restored from a snapshot.
+	 *
+	 * @param seed  the seed of the generator it was started or split from
+	 * @param state the state of the generator
+	 * @param gamma the odd step of the generator
+	 */
+	GameRandom(long seed, long state, long gamma) {
+		this.seed = seed;
+		this.state = state;
+		this.gamma = gamma;
+	}
+
+	/**
+	 * Derives the seed of one game of a series from the seed of the series. Games
+	 * with neighbouring numbers get unrelated seeds.
+	 *
+	 * @param baseSeed the seed of the whole series
+	 * @param game     the number of the game in the series
+	 * @return the seed for that game
+	 */
+	public static long seedFor(long baseSeed, long game) {
+		return mix64(baseSeed + (game + 1) * GOLDEN_GAMMA);
+	}
+
+	/**
+	 * @return the seed this generator (or the one it was split from) started with
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * @return the state of the generator, which changes with every number drawn
+	 */
+	long getState() {
+		return state;
+	}
+
+	/**
+	 * @return the odd step of the generator, which is fixed
+	 */
+	long getGamma() {
+		return gamma;
+	}
+
+	/**
+	 * Sets the generator to a state saved with getSeed, getState and getGamma.
+	 *
+	 * @param seed  the seed of the generator
+	 * @param state the state of the generator
+	 * @param gamma the odd step of the generator
+	 */
+	void setState(long seed, long state, long gamma) {
+		if ((gamma & 1) == 0) {
+			throw new IllegalArgumentException("The step of a generator must be odd");
+		}
+		this.seed = seed;
+		this.state = state;
+		this.gamma = gamma;
+	}
+
+	/**
+	 * Returns a random number between 0 (inclusive) and bound (exclusive).
+	 *
+	 * @param bound the upper bound, must be positive
+	 * @return the random number
+	 */
+	public int nextInt(int bound) {
+		if (bound <= 0) {
+			throw new IllegalArgumentException("bound must be positive");
+		}
+		int r = mix32(nextState());
+		int m = bound - 1;
+		if ((bound & m) == 0) {
+			// A power of two: the low bits
+			return r & m;
+		}
+		// Rejects the few values that would make the small numbers more likely
+		for (int u = r >>> 1; u + m - (r = u % bound) < 0; u = mix32(nextState()) >>> 1) {
+		}
+		return r;
+	}
+
+	/**
+	 * Returns a random number between 0.0 (inclusive) and 1.0 (exclusive), as a
+	 * replacement for Math.random().
+	 *
+	 * @return the random number
+	 */
+	public double nextDouble() {
+		return (nextLong() >>> 11) * DOUBLE_UNIT;
+	}
+
+	/**
+	 * Shuffles a list in place with the Fisher-Yates algorithm, like
+	 * Collections.shuffle does.
+	 *
+	 * @param list the list to shuffle
+	 */
+	public <T> void shuffle(List<T> list) {
+		for (int i = list.size() - 1; i > 0; i--) {
+			int j = nextInt(i + 1);
+			list.set(i, list.set(j, list.get(i)));
+		}
+	}
+
+	/**
+	 * Splits off a new, independent generator, for instance for the decisions of
+	 * a bot, so they do not change the rolls of the game itself.
+	 *
+	 * @return the new generator
+	 */
+	public GameRandom split() {
+		long splitState = nextLong();
+		return new GameRandom(seed, splitState, mixGamma(nextState()));
+	}
+
+	/**
+	 * @return a random long
+	 */
+	private long nextLong() {
+		return mix64(nextState());
+	}
+
+	/**
+	 * Steps the generator.
+	 *
+	 * @return the new state
+	 */
+	private long nextState() {
+		return state += gamma;
+	}
+
+	/**
+	 * The SplitMix64 finaliser.
+	 */
+	private static long mix64(long z) {
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+
+	/**
+	 * The 32 bit finaliser of SplittableRandom.
+	 */
+	private static int mix32(long z) {
+		z = (z ^ (z >>> 33)) * 0x62a9d9ed799705f5L;
+		return (int) (((z ^ (z >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
+	}
+
+	/**
+	 * Makes the odd step of a split generator, with enough bit changes to give a
+	 * good sequence, like SplittableRandom does.
+	 */
+	private static long mixGamma(long z) {
+		z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+		z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+		z = (z ^ (z >>> 33)) | 1L;
+		int n = Long.bitCount(z ^ (z >>> 1));
+		return (n < 24) ? z ^ 0xaaaaaaaaaaaaaaaaL : z;
+	}
+}
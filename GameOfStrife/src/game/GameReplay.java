@@ -0,0 +1,208 @@
+package game;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import static game.SymbolicConstants.*;
+
+/**
+ * A GameReplay re-runs archived games headless, spread over all cores in
+ * GameBatches like the games of a Tournament. Every game is archived as a
+ * TurnJournal: a snapshot of the start of the game and every decision made
+ * during it. A replay plays the decisions onto the snapshot and checks the
+ * rolling hash of the state of the game at the end of every turn against the
+ * journal.
+ *
+ * This catches any change in behaviour of the game rules. Record a set of games
+ * before changing code like Player.move or BlueCard.executeCard, and verify
+ * them afterwards: every game that plays out differently is reported with the
+ * first turn where it differs.
+ *
+ * Run it with: java -cp "bin:libs/json-20250107.jar" game.GameReplay record
+ * [directory] [games] [seed], and afterwards with game.GameReplay verify
+ * [directory or journal files]
+ */
+public class GameReplay {
+	// Games that take longer than this are stopped without a winner
+	private static final int MAX_TURNS = 100000;
+	private static final String EXTENSION = ".journal";
+
+	private String boardPath;
+	private String cardsPath;
+
+	/**
+	 * Constructs a replay for games on the given board and cards.
+	 *
+	 * @param boardPath the path JSON file of the board
+	 * @param cardsPath the JSON file with the cards
+	 */
+	public GameReplay(String boardPath, String cardsPath) {
+		this.boardPath = boardPath;
+		this.cardsPath = cardsPath;
+	}
+
+	/**
+	 * Plays complete games with bots and archives every game as a journal in the
+	 * given directory. Every game is seated and seeded from its number like the
+	 * games of a Tournament.
+	 *
+	 * @param directory       the directory to write the journals to
+	 * @param games           the number of games to play
+	 * @param numberOfPlayers the number of players in every game
+	 * @param seed            the seed all game seeds are derived from
+	 * @return the paths of the journals
+	 * @throws IOException if a journal cannot be written
+	 */
+	public List<String> record(String directory, int games, int numberOfPlayers, long seed) throws IOException {
+		Files.createDirectories(Paths.get(directory));
+		Board board = GameBatches.loadBoard(boardPath);
+		CardDecks cardDecks = GameBatches.loadCardDecks(cardsPath);
+
+		List<String> journals = new ArrayList<>(games);
+		String[][] playerInfo = new String[numberOfPlayers][2];
+		for (int game = 0; game < games; game++) {
+			GameBatches.seatPlayers(playerInfo, game);
+			String path = new File(directory, String.format("game-%06d%s", game, EXTENSION)).getPath();
+			GameRandom random = GameBatches.randomFor(seed, game);
+			TurnJournal journal = new TurnJournal(path, new AutoDecisions(random.split()));
+			GameEngine engine = new GameEngine(board, cardDecks, 6, 3, playerInfo, journal, random);
+			try {
+				journal.start(engine);
+				engine.playGame(MAX_TURNS);
+			} finally {
+				journal.close();
+			}
+			journals.add(path);
+		}
+		return journals;
+	}
+
+	/**
+	 * Replays the given journals on the given number of threads.
+	 *
+	 * @param journals the paths of the journals
+	 * @param threads  the number of worker threads
+	 * @return the totals of the games and every game that differs from its
+	 *         journal
+	 */
+	public ReplayResult verify(List<String> journals, int threads) {
+		ReplayResult result = new ReplayResult();
+		result.setElapsedNanos(GameBatches.run(boardPath, cardsPath, journals.size(), threads,
+				(board, cardDecks, from, to) -> replayGames(board, cardDecks, journals, from, to, result)));
+		return result;
+	}
+
+	/**
+	 * Replays the journals with the numbers from (inclusive) to (exclusive) and
+	 * adds their totals to the result in one go.
+	 *
+	 * @param board     the board of this batch
+	 * @param cardDecks the card decks of this batch
+	 * @param journals  the paths of all journals
+	 * @param from      the number of the first journal
+	 * @param to        the number after the last journal
+	 * @param result    the result to add the totals to
+	 */
+	private void replayGames(Board board, CardDecks cardDecks, List<String> journals, int from, int to,
+			ReplayResult result) {
+		long games = 0;
+		long turns = 0;
+		long hashes = 0;
+		for (int i = from; i < to; i++) {
+			String path = journals.get(i);
+			try {
+				// Nothing is passed on to the decisions during a replay
+				TurnJournal journal = new TurnJournal(path, null);
+				GameEngine game = journal.replay(Files.readAllBytes(Paths.get(path)), board, cardDecks);
+				games++;
+				turns += game.getTurnsPlayed();
+				hashes += journal.getRollingHash();
+			} catch (IOException | IllegalArgumentException e) {
+				result.addFailure(path, e.getMessage());
+			}
+		}
+		result.add(games, turns, hashes);
+	}
+
+	/**
+	 * Finds the journals in the given files and directories.
+	 *
+	 * @param paths journal files and directories with journals
+	 * @return the journal files, sorted per directory
+	 */
+	private static List<String> findJournals(String[] paths) {
+		List<String> journals = new ArrayList<>();
+		for (String path : paths) {
+			File file = new File(path);
+			if (file.isDirectory()) {
+				String[] names = file.list((dir, name) -> name.endsWith(EXTENSION));
+				Arrays.sort(names);
+				for (String name : names) {
+					journals.add(new File(file, name).getPath());
+				}
+			} else {
+				journals.add(path);
+			}
+		}
+		return journals;
+	}
+
+	/**
+	 * Records games, or replays recorded games on every thread count from 1 up to
+	 * the number of cores to show how the throughput scales. Exits with status 1
+	 * if a game differs from its journal.
+	 *
+	 * @param args record [directory] [games] [players] [seed], or verify
+	 *             [directories or journal files]
+	 * @throws IOException if a journal cannot be written
+	 */
+	public static void main(String[] args) throws IOException {
+		GameReplay replay = new GameReplay(JSON_PATH_BOARD, JSON_PATH_CARDS);
+		String directory = args.length > 1 ? args[1] : DATA_PATH + "replays";
+
+		if (args.length > 0 && args[0].equals("record")) {
+			int games = args.length > 2 ? Integer.parseInt(args[2]) : 10000;
+			int players = args.length > 3 ? Integer.parseInt(args[3]) : 4;
+			long seed = args.length > 4 ? Long.parseLong(args[4]) : new GameRandom().getSeed();
+			long start = System.nanoTime();
+			replay.record(directory, games, players, seed);
+			System.out.printf("Recorded %d games in %s in %.1f s (seed %d)%n", games, directory,
+					(System.nanoTime() - start) / 1e9, seed);
+			return;
+		}
+		if (args.length == 0 || !args[0].equals("verify")) {
+			System.err.println("Usage: GameReplay record [directory] [games] [players] [seed]");
+			System.err.println("       GameReplay verify [directories or journal files]");
+			System.exit(2);
+		}
+
+		List<String> journals = findJournals(
+				args.length > 1 ? Arrays.copyOfRange(args, 1, args.length) : new String[] { directory });
+		int cores = Runtime.getRuntime().availableProcessors();
+
+		// Warm up the JIT before measuring
+		replay.verify(journals.subList(0, Math.min(journals.size(), 2000)), cores);
+
+		System.out.println("Threads  Games/s  Speedup");
+		double single = 0;
+		ReplayResult result = null;
+		for (int threads = 1; threads <= cores; threads = threads == cores ? cores + 1 : Math.min(threads * 2, cores)) {
+			result = replay.verify(journals, threads);
+			if (threads == 1) {
+				single = result.getGamesPerSecond();
+			}
+			System.out.printf("%7d %8.0f %7.2fx%n", threads, result.getGamesPerSecond(),
+					result.getGamesPerSecond() / single);
+		}
+
+		System.out.println();
+		result.print(System.out);
+		if (!result.getFailures().isEmpty()) {
+			System.exit(1);
+		}
+	}
+}
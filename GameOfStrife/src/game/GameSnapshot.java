@@ -0,0 +1,523 @@
+package game;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A GameSnapshot is the complete state of a GameEngine in a compact binary
+ * form: the players, the order of every card deck, the active card effects,
+ * the die, the victory tile, the current turn and the state of the random
+ * source. Restoring a snapshot gives a game that plays on exactly like the
+ * original, so snapshots are used to save and resume a game, and to copy a
+ * game for a bot that plays ahead.
+ *
+ * Tiles are stored by their index on the compiled board and cards by their
+ * position in the CardCatalog, so a snapshot is only a few hundred bytes and
+ * can only be restored on a game with the same board and cards. Numbers are
+ * written as variable length integers; taking or restoring a snapshot takes a
+ * few microseconds.
+ */
+public final class GameSnapshot {
+	private static final int MAGIC = 0x474f5353; // "GOSS"
+	private static final int VERSION = 1;
+
+	private final byte[] data;
+
+	// The header values needed to create a game before it is restored
+	private final int numWinPoints;
+	private final String[][] playerInfo;
+
+	/**
+	 * Constructs a snapshot from its bytes and checks the header.
+	 *
+	 * @param data the bytes of the snapshot
+	 * @throws IllegalArgumentException if the bytes are not a game snapshot
+	 */
+	private GameSnapshot(byte[] data) {
+		this.data = data;
+		try {
+			Reader in = new Reader(data);
+			if (in.fixedInt() != MAGIC || in.varInt() != VERSION) {
+				throw new IllegalArgumentException("Not a game snapshot");
+			}
+			numWinPoints = in.varInt();
+			playerInfo = new String[in.count(1)][];
+			for (int i = 0; i < playerInfo.length; i++) {
+				playerInfo[i] = new String[] { in.string(), in.string() };
+			}
+		} catch (ArrayIndexOutOfBoundsException e) {
+			throw new IllegalArgumentException("The game snapshot is damaged");
+		}
+	}
+
+	/**
+	 * Takes a snapshot of a game.
+	 *
+	 * @param game the game
+	 * @return the snapshot of its complete state
+	 * @throws IllegalArgumentException if a player is not on the board of the
+	 *                                  game or an effect has a card that is not
+	 *                                  in its catalog
+	 */
+	static GameSnapshot capture(GameEngine game) {
+		Writer out = new Writer();
+		out.fixedInt(MAGIC);
+		out.varInt(VERSION);
+		List<Player> players = game.getPlayers();
+		out.varInt(game.getNumWinPoints());
+		out.varInt(players.size());
+		for (Player player : players) {
+			out.string(player.getName());
+			out.string(player.getCountry());
+		}
+
+		// The progress of the game
+		CompiledBoard board = game.getCompiledBoard();
+		out.varInt(game.getCurrentPlayerTurn());
+		out.varInt(game.getTurnsPlayed());
+		out.varInt(players.indexOf(game.getWinner()) + 1);
+		out.varInt(tileIndex(board, game.getVictoryTile()) + 1);
+		out.zigZag(game.getDie().getNumFaces());
+		out.zigZag(game.getDie().getValue());
+		GameRandom random = game.getRandom();
+		out.fixedLong(random.getSeed());
+		out.fixedLong(random.getState());
+		out.fixedLong(random.getGamma());
+
+		for (Player player : players) {
+			out.varInt(player.getState() ? 1 : 0);
+			out.zigZag(player.getResources());
+			out.zigZag(player.getRemainingSteps());
+			out.varInt(tileIndex(board, player.getCurrentTile()) + 1);
+			out.zigZag(player.getIncome());
+			out.zigZag(player.getStepsBonus());
+			out.zigZag(player.getVictoryPoints());
+			out.varInt(player.getBankruptcies());
+		}
+
+		// The decks, in a fixed order so equal games give equal snapshots
+		CardDecks cardDecks = game.getCardDecks();
+		String[] types = cardDecks.getDeckTypes().toArray(new String[0]);
+		Arrays.sort(types);
+		out.varInt(types.length);
+		for (String type : types) {
+			CardDeck deck = cardDecks.getDeck(type);
+			out.string(type);
+			out.varInt(deck.size());
+			out.varInt(deck.getCursor());
+			for (int index : deck.getOrder()) {
+				out.varInt(index);
+			}
+		}
+
+		EffectScheduler scheduler = game.getEffectScheduler();
+		CardCatalog catalog = cardDecks.getCatalog();
+		out.zigZag(scheduler.getTurn());
+		out.zigZag(scheduler.getNextSequence());
+		List<ActiveEffect> effects = scheduler.getActiveEffects();
+		out.varInt(effects.size());
+		for (ActiveEffect effect : effects) {
+			int cardIndex = catalog == null ? -1 : catalog.indexOf(effect.getCard());
+			if (cardIndex < 0) {
+				throw new IllegalArgumentException("The card of an effect is not in the catalog of the game");
+			}
+			out.string(effect.getCard().getType().toUpperCase());
+			out.varInt(cardIndex);
+			out.varInt(players.indexOf(effect.getOwner()));
+			out.varInt(effect.getKind().ordinal());
+			out.zigZag(effect.getValue());
+			out.zigZag(effect.getExpiryTurn());
+			out.zigZag(effect.getSequence());
+		}
+		return new GameSnapshot(out.toByteArray());
+	}
+
+	/**
+	 * Finds the index of a tile on the compiled board.
+	 *
+	 * @return the index, or -1 for no tile
+	 * @throws IllegalArgumentException if the tile is not on the board
+	 */
+	private static int tileIndex(CompiledBoard board, Tile tile) {
+		if (tile == null) {
+			return -1;
+		}
+		int index = tile.getIndex();
+		if (index < 0 || index >= board.size() || board.getTile(index) != tile) {
+			throw new IllegalArgumentException("Tile " + tile.getID() + " is not on the board of the game");
+		}
+		return index;
+	}
+
+	/**
+	 * Restores the state of the snapshot into a game on the same board and cards,
+	 * with the same number of players. Everything the snapshot holds is replaced;
+	 * the game keeps its board, cards and decisions.
+	 *
+	 * @param game the game to restore
+	 * @throws IllegalArgumentException if the snapshot does not fit the game
+	 */
+	public void restore(GameEngine game) {
+		try {
+			restoreFrom(new Reader(data), game);
+		} catch (ArrayIndexOutOfBoundsException | NegativeArraySizeException e) {
+			throw new IllegalArgumentException("The game snapshot is damaged");
+		}
+	}
+
+	/**
+	 * Reads the snapshot after the header into the game.
+	 */
+	private void restoreFrom(Reader in, GameEngine game) {
+		List<Player> players = game.getPlayers();
+		if (players.size() != playerInfo.length) {
+			throw new IllegalArgumentException("The snapshot has " + playerInfo.length + " players, the game "
+					+ players.size());
+		}
+		// Skip the header, which was read by the constructor
+		in.fixedInt();
+		in.varInt();
+		in.varInt();
+		in.varInt();
+		for (int i = 0; i < playerInfo.length; i++) {
+			in.string();
+			in.string();
+		}
+
+		// Everything is read before the game is changed, so a snapshot that does not
+		// fit leaves the game as it was
+		CompiledBoard board = game.getCompiledBoard();
+		int currentPlayerTurn = in.varInt();
+		int turnsPlayed = in.varInt();
+		int winner = in.varInt() - 1;
+		Tile victoryTile = tile(board, in.varInt() - 1);
+		int dieFaces = in.zigZagInt();
+		int dieValue = in.zigZagInt();
+		long seed = in.fixedLong();
+		long state = in.fixedLong();
+		long gamma = in.fixedLong();
+		if (currentPlayerTurn < 1 || currentPlayerTurn > players.size() || winner >= players.size()) {
+			throw new IllegalArgumentException("The game snapshot is damaged");
+		}
+
+		int[][] counters = new int[players.size()][];
+		Tile[] tiles = new Tile[players.size()];
+		for (int i = 0; i < players.size(); i++) {
+			// State, resources, remaining steps, income, steps bonus, victory points and
+			// bankruptcies, with the tile in between as it is written
+			int[] c = new int[7];
+			c[0] = in.varInt();
+			c[1] = in.zigZagInt();
+			c[2] = in.zigZagInt();
+			tiles[i] = tile(board, in.varInt() - 1);
+			c[3] = in.zigZagInt();
+			c[4] = in.zigZagInt();
+			c[5] = in.zigZagInt();
+			c[6] = in.varInt();
+			counters[i] = c;
+		}
+
+		CardDecks cardDecks = game.getCardDecks();
+		int deckCount = in.count(1);
+		String[] types = new String[deckCount];
+		int[][] orders = new int[deckCount][];
+		int[] cursors = new int[deckCount];
+		for (int d = 0; d < deckCount; d++) {
+			types[d] = in.string();
+			CardDeck deck = cardDecks.getDeck(types[d]);
+			orders[d] = new int[in.count(1)];
+			cursors[d] = in.varInt();
+			for (int i = 0; i < orders[d].length; i++) {
+				orders[d][i] = in.varInt();
+			}
+			if (deck == null || deck.size() != orders[d].length) {
+				throw new IllegalArgumentException("The snapshot has other cards than the game: " + types[d]);
+			}
+		}
+
+		CardCatalog catalog = cardDecks.getCatalog();
+		long schedulerTurn = in.zigZagLong();
+		long nextSequence = in.zigZagLong();
+		int effectCount = in.count(8);
+		List<ActiveEffect> effects = new ArrayList<>(effectCount);
+		for (int i = 0; i < effectCount; i++) {
+			Card[] cards = catalog == null ? null : catalog.getCardArray(in.string());
+			int cardIndex = in.varInt();
+			int owner = in.varInt();
+			int kind = in.varInt();
+			if (cards == null || cardIndex >= cards.length || owner >= players.size()
+					|| kind >= ActiveEffect.Kind.values().length) {
+				throw new IllegalArgumentException("The snapshot has other cards than the game");
+			}
+			effects.add(new ActiveEffect(cards[cardIndex], players.get(owner), ActiveEffect.Kind.values()[kind],
+					in.zigZagInt(), in.zigZagLong(), in.zigZagLong()));
+		}
+
+		// Deck orders are checked by setState, so they are set before anything else
+		for (int d = 0; d < deckCount; d++) {
+			cardDecks.getDeck(types[d]).setState(orders[d], cursors[d]);
+		}
+		game.getRandom().setState(seed, state, gamma);
+		game.getDie().setNumFaces(dieFaces);
+		game.getDie().setValue(dieValue);
+		for (int i = 0; i < players.size(); i++) {
+			Player player = players.get(i);
+			int[] c = counters[i];
+			player.setName(playerInfo[i][0]);
+			player.setState(c[0] != 0);
+			player.setResources(c[1]);
+			player.setRemainingSteps(c[2]);
+			player.setCurrentTile(tiles[i]);
+			player.restoreCounters(c[3], c[4], c[5], c[6]);
+		}
+		game.getEffectScheduler().restore(schedulerTurn, nextSequence, effects);
+		game.restoreProgress(numWinPoints, currentPlayerTurn, turnsPlayed, winner < 0 ? null : players.get(winner),
+				victoryTile);
+	}
+
+	/**
+	 * Finds a tile by its index on the compiled board.
+	 *
+	 * @return the tile, or null for index -1
+	 * @throws IllegalArgumentException if the index is not on the board
+	 */
+	private static Tile tile(CompiledBoard board, int index) {
+		if (index == -1) {
+			return null;
+		}
+		if (index < 0 || index >= board.size()) {
+			throw new IllegalArgumentException("The snapshot has another board than the game");
+		}
+		return board.getTile(index);
+	}
+
+	/**
+	 * Reads a snapshot from its bytes.
+	 *
+	 * @param data the bytes of a snapshot
+	 * @return the snapshot
+	 * @throws IllegalArgumentException if the bytes are not a game snapshot
+	 */
+	public static GameSnapshot fromByteArray(byte[] data) {
+		return new GameSnapshot(data.clone());
+	}
+
+	/**
+	 * @return a copy of the bytes of the snapshot
+	 */
+	public byte[] toByteArray() {
+		return data.clone();
+	}
+
+	/**
+	 * @return the number of bytes of the snapshot
+	 */
+	public int size() {
+		return data.length;
+	}
+
+	/**
+	 * Saves the snapshot to a file. The file is written under a temporary name and
+	 * then moved into place, so a crash while saving never leaves half a save.
+	 *
+	 * @param filePath the path of the save file
+	 * @throws IOException if the file cannot be written
+	 */
+	public void save(String filePath) throws IOException {
+		Path target = Paths.get(filePath).toAbsolutePath();
+		Path temporary = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+		try {
+			Files.write(temporary, data);
+			try {
+				Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(temporary);
+		}
+	}
+
+	/**
+	 * Loads a snapshot from a file.
+	 *
+	 * @param filePath the path of the save file
+	 * @return the snapshot
+	 * @throws IOException              if the file cannot be read
+	 * @throws IllegalArgumentException if the file is not a game snapshot
+	 */
+	public static GameSnapshot load(String filePath) throws IOException {
+		return new GameSnapshot(Files.readAllBytes(Paths.get(filePath)));
+	}
+
+	/**
+	 * @return the required number of victory points to win
+	 */
+	public int getNumWinPoints() {
+		return numWinPoints;
+	}
+
+	/**
+	 * @return the names and countries of the players, like the playerInfo of a
+	 *         new GameEngine
+	 */
+	public String[][] getPlayerInfo() {
+		String[][] copy = new String[playerInfo.length][];
+		for (int i = 0; i < copy.length; i++) {
+			copy[i] = playerInfo[i].clone();
+		}
+		return copy;
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		return other instanceof GameSnapshot && Arrays.equals(data, ((GameSnapshot) other).data);
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(data);
+	}
+
+	/**
+	 * Writes the bytes of a snapshot into a growing array.
+	 */
+	private static final class Writer {
+		private byte[] bytes = new byte[256];
+		private int length;
+
+		private void ensure(int extra) {
+			if (length + extra > bytes.length) {
+				bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+			}
+		}
+
+		void fixedInt(int value) {
+			ensure(4);
+			for (int shift = 24; shift >= 0; shift -= 8) {
+				bytes[length++] = (byte) (value >>> shift);
+			}
+		}
+
+		void fixedLong(long value) {
+			ensure(8);
+			for (int shift = 56; shift >= 0; shift -= 8) {
+				bytes[length++] = (byte) (value >>> shift);
+			}
+		}
+
+		// Seven bits per byte, the high bit is set on every byte but the last
+		void varLong(long value) {
+			ensure(10);
+			while ((value & ~0x7fL) != 0) {
+				bytes[length++] = (byte) ((value & 0x7f) | 0x80);
+				value >>>= 7;
+			}
+			bytes[length++] = (byte) value;
+		}
+
+		void varInt(int value) {
+			varLong(value & 0xffffffffL);
+		}
+
+		// Small negative numbers stay small: 0, -1, 1, -2, 2, ...
+		void zigZag(long value) {
+			varLong((value << 1) ^ (value >> 63));
+		}
+
+		void string(String value) {
+			byte[] utf8 = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+			varInt(utf8.length);
+			ensure(utf8.length);
+			System.arraycopy(utf8, 0, bytes, length, utf8.length);
+			length += utf8.length;
+		}
+
+		byte[] toByteArray() {
+			return Arrays.copyOf(bytes, length);
+		}
+	}
+
+	/**
+	 * Reads the bytes of a snapshot. Reading past the end throws an
+	 * ArrayIndexOutOfBoundsException.
+	 */
+	private static final class Reader {
+		private final byte[] bytes;
+		private int position;
+
+		Reader(byte[] bytes) {
+			this.bytes = bytes;
+		}
+
+		int fixedInt() {
+			int value = 0;
+			for (int i = 0; i < 4; i++) {
+				value = (value << 8) | (bytes[position++] & 0xff);
+			}
+			return value;
+		}
+
+		long fixedLong() {
+			long value = 0;
+			for (int i = 0; i < 8; i++) {
+				value = (value << 8) | (bytes[position++] & 0xff);
+			}
+			return value;
+		}
+
+		long varLong() {
+			long value = 0;
+			for (int shift = 0; shift < 64; shift += 7) {
+				byte b = bytes[position++];
+				value |= (long) (b & 0x7f) << shift;
+				if (b >= 0) {
+					return value;
+				}
+			}
+			throw new IllegalArgumentException("The game snapshot is damaged");
+		}
+
+		int varInt() {
+			long value = varLong();
+			if (value > 0xffffffffL) {
+				throw new IllegalArgumentException("The game snapshot is damaged");
+			}
+			return (int) value;
+		}
+
+		// A number of items of at least the given number of bytes each, that must
+		// fit in the rest of the snapshot
+		int count(int bytesPerItem) {
+			int count = varInt();
+			if (count < 0 || count > (bytes.length - position) / bytesPerItem) {
+				throw new IllegalArgumentException("The game snapshot is damaged");
+			}
+			return count;
+		}
+
+		long zigZagLong() {
+			long value = varLong();
+			return (value >>> 1) ^ -(value & 1);
+		}
+
+		int zigZagInt() {
+			return (int) zigZagLong();
+		}
+
+		String string() {
+			int length = count(1);
+			String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+			position += length;
+			return value;
+		}
+	}
+}
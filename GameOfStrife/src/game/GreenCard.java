@@ -1,13 +1,6 @@
 package game;
 
-import java.awt.Color;
-import java.awt.SystemColor;
-import java.util.Map;
 import static game.SymbolicConstants.*;
-import javax.swing.JOptionPane;
-import javax.swing.UIManager;
-
-import gui.GameOfStrife;
 
 public class GreenCard extends Card {
 	/**
@@ -29,39 +22,23 @@ public class GreenCard extends Card {
 	 * resources. It shows a message to the player indicating the effect of the
 	 * GreenCard and changes the player's gold reserve.
 	 * 
-	 * @param game The instance of the GameofStrife game, used to get the current
+	 * @param game The engine of the current game, used to get the current
 	 *             player.
 	 */
 	@Override
-	public void executeCard(GameOfStrife game) {
-		
-		// Customize option pane appearance
-		UIManager.put("OptionPane.background", SystemColor.control);
-		UIManager.put("Panel.background", SystemColor.control);
-		UIManager.put("Button.background", BUTTON_COLOR);
-		UIManager.put("Button.foreground", Color.WHITE);
-		UIManager.put("Button.font", LABEL_FONT);
-		
-		JOptionPane.showMessageDialog((game), this.getDescription(), GREEN_CARD, JOptionPane.INFORMATION_MESSAGE);
+	public void executeCard(GameEngine game) {
+		game.getDecisions().showCard(this, GREEN_CARD);
 		Player currentPlayer = game.getCurrentPlayer();
 		currentPlayer.adjustResources(valueChange);
-		
-		// Reset UI manager settings
-		UIManager.put("OptionPane.background", null);
-		UIManager.put("Panel.background", null);
-		UIManager.put("Button.background", null);
-		UIManager.put("Button.foreground", null);
-		UIManager.put("Button.font", null);
 	}
 
 	/**
 	 * Removes the effect of the GreenCard. Since GreenCard has no timed effects,
 	 * this method does nothing.
 	 * 
-	 * @param game       The instance of the GameofStrife game, passed for
-	 *                   consistency.
-	 * @param effectData Additional effect data (not used by GreenCard).
+	 * @param game   The engine of the current game, passed for consistency.
+	 * @param effect The expired effect (not used by GreenCard).
 	 */
-	public void removeEffect(GameOfStrife game, Map<String, Object> effectData) {
+	public void removeEffect(GameEngine game, ActiveEffect effect) {
 	}
 }
@@ -0,0 +1,216 @@
+package game;
+
+import java.util.Arrays;
+
+/**
+ * JumpTable lets a player move many steps at once over the parts of a
+ * CompiledBoard where there is nothing to choose. A tile with exactly one next
+ * tile is a forced tile: from there the path is fixed until the first branch
+ * point (more than one next tile) or dead end (no next tiles), the end tile of
+ * the run.
+ *
+ * The forced tiles form trees that hang from their end tiles. These trees are
+ * cut into heavy paths (every tile continues the path of its largest subtree),
+ * and the tiles of every path are stored next to each other. Jumping k steps
+ * ahead is then an array lookup inside a path, and a walk to the next path
+ * only happens O(log n) times. The table takes four ints per tile.
+ *
+ * Forced tiles that loop forever without ever reaching a branch point or dead
+ * end have no end tile. For those tiles the player simply moves step by step.
+ */
+public class JumpTable {
+	private static final int NONE = -1;
+
+	private CompiledBoard board;
+	// Number of forced steps to the end tile of the run, NONE when looping
+	private int[] forcedSteps;
+	// The heavy paths: the tiles of one path from the end tile onwards
+	private int[] order;
+	private int[] position;
+	private int[] head;
+
+	/**
+	 * Builds the jump table of a compiled board.
+	 *
+	 * @param board the compiled board
+	 */
+	public JumpTable(CompiledBoard board) {
+		this.board = board;
+		int size = board.size();
+		forcedSteps = new int[size];
+		order = new int[size];
+		position = new int[size];
+		head = new int[size];
+		Arrays.fill(position, NONE);
+		Arrays.fill(head, NONE);
+
+		computeForcedSteps(size);
+		buildPaths(size);
+	}
+
+	/**
+	 * @param index the index of a tile
+	 * @return the only next tile of a forced tile, or NONE for any other tile
+	 */
+	private int forcedNext(int index) {
+		return board.getNextCount(index) == 1 ? board.getNext(index, 0) : NONE;
+	}
+
+	/**
+	 * Computes the number of forced steps of every tile by following its run until
+	 * a tile with a known number of steps. Runs that come back to themselves loop
+	 * forever.
+	 *
+	 * @param size the number of tiles
+	 */
+	private void computeForcedSteps(int size) {
+		final int unknown = Integer.MIN_VALUE;
+		final int onStack = Integer.MIN_VALUE + 1;
+		Arrays.fill(forcedSteps, unknown);
+		int[] stack = new int[size];
+
+		for (int start = 0; start < size; start++) {
+			int top = 0;
+			int index = start;
+			while (forcedSteps[index] == unknown) {
+				if (forcedNext(index) == NONE) {
+					forcedSteps[index] = 0;
+					break;
+				}
+				forcedSteps[index] = onStack;
+				stack[top++] = index;
+				index = forcedNext(index);
+			}
+
+			// A run into a tile that is still on the stack is a loop
+			int steps = forcedSteps[index] == onStack ? NONE : forcedSteps[index];
+			while (top > 0) {
+				int tile = stack[--top];
+				steps = steps == NONE ? NONE : steps + 1;
+				forcedSteps[tile] = steps;
+			}
+		}
+	}
+
+	/**
+	 * Cuts the trees of forced tiles into heavy paths and stores every path from
+	 * its top (closest to the end tile) onwards.
+	 *
+	 * @param size the number of tiles
+	 */
+	private void buildPaths(int size) {
+		// Sort the tiles on their number of forced steps (counting sort)
+		int maxSteps = 0;
+		for (int steps : forcedSteps) {
+			maxSteps = Math.max(maxSteps, steps);
+		}
+		int[] start = new int[maxSteps + 2];
+		for (int steps : forcedSteps) {
+			if (steps != NONE) {
+				start[steps + 1]++;
+			}
+		}
+		for (int i = 1; i < start.length; i++) {
+			start[i] += start[i - 1];
+		}
+		int sorted = start[start.length - 1];
+		int[] byDepth = new int[sorted];
+		int[] fill = Arrays.copyOf(start, start.length);
+		for (int i = 0; i < size; i++) {
+			if (forcedSteps[i] != NONE) {
+				byDepth[fill[forcedSteps[i]]++] = i;
+			}
+		}
+
+		// Subtree sizes and the heaviest child, from the deepest tiles upwards
+		int[] subtree = new int[size];
+		int[] heavy = new int[size];
+		Arrays.fill(heavy, NONE);
+		for (int i = sorted - 1; i >= 0; i--) {
+			int tile = byDepth[i];
+			subtree[tile]++;
+			int parent = forcedNext(tile);
+			if (parent != NONE) {
+				subtree[parent] += subtree[tile];
+				if (heavy[parent] == NONE || subtree[tile] > subtree[heavy[parent]]) {
+					heavy[parent] = tile;
+				}
+			}
+		}
+
+		// Every tile that does not continue the path of its parent starts a new one
+		int next = 0;
+		for (int i = 0; i < sorted; i++) {
+			int top = byDepth[i];
+			if (position[top] != NONE) {
+				continue;
+			}
+			for (int tile = top; tile != NONE; tile = heavy[tile]) {
+				order[next] = tile;
+				position[tile] = next++;
+				head[tile] = top;
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of steps that can be taken from a tile without any
+	 * choice, before reaching a branch point or dead end.
+	 *
+	 * @param index the index of the tile
+	 * @return the number of forced steps, 0 on a branch point or dead end, or -1
+	 *         if the path from this tile loops forever
+	 */
+	public int getForcedSteps(int index) {
+		return forcedSteps[index];
+	}
+
+	/**
+	 * Returns the tile reached after a number of forced steps.
+	 *
+	 * @param index the index of the starting tile
+	 * @param steps the number of steps, at most getForcedSteps(index)
+	 * @return the index of the tile the player lands on
+	 */
+	public int jump(int index, int steps) {
+		if (steps < 0 || steps > forcedSteps[index]) {
+			throw new IllegalArgumentException("Cannot jump " + steps + " steps from tile " + index);
+		}
+		int tile = index;
+		while (steps > 0) {
+			int top = head[tile];
+			int inPath = position[tile] - position[top];
+			if (steps <= inPath) {
+				return order[position[tile] - steps];
+			}
+			// Continue on the path after the top of this one
+			steps -= inPath + 1;
+			tile = forcedNext(top);
+		}
+		return tile;
+	}
+
+	/**
+	 * Returns after how many forced steps a player on a tile lands on a target
+	 * tile, for instance the victory tile.
+	 *
+	 * @param index    the index of the starting tile
+	 * @param target   the index of the target tile
+	 * @param maxSteps the number of steps the player takes, at most
+	 *                 getForcedSteps(index)
+	 * @return the number of steps (1 to maxSteps) to the target, or -1 if the
+	 *         player does not pass it
+	 */
+	public int stepsTo(int index, int target, int maxSteps) {
+		if (target < 0 || forcedSteps[index] == NONE || forcedSteps[target] == NONE) {
+			return NONE;
+		}
+		// The forced steps go down by one every step, so the target can only be
+		// the tile at this distance
+		int steps = forcedSteps[index] - forcedSteps[target];
+		if (steps < 1 || steps > maxSteps) {
+			return NONE;
+		}
+		return jump(index, steps) == target ? steps : NONE;
+	}
+}
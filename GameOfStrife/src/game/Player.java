@@ -1,11 +1,17 @@
 package game;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import javax.swing.JOptionPane;
+import java.util.List;
 import gui.GameMovementController;
+import static game.SymbolicConstants.*;
 
 public class Player {
+	// The countries a player can choose, each with a flag image in the data folder
+	public static final List<String> COUNTRIES = Collections.unmodifiableList(Arrays.asList("Netherlands", "Morocco",
+			"Friesland", "Hungary", "Iran", "Turkiye", "Ethiopia", "France"));
+
 	// Initialize variables
 	private boolean state;
 	private String name;
@@ -16,6 +22,7 @@ public class Player {
 	private int income;
 	private int stepsBonus;
 	private int victoryPoints;
+	private int bankruptcies;
 
 	/**
 	 * Constructs a Player with the given attributes.
@@ -137,18 +144,41 @@ public class Player {
 
 	/**
 	 * Adjusts the player's resources by the specified amount. If the resources go
-	 * below 0, it is set to 0.
+	 * below 0, it is set to 0. The player only counts as bankrupt when they had
+	 * resources left before, not for every later penalty while at 0.
 	 * 
 	 * @param resources The amount to adjust the resources by (can be positive or
 	 *                  negative).
 	 */
 	public void adjustResources(int resources) {
+		boolean solvent = this.resources > 0;
 		this.resources += resources;
 		if (this.resources < 0) {
 			this.resources = 0;
+			if (solvent) {
+				this.bankruptcies++;
+			}
 		}
 	}
 
+	/**
+	 * Takes back the income that was paid at the start of the turn, when the turn
+	 * is rewound. The resources do not go below 0, and as the income is paid again
+	 * on the next turn this never counts as a bankruptcy.
+	 */
+	void takeBackIncome() {
+		this.resources = Math.max(0, this.resources - getIncome());
+	}
+
+	/**
+	 * Returns how many times the player could not pay and went bankrupt.
+	 * 
+	 * @return The number of bankruptcies.
+	 */
+	public int getBankruptcies() {
+		return this.bankruptcies;
+	}
+
 	/**
 	 * Pays the player their current income.
 	 * 
@@ -222,6 +252,12 @@ public class Player {
 	public void move(int dieValue, GameMovementController gui) {
 		this.remainingSteps = dieValue + stepsBonus;
 
+		CompiledBoard board = gui.getCompiledBoard();
+		if (board != null && isOnBoard(board)) {
+			moveCompiled(board, gui);
+			return;
+		}
+
 		while (shouldContinueMoving(gui)) {
 			ArrayList<Tile> nextTiles = currentTile.getNextTiles();
 			int pathIndex = selectPath(nextTiles, gui);
@@ -232,6 +268,75 @@ public class Player {
 		}
 	}
 
+	/**
+	 * Moves the player over the compiled board, using the tile indices instead of
+	 * the lists of next tiles. Runs without a choice are crossed in one jump, that
+	 * only stops early on the victory tile, so the player gets the same chance to
+	 * buy a victory point as when moving step by step. The Tile objects are only
+	 * used to keep the current tile up to date and to show the path choices.
+	 * 
+	 * @param board The compiled board the player is on.
+	 * @param gui   The game interface that manages game actions and displays.
+	 */
+	private void moveCompiled(CompiledBoard board, GameMovementController gui) {
+		JumpTable jumpTable = board.getJumpTable();
+		while (remainingSteps > 0 && isOnBoard(board)) {
+			int index = currentTile.getIndex();
+			int count = board.getNextCount(index);
+			if (count == 0) {
+				return;
+			}
+
+			int forcedSteps = jumpTable.getForcedSteps(index);
+			if (count > 1 || forcedSteps < 0) {
+				// A branch point, or a loop without any branch point: one step at a time
+				int pathIndex = count > 1 ? gui.showPathSelectionPopup(currentTile.getNextTiles()) : 0;
+				moveToNextTile(board.getTile(board.getNext(index, pathIndex)));
+				remainingSteps--;
+			} else {
+				int steps = Math.min(remainingSteps, forcedSteps);
+				int victorySteps = jumpTable.stepsTo(index, victoryIndex(board, gui), steps);
+				if (victorySteps > 0) {
+					steps = victorySteps;
+				}
+				moveToNextTile(board.getTile(jumpTable.jump(index, steps)));
+				remainingSteps -= steps;
+			}
+
+			handleVictoryTileOpportunity(gui);
+		}
+	}
+
+	/**
+	 * Finds the index of the victory tile on the compiled board.
+	 * 
+	 * @param board The compiled board the player is on.
+	 * @param gui   The game interface that knows the victory tile.
+	 * @return The index of the victory tile, or -1 if it is not on the board.
+	 */
+	private int victoryIndex(CompiledBoard board, GameMovementController gui) {
+		Tile victoryTile = gui.getVictoryTile();
+		if (victoryTile == null) {
+			return -1;
+		}
+		int index = victoryTile.getIndex();
+		return index >= 0 && index < board.size() && board.getTile(index) == victoryTile ? index : -1;
+	}
+
+	/**
+	 * Checks whether the current tile of the player belongs to the compiled board.
+	 * 
+	 * @param board The compiled board.
+	 * @return true if the player stands on a tile of that board.
+	 */
+	private boolean isOnBoard(CompiledBoard board) {
+		if (currentTile == null) {
+			return false;
+		}
+		int index = currentTile.getIndex();
+		return index >= 0 && index < board.size() && board.getTile(index) == currentTile;
+	}
+
 	/**
 	 * Determines if the player should continue moving.
 	 * 
@@ -274,10 +379,10 @@ public class Player {
 	 */
 	public void handleVictoryTileOpportunity(GameMovementController gui) {
 		if (currentTile == gui.getVictoryTile() && gui.showVictoryPointsPopup()) {
-			if (getResources() >= 1000) {
+			if (getResources() >= VICTORY_POINT_COST) {
 				purchaseVictoryPoint(gui);
 			} else {
-				JOptionPane.showMessageDialog(null, "You do not have enough gold to buy the Victory Point");
+				gui.showMessage("You do not have enough gold to buy the Victory Point");
 			}
 		}
 	}
@@ -289,7 +394,7 @@ public class Player {
 	 * @param gui The game interface used to update the game state.
 	 */
 	public void purchaseVictoryPoint(GameMovementController gui) {
-		adjustResources(-1000);
+		adjustResources(-VICTORY_POINT_COST);
 		addVictoryPoints(1);
 		gui.setVictoryTile();
 		gui.repaint();
@@ -315,42 +420,22 @@ public class Player {
 		return null;
 	}
 
-	/**
-	 * Draws a card from a deck, shuffling the deck if necessary.
-	 * 
-	 * @param deck     The deck of cards to draw from.
-	 * @param usedDeck The deck of previously used cards.
-	 * @return A card drawn from the deck.
-	 */
-	private Card drawFromDeck(ArrayList<Card> deck, ArrayList<Card> useddeck) {
-		// Fill the deck with a shuffled card list if empty
-		if (deck.isEmpty()) {
-			Collections.shuffle(useddeck);
-			deck.addAll(useddeck);
-			useddeck.clear();
-		}
-
-		Card card = deck.remove(0);
-		useddeck.add(card);
-		return card;
-	}
-
 	/**
 	 * Draws a card from a deck based on the color of the tile the player is
-	 * currently on.
+	 * currently on. The deck reshuffles its used cards itself when it is empty.
 	 * 
 	 * @param cardDecks The card decks to draw from.
-	 * @return A card drawn from the appropriate deck.
+	 * @return A card drawn from the appropriate deck, or null if the tile has no
+	 *         cards.
 	 */
 	public Card drawCard(CardDecks cardDecks) {
-		String color = getColor().toUpperCase();
-
-		ArrayList<Card> deck = cardDecks.getCardsByType(color);
-		ArrayList<Card> usedDeck = cardDecks.getUsedCardsByType(color);
+		if (currentTile == null) {
+			return null;
+		}
 
+		CardDeck deck = cardDecks.getDeckForTile(currentTile);
 		if (deck != null) {
-			Card card = drawFromDeck(deck, usedDeck);
-			return card;
+			return deck.draw(cardDecks.getRandom());
 		} else {
 			return null;
 		}
@@ -359,4 +444,19 @@ public class Player {
 	public void adjustIncome(int i) {
 		this.income += i;
 	}
+
+	/**
+	 * Restores the counters of the player from a GameSnapshot.
+	 * 
+	 * @param income        The income of the player.
+	 * @param stepsBonus    The steps bonus of the player.
+	 * @param victoryPoints The victory points of the player.
+	 * @param bankruptcies  The number of bankruptcies of the player.
+	 */
+	void restoreCounters(int income, int stepsBonus, int victoryPoints, int bankruptcies) {
+		this.income = income;
+		this.stepsBonus = stepsBonus;
+		this.victoryPoints = victoryPoints;
+		this.bankruptcies = bankruptcies;
+	}
 }
\ No newline at end of file
@@ -0,0 +1,109 @@
+package game;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ReplayResult collects the outcome of replaying many archived games with a
+ * GameReplay: the totals of the games that replayed exactly, and a message for
+ * every journal that did not. Batches replayed on different threads report to
+ * the same result, so the totals are LongAdders and the failures a concurrent
+ * queue.
+ */
+public class ReplayResult {
+	private LongAdder gamesReplayed = new LongAdder();
+	private LongAdder turnsReplayed = new LongAdder();
+	private LongAdder checksum = new LongAdder();
+	private ConcurrentLinkedQueue<String> failures = new ConcurrentLinkedQueue<>();
+	private long elapsedNanos;
+
+	/**
+	 * Adds the totals of a batch of games that replayed exactly like their
+	 * journals.
+	 *
+	 * @param games  the number of games
+	 * @param turns  the total number of turns of those games
+	 * @param hashes the sum of the rolling state hashes of those games
+	 */
+	public void add(long games, long turns, long hashes) {
+		gamesReplayed.add(games);
+		turnsReplayed.add(turns);
+		checksum.add(hashes);
+	}
+
+	/**
+	 * Adds a game that did not replay like its journal.
+	 *
+	 * @param journal the path of the journal of the game
+	 * @param reason  where and how the replay differed
+	 */
+	public void addFailure(String journal, String reason) {
+		failures.add(journal + ": " + reason);
+	}
+
+	/**
+	 * @return the number of games that replayed exactly like their journals
+	 */
+	public long getGamesReplayed() {
+		return gamesReplayed.sum();
+	}
+
+	/**
+	 * @return the number of turns of those games
+	 */
+	public long getTurnsReplayed() {
+		return turnsReplayed.sum();
+	}
+
+	/**
+	 * @return the sum of the rolling state hashes of every game that replayed,
+	 *         which is the same for every run over the same journals
+	 */
+	public long getChecksum() {
+		return checksum.sum();
+	}
+
+	/**
+	 * @return the games that did not replay like their journals, sorted by the
+	 *         path of the journal
+	 */
+	public List<String> getFailures() {
+		List<String> sorted = new ArrayList<>(failures);
+		Collections.sort(sorted);
+		return sorted;
+	}
+
+	/**
+	 * @param elapsedNanos the wall clock time it took to replay all games
+	 */
+	public void setElapsedNanos(long elapsedNanos) {
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	/**
+	 * @return the number of games replayed per second, including the failures
+	 */
+	public double getGamesPerSecond() {
+		return elapsedNanos == 0 ? 0 : (getGamesReplayed() + failures.size()) / (elapsedNanos / 1e9);
+	}
+
+	/**
+	 * Prints the totals and every failure.
+	 *
+	 * @param out the stream to print to
+	 */
+	public void print(PrintStream out) {
+		out.printf("Games replayed: %d, turns: %d (%.1f games/s)%n", getGamesReplayed(), getTurnsReplayed(),
+				getGamesPerSecond());
+		out.printf("Checksum: %016x%n", getChecksum());
+		List<String> failed = getFailures();
+		out.printf("Games that differ from their journal: %d%n", failed.size());
+		for (String failure : failed) {
+			out.println("  " + failure);
+		}
+	}
+}
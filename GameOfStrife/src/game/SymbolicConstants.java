@@ -15,6 +15,8 @@ public class SymbolicConstants {
 //	ANY grayed out line with /// (three slashes) indicates that this constant is already available in a different indicated class.
 
 	public static final String DATA_PATH = "./data/";
+	// The turn journal of the game that is being played, to resume it after a crash
+	public static final String JOURNAL_PATH = DATA_PATH + "game.journal";
 
 // game
 	// Symbolic constants for BlueCard
@@ -71,6 +73,11 @@ public class SymbolicConstants {
 	public static final String ROLL_AGAIN = "rollAgain";
 	public static final String RED_CARD = "Red Card";
 
+	// Symbolic constants for Player
+	public static final int VICTORY_POINT_COST = 1000;
+	// The countries are in Player.COUNTRIES, so the headless game does not load the
+	// AWT classes of the fonts and colors below
+
 // gui
 	// Symbolic constants for BoardPanel
 	public static final int PLAYERS_PER_TILE = 4; // Maximum players that can occupy a single tile
@@ -91,6 +98,7 @@ public class SymbolicConstants {
 	public static final String GREEN = "green";
 	public static final String RED = "red";
 	public static final String JSON_PATH_CARDS = DATA_PATH + "cards1.json";
+	public static final String JSON_PATH_BOARD = DATA_PATH + "path1.json";
 	public static final int EXPECTED_BLUE_CARDS = 16;
 	public static final int EXPECTED_GREEN_CARDS = 13;
 	public static final int EXPECTED_RED_CARDS = 18;
@@ -17,6 +17,8 @@ public class Tile {
 	private int height;
 	private boolean victory;
 	private ArrayList<Tile> nextTiles = new ArrayList<>(); // list with next tiles for each tile
+	private int index = -1; // index of the tile in the CompiledBoard, -1 if not compiled
+	private CompiledBoard board; // the board that created the tile and links its next tiles, or null
 
 	/**
 	 * Constructs a Tile with specified properties.
@@ -54,7 +56,7 @@ public class Tile {
 	 * @param tile The tile to be added to the list of next tiles.
 	 */
 	public void addNextTile(Tile tile) {
-		nextTiles.add(tile);
+		getNextTiles().add(tile);
 	}
 
 	/**
@@ -120,12 +122,53 @@ public class Tile {
 		return this.height;
 	}
 
+	/**
+	 * Gets the index of the tile in the compiled board it belongs to.
+	 * 
+	 * @return The index of the tile, or -1 if the tile has not been compiled.
+	 */
+	public int getIndex() {
+		return this.index;
+	}
+
+	/**
+	 * Sets the index of the tile in its compiled board.
+	 * 
+	 * @param index The index of the tile.
+	 */
+	void setIndex(int index) {
+		this.index = index;
+	}
+
+	/**
+	 * Marks the tile as created by a compiled board, which links its next tiles
+	 * the first time they are asked for.
+	 * 
+	 * @param board The compiled board the tile belongs to.
+	 */
+	void setBoard(CompiledBoard board) {
+		this.board = board;
+		this.nextTiles = null;
+	}
+
+	/**
+	 * Gets the compiled board that created the tile.
+	 * 
+	 * @return The compiled board, or null if the tile was built by hand.
+	 */
+	CompiledBoard getBoard() {
+		return this.board;
+	}
+
 	/**
 	 * Gets the list of next tiles that follow this tile.
 	 * 
 	 * @return A list of the next tiles following the current tile.
 	 */
 	public ArrayList<Tile> getNextTiles() {
+		if (nextTiles == null) {
+			nextTiles = board.getNextTiles(index);
+		}
 		return nextTiles;
 	}
 }
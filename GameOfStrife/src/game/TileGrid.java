@@ -0,0 +1,240 @@
+package game;
+
+import java.util.Arrays;
+
+/**
+ * A TileGrid finds the tiles in an area of the board without looking at every
+ * tile. The board is divided into square cells of a few tiles wide, and every
+ * cell lists the tiles that overlap it (compressed sparse rows, like the next
+ * tiles of a CompiledBoard). Finding the tiles in an area then only looks at the
+ * tiles in the cells that overlap it, so the BoardPanel draws and hit-tests
+ * only the tiles in view, even on a board with a million tiles.
+ *
+ * The tiles in an area are found in the order of the board, so tiles that
+ * overlap are drawn in the same order as without the grid. A TileGrid reuses
+ * its buffers between searches and must only be used by one thread at a time.
+ */
+public class TileGrid {
+	// The side of a cell in average tile sides
+	private static final int TILES_PER_CELL = 4;
+	// The largest number of cells per tile, for boards with a lot of empty space
+	private static final int MAX_CELLS_PER_TILE = 4;
+
+	private int size;
+	private int[] tileX;
+	private int[] tileY;
+	private int[] tileWidth;
+	private int[] tileHeight;
+
+	// The area covered by the grid, in board coordinates
+	private int minX;
+	private int minY;
+	private int maxX;
+	private int maxY;
+
+	private int cellSize;
+	private int columns;
+	private int rows;
+	private int[] cellOffsets;
+	private int[] cellTiles;
+
+	// One bit per tile, set for the tiles found by the current search
+	private long[] found;
+
+	/**
+	 * Builds the grid over the given tiles. The arrays are kept, not copied, and
+	 * must not change while the grid is used.
+	 *
+	 * @param tileX      the x coordinate of every tile
+	 * @param tileY      the y coordinate of every tile
+	 * @param tileWidth  the width of every tile
+	 * @param tileHeight the height of every tile
+	 */
+	public TileGrid(int[] tileX, int[] tileY, int[] tileWidth, int[] tileHeight) {
+		this.size = tileX.length;
+		this.tileX = tileX;
+		this.tileY = tileY;
+		this.tileWidth = tileWidth;
+		this.tileHeight = tileHeight;
+		found = new long[(size + 63) >>> 6];
+		computeBounds();
+		buildCells();
+	}
+
+	/**
+	 * Finds the area all tiles cover and the size of the cells.
+	 */
+	private void computeBounds() {
+		if (size == 0) {
+			cellSize = 1;
+			return;
+		}
+		minX = Integer.MAX_VALUE;
+		minY = Integer.MAX_VALUE;
+		maxX = Integer.MIN_VALUE;
+		maxY = Integer.MIN_VALUE;
+		long sides = 0;
+		for (int i = 0; i < size; i++) {
+			minX = Math.min(minX, tileX[i]);
+			minY = Math.min(minY, tileY[i]);
+			maxX = Math.max(maxX, tileX[i] + width(i));
+			maxY = Math.max(maxY, tileY[i] + height(i));
+			sides += width(i) + height(i);
+		}
+
+		cellSize = (int) Math.max(1, sides / (2L * size) * TILES_PER_CELL);
+		long maxCells = (long) size * MAX_CELLS_PER_TILE;
+		while (cellsAcross(maxX - minX) * cellsAcross(maxY - minY) > maxCells) {
+			cellSize *= 2;
+		}
+		columns = (int) cellsAcross(maxX - minX);
+		rows = (int) cellsAcross(maxY - minY);
+	}
+
+	private long cellsAcross(long length) {
+		return Math.max(1, (length + cellSize - 1) / cellSize);
+	}
+
+	/**
+	 * Lists the tiles of every cell, in the order of the board.
+	 */
+	private void buildCells() {
+		cellOffsets = new int[columns * rows + 1];
+		for (int i = 0; i < size; i++) {
+			for (int row = firstRow(tileY[i]); row <= lastRow(tileY[i] + height(i)); row++) {
+				for (int column = firstColumn(tileX[i]); column <= lastColumn(tileX[i] + width(i)); column++) {
+					cellOffsets[row * columns + column + 1]++;
+				}
+			}
+		}
+		for (int cell = 0; cell < columns * rows; cell++) {
+			cellOffsets[cell + 1] += cellOffsets[cell];
+		}
+
+		cellTiles = new int[cellOffsets[columns * rows]];
+		int[] next = Arrays.copyOf(cellOffsets, columns * rows);
+		for (int i = 0; i < size; i++) {
+			for (int row = firstRow(tileY[i]); row <= lastRow(tileY[i] + height(i)); row++) {
+				for (int column = firstColumn(tileX[i]); column <= lastColumn(tileX[i] + width(i)); column++) {
+					cellTiles[next[row * columns + column]++] = i;
+				}
+			}
+		}
+	}
+
+	// Tiles without a width or height still take up a point of the board
+	private int width(int i) {
+		return Math.max(1, tileWidth[i]);
+	}
+
+	private int height(int i) {
+		return Math.max(1, tileHeight[i]);
+	}
+
+	private int firstColumn(long x) {
+		return (int) Math.min(columns - 1, Math.max(0, (x - minX) / cellSize));
+	}
+
+	// The end coordinate is exclusive
+	private int lastColumn(long endX) {
+		return (int) Math.min(columns - 1, Math.max(0, (endX - 1 - minX) / cellSize));
+	}
+
+	private int firstRow(long y) {
+		return (int) Math.min(rows - 1, Math.max(0, (y - minY) / cellSize));
+	}
+
+	private int lastRow(long endY) {
+		return (int) Math.min(rows - 1, Math.max(0, (endY - 1 - minY) / cellSize));
+	}
+
+	/**
+	 * Finds the tiles that overlap an area of the board, in the order of the
+	 * board.
+	 *
+	 * @param x      the x coordinate of the area
+	 * @param y      the y coordinate of the area
+	 * @param width  the width of the area
+	 * @param height the height of the area
+	 * @param result the array to store the indices of the tiles in, at most its
+	 *               length are stored
+	 * @return the number of tiles stored in the result
+	 */
+	public int query(int x, int y, int width, int height, int[] result) {
+		long endX = (long) x + width;
+		long endY = (long) y + height;
+		if (size == 0 || width <= 0 || height <= 0 || endX <= minX || endY <= minY || x >= maxX || y >= maxY) {
+			return 0;
+		}
+
+		// An area over the whole board has every tile
+		if (x <= minX && y <= minY && endX >= maxX && endY >= maxY) {
+			int count = Math.min(size, result.length);
+			for (int i = 0; i < count; i++) {
+				result[i] = i;
+			}
+			return count;
+		}
+
+		Arrays.fill(found, 0L);
+		int lastRow = lastRow(endY);
+		int lastColumn = lastColumn(endX);
+		for (int row = firstRow(y); row <= lastRow; row++) {
+			for (int column = firstColumn(x); column <= lastColumn; column++) {
+				int cell = row * columns + column;
+				for (int k = cellOffsets[cell]; k < cellOffsets[cell + 1]; k++) {
+					int i = cellTiles[k];
+					if (tileX[i] < endX && x < tileX[i] + width(i) && tileY[i] < endY && y < tileY[i] + height(i)) {
+						found[i >>> 6] |= 1L << i;
+					}
+				}
+			}
+		}
+
+		int count = 0;
+		for (int word = 0; word < found.length && count < result.length; word++) {
+			long bits = found[word];
+			while (bits != 0 && count < result.length) {
+				result[count++] = (word << 6) + Long.numberOfTrailingZeros(bits);
+				bits &= bits - 1;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Finds the tile at a point of the board. Where tiles overlap, the tile that
+	 * is drawn last is found.
+	 *
+	 * @param x the x coordinate of the point
+	 * @param y the y coordinate of the point
+	 * @return the index of the tile, or -1 if there is no tile at the point
+	 */
+	public int tileAt(int x, int y) {
+		if (size == 0 || x < minX || y < minY || x >= maxX || y >= maxY) {
+			return -1;
+		}
+		int cell = firstRow(y) * columns + firstColumn(x);
+		for (int k = cellOffsets[cell + 1] - 1; k >= cellOffsets[cell]; k--) {
+			int i = cellTiles[k];
+			if (tileX[i] <= x && x < tileX[i] + width(i) && tileY[i] <= y && y < tileY[i] + height(i)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @return the number of tiles in the grid
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return the width and height of a cell, in board coordinates
+	 */
+	public int getCellSize() {
+		return cellSize;
+	}
+}
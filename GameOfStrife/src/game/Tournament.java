@@ -0,0 +1,171 @@
+package game;
+
+import static game.SymbolicConstants.*;
+
+/**
+ * A Tournament plays many complete games headless, spread over all cores in
+ * GameBatches. Every game has its own GameEngine and Die, so the workers share
+ * no game state. The results are added to a lock-free TournamentResult.
+ *
+ * Every game gets its own seed derived from the seed of the tournament and the
+ * number of the game, so a tournament with the same seed gives exactly the same
+ * results on any number of threads.
+ *
+ * Run it with: java -cp "bin:libs/json-20250107.jar" game.Tournament [games]
+ * [players] [die faces] [win points] [seed]
+ */
+public class Tournament {
+	// Games that take longer than this are stopped without a winner
+	private static final int MAX_TURNS = 100000;
+
+	private String boardPath;
+	private String cardsPath;
+	private int numberOfPlayers;
+	private int dieNumFaces;
+	private int numWinPoints;
+	private long seed;
+
+	/**
+	 * Constructs a tournament for the given board, cards and game settings, with a
+	 * random seed.
+	 *
+	 * @param boardPath       the path JSON file of the board
+	 * @param cardsPath       the JSON file with the cards
+	 * @param numberOfPlayers the number of players in every game
+	 * @param dieNumFaces     the number of faces on the die
+	 * @param numWinPoints    the required number of victory points to win
+	 */
+	public Tournament(String boardPath, String cardsPath, int numberOfPlayers, int dieNumFaces, int numWinPoints) {
+		this(boardPath, cardsPath, numberOfPlayers, dieNumFaces, numWinPoints, new GameRandom().getSeed());
+	}
+
+	/**
+	 * Constructs a tournament for the given board, cards and game settings, with
+	 * the given seed.
+	 *
+	 * @param boardPath       the path JSON file of the board
+	 * @param cardsPath       the JSON file with the cards
+	 * @param numberOfPlayers the number of players in every game
+	 * @param dieNumFaces     the number of faces on the die
+	 * @param numWinPoints    the required number of victory points to win
+	 * @param seed            the seed all game seeds are derived from
+	 */
+	public Tournament(String boardPath, String cardsPath, int numberOfPlayers, int dieNumFaces, int numWinPoints,
+			long seed) {
+		this.boardPath = boardPath;
+		this.cardsPath = cardsPath;
+		this.numberOfPlayers = numberOfPlayers;
+		this.dieNumFaces = dieNumFaces;
+		this.numWinPoints = numWinPoints;
+		this.seed = seed;
+	}
+
+	/**
+	 * @return the seed all game seeds are derived from
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * Plays the given number of games on the given number of threads.
+	 *
+	 * @param games   the number of games to play
+	 * @param threads the number of worker threads
+	 * @return the statistics of all games
+	 */
+	public TournamentResult run(int games, int threads) {
+		TournamentResult result = new TournamentResult(numberOfPlayers, Player.COUNTRIES);
+		result.setElapsedNanos(GameBatches.run(boardPath, cardsPath, games, threads,
+				(board, cardDecks, from, to) -> playGames(board, cardDecks, from, to, result)));
+		return result;
+	}
+
+	/**
+	 * Plays the games with the numbers from (inclusive) to (exclusive) and adds
+	 * their totals to the result in one go.
+	 *
+	 * @param board     the board of this batch
+	 * @param cardDecks the card decks of this batch
+	 * @param from      the number of the first game
+	 * @param to        the number after the last game
+	 * @param result    the result to add the totals to
+	 */
+	private void playGames(Board board, CardDecks cardDecks, int from, int to, TournamentResult result) {
+		long won = 0;
+		long turns = 0;
+		long[] seatWins = new long[numberOfPlayers];
+		long[] countryWins = new long[Player.COUNTRIES.size()];
+		long[] countryGames = new long[Player.COUNTRIES.size()];
+		long bankruptPlayers = 0;
+		long bankruptcies = 0;
+
+		String[][] playerInfo = new String[numberOfPlayers][2];
+		for (int game = from; game < to; game++) {
+			GameBatches.seatPlayers(playerInfo, game);
+			for (int seat = 0; seat < numberOfPlayers; seat++) {
+				countryGames[GameBatches.countryOf(game, seat)]++;
+			}
+
+			GameRandom random = GameBatches.randomFor(seed, game);
+			AutoDecisions decisions = new AutoDecisions(random.split());
+			GameEngine engine = new GameEngine(board, cardDecks, dieNumFaces, numWinPoints, playerInfo, decisions,
+					random);
+			Player winner = engine.playGame(MAX_TURNS);
+			if (winner != null) {
+				int seat = engine.getPlayers().indexOf(winner);
+				won++;
+				turns += engine.getTurnsPlayed();
+				seatWins[seat]++;
+				countryWins[GameBatches.countryOf(game, seat)]++;
+			}
+			for (Player player : engine.getPlayers()) {
+				if (player.getBankruptcies() > 0) {
+					bankruptPlayers++;
+				}
+				bankruptcies += player.getBankruptcies();
+			}
+		}
+
+		result.add(to - from, won, turns, seatWins, countryWins, countryGames, (long) (to - from) * numberOfPlayers,
+				bankruptPlayers, bankruptcies);
+	}
+
+	/**
+	 * Plays a tournament on every thread count from 1 up to the number of cores to
+	 * show how the throughput scales, and prints the statistics of the run on all
+	 * cores.
+	 *
+	 * @param args optional: number of games, players, die faces, win points and
+	 *             seed
+	 */
+	public static void main(String[] args) {
+		int games = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+		int players = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+		int dieFaces = args.length > 2 ? Integer.parseInt(args[2]) : 6;
+		int winPoints = args.length > 3 ? Integer.parseInt(args[3]) : 3;
+		long seed = args.length > 4 ? Long.parseLong(args[4]) : new GameRandom().getSeed();
+		int cores = Runtime.getRuntime().availableProcessors();
+
+		Tournament tournament = new Tournament(JSON_PATH_BOARD, JSON_PATH_CARDS, players, dieFaces, winPoints, seed);
+
+		// Warm up the JIT before measuring
+		tournament.run(Math.min(games, 2000), cores);
+
+		System.out.println("Threads  Games/s  Speedup");
+		double single = 0;
+		TournamentResult result = null;
+		for (int threads = 1; threads <= cores; threads = threads == cores ? cores + 1 : Math.min(threads * 2, cores)) {
+			result = tournament.run(games, threads);
+			if (threads == 1) {
+				single = result.getGamesPerSecond();
+			}
+			System.out.printf("%7d %8.0f %7.2fx%n", threads, result.getGamesPerSecond(),
+					result.getGamesPerSecond() / single);
+		}
+
+		System.out.println();
+		System.out.println("Seed: " + seed);
+		result.print(System.out);
+	}
+}
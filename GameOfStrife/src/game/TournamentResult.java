@@ -0,0 +1,173 @@
+package game;
+
+import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * TournamentResult collects the statistics of many simulated games. All
+ * counters are LongAdders, so the worker threads of a Tournament can add their
+ * results at the same time without any locking.
+ */
+public class TournamentResult {
+	private List<String> countries;
+	private LongAdder[] seatWins;
+	private LongAdder[] countryWins;
+	private LongAdder[] countryGames;
+	private LongAdder gamesPlayed = new LongAdder();
+	private LongAdder gamesWon = new LongAdder();
+	private LongAdder turnsToWin = new LongAdder();
+	private LongAdder playerGames = new LongAdder();
+	private LongAdder bankruptPlayers = new LongAdder();
+	private LongAdder bankruptcies = new LongAdder();
+	private long elapsedNanos;
+
+	/**
+	 * Constructs an empty result for games with the given number of seats and the
+	 * given countries.
+	 *
+	 * @param numberOfPlayers the number of players (seats) in every game
+	 * @param countries       the countries the players can play with
+	 */
+	public TournamentResult(int numberOfPlayers, List<String> countries) {
+		this.countries = countries;
+		this.seatWins = newAdders(numberOfPlayers);
+		this.countryWins = newAdders(countries.size());
+		this.countryGames = newAdders(countries.size());
+	}
+
+	/**
+	 * Creates an array of LongAdders that all start at zero.
+	 *
+	 * @param size the size of the array
+	 * @return the array of LongAdders
+	 */
+	private static LongAdder[] newAdders(int size) {
+		LongAdder[] adders = new LongAdder[size];
+		for (int i = 0; i < size; i++) {
+			adders[i] = new LongAdder();
+		}
+		return adders;
+	}
+
+	/**
+	 * Adds the totals of a batch of games to this result. The arrays are indexed
+	 * by seat and by country, in the same order as given to the constructor.
+	 *
+	 * @param games             the number of games played in the batch
+	 * @param won               the number of those games that had a winner
+	 * @param turns             the total number of turns of the games that had a
+	 *                          winner
+	 * @param seatWinCounts     the number of wins per seat
+	 * @param countryWinCounts  the number of wins per country
+	 * @param countryGameCounts the number of games played per country
+	 * @param players           the number of players over all games
+	 * @param bankruptCount     the number of those players that went bankrupt at
+	 *                          least once
+	 * @param bankruptcyCount   the total number of bankruptcies
+	 */
+	public void add(long games, long won, long turns, long[] seatWinCounts, long[] countryWinCounts,
+			long[] countryGameCounts, long players, long bankruptCount, long bankruptcyCount) {
+		gamesPlayed.add(games);
+		gamesWon.add(won);
+		turnsToWin.add(turns);
+		for (int i = 0; i < seatWins.length; i++) {
+			seatWins[i].add(seatWinCounts[i]);
+		}
+		for (int i = 0; i < countries.size(); i++) {
+			countryWins[i].add(countryWinCounts[i]);
+			countryGames[i].add(countryGameCounts[i]);
+		}
+		playerGames.add(players);
+		bankruptPlayers.add(bankruptCount);
+		bankruptcies.add(bankruptcyCount);
+	}
+
+	/**
+	 * @return the number of games played
+	 */
+	public long getGamesPlayed() {
+		return gamesPlayed.sum();
+	}
+
+	/**
+	 * @return the number of games that ended with a winner
+	 */
+	public long getGamesWon() {
+		return gamesWon.sum();
+	}
+
+	/**
+	 * @param seat the seat (0-based) of the player
+	 * @return the number of games won from the given seat
+	 */
+	public long getSeatWins(int seat) {
+		return seatWins[seat].sum();
+	}
+
+	/**
+	 * @param country the index of the country
+	 * @return the number of games won with the given country
+	 */
+	public long getCountryWins(int country) {
+		return countryWins[country].sum();
+	}
+
+	/**
+	 * @return the average number of turns of the games that had a winner
+	 */
+	public double getAverageTurnsToWin() {
+		long won = getGamesWon();
+		return won == 0 ? 0 : (double) turnsToWin.sum() / won;
+	}
+
+	/**
+	 * @return the fraction of players that went bankrupt at least once in a game
+	 */
+	public double getBankruptcyFrequency() {
+		long players = playerGames.sum();
+		return players == 0 ? 0 : (double) bankruptPlayers.sum() / players;
+	}
+
+	/**
+	 * @param elapsedNanos the wall clock time it took to play all games
+	 */
+	public void setElapsedNanos(long elapsedNanos) {
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	/**
+	 * @return the number of games played per second
+	 */
+	public double getGamesPerSecond() {
+		return elapsedNanos == 0 ? 0 : getGamesPlayed() / (elapsedNanos / 1e9);
+	}
+
+	/**
+	 * Prints a table with all statistics.
+	 *
+	 * @param out the stream to print to
+	 */
+	public void print(PrintStream out) {
+		long games = getGamesPlayed();
+		long won = getGamesWon();
+		out.printf("Games played: %d, with a winner: %d (%.1f games/s)%n", games, won, getGamesPerSecond());
+		out.printf("Average turns to win: %.1f%n", getAverageTurnsToWin());
+		out.printf("Bankruptcy frequency: %.2f%% of players, %.2f bankruptcies per game%n",
+				100.0 * getBankruptcyFrequency(), games == 0 ? 0.0 : (double) bankruptcies.sum() / games);
+
+		// Every seat plays in every game, so both win rates are the wins over the games played
+		out.println("Win rate per seat:");
+		for (int i = 0; i < seatWins.length; i++) {
+			out.printf("  Player %d     %6.2f%%  (%d games)%n", i + 1,
+					games == 0 ? 0.0 : 100.0 * getSeatWins(i) / games, games);
+		}
+
+		out.println("Win rate per country:");
+		for (int i = 0; i < countries.size(); i++) {
+			long played = countryGames[i].sum();
+			out.printf("  %-12s %6.2f%%  (%d games)%n", countries.get(i),
+					played == 0 ? 0.0 : 100.0 * getCountryWins(i) / played, played);
+		}
+	}
+}
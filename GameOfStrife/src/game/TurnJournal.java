@@ -0,0 +1,544 @@
+package game;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * The TurnJournal writes every decision of a game to an append-only file, so a
+ * game that was interrupted by a crash can be restored to the end of the last
+ * turn that was played completely.
+ *
+ * The journal sits between the GameEngine and the real GameDecisions: it passes
+ * every call on, and records the die rolls, card draws, path choices, victory
+ * point purchases, target players and card options. The file starts with a
+ * GameSnapshot of the game when the journal was started, followed by one record
+ * of two or three bytes per event. Because all randomness of a game comes from
+ * its GameRandom, replaying the decisions onto the snapshot gives exactly the
+ * same game. The recorded rolls and cards, and a rolling hash of the state of
+ * the game at the end of every turn, are only used to check that it does.
+ *
+ * The file is memory-mapped, so a record is written with a few stores into the
+ * page cache and survives a crash of the game. It is forced to the disk at most
+ * once per second at the end of a turn, and when the journal is closed, so a
+ * crash of the whole computer loses at most the last second of play.
+ */
+public final class TurnJournal implements GameDecisions, Closeable {
+	private static final int MAGIC = 0x474f534a; // "GOSJ"
+	private static final int VERSION = 3;
+	private static final int MAP_SIZE = 64 * 1024;
+	private static final long FORCE_INTERVAL = 1000_000_000L;
+
+	// The record tags; a zero byte marks the end of the records
+	private static final byte END = 0;
+	private static final byte ROLL = 1;
+	private static final byte CARD = 2;
+	private static final byte PATH = 3;
+	private static final byte VICTORY_POINT = 4;
+	private static final byte PLAYER = 5;
+	private static final byte OPTION = 6;
+	private static final byte TURN_END = 7;
+	private static final byte GAME_OVER = 8;
+
+	private final Path path;
+	private final GameDecisions decisions;
+	private GameEngine game;
+	private FileChannel channel;
+	private MappedByteBuffer buffer;
+	private int position;
+	private long lastForce;
+	// The hash of the state at the end of every turn so far
+	private int rollingHash;
+
+	// The records that are replayed by recover, or null when recording
+	private byte[] replay;
+	private int replayPosition;
+
+	/**
+	 * Constructs a journal that records the decisions in the given file and passes
+	 * every call on to the given decisions. Nothing is written until the journal
+	 * is started or recovered.
+	 *
+	 * @param filePath  the path of the journal file
+	 * @param decisions the one making the choices during the game
+	 */
+	public TurnJournal(String filePath, GameDecisions decisions) {
+		this.path = Paths.get(filePath);
+		this.decisions = decisions;
+	}
+
+	/**
+	 * Starts a new journal for a game that makes its choices through this journal.
+	 * An existing journal file is replaced.
+	 *
+	 * @param game the game, which must have this journal as its decisions
+	 * @throws IOException if the file cannot be written
+	 */
+	public void start(GameEngine game) throws IOException {
+		checkDecisions(game);
+		byte[] snapshot = game.snapshot().toByteArray();
+		open(StandardOpenOption.TRUNCATE_EXISTING);
+		this.game = game;
+		ensure(9 + snapshot.length);
+		buffer.putInt(0, MAGIC);
+		buffer.put(4, (byte) VERSION);
+		buffer.putInt(5, snapshot.length);
+		for (int i = 0; i < snapshot.length; i++) {
+			buffer.put(9 + i, snapshot[i]);
+		}
+		position = 9 + snapshot.length;
+		rollingHash = 0;
+		flush();
+	}
+
+	/**
+	 * Restores the game of the journal file by replaying every turn that was played
+	 * completely onto a new game. The records of a turn that was interrupted are
+	 * dropped, and the journal goes on recording the recovered game. The decisions
+	 * are not told about anything that happens during the replay.
+	 *
+	 * @param board     the board, loaded from the same file as the game of the
+	 *                  journal
+	 * @param cardDecks the card decks, loaded from the same file as the game of
+	 *                  the journal
+	 * @return the recovered game, which makes its choices through this journal
+	 * @throws IOException              if the file cannot be read or written
+	 * @throws IllegalArgumentException if the file is not a journal, or does not
+	 *                                  fit the board and the cards
+	 */
+	public GameEngine recover(Board board, CardDecks cardDecks) throws IOException {
+		byte[] data = Files.readAllBytes(path);
+		GameEngine recovered = replay(data, board, cardDecks);
+
+		// Go on after the last complete turn, without the records of the interrupted
+		// turn
+		open(StandardOpenOption.WRITE);
+		ensure(data.length - position + 1);
+		for (int i = position; i < data.length; i++) {
+			buffer.put(i, END);
+		}
+		flush();
+		return recovered;
+	}
+
+	/**
+	 * Replays every turn of a journal that was played completely onto a new game,
+	 * and checks the state of the game at the end of every turn. Afterwards the
+	 * position of this journal is at the end of the last complete turn.
+	 *
+	 * @param data      the bytes of the journal
+	 * @param board     the board of the game of the journal
+	 * @param cardDecks the card decks of the game of the journal
+	 * @return the replayed game, which makes its choices through this journal
+	 * @throws IllegalArgumentException if the data is not a journal, or the replay
+	 *                                  differs from the journal
+	 */
+	GameEngine replay(byte[] data, Board board, CardDecks cardDecks) {
+		GameSnapshot snapshot = GameSnapshot.fromByteArray(readSnapshot(data));
+		int start = 9 + snapshot.size();
+
+		// Find the end of the last complete turn
+		int turns = 0;
+		int end = start;
+		for (int offset = start; offset < data.length && data[offset] != END;) {
+			byte tag = data[offset];
+			offset = skipRecord(data, offset);
+			if (offset < 0) {
+				break;
+			}
+			if (tag == TURN_END) {
+				turns++;
+				end = offset;
+			}
+		}
+
+		GameEngine replayed = new GameEngine(board, cardDecks, snapshot, this);
+		game = replayed;
+		rollingHash = 0;
+		replay = data;
+		replayPosition = start;
+		try {
+			for (int turn = 0; turn < turns; turn++) {
+				replayed.playTurn();
+			}
+			if (replayPosition != end) {
+				throw new IllegalArgumentException("The journal does not match the game");
+			}
+		} finally {
+			replay = null;
+		}
+		position = end;
+		return replayed;
+	}
+
+	/**
+	 * Checks whether a journal file holds a game that can be recovered: a game that
+	 * was started and not finished.
+	 *
+	 * @param filePath the path of the journal file
+	 * @return true if the file holds an unfinished game
+	 */
+	public static boolean canRecover(String filePath) {
+		try {
+			byte[] data = Files.readAllBytes(Paths.get(filePath));
+			int offset = 9 + readSnapshot(data).length;
+			while (offset >= 0 && offset < data.length && data[offset] != END) {
+				if (data[offset] == GAME_OVER) {
+					return false;
+				}
+				offset = skipRecord(data, offset);
+			}
+			return true;
+		} catch (IOException | IllegalArgumentException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Reads the header of a journal.
+	 *
+	 * @return the bytes of the snapshot at the start of the journal
+	 * @throws IllegalArgumentException if the data is not a journal
+	 */
+	private static byte[] readSnapshot(byte[] data) {
+		if (data.length < 9 || readInt(data, 0) != MAGIC || data[4] != VERSION) {
+			throw new IllegalArgumentException("Not a turn journal");
+		}
+		int length = readInt(data, 5);
+		if (length < 0 || length > data.length - 9) {
+			throw new IllegalArgumentException("The turn journal is damaged");
+		}
+		byte[] snapshot = new byte[length];
+		System.arraycopy(data, 9, snapshot, 0, length);
+		return snapshot;
+	}
+
+	private static int readInt(byte[] data, int offset) {
+		return (data[offset] & 0xff) << 24 | (data[offset + 1] & 0xff) << 16 | (data[offset + 2] & 0xff) << 8
+				| (data[offset + 3] & 0xff);
+	}
+
+	/**
+	 * Skips the record at the given offset.
+	 *
+	 * @return the offset of the next record, or -1 if the record is unknown or
+	 *         runs past the end of the data
+	 */
+	private static int skipRecord(byte[] data, int offset) {
+		int values;
+		switch (data[offset]) {
+		case GAME_OVER:
+			values = 0;
+			break;
+		case CARD:
+			values = 2;
+			break;
+		case TURN_END:
+		case ROLL:
+		case PATH:
+		case VICTORY_POINT:
+		case PLAYER:
+		case OPTION:
+			values = 1;
+			break;
+		default:
+			return -1;
+		}
+		offset++;
+		for (int i = 0; i < values; i++) {
+			while (offset < data.length && data[offset] < 0) {
+				offset++;
+			}
+			if (offset >= data.length) {
+				return -1;
+			}
+			offset++;
+		}
+		return offset;
+	}
+
+	private void checkDecisions(GameEngine game) {
+		if (game.getDecisions() != this) {
+			throw new IllegalArgumentException("The game does not make its choices through this journal");
+		}
+	}
+
+	/**
+	 * Opens and maps the journal file.
+	 */
+	private void open(StandardOpenOption mode) throws IOException {
+		close();
+		channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE,
+				mode);
+		buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(channel.size(), MAP_SIZE));
+	}
+
+	/**
+	 * Maps a larger part of the file if the next bytes do not fit in the mapped
+	 * part.
+	 */
+	private void ensure(int bytes) throws IOException {
+		if (position + bytes > buffer.capacity()) {
+			long size = Math.max((long) buffer.capacity() * 2, position + bytes);
+			buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+		}
+	}
+
+	/**
+	 * Appends a record. The values are written before the tag, so a record is
+	 * never seen before it is complete.
+	 */
+	private void append(byte tag, int... values) {
+		if (buffer == null) {
+			return;
+		}
+		try {
+			ensure(1 + 5 * values.length + 1);
+		} catch (IOException e) {
+			throw new IllegalStateException("The turn journal cannot grow: " + e.getMessage(), e);
+		}
+		int offset = position + 1;
+		for (int value : values) {
+			while ((value & ~0x7f) != 0) {
+				buffer.put(offset++, (byte) ((value & 0x7f) | 0x80));
+				value >>>= 7;
+			}
+			buffer.put(offset++, (byte) value);
+		}
+		buffer.put(position, tag);
+		position = offset;
+	}
+
+	/**
+	 * Reads the next record of the replay and checks its tag.
+	 *
+	 * @return the values of the record
+	 */
+	private int[] next(byte tag, int values) {
+		if (replayPosition >= replay.length || replay[replayPosition] != tag) {
+			throw new IllegalArgumentException("The journal does not match the game at turn " + game.getTurnsPlayed());
+		}
+		replayPosition++;
+		int[] result = new int[values];
+		for (int i = 0; i < values; i++) {
+			int value = 0;
+			for (int shift = 0;; shift += 7) {
+				byte b = replay[replayPosition++];
+				value |= (b & 0x7f) << shift;
+				if (b >= 0) {
+					break;
+				}
+			}
+			result[i] = value;
+		}
+		return result;
+	}
+
+	/**
+	 * Forces the journal to the disk.
+	 */
+	public void flush() {
+		if (buffer != null) {
+			buffer.force();
+			lastForce = System.nanoTime();
+		}
+	}
+
+	/**
+	 * Forces the journal to the disk and closes the file, without the unused end
+	 * of the mapped part. A closed journal stops recording, but still passes every
+	 * call on.
+	 */
+	@Override
+	public void close() throws IOException {
+		if (channel != null) {
+			flush();
+			buffer = null;
+			try {
+				channel.truncate(position);
+			} catch (IOException e) {
+				// Some systems cannot shorten a mapped file, the zeros at the end are
+				// read as the end of the records
+			}
+			channel.close();
+			channel = null;
+		}
+	}
+
+	/**
+	 * Closes the journal and deletes its file, for instance when the game is over
+	 * and there is nothing left to recover.
+	 *
+	 * @throws IOException if the file cannot be deleted
+	 */
+	public void delete() throws IOException {
+		close();
+		Files.deleteIfExists(path);
+	}
+
+	/**
+	 * @return the number of bytes written to the journal, including the snapshot
+	 *         at its start
+	 */
+	public int size() {
+		return position;
+	}
+
+	/**
+	 * @return the hash of the state of the game at the end of every turn so far
+	 */
+	int getRollingHash() {
+		return rollingHash;
+	}
+
+	/**
+	 * Adds the state of the game at the end of a turn to the rolling hash.
+	 */
+	private void rollHash() {
+		rollingHash = (rollingHash ^ game.stateHash()) * 0x9e3779b1;
+	}
+
+	@Override
+	public void dieRolled(int value) {
+		if (replay != null) {
+			if (next(ROLL, 1)[0] != value) {
+				throw new IllegalArgumentException("The journal rolled another value at turn " + game.getTurnsPlayed());
+			}
+			return;
+		}
+		append(ROLL, value);
+		decisions.dieRolled(value);
+	}
+
+	@Override
+	public void cardDrawn(Card card) {
+		if (game == null) {
+			decisions.cardDrawn(card);
+			return;
+		}
+		int type = CompiledBoard.typeCode(card.getType());
+		int index = game.getCardDecks().getCatalog().indexOf(card);
+		if (replay != null) {
+			int[] record = next(CARD, 2);
+			if (record[0] != type || record[1] != index) {
+				throw new IllegalArgumentException("The journal drew another card at turn " + game.getTurnsPlayed());
+			}
+			return;
+		}
+		append(CARD, type, index);
+		decisions.cardDrawn(card);
+	}
+
+	@Override
+	public int choosePath(Player player, List<Tile> nextTiles) {
+		if (replay != null) {
+			return next(PATH, 1)[0];
+		}
+		int choice = decisions.choosePath(player, nextTiles);
+		append(PATH, choice < 0 || choice >= nextTiles.size() ? 0 : choice);
+		return choice;
+	}
+
+	@Override
+	public boolean buyVictoryPoint(Player player) {
+		if (replay != null) {
+			return next(VICTORY_POINT, 1)[0] != 0;
+		}
+		boolean buy = decisions.buyVictoryPoint(player);
+		append(VICTORY_POINT, buy ? 1 : 0);
+		return buy;
+	}
+
+	@Override
+	public int choosePlayer(Card card, Player player, List<Player> otherPlayers) {
+		if (replay != null) {
+			return next(PLAYER, 1)[0];
+		}
+		int choice = decisions.choosePlayer(card, player, otherPlayers);
+		append(PLAYER, choice < 0 || choice >= otherPlayers.size() ? 0 : choice);
+		return choice;
+	}
+
+	@Override
+	public int chooseOption(Card card, Player player, String[] options) {
+		if (replay != null) {
+			return next(OPTION, 1)[0];
+		}
+		int choice = decisions.chooseOption(card, player, options);
+		append(OPTION, choice < 0 || choice >= options.length ? 0 : choice);
+		return choice;
+	}
+
+	@Override
+	public void turnEnded() {
+		if (game == null) {
+			decisions.turnEnded();
+			return;
+		}
+		rollHash();
+		if (replay != null) {
+			if (next(TURN_END, 1)[0] != rollingHash) {
+				throw new IllegalArgumentException(
+						"The state of the game differs from the journal at turn " + game.getTurnsPlayed());
+			}
+			return;
+		}
+		append(TURN_END, rollingHash);
+		if (System.nanoTime() - lastForce >= FORCE_INTERVAL) {
+			flush();
+		}
+		decisions.turnEnded();
+	}
+
+	@Override
+	public void gameOver(Player winner) {
+		if (replay != null) {
+			next(GAME_OVER, 0);
+			return;
+		}
+		append(GAME_OVER);
+		flush();
+		decisions.gameOver(winner);
+	}
+
+	@Override
+	public void showCard(Card card, String title) {
+		if (replay == null) {
+			decisions.showCard(card, title);
+		}
+	}
+
+	@Override
+	public void showMessage(String title, String message) {
+		if (replay == null) {
+			decisions.showMessage(title, message);
+		}
+	}
+
+	@Override
+	public void playerMoved(Player player, int playerIndex) {
+		if (replay == null) {
+			decisions.playerMoved(player, playerIndex);
+		}
+	}
+
+	@Override
+	public void victoryTileChanged(Tile victoryTile) {
+		if (replay == null) {
+			decisions.victoryTileChanged(victoryTile);
+		}
+	}
+
+	@Override
+	public void turnChanged(Player player, int playerIndex) {
+		if (replay == null) {
+			decisions.turnChanged(player, playerIndex);
+		}
+	}
+}
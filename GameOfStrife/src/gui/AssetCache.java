@@ -0,0 +1,223 @@
+package gui;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.imageio.ImageIO;
+
+/**
+ * The AssetCache holds the images of the game for the whole process. Every image
+ * file is decoded only once, into the pixel format of the screen so drawing it
+ * needs no conversion, and is shared by the BoardPanel, the PlayerPanel and
+ * every game that is started after a restart.
+ *
+ * Scaled variants are kept by size, so an image is only scaled again when the
+ * size it is drawn at changes, instead of on every paint. Only the most recently
+ * used variants are kept, so resizing the window does not fill the memory with
+ * old sizes.
+ */
+public final class AssetCache {
+	// The number of scaled variants that are kept over all images
+	private static final int MAX_SCALED_VARIANTS = 64;
+
+	private static final Map<String, BufferedImage> images = new ConcurrentHashMap<>();
+
+	// Access ordered, so the least recently used variant is removed first
+	private static final Map<String, BufferedImage> scaledImages = new LinkedHashMap<String, BufferedImage>(16, 0.75f,
+			true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, BufferedImage> eldest) {
+			return size() > MAX_SCALED_VARIANTS;
+		}
+	};
+
+	private AssetCache() {
+	}
+
+	/**
+	 * Returns the image of a file, decoding it the first time it is asked for.
+	 * The returned image is shared and must not be drawn on.
+	 *
+	 * @param filePath the path to the image file
+	 * @return the decoded image
+	 * @throws IOException if the file cannot be read or is not an image
+	 */
+	public static BufferedImage getImage(String filePath) throws IOException {
+		String key = key(filePath);
+		BufferedImage image = images.get(key);
+		if (image == null) {
+			// Decoded outside any lock, so different images can be loaded at the same
+			// time; if two threads decode the same file, the first one is kept
+			BufferedImage decoded = ImageIO.read(new File(filePath));
+			if (decoded == null) {
+				throw new IOException("Not an image: " + filePath);
+			}
+			image = images.putIfAbsent(key, toCompatible(decoded));
+			if (image == null) {
+				image = images.get(key);
+			}
+		}
+		return image;
+	}
+
+	/**
+	 * Returns the image of a file scaled to the given size. The variant is made
+	 * the first time that size is asked for.
+	 *
+	 * @param filePath the path to the image file
+	 * @param width    the width of the scaled image, at least 1
+	 * @param height   the height of the scaled image, at least 1
+	 * @return the scaled image
+	 * @throws IOException if the file cannot be read or is not an image
+	 */
+	public static BufferedImage getScaledImage(String filePath, int width, int height) throws IOException {
+		BufferedImage image = getImage(filePath);
+		if (image.getWidth() == width && image.getHeight() == height) {
+			return image;
+		}
+		String key = key(filePath) + '@' + width + 'x' + height;
+		synchronized (scaledImages) {
+			BufferedImage scaled = scaledImages.get(key);
+			if (scaled != null) {
+				return scaled;
+			}
+		}
+		BufferedImage scaled = scale(image, width, height);
+		synchronized (scaledImages) {
+			scaledImages.put(key, scaled);
+		}
+		return scaled;
+	}
+
+	/**
+	 * Decodes the given image files, so they are ready before they are first
+	 * drawn. Files that cannot be read are skipped; the error is reported when the
+	 * image is asked for.
+	 *
+	 * @param filePaths the paths to the image files
+	 */
+	public static void preload(String... filePaths) {
+		for (String filePath : filePaths) {
+			try {
+				getImage(filePath);
+			} catch (IOException e) {
+				// Reported by the panel that uses the image
+			}
+		}
+	}
+
+	/**
+	 * Removes every image from the cache, for instance after the image files have
+	 * changed.
+	 */
+	public static void clear() {
+		images.clear();
+		synchronized (scaledImages) {
+			scaledImages.clear();
+		}
+	}
+
+	/**
+	 * @return the number of decoded images in the cache
+	 */
+	public static int size() {
+		return images.size();
+	}
+
+	/**
+	 * @param filePath the path to an image file
+	 * @return the same key for every way of writing the path, like "data/star.png"
+	 *         and "./data/star.png"
+	 */
+	private static String key(String filePath) {
+		return new File(filePath).getAbsoluteFile().toPath().normalize().toString();
+	}
+
+	/**
+	 * Copies an image into the pixel format of the screen, or into a plain ARGB
+	 * image when there is no screen.
+	 *
+	 * @param image the decoded image
+	 * @return the image in a format that is drawn without conversion
+	 */
+	private static BufferedImage toCompatible(BufferedImage image) {
+		int transparency = image.getColorModel().getTransparency();
+		BufferedImage compatible;
+		if (GraphicsEnvironment.isHeadless()) {
+			if (image.getType() == BufferedImage.TYPE_INT_ARGB) {
+				return image;
+			}
+			compatible = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_ARGB);
+		} else {
+			GraphicsConfiguration configuration = GraphicsEnvironment.getLocalGraphicsEnvironment()
+					.getDefaultScreenDevice().getDefaultConfiguration();
+			if (image.getColorModel().equals(configuration.getColorModel(transparency))) {
+				return image;
+			}
+			compatible = configuration.createCompatibleImage(image.getWidth(), image.getHeight(), transparency);
+		}
+		Graphics2D g = compatible.createGraphics();
+		g.drawImage(image, 0, 0, null);
+		g.dispose();
+		return compatible;
+	}
+
+	/**
+	 * Scales an image with bilinear interpolation. Large reductions are done in
+	 * steps of at most half the size, which looks as smooth as
+	 * Image.SCALE_SMOOTH but is much faster.
+	 *
+	 * @param image  the image to scale
+	 * @param width  the width of the scaled image
+	 * @param height the height of the scaled image
+	 * @return the scaled image, in the same format
+	 */
+	private static BufferedImage scale(BufferedImage image, int width, int height) {
+		if (width < 1 || height < 1) {
+			throw new IllegalArgumentException("The size of an image must be at least 1x1");
+		}
+		BufferedImage current = image;
+		int currentWidth = image.getWidth();
+		int currentHeight = image.getHeight();
+		do {
+			currentWidth = currentWidth / 2 >= width ? currentWidth / 2 : width;
+			currentHeight = currentHeight / 2 >= height ? currentHeight / 2 : height;
+			BufferedImage step = copyFormat(image, currentWidth, currentHeight);
+			Graphics2D g = step.createGraphics();
+			g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+			g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+			g.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+			g.dispose();
+			current = step;
+		} while (currentWidth != width || currentHeight != height);
+		return current;
+	}
+
+	/**
+	 * Creates an empty image with the pixel format of another image, or an ARGB
+	 * image if the other image has a palette.
+	 */
+	private static BufferedImage copyFormat(BufferedImage image, int width, int height) {
+		switch (image.getType()) {
+		case BufferedImage.TYPE_BYTE_INDEXED:
+		case BufferedImage.TYPE_BYTE_BINARY:
+			return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		case BufferedImage.TYPE_CUSTOM:
+			break;
+		default:
+			return new BufferedImage(width, height, image.getType());
+		}
+		return new BufferedImage(image.getColorModel(),
+				image.getColorModel().createCompatibleWritableRaster(width, height),
+				image.getColorModel().isAlphaPremultiplied(), null);
+	}
+}
@@ -1,47 +1,111 @@
 package gui;
 
+import java.awt.AlphaComposite;
 import java.awt.Color;
+import java.awt.Cursor;
 import java.awt.Dimension;
 import java.awt.Graphics;
+import java.awt.Graphics2D;
 import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
 import java.awt.image.BufferedImage;
-import java.io.File;
+import java.awt.image.DataBufferInt;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import javax.imageio.ImageIO;
 import javax.swing.JPanel;
+import javax.swing.Timer;
+import javax.swing.ToolTipManager;
 import game.Board;
+import game.CompiledBoard;
 import game.Player;
 import game.Tile;
+import game.TileGrid;
 import static game.SymbolicConstants.*;
 
 /**
  * The BoardPanel class represents the visual game board component. It handles
  * rendering of the game board background, tiles, player pieces, and victory
- * star. The panel supports scaling and maintains player positions.
+ * star. The panel supports scaling and maintains player positions. The images
+ * come from the AssetCache. The player icons and the star are kept in a
+ * SpriteAtlas at every size they are drawn at on the current scale, so painting
+ * never scales an image.
+ *
+ * The whole board is one component: the tiles are drawn from the arrays of the
+ * CompiledBoard, instead of being a JPanel each. The background and the tiles
+ * never change during a game, so they are drawn once into the board layer, an
+ * image of the part of the board in view that is only drawn again when the view
+ * changes. A paint copies the board layer and draws the player icons and the
+ * victory star on top of it, so it costs the same on every size of board. When
+ * a player or the victory star moves, only the tiles that changed are
+ * repainted.
+ *
+ * The board fits the panel, and can be zoomed in on with the mouse wheel and
+ * dragged around with the mouse; a double click fits it again. A TileGrid finds
+ * the tiles in view and the tile under the mouse, so only those are drawn and
+ * hit-tested. When the tiles are only a few pixels on screen, they are drawn as
+ * plain blocks of colour, without borders, player icons and the star.
+ *
+ * While the window is being resized, the last frame is scaled to the new size
+ * of the panel as one bitmap. The board is only laid out and drawn again once
+ * the size has not changed for a moment.
  */
 public class BoardPanel extends JPanel {
-	
+
 	// Images
-	private BufferedImage backgroundImage; // The board background image
+	private static final String BACKGROUND_PATH = DATA_PATH + "background.png";
+	private static final String STAR_PATH = DATA_PATH + "star.png";
+	private BufferedImage backgroundImage; // The board background image at the current scale
 	private Dimension originalBackgroundSize; // Original dimensions of background image
-	private BufferedImage[] playerIcons; // Array of player icons
-	private BufferedImage starIcon; // Icon for the victory tile
+	private String[] playerIconPaths; // The image files of the player icons, null if missing
+	private boolean hasStarIcon; // Whether the icon for the victory tile can be loaded
 
 	// Game state references
 	private Board board;
 	private List<Player> players;
 
-	// Position tracking
-	private Map<Tile, Point[]> playerPositions;
-	private Map<Player, Tile> playerCurrentTileMap;
-	private Map<Tile, JPanel> tilePanels;
-
-	// Scaling and positioning
+	// The tiles in the order of the CompiledBoard, in board coordinates
+	private int tileCount;
+	private int[] tileX;
+	private int[] tileY;
+	private int[] tileWidth;
+	private int[] tileHeight;
+	private byte[] tileColorIndex; // Index of the colour of every tile in tileFillColors
+	private Color[] tileFillColors;
+	private int[] tileFillPixels; // The premultiplied ARGB value of every colour in tileFillColors
+	private Dimension tileExtent; // The size of the area the tiles cover, in board coordinates
+	private int[] tileSides; // The distinct lengths of the shorter side of the tiles, in board coordinates
+	private int smallestTileSide; // The shortest side of any tile that is not empty
+
+	// Position tracking: the tile index of every player, -1 if not on the board
+	private int[] playerTiles = new int[0];
+	private int victoryTileIndex = -1;
+
+	// Scaling and positioning: at zoom 1 the board fits the panel
+	private static final double ZOOM_STEP = 1.25; // The zoom factor of one step of the mouse wheel
+	private static final int DETAIL_SIDE = 8; // Smaller tiles are drawn without borders and icons
+	private static final int RESIZE_SETTLE_MILLIS = 150; // How long the size must stay the same before a layout
+	private Dimension boardSize; // The size of the background and the tiles together, in board coordinates
+	private double fitScale = 1.0;
+	private double zoom = 1.0;
+	private double viewCenterX; // The point of the board in the centre of the panel
+	private double viewCenterY;
 	private double currentScale = 1.0;
 	private Point boardOffset = new Point(0, 0);
+	private Point dragStart; // Where the mouse was when the board was last dragged, null if not dragging
+	private Dimension layoutSize; // The panel size of the last layout, null before the first layout
+	private Timer resizeTimer; // Lays out the board when the panel has stopped being resized
+	private TileGrid tileGrid;
+	private int[] visibleTiles; // The tiles found in view by the tile grid
+	private int[] simpleTileColors; // The opaque RGB colour of a tile without details, per colour index
+	private BufferedImage boardLayer; // Background and tiles in view, reused while the panel keeps its size
+	private boolean boardLayerValid; // Whether the board layer shows the current view
+	private SpriteAtlas spriteAtlas; // Player icons and star at the current scale, null until the next paint
 	private Tile victoryTile;
 
 	// Explicit type here to avoid diamond <> compilation error in anonymous class
@@ -65,18 +129,13 @@ public class BoardPanel extends JPanel {
 		this.board = board;
 		this.players = players;
 
-		// Initialize data structures
-		this.playerPositions = new HashMap<>();
-		this.playerCurrentTileMap = new HashMap<>();
-		this.tilePanels = new HashMap<>();
-
 		// Configure panel properties
-		setLayout(null); // Use absolute positioning for tiles
+		setLayout(null);
 		setOpaque(false); // Allow background to be seen
 
 		try {
 			// Load and set up background image
-			backgroundImage = ImageIO.read(new File(DATA_PATH + "background.png"));
+			backgroundImage = AssetCache.getImage(BACKGROUND_PATH);
 			originalBackgroundSize = new Dimension(backgroundImage.getWidth(), backgroundImage.getHeight());
 			setPreferredSize(originalBackgroundSize);
 		} catch (IOException e) {
@@ -89,205 +148,653 @@ public class BoardPanel extends JPanel {
 		initTiles();
 		initPlayerPositions();
 		addResizeListener();
+		addViewportListeners();
+		ToolTipManager.sharedInstance().registerComponent(this);
 	}
 
 	/**
-	 * Loads player icons from image files based on player countries. Creates
-	 * placeholder images if loading fails.
+	 * Loads player icons from image files based on player countries. A player
+	 * whose icon cannot be loaded is drawn without an icon.
 	 */
 	private void loadPlayerIcons() {
 		// Load player icons
 		int numberOfPlayers = players.size();
-		playerIcons = new BufferedImage[numberOfPlayers];
+		playerIconPaths = new String[numberOfPlayers];
 		for (int i = 0; i < numberOfPlayers; i++) {
 			String country = players.get(i).getCountry();
+			String path = DATA_PATH + country + ".png";
 			try {
 				// Try to load player icon from file
-				playerIcons[i] = ImageIO.read(new File(DATA_PATH + country + ".png"));
+				AssetCache.getImage(path);
+				playerIconPaths[i] = path;
 			} catch (IOException e) {
 				System.err.println("Error loading icon for " + country);
-				// Create a transparent placeholder if loading fails
-				playerIcons[i] = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
 			}
 		}
 	}
 
 	/**
-	 * Initializes all tile panels and adds them to the board. Creates a visual
-	 * panel for each tile and sets up player positions.
+	 * Gets an image scaled to the size it is drawn at.
+	 *
+	 * @param filePath the path to the image file
+	 * @param width    the width to draw the image at
+	 * @param height   the height to draw the image at
+	 * @return the scaled image, or null if it cannot be drawn at that size
 	 */
-	private void initTiles() {
-		for (Tile tile : board.getAllTiles()) {
-			JPanel tilePanel = createTilePanel(tile);
-			tilePanel.setBounds(tile.getX(), tile.getY(), tile.getWidth(), tile.getHeight());
-			tilePanels.put(tile, tilePanel);
-			playerPositions.put(tile, new Point[PLAYERS_PER_TILE]);
-			add(tilePanel);
+	private BufferedImage getScaledImage(String filePath, int width, int height) {
+		if (filePath == null || width < 1 || height < 1) {
+			return null;
+		}
+		try {
+			return AssetCache.getScaledImage(filePath, width, height);
+		} catch (IOException e) {
+			return null;
 		}
-
 	}
 
 	/**
-	 * Creates a visual panel for a game tile with transparent coloring. Parameter
-	 * tile: the tile to represent. Returns a JPanel that represents the tile.
+	 * Copies the position, size and colour of every tile into arrays in the order
+	 * of the CompiledBoard. Every tile is drawn with a semi-transparent version of
+	 * the colour of its type, tiles of an unknown type are light gray.
 	 */
-	private JPanel createTilePanel(Tile tile) {
-		// Get tile color from map or use default light gray
-		Color tileColor = tileColors.getOrDefault(tile.getType(), Color.LIGHT_GRAY);
+	private void initTiles() {
+		CompiledBoard compiled = board.getCompiledBoard();
+		tileCount = compiled.size();
+		tileX = new int[tileCount];
+		tileY = new int[tileCount];
+		tileWidth = new int[tileCount];
+		tileHeight = new int[tileCount];
+		tileColorIndex = new byte[tileCount];
+		tileExtent = new Dimension();
+		int[] sides = new int[tileCount];
+
+		Map<String, Integer> colorIndices = new HashMap<>();
+		String[] types = tileColors.keySet().toArray(new String[0]);
+		tileFillColors = new Color[types.length + 1];
+		for (int i = 0; i < types.length; i++) {
+			colorIndices.put(types[i], i);
+			tileFillColors[i] = transparent(tileColors.get(types[i]));
+		}
+		tileFillColors[types.length] = transparent(Color.LIGHT_GRAY);
+		tileFillPixels = new int[tileFillColors.length];
+		for (int i = 0; i < tileFillColors.length; i++) {
+			tileFillPixels[i] = premultiplied(tileFillColors[i]);
+		}
 
-		// Create semi-transparent version of the color (alpha = 180)
-		Color transparentColor = new Color(tileColor.getRed(), tileColor.getGreen(), tileColor.getBlue(), 180);
+		// The fields come from the arrays of the compiled board, so no Tile objects
+		// are created for the tiles
+		for (int i = 0; i < tileCount; i++) {
+			tileX[i] = compiled.getX(i);
+			tileY[i] = compiled.getY(i);
+			tileWidth[i] = compiled.getWidth(i);
+			tileHeight[i] = compiled.getHeight(i);
+			tileColorIndex[i] = (byte) (int) colorIndices.getOrDefault(compiled.getTypeName(i), types.length);
+			tileExtent.width = Math.max(tileExtent.width, tileX[i] + tileWidth[i]);
+			tileExtent.height = Math.max(tileExtent.height, tileY[i] + tileHeight[i]);
+			sides[i] = Math.min(tileWidth[i], tileHeight[i]);
+		}
+		tileSides = Arrays.stream(sides).distinct().toArray();
+		smallestTileSide = Arrays.stream(tileSides).filter(side -> side > 0).min().orElse(1);
 
-		return new JPanel() {
-			{
-				setOpaque(false); // Make panel transparent
-			}
+		boardSize = new Dimension(tileExtent);
+		if (originalBackgroundSize != null) {
+			boardSize.width = Math.max(boardSize.width, originalBackgroundSize.width);
+			boardSize.height = Math.max(boardSize.height, originalBackgroundSize.height);
+		}
+		viewCenterX = boardSize.width / 2.0;
+		viewCenterY = boardSize.height / 2.0;
+		tileGrid = new TileGrid(tileX, tileY, tileWidth, tileHeight);
+		visibleTiles = new int[tileCount];
+
+		// Without details a tile is one opaque colour: its own colour over the
+		// average colour of the background
+		BufferedImage average = getScaledImage(BACKGROUND_PATH, 1, 1);
+		simpleTileColors = new int[tileFillColors.length];
+		for (int i = 0; i < tileFillColors.length; i++) {
+			simpleTileColors[i] = average != null ? blend(tileFillColors[i], new Color(average.getRGB(0, 0)))
+					: tileFillColors[i].getRGB() | 0xff000000;
+		}
+	}
 
-			@Override
-			protected void paintComponent(Graphics g) {
-				// Draw tile background
-				g.setColor(transparentColor);
-				g.fillRect(0, 0, getWidth(), getHeight());
-
-				// Draw tile border
-				g.setColor(Color.BLACK);
-				g.drawRect(0, 0, getWidth() - 1, getHeight() - 1);
-
-				// Draw player icons on the tile
-				Point[] playersOnTile = playerPositions.get(tile);
-				int iconSize = Math.min(getWidth(), getHeight()) / 2;
-				if (playersOnTile != null) {
-					for (int playerIdx = 0; playerIdx < playersOnTile.length; playerIdx++) {
-						if (playersOnTile[playerIdx] != null && playerIcons[playerIdx] != null) {
-
-							// Calculate position based on player index (2x2 grid)
-							int drawX = (playerIdx % 2) * iconSize;
-							int drawY = (playerIdx / 2) * iconSize;
-							g.drawImage(playerIcons[playerIdx], drawX, drawY, iconSize, iconSize, null);
-						}
-					}
-				}
+	/**
+	 * @return the ARGB value of a colour with the red, green and blue multiplied
+	 *         by the alpha
+	 */
+	private static int premultiplied(Color color) {
+		int alpha = color.getAlpha();
+		int red = (color.getRed() * alpha + 127) / 255;
+		int green = (color.getGreen() * alpha + 127) / 255;
+		int blue = (color.getBlue() * alpha + 127) / 255;
+		return alpha << 24 | red << 16 | green << 8 | blue;
+	}
 
-				// ⭐ Draw star icon if this tile is the victory tile
-				if (tile.equals(victoryTile) && starIcon != null) {
-					int starSize = (int) (Math.min(getWidth(), getHeight()) * 0.8);
-					int starX = (getWidth() - starSize) / 2;
-					int starY = getHeight() - starSize - 5; // Bottom center with 5px padding
-					g.drawImage(starIcon, starX, starY, starSize, starSize, null);
-				}
+	/**
+	 * @return the RGB value of a transparent colour drawn over an opaque colour
+	 */
+	private static int blend(Color color, Color under) {
+		int alpha = color.getAlpha();
+		int red = (color.getRed() * alpha + under.getRed() * (255 - alpha)) / 255;
+		int green = (color.getGreen() * alpha + under.getGreen() * (255 - alpha)) / 255;
+		int blue = (color.getBlue() * alpha + under.getBlue() * (255 - alpha)) / 255;
+		return 0xff000000 | red << 16 | green << 8 | blue;
+	}
 
-			}
-		};
+	/**
+	 * @return the colour with alpha 180, so the background shows through
+	 */
+	private static Color transparent(Color color) {
+		return new Color(color.getRed(), color.getGreen(), color.getBlue(), 180);
 	}
 
 	/**
-	 * Initializes player positions on their starting tiles.
+	 * Initializes player positions on their current tiles.
 	 */
 	private void initPlayerPositions() {
+		playerTiles = new int[players.size()];
 		for (int i = 0; i < players.size(); i++) {
-			Player player = players.get(i);
-			Tile tile = player.getCurrentTile();
-
-			// Map player to their current tile
-			playerCurrentTileMap.put(player, tile);
-
-			// Get position array for this tile and set the player at position (0,0) within
-			// this tile
-			Point[] positions = playerPositions.get(tile);
-			if (positions != null) {
-				positions[i] = new Point(0, 0);
-				tilePanels.get(tile).repaint();
-			}
+			playerTiles[i] = tileIndex(players.get(i).getCurrentTile());
+			repaintTile(playerTiles[i]);
 		}
 	}
 
 	/**
-	 * Adds a component listener that handles board scaling.
+	 * @return the index of a tile of this board, or -1 if it is not on the board
+	 */
+	private int tileIndex(Tile tile) {
+		if (tile == null) {
+			return -1;
+		}
+		int index = tile.getIndex();
+		return index >= 0 && index < tileCount && board.getCompiledBoard().getTile(index) == tile ? index : -1;
+	}
+
+	/**
+	 * Computes where a tile is drawn at the current scale.
+	 *
+	 * @param index  the index of the tile
+	 * @param bounds the rectangle to store the bounds in
+	 * @return the bounds
+	 */
+	private Rectangle tileBounds(int index, Rectangle bounds) {
+		bounds.x = boardOffset.x + (int) (tileX[index] * currentScale);
+		bounds.y = boardOffset.y + (int) (tileY[index] * currentScale);
+		bounds.width = (int) (tileWidth[index] * currentScale);
+		bounds.height = (int) (tileHeight[index] * currentScale);
+		return bounds;
+	}
+
+	/**
+	 * Repaints only the area of one tile.
+	 *
+	 * @param index the index of the tile, nothing is repainted for -1
+	 */
+	private void repaintTile(int index) {
+		if (isResizing()) {
+			// The tiles are not where they are drawn until the next layout
+			repaint();
+		} else if (index >= 0) {
+			repaint(tileBounds(index, new Rectangle()));
+		}
+	}
+
+	/**
+	 * Adds a component listener that handles board scaling. Every resize restarts
+	 * the timer, so the board is laid out again only when the size has stayed the
+	 * same for RESIZE_SETTLE_MILLIS; until then the last frame is scaled.
 	 */
 	private void addResizeListener() {
+		resizeTimer = new Timer(RESIZE_SETTLE_MILLIS, e -> rescaleBoard());
+		resizeTimer.setRepeats(false);
 //		 Add resize listener
 		addComponentListener(new java.awt.event.ComponentAdapter() {
 			public void componentResized(java.awt.event.ComponentEvent evt) {
-				rescaleBoard();
+				if (boardLayer == null) {
+					// Nothing has been drawn yet that could be scaled
+					rescaleBoard();
+				} else {
+					resizeTimer.restart();
+					repaint();
+				}
 			}
 		});
 	}
 
+	/**
+	 * @return whether the size of the panel has changed since the board was last
+	 *         laid out
+	 */
+	private boolean isResizing() {
+		return layoutSize != null && !layoutSize.equals(getSize());
+	}
+
+	/**
+	 * Adds the mouse listeners of the viewport: the mouse wheel zooms in and out
+	 * around the mouse, dragging moves the board and a double click fits the
+	 * board to the panel again.
+	 */
+	private void addViewportListeners() {
+		MouseAdapter viewport = new MouseAdapter() {
+			@Override
+			public void mouseWheelMoved(MouseWheelEvent e) {
+				zoomAt(e.getPoint(), Math.pow(ZOOM_STEP, -e.getPreciseWheelRotation()));
+			}
+
+			@Override
+			public void mousePressed(MouseEvent e) {
+				dragStart = e.getPoint();
+			}
+
+			@Override
+			public void mouseDragged(MouseEvent e) {
+				if (dragStart != null && zoom > 1) {
+					setCursor(Cursor.getPredefinedCursor(Cursor.MOVE_CURSOR));
+					viewCenterX -= (e.getX() - dragStart.x) / currentScale;
+					viewCenterY -= (e.getY() - dragStart.y) / currentScale;
+					dragStart = e.getPoint();
+					updateView(false);
+				}
+			}
+
+			@Override
+			public void mouseReleased(MouseEvent e) {
+				dragStart = null;
+				setCursor(Cursor.getDefaultCursor());
+			}
+
+			@Override
+			public void mouseClicked(MouseEvent e) {
+				if (e.getClickCount() == 2 && zoom != 1) {
+					zoom = 1;
+					updateView(true);
+				}
+			}
+		};
+		addMouseListener(viewport);
+		addMouseMotionListener(viewport);
+		addMouseWheelListener(viewport);
+	}
+
 	/**
 	 * Rescales the board and all tiles to fit the current panel size while
-	 * maintaining aspect ratio.
+	 * maintaining aspect ratio. The zoom and the point in the centre of the view
+	 * are kept.
 	 */
 	private void rescaleBoard() {
-		if (originalBackgroundSize == null)
+		if (boardSize.width < 1 || boardSize.height < 1)
 			return;
 
 		// Calculate scaling ratios
 		Dimension panelSize = getSize();
-		double widthRatio = (double) panelSize.width / originalBackgroundSize.width;
-		double heightRatio = (double) panelSize.height / originalBackgroundSize.height;
+		double widthRatio = (double) panelSize.width / boardSize.width;
+		double heightRatio = (double) panelSize.height / boardSize.height;
 
 		// Use the smaller ratio to maintain aspect ratio
-		currentScale = Math.min(widthRatio, heightRatio);
-
-		// Calculate centered position
-		int scaledWidth = (int) (originalBackgroundSize.width * currentScale);
-		int scaledHeight = (int) (originalBackgroundSize.height * currentScale);
-		boardOffset.x = (panelSize.width - scaledWidth) / 2;
-		boardOffset.y = (panelSize.height - scaledHeight) / 2;
-
-		// Reposition all tiles
-		for (Tile tile : board.getAllTiles()) {
-			JPanel panel = tilePanels.get(tile);
-			if (panel != null) {
-				int newX = boardOffset.x + (int) (tile.getX() * currentScale);
-				int newY = boardOffset.y + (int) (tile.getY() * currentScale);
-				int newW = (int) (tile.getWidth() * currentScale);
-				int newH = (int) (tile.getHeight() * currentScale);
-				panel.setBounds(newX, newY, newW, newH);
+		fitScale = Math.min(widthRatio, heightRatio);
+		updateView(true);
+	}
+
+	/**
+	 * Zooms in or out while keeping the point of the board under the mouse in
+	 * place. The board is never made smaller than the panel, and never so large
+	 * that the smallest tile is larger than half the panel.
+	 *
+	 * @param point  the position of the mouse on the panel
+	 * @param factor the factor to zoom in with, below 1 to zoom out
+	 */
+	private void zoomAt(Point point, double factor) {
+		double maxZoom = Math.max(1, Math.min(getWidth(), getHeight()) / 2.0 / smallestTileSide / fitScale);
+		double newZoom = Math.max(1, Math.min(maxZoom, zoom * factor));
+		if (newZoom == zoom || fitScale <= 0) {
+			return;
+		}
+		double boardX = (point.x - boardOffset.x) / currentScale;
+		double boardY = (point.y - boardOffset.y) / currentScale;
+		zoom = newZoom;
+		viewCenterX = boardX - (point.x - getWidth() / 2.0) / (fitScale * zoom);
+		viewCenterY = boardY - (point.y - getHeight() / 2.0) / (fitScale * zoom);
+		updateView(true);
+	}
+
+	/**
+	 * Places the board for the current zoom and centre of the view. A board that
+	 * is smaller than the panel is centred, a larger board is kept from leaving
+	 * empty space at its edges.
+	 *
+	 * @param scaled whether the scale has changed, so the images are scaled again
+	 */
+	private void updateView(boolean scaled) {
+		Dimension panelSize = getSize();
+		currentScale = fitScale * zoom;
+		boardOffset.x = viewOffset(panelSize.width, boardSize.width, viewCenterX);
+		boardOffset.y = viewOffset(panelSize.height, boardSize.height, viewCenterY);
+		// The centre follows the board, so dragging past an edge is not stored up
+		viewCenterX = (panelSize.width / 2.0 - boardOffset.x) / currentScale;
+		viewCenterY = (panelSize.height / 2.0 - boardOffset.y) / currentScale;
+		layoutSize = panelSize;
+
+		if (scaled && originalBackgroundSize != null) {
+			// Scale the background once here instead of on every paint. When zoomed in,
+			// only the part in view of the original image is drawn.
+			int scaledWidth = (int) (originalBackgroundSize.width * currentScale);
+			int scaledHeight = (int) (originalBackgroundSize.height * currentScale);
+			BufferedImage scaledBackground = zoom == 1
+					? getScaledImage(BACKGROUND_PATH, scaledWidth, scaledHeight)
+					: getScaledImage(BACKGROUND_PATH, originalBackgroundSize.width, originalBackgroundSize.height);
+			if (scaledBackground != null) {
+				backgroundImage = scaledBackground;
 			}
 		}
 
+		// The board layer and the sprites are made again on the next paint
+		boardLayerValid = false;
+		if (scaled) {
+			spriteAtlas = null;
+		}
 		repaint();
 	}
 
-	@Override
-	protected void paintComponent(Graphics g) {
-		super.paintComponent(g);
+	/**
+	 * @return the offset of the board along one axis of the panel
+	 */
+	private int viewOffset(int panelLength, int boardLength, double viewCenter) {
+		int scaledLength = (int) (boardLength * currentScale);
+		if (scaledLength <= panelLength) {
+			return (panelLength - scaledLength) / 2;
+		}
+		long offset = Math.round(panelLength / 2.0 - viewCenter * currentScale);
+		return (int) Math.max(panelLength - scaledLength, Math.min(0, offset));
+	}
 
-		// Draw background image with scaling if available
+	/**
+	 * @return whether the smallest tiles are large enough on screen to be drawn
+	 *         with borders and icons
+	 */
+	private boolean isDetailed() {
+		return smallestTileSide * currentScale >= DETAIL_SIDE;
+	}
+
+	/**
+	 * Draws the background and the tiles in view into an image of the size of the
+	 * panel. The image of the previous view is drawn over when it has the right
+	 * size.
+	 *
+	 * @param layer the board layer of the previous view, or null
+	 * @return the board layer, or null if the panel is too small to be drawn
+	 */
+	private BufferedImage drawBoardLayer(BufferedImage layer) {
+		int width = getWidth();
+		int height = getHeight();
+		if (width < 1 || height < 1 || currentScale <= 0) {
+			return null;
+		}
+
+		// Premultiplied, so the tiles are blended over the background with a few
+		// integer operations per pixel
+		if (layer == null || layer.getWidth() != width || layer.getHeight() != height) {
+			layer = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+		}
+		Graphics2D g = layer.createGraphics();
+
+		// Clear the previous view, and copy the background over it without blending
+		g.setComposite(AlphaComposite.Src);
+		g.setColor(new Color(0, 0, 0, 0));
+		g.fillRect(0, 0, width, height);
 		if (backgroundImage != null && originalBackgroundSize != null) {
 			int scaledWidth = (int) (originalBackgroundSize.width * currentScale);
 			int scaledHeight = (int) (originalBackgroundSize.height * currentScale);
-			g.drawImage(backgroundImage, boardOffset.x, boardOffset.y, scaledWidth, scaledHeight, this);
+			g.drawImage(backgroundImage, boardOffset.x, boardOffset.y, scaledWidth, scaledHeight, null);
+		}
+		g.dispose();
+
+		// Only the tiles in view are drawn, straight into the pixels of the layer:
+		// the graphics take about a microsecond per transparent rectangle
+		int viewX = (int) Math.floor(-boardOffset.x / currentScale);
+		int viewY = (int) Math.floor(-boardOffset.y / currentScale);
+		int count = tileGrid.query(viewX, viewY, (int) Math.ceil(width / currentScale) + 1,
+				(int) Math.ceil(height / currentScale) + 1, visibleTiles);
+		int[] pixels = ((DataBufferInt) layer.getRaster().getDataBuffer()).getData();
+		if (isDetailed()) {
+			drawTiles(pixels, width, height, count);
+		} else {
+			drawSimpleTiles(pixels, width, height, count);
+		}
+		return layer;
+	}
+
+	/**
+	 * Draws the tiles in view with their transparent colour and a black border,
+	 * straight into the pixels of the board layer.
+	 *
+	 * @param pixels the premultiplied ARGB pixels of the board layer, row by row
+	 * @param width  the width of the board layer
+	 * @param height the height of the board layer
+	 * @param count  the number of tiles in view
+	 */
+	private void drawTiles(int[] pixels, int width, int height, int count) {
+		Rectangle bounds = new Rectangle();
+		for (int k = 0; k < count; k++) {
+			int i = visibleTiles[k];
+			tileBounds(i, bounds);
+			int left = Math.max(0, bounds.x);
+			int right = Math.min(width, bounds.x + bounds.width);
+			int top = Math.max(0, bounds.y);
+			int bottom = Math.min(height, bounds.y + bounds.height);
+			int lastX = bounds.x + bounds.width - 1;
+			int lastY = bounds.y + bounds.height - 1;
+			int color = tileFillPixels[tileColorIndex[i]];
+			int inverseAlpha = 255 - (color >>> 24);
+			for (int y = top; y < bottom && left < right; y++) {
+				int row = y * width;
+				if (y == bounds.y || y == lastY) {
+					Arrays.fill(pixels, row + left, row + right, 0xff000000);
+					continue;
+				}
+				for (int x = left; x < right; x++) {
+					if (x == bounds.x || x == lastX) {
+						pixels[row + x] = 0xff000000;
+					} else {
+						// Source over: the colour plus what is under it times the inverse alpha
+						int under = pixels[row + x];
+						int redBlue = ((under & 0x00ff00ff) * inverseAlpha + 0x00800080) >>> 8 & 0x00ff00ff;
+						int alphaGreen = ((under >>> 8 & 0x00ff00ff) * inverseAlpha + 0x00800080) & 0xff00ff00;
+						pixels[row + x] = color + alphaGreen + redBlue;
+					}
+				}
+			}
 		}
 	}
 
 	/**
-	 * Updates a player's position on the board. Parameter player: the player to
-	 * move. Parameter playerIndex: the index of the player in the players list.
+	 * Draws the tiles in view as plain blocks of colour, straight into the pixels
+	 * of the board layer. A tile reaches up to the next tile, so there are no gaps
+	 * of less than a pixel between small tiles, and every tile is at least one
+	 * pixel, so even the tiles of a very large board stay visible.
+	 *
+	 * @param pixels the premultiplied ARGB pixels of the board layer, row by row
+	 * @param width  the width of the board layer
+	 * @param height the height of the board layer
+	 * @param count  the number of tiles in view
+	 */
+	private void drawSimpleTiles(int[] pixels, int width, int height, int count) {
+		Rectangle bounds = new Rectangle();
+		for (int k = 0; k < count; k++) {
+			int i = visibleTiles[k];
+			tileBounds(i, bounds);
+			int endX = boardOffset.x + (int) ((tileX[i] + tileWidth[i]) * currentScale);
+			int endY = boardOffset.y + (int) ((tileY[i] + tileHeight[i]) * currentScale);
+			int left = Math.max(0, bounds.x);
+			int right = Math.min(width, Math.max(bounds.x + 1, endX));
+			int top = Math.max(0, bounds.y);
+			int bottom = Math.min(height, Math.max(bounds.y + 1, endY));
+			int color = simpleTileColors[tileColorIndex[i]];
+			for (int y = top; y < bottom && left < right; y++) {
+				Arrays.fill(pixels, y * width + left, y * width + right, color);
+			}
+		}
+	}
+
+	/**
+	 * Scales the player icons and the star to the sizes they are drawn at on the
+	 * tiles at the current scale. The star is the image after the player icons.
+	 *
+	 * @return the sprites of the player icons and the star
+	 */
+	private SpriteAtlas createSpriteAtlas() {
+		int[] iconSizes = new int[tileSides.length];
+		int[] starSizes = new int[tileSides.length];
+		for (int i = 0; i < tileSides.length; i++) {
+			int side = (int) (tileSides[i] * currentScale);
+			iconSizes[i] = side / 2;
+			starSizes[i] = (int) (side * 0.8);
+		}
+
+		String[] paths = Arrays.copyOf(playerIconPaths, playerIconPaths.length + 1);
+		paths[playerIconPaths.length] = hasStarIcon ? STAR_PATH : null;
+		int[][] sizes = new int[paths.length][];
+		Arrays.fill(sizes, iconSizes);
+		sizes[playerIconPaths.length] = starSizes;
+		return new SpriteAtlas(paths, sizes);
+	}
+
+	@Override
+	protected void paintComponent(Graphics g) {
+		super.paintComponent(g);
+		if (isResizing() && boardLayerValid && boardLayer != null) {
+			paintResized((Graphics2D) g);
+		} else {
+			paintBoard(g);
+		}
+	}
+
+	/**
+	 * Draws the last frame during a resize, scaled to where the board will be
+	 * after the next layout. This is one scaled copy of the board layer and the
+	 * icons, instead of a new layout and board layer for every step of the
+	 * resize.
+	 *
+	 * @param g the graphics of the panel
+	 */
+	private void paintResized(Graphics2D g) {
+		double newFitScale = Math.min((double) getWidth() / boardSize.width,
+				(double) getHeight() / boardSize.height);
+		double ratio = newFitScale / fitScale;
+		Graphics2D scaled = (Graphics2D) g.create();
+		scaled.translate(getWidth() / 2.0 - layoutSize.width / 2.0 * ratio,
+				getHeight() / 2.0 - layoutSize.height / 2.0 * ratio);
+		scaled.scale(ratio, ratio);
+		paintBoard(scaled);
+		scaled.dispose();
+	}
+
+	/**
+	 * Draws the board layer, and the player icons and the star on top of it, as
+	 * laid out for the current view.
+	 *
+	 * @param g the graphics to draw on
+	 */
+	private void paintBoard(Graphics g) {
+		// Background and tiles in one copy, only the repainted area is copied
+		if (!boardLayerValid) {
+			boardLayer = drawBoardLayer(boardLayer);
+			boardLayerValid = true;
+		}
+		if (boardLayer != null) {
+			g.drawImage(boardLayer, 0, 0, null);
+		}
+		if (!isDetailed()) {
+			return;
+		}
+
+		// Only the icons inside the repainted area are drawn
+		Rectangle clip = g.getClipBounds();
+		if (clip == null) {
+			clip = new Rectangle(0, 0, getWidth(), getHeight());
+		}
+		Rectangle bounds = new Rectangle();
+		if (spriteAtlas == null) {
+			spriteAtlas = createSpriteAtlas();
+		}
+
+		// Draw player icons on their tiles, in a 2x2 grid by player index
+		for (int playerIdx = 0; playerIdx < playerTiles.length; playerIdx++) {
+			if (playerTiles[playerIdx] >= 0 && tileBounds(playerTiles[playerIdx], bounds).intersects(clip)) {
+				int iconSize = Math.min(bounds.width, bounds.height) / 2;
+				int drawX = bounds.x + (playerIdx % 2) * iconSize;
+				int drawY = bounds.y + (playerIdx / 2) * iconSize;
+				spriteAtlas.draw(g, playerIdx, iconSize, drawX, drawY);
+			}
+		}
+
+		// ⭐ Draw star icon on the victory tile, cut off at the edges of the tile
+		if (victoryTileIndex >= 0 && hasStarIcon && tileBounds(victoryTileIndex, bounds).intersects(clip)) {
+			int starSize = (int) (Math.min(bounds.width, bounds.height) * 0.8);
+			int starX = bounds.x + (bounds.width - starSize) / 2;
+			int starY = bounds.y + bounds.height - starSize - 5; // Bottom center with 5px padding
+			if (spriteAtlas.contains(playerIconPaths.length, starSize)) {
+				Graphics2D tileGraphics = (Graphics2D) g.create();
+				tileGraphics.clipRect(bounds.x, bounds.y, bounds.width, bounds.height);
+				spriteAtlas.draw(tileGraphics, playerIconPaths.length, starSize, starX, starY);
+				tileGraphics.dispose();
+			}
+		}
+	}
+
+	/**
+	 * Shows the type of the tile under the mouse.
+	 */
+	@Override
+	public String getToolTipText(MouseEvent e) {
+		if (currentScale <= 0 || dragStart != null) {
+			return null;
+		}
+		int index = tileGrid.tileAt((int) Math.floor((e.getX() - boardOffset.x) / currentScale),
+				(int) Math.floor((e.getY() - boardOffset.y) / currentScale));
+		if (index < 0) {
+			return null;
+		}
+		Tile tile = board.getCompiledBoard().getTile(index);
+		return "Tile " + tile.getID() + ": " + tile.getType() + (tile.getVictory() ? " (victory)" : "");
+	}
+
+	/**
+	 * Updates a player's position on the board, and repaints only the tile the
+	 * player left and the tile the player moved to. Parameter player: the player
+	 * to move. Parameter playerIndex: the index of the player in the players list.
 	 */
 	public void updatePlayerPosition(Player player, int playerIndex) {
-		// Remove player from old tile
-		Tile oldTile = playerCurrentTileMap.get(player);
-		if (oldTile != null && playerPositions.containsKey(oldTile)) {
-			playerPositions.get(oldTile)[playerIndex] = null;
-			tilePanels.get(oldTile).repaint();
+		if (playerIndex < 0 || playerIndex >= playerTiles.length) {
+			return;
 		}
+		int newTile = tileIndex(player.getCurrentTile());
+		if (newTile >= 0 && newTile != playerTiles[playerIndex]) {
+			repaintTile(playerTiles[playerIndex]);
+			playerTiles[playerIndex] = newTile;
+			repaintTile(newTile);
+		}
+	}
 
-		// Add player to new tile
-		Tile newTile = player.getCurrentTile();
-		if (newTile != null && playerPositions.containsKey(newTile)) {
-			playerPositions.get(newTile)[playerIndex] = new Point(0, 0);
-			playerCurrentTileMap.put(player, newTile);
-			tilePanels.get(newTile).repaint();
+	/**
+	 * Shows the players of a new game on the same board. The tiles and the scaled
+	 * images are kept, only the player icons are placed again.
+	 *
+	 * @param players the players of the new game
+	 */
+	public void setPlayers(List<Player> players) {
+		for (int tile : playerTiles) {
+			repaintTile(tile);
 		}
+		Arrays.fill(playerTiles, -1);
+		this.players = players;
+		loadPlayerIcons();
+		spriteAtlas = null;
+		initPlayerPositions();
 	}
 
 	/**
-	 * Returns the preferred size for this component. 
+	 * Returns the preferred size for this component.
 	 * If an original background size has been set, that size will be returned.
 	 * Otherwise, falls back to the parent class's preferred size implementation.
-	 * 
+	 *
 	 * @return The preferred Dimension for this component
 	 */
 	@Override
@@ -296,13 +803,16 @@ public class BoardPanel extends JPanel {
 	}
 
 	/**
-	 * Randomly selects a victory tile from the board's victory tiles (where
-	 * 'victory' = True).
+	 * Sets the tile that shows the victory star, and repaints the old and the new
+	 * victory tile. The victory tile itself is chosen by the GameEngine.
+	 *
+	 * @param victoryTile the new victory tile
 	 */
-	public void setVictoryTile() {
-		List<Tile> victoryTiles = board.getVictoryTiles();
-		int randomNum = (int) (Math.random() * victoryTiles.size());
-		this.victoryTile = victoryTiles.get(randomNum);
+	public void setVictoryTile(Tile victoryTile) {
+		repaintTile(victoryTileIndex);
+		this.victoryTile = victoryTile;
+		victoryTileIndex = tileIndex(victoryTile);
+		repaintTile(victoryTileIndex);
 	}
 
 	/**
@@ -311,7 +821,8 @@ public class BoardPanel extends JPanel {
 	private void starIconOnTile() {
 		// Load player icons
 		try {
-			starIcon = ImageIO.read(new File("data/star.png"));
+			AssetCache.getImage(STAR_PATH);
+			hasStarIcon = true;
 		} catch (IOException e) {
 			System.err.println("Error loading icon for star");
 		}
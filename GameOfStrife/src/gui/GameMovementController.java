@@ -2,6 +2,7 @@ package gui;
 
 import java.util.ArrayList;
 
+import game.CompiledBoard;
 import game.Player;
 import game.Tile;
 
@@ -28,6 +29,8 @@ public interface GameMovementController {
 
 	void showEndOfGamePopup();
 
+	void showMessage(String message);
+
 	Tile getVictoryTile();
 
 	Tile getStartingTile();
@@ -43,4 +46,14 @@ public interface GameMovementController {
 	Player getCurrentPlayer();
 
 	int getCurrentPlayerTurn();
+
+	/**
+	 * Returns the board compiled into arrays. Players move over it by tile index
+	 * when it is available, and fall back to the Tile objects when it is not.
+	 * 
+	 * @return the compiled board, or null if there is none
+	 */
+	default CompiledBoard getCompiledBoard() {
+		return null;
+	}
 }
\ No newline at end of file
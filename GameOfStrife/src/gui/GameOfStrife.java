@@ -10,44 +10,37 @@ import game.Card;
 import game.Player;
 import game.Tile;
 import game.CardDecks;
+import game.EffectScheduler;
+import game.GameDecisions;
+import game.GameEngine;
+import game.TurnJournal;
 import static game.SymbolicConstants.*;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 import javax.swing.*;
 import java.awt.Dimension;
 import java.awt.Font;
 import java.awt.Component;
 
-import java.io.File;
 import java.io.IOException;
-import javax.imageio.ImageIO;
 import java.awt.Image;
 import java.awt.SystemColor;
 
 /**
- * GameofStrife is the main GUI window and controller class for the board game.
- * It initializes the game state, handles user interaction, updates the board
- * and player states, and manages the game loop including die rolls, card
- * execution, and turn transitions.
+ * GameofStrife is the main GUI window for the board game. It loads the board
+ * and the cards, creates the GameEngine that holds the game state, and shows
+ * every choice the engine asks for as a pop-up. It also keeps the board and the
+ * player tables up to date while the game is played.
  * 
- * This class extends JFrame and implements GameOfStrifeInterface.
+ * This class extends JFrame and implements GameDecisions.
  */
-public class GameOfStrife extends JFrame implements GameMovementController {
+public class GameOfStrife extends JFrame implements GameDecisions {
 	private static final long serialVersionUID = 1L;
 	private JLabel lblDieOutput;
 
-	// Game state variables
-	private int currentPlayerTurn = 1;
-	private int numberOfPlayers;
-	private Die die;
-	private List<Player> players = new ArrayList<>();
-	private CardDecks cardDecks = new CardDecks();
-	private Board board = new Board();
-	private Player currentPlayer = null;
-	private List<Object[]> activeCardsList = new ArrayList<>();
-	private int numWinPoints;
+	// Game state
+	private GameEngine engine;
+	private TurnJournal journal;
 
 	private BoardPanel boardPanel;
 	private PlayerPanel playerPanel;
@@ -59,21 +52,67 @@ public class GameOfStrife extends JFrame implements GameMovementController {
 	 * @param args command-line arguments (not used)
 	 */
 	public static void main(String[] args) {
+		// Start loading the game files before the dialogs are shown
+		StartupPipeline startup = new StartupPipeline(JSON_PATH_BOARD, JSON_PATH_CARDS);
 		EventQueue.invokeLater(new Runnable() {
 			public void run() {
+				startNewGame(startup);
+			}
+		});
+	}
+
+	/**
+	 * Shows the game setup UI, creates the game frame, and makes it visible. The
+	 * files of the game are loaded by the startup pipeline while the dialogs are
+	 * on screen.
+	 *
+	 * @param startup the startup pipeline that loads the files of the game
+	 */
+	private static void startNewGame(StartupPipeline startup) {
+		try {
+			if (TurnJournal.canRecover(JOURNAL_PATH) && showResumePopup()) {
 				try {
-					int[] settings = SettingsPanel.showGameSettingsPopup();
-					int numberOfPlayers = settings[0];
-					int dieNumFaces = settings[1];
-					int numOfWinPoints = settings[2];
-					String[][] playerInfo = SettingsPanel.showPlayerNameInputPopup(numberOfPlayers);
-					GameOfStrife frame = new GameOfStrife(numberOfPlayers, dieNumFaces, numOfWinPoints, playerInfo);
+					GameOfStrife frame = new GameOfStrife(startup);
 					frame.setVisible(true);
-				} catch (Exception e) {
-					e.printStackTrace();
+					return;
+				} catch (IOException | IllegalArgumentException e) {
+					JOptionPane.showMessageDialog(null, "The unfinished game could not be restored: " + e.getMessage(),
+							"Error", JOptionPane.ERROR_MESSAGE);
 				}
 			}
-		});
+
+			long dialogsStart = System.nanoTime();
+			int[] settings = SettingsPanel.showGameSettingsPopup();
+			int numberOfPlayers = settings[0];
+			int dieNumFaces = settings[1];
+			int numOfWinPoints = settings[2];
+			String[][] playerInfo = SettingsPanel.showPlayerNameInputPopup(numberOfPlayers);
+			startup.record("settings dialogs", dialogsStart);
+			GameOfStrife frame = new GameOfStrife(numberOfPlayers, dieNumFaces, numOfWinPoints, playerInfo, startup);
+			frame.setVisible(true);
+		} catch (StartupPipeline.LoadException e) {
+			// The board or the cards could not be loaded, the game cannot start
+			JOptionPane.showMessageDialog(null, e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+			System.exit(1);
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Asks whether the unfinished game of the turn journal should be resumed.
+	 *
+	 * @return true if the players want to resume the game
+	 */
+	private static boolean showResumePopup() {
+		String[] options = { "Resume the Game", "New Game" };
+
+		applyOptionPaneStyle();
+		int choice = JOptionPane.showOptionDialog(null,
+				"The last game was not finished.\nWould you like to resume it?", "Resume Game",
+				JOptionPane.DEFAULT_OPTION, JOptionPane.QUESTION_MESSAGE, null, options, options[0]);
+		resetOptionPaneStyle();
+		return choice == 0;
 	}
 
 	/**
@@ -86,32 +125,88 @@ public class GameOfStrife extends JFrame implements GameMovementController {
 	 * @param playerInfo      a 2D array containing player names and countries
 	 */
 	public GameOfStrife(int numberOfPlayers, int dieNumFaces, int numOfWinPoints, String[][] playerInfo) {
-		// Initialize game state
-		currentPlayerTurn = 1;
-		this.setNumberOfPlayers(numberOfPlayers);
-		setDie(new Die(dieNumFaces));
-		this.numWinPoints = numOfWinPoints;
-
-		// Load the Path from the JSON file.
-		getBoard().loadPathFromJson(DATA_PATH + "path1.json");
-
-		// Initialize number of players
-		// Player 1 gets state True, the others state False
-		Tile startTile = getBoard().getStartingTile();
-		for (int i = 0; i < playerInfo.length; i++) {
-			String name = playerInfo[i][0];
-			String country = playerInfo[i][1];
-			Player player = new Player(name, country, i == 0, startTile);
-			getPlayers().add(player);
+		this(numberOfPlayers, dieNumFaces, numOfWinPoints, playerInfo,
+				new StartupPipeline(JSON_PATH_BOARD, JSON_PATH_CARDS));
+	}
+
+	/**
+	 * Constructs a new GameofStrife instance with the files loaded by a startup
+	 * pipeline.
+	 *
+	 * @param numberOfPlayers the number of players in the game
+	 * @param dieNumFaces     the number of faces on the die
+	 * @param numOfWinPoints  the required number of victory points to win
+	 * @param playerInfo      a 2D array containing player names and countries
+	 * @param startup         the startup pipeline that loads the board, the cards
+	 *                        and the images
+	 * @throws StartupPipeline.LoadException if the board or the cards cannot be
+	 *                                       loaded
+	 */
+	public GameOfStrife(int numberOfPlayers, int dieNumFaces, int numOfWinPoints, String[][] playerInfo,
+			StartupPipeline startup) {
+		// The Path and the cardDecks are loaded by the startup pipeline
+		Board board = startup.getBoard();
+		CardDecks cardDecks = startup.getCardDecks();
+
+		// Initialize game state, Player 1 starts
+		long phaseStart = System.nanoTime();
+		createEngine(board, cardDecks, dieNumFaces, numOfWinPoints, playerInfo);
+		startup.record("create game", phaseStart);
+
+		buildFrame(startup);
+	}
+
+	/**
+	 * Creates the engine of a new game. Every decision goes through the turn
+	 * journal, so the game can be resumed after a crash.
+	 *
+	 * @param board          the loaded game board
+	 * @param cardDecks      the loaded card decks
+	 * @param dieNumFaces    the number of faces on the die
+	 * @param numOfWinPoints the required number of victory points to win
+	 * @param playerInfo     a 2D array containing player names and countries
+	 */
+	private void createEngine(Board board, CardDecks cardDecks, int dieNumFaces, int numOfWinPoints,
+			String[][] playerInfo) {
+		journal = new TurnJournal(JOURNAL_PATH, this);
+		engine = new GameEngine(board, cardDecks, dieNumFaces, numOfWinPoints, playerInfo, journal);
+		try {
+			journal.start(engine);
+		} catch (IOException e) {
+			System.err.println("Error starting the turn journal: " + e.getMessage());
 		}
+	}
 
-		// Set Player 1 as current Player and pay the first income
-		currentPlayer = getPlayers().get(0);
-		currentPlayer.getPaid();
+	/**
+	 * Constructs a GameofStrife instance that resumes the unfinished game of the
+	 * turn journal, at the end of the last turn that was played completely.
+	 *
+	 * @param startup the startup pipeline that loads the board, the cards and the
+	 *                images
+	 * @throws IOException              if the turn journal cannot be read
+	 * @throws IllegalArgumentException if the turn journal does not fit the board
+	 *                                  and the cards
+	 * @throws StartupPipeline.LoadException if the board or the cards cannot be
+	 *                                       loaded
+	 */
+	public GameOfStrife(StartupPipeline startup) throws IOException {
+		Board board = startup.getBoard();
+		CardDecks cardDecks = startup.getCardDecks();
 
-		// Load all the cardDecks
-		cardDecks.loadCardDeckFromJson(DATA_PATH + "cards1.json");
+		long phaseStart = System.nanoTime();
+		journal = new TurnJournal(JOURNAL_PATH, this);
+		engine = journal.recover(board, cardDecks);
+		startup.record("recover game", phaseStart);
+
+		buildFrame(startup);
+	}
 
+	/**
+	 * Builds the panels of the game window and shows it.
+	 *
+	 * @param startup the startup pipeline that loads the images
+	 */
+	private void buildFrame(StartupPipeline startup) {
 		setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
 		setExtendedState(JFrame.MAXIMIZED_BOTH);
 		setMinimumSize(new Dimension(1000, 700));
@@ -119,46 +214,39 @@ public class GameOfStrife extends JFrame implements GameMovementController {
 
 		// Set the custom icon for the window
 		try {
-			Image icon = ImageIO.read(new File(DATA_PATH + "icon.png"));
+			Image icon = AssetCache.getImage(DATA_PATH + "icon.png");
 			setIconImage(icon);
 		} catch (IOException e) {
 			System.err.println("Error loading custom icon: " + e.getMessage());
 		}
 
 		// Create the different JPanels
+		startup.awaitImages();
+		long phaseStart = System.nanoTime();
 		add(createPlayerPanel(), BorderLayout.WEST);
 		add(createBoardPanel(), BorderLayout.CENTER);
 		add(createInteractionPanel(), BorderLayout.EAST);
+		startup.record("build panels", phaseStart);
 
+		phaseStart = System.nanoTime();
 		setVisible(true);
+		startup.record("show frame", phaseStart);
 
 		SwingUtilities.invokeLater(new Runnable() {
 			@Override
 			public void run() {
 				updateUIForCurrentPlayer();
+				startup.printReport();
 			}
 		});
-
 	}
 
 	/**
-	 * Handles the action when the die is rolled. Moves the current player, executes
-	 * card if drawn, updates player position, and transitions to the next turn.
+	 * Handles the action when the die is rolled. The engine plays the turn of the
+	 * current player, after which the player tables are updated.
 	 */
 	private void handleDieRoll() {
-		getDie().roll();
-		int roll = getDie().getValue();
-		lblDieOutput.setText("Roll result: " + roll);
-
-		currentPlayer.move(roll, this);
-		getBoardPanel().updatePlayerPosition(currentPlayer, currentPlayerTurn - 1);
-
-		Card card = currentPlayer.drawCard(cardDecks);
-		if (card != null) {
-			card.executeCard(this);
-		}
-
-		nextTurn();
+		engine.playTurn();
 		updatePlayerTables();
 	}
 
@@ -183,8 +271,8 @@ public class GameOfStrife extends JFrame implements GameMovementController {
 	private JPanel createBoardPanel() {
 		setBoardPanel(new BoardPanel(getBoard(), getPlayers()));
 
-		// Set a random Victory Tile
-		getBoardPanel().setVictoryTile();
+		// Show the Victory Tile chosen by the engine
+		getBoardPanel().setVictoryTile(engine.getVictoryTile());
 		getBoardPanel().repaint();
 
 		JPanel panel = new JPanel(new BorderLayout());
@@ -231,11 +319,7 @@ public class GameOfStrife extends JFrame implements GameMovementController {
 	 * handles countdowns for card effects.
 	 */
 	public void nextTurn() {
-		countdown();
-		currentPlayerTurn = (currentPlayerTurn % getNumberOfPlayers()) + 1;
-		currentPlayer = getPlayers().get(currentPlayerTurn - 1);
-		currentPlayer.getPaid();
-		updateUIForCurrentPlayer();
+		engine.nextTurn();
 	}
 
 	/**
@@ -243,16 +327,7 @@ public class GameOfStrife extends JFrame implements GameMovementController {
 	 * updates the UI and handles countdowns for card effects accordingly.
 	 */
 	public void previousTurn() {
-		countup();
-		currentPlayer.adjustResources(-currentPlayer.getIncome());
-
-		currentPlayerTurn = (currentPlayerTurn - 1);
-		if (currentPlayerTurn == 0) {
-			currentPlayerTurn = getNumberOfPlayers();
-		}
-		currentPlayer = getPlayers().get(currentPlayerTurn - 1);
-
-		updateUIForCurrentPlayer();
+		engine.previousTurn();
 	}
 
 	/**
@@ -260,7 +335,7 @@ public class GameOfStrife extends JFrame implements GameMovementController {
 	 * border around the current player in the player tables.
 	 */
 	private void updateUIForCurrentPlayer() {
-		playerPanel.setCurrentPlayer(currentPlayerTurn - 1);
+		playerPanel.setCurrentPlayer(getCurrentPlayerTurn() - 1);
 	}
 
 	/**
@@ -278,157 +353,258 @@ public class GameOfStrife extends JFrame implements GameMovementController {
 	 * @return the first Tile with the specified ID, or null if not found
 	 */
 	public Tile findTileByID(int ID) {
-		for (Tile tile : getBoard().getAllTiles()) {
-			if (tile.getID() == ID) {
-				return tile;
-			}
-		}
-		return null;
+		return engine.findTileByID(ID);
 	}
 
 	/**
 	 * Shows a popup dialog to let the player choose between multiple paths.
 	 *
+	 * @param player    the player that is moving
 	 * @param nextTiles the possible next tiles the player can move to
 	 * @return the index of the selected path (0 for Left, 1 for Right)
 	 */
 	@Override
-	public int showPathSelectionPopup(ArrayList<Tile> nextTiles) {
-		
-		// Customize option pane appearance
-		UIManager.put("OptionPane.background", SystemColor.control);
-		UIManager.put("Panel.background", SystemColor.control);
-		UIManager.put("Button.background", BUTTON_COLOR);
-		UIManager.put("Button.foreground", Color.WHITE);
-		UIManager.put("Button.font", LABEL_FONT);
-		
+	public int choosePath(Player player, List<Tile> nextTiles) {
 		String[] options = { "Left", "Right" };
 
+		applyOptionPaneStyle();
 		int choice = JOptionPane.showOptionDialog(null, "Choose a path:", "Path Selection", JOptionPane.DEFAULT_OPTION,
 				JOptionPane.QUESTION_MESSAGE, null, options, options[0]);
-		
-		// Reset UI manager settings
-		UIManager.put("OptionPane.background", null);
-		UIManager.put("Panel.background", null);
-		UIManager.put("Button.background", null);
-		UIManager.put("Button.foreground", null);
-		UIManager.put("Button.font", null);
+		resetOptionPaneStyle();
 
 		// if user closes the popup return 0 (Left)
 		return (choice == -1) ? 0 : choice;
 	}
 
 	/**
-	 * Decreases the duration of active card effects and removes any that have
-	 * expired.
+	 * Shows a popup asking the player if they want to buy a victory point.
+	 *
+	 * @param player the player on the victory tile
+	 * @return true if the player chooses to buy, false otherwise
 	 */
-	private void countdown() {
-		for (int i = getActiveCardsList().size() - 1; i >= 0; i--) {
-			Object[] pair = getActiveCardsList().get(i);
-			int count = (Integer) pair[1];
-			count--;
+	@Override
+	public boolean buyVictoryPoint(Player player) {
+		String[] options = new String[2];
+		options[0] = "Buy";
+		options[1] = "Don't Buy";
 
-			if (count == 0) {
-				Card card = (Card) pair[0];
-				Map<String, Object> effectData = (Map<String, Object>) pair[2]; // Retrieve effect data
-				card.removeEffect(this, effectData); // Pass data to removeEffect
-				getActiveCardsList().remove(i);
-			} else {
-				pair[1] = count;
-			}
-		}
+		applyOptionPaneStyle();
+		int choice = JOptionPane.showOptionDialog(null, "Do you want to buy a Victory Point for a 1000 gold?",
+				"Victory Point", JOptionPane.DEFAULT_OPTION, JOptionPane.QUESTION_MESSAGE, null, options, options[0]);
+		resetOptionPaneStyle();
+
+		// Return true if the user chose to buy, false otherwise
+		return choice == 0;
 	}
 
 	/**
-	 * Increases the duration count of active cards. Used when reverting a turn.
+	 * Shows a popup that lets the player choose another player as the target of a
+	 * blue card.
+	 *
+	 * @param card         the card that is being played
+	 * @param player       the player that drew the card
+	 * @param otherPlayers every player except the one that drew the card
+	 * @return the index of the chosen player, or -1 if the popup was closed
 	 */
-	private void countup() {
-		for (int i = getActiveCardsList().size() - 1; i >= 0; i--) {
-			Object[] pair = getActiveCardsList().get(i);
-			pair[1] = (Integer) pair[1] + 1;
+	@Override
+	public int choosePlayer(Card card, Player player, List<Player> otherPlayers) {
+		String[] playerNames = new String[otherPlayers.size()];
+		for (int i = 0; i < otherPlayers.size(); i++) {
+			playerNames[i] = otherPlayers.get(i).getName();
 		}
+
+		applyOptionPaneStyle();
+		int choice = JOptionPane.showOptionDialog(this, card.getDescription(), "Choose a Player",
+				JOptionPane.DEFAULT_OPTION, JOptionPane.QUESTION_MESSAGE, null, playerNames, playerNames[0]);
+		resetOptionPaneStyle();
+		return choice;
 	}
 
 	/**
-	 * Shows a popup asking the player if they want to buy a victory point.
+	 * Shows a popup with the options of a blue card as buttons.
 	 *
-	 * @return true if the player chooses to buy, false otherwise
+	 * @param card    the card that is being played
+	 * @param player  the player that drew the card
+	 * @param options the descriptions of the options
+	 * @return the index of the chosen option, or -1 if the popup was closed
 	 */
 	@Override
-	public boolean showVictoryPointsPopup() {
-		String[] options = new String[2];
-		options[0] = "Buy";
-		options[1] = "Don't Buy";
+	public int chooseOption(Card card, Player player, String[] options) {
+		applyOptionPaneStyle();
+		int choice = JOptionPane.showOptionDialog(this, card.getDescription(), "Choose an Option",
+				JOptionPane.DEFAULT_OPTION, JOptionPane.QUESTION_MESSAGE, null, options, options[0]);
+		resetOptionPaneStyle();
+		return choice;
+	}
 
-		// Customize option pane appearance
-		UIManager.put("OptionPane.background", SystemColor.control);
-		UIManager.put("Panel.background", SystemColor.control);
-		UIManager.put("Button.background", BUTTON_COLOR);
-		UIManager.put("Button.foreground", Color.WHITE);
-		UIManager.put("Button.font", LABEL_FONT);
-		
-		int choice = JOptionPane.showOptionDialog(null, "Do you want to buy a Victory Point for a 1000 gold?",
-				"Victory Point", JOptionPane.DEFAULT_OPTION, JOptionPane.QUESTION_MESSAGE, null, options, options[0]);
-		
-		// Reset UI manager settings
-		UIManager.put("OptionPane.background", null);
-		UIManager.put("Panel.background", null);
-		UIManager.put("Button.background", null);
-		UIManager.put("Button.foreground", null);
-		UIManager.put("Button.font", null);
+	/**
+	 * Shows the description of a green or red card.
+	 *
+	 * @param card  the card that was drawn
+	 * @param title the title of the popup
+	 */
+	@Override
+	public void showCard(Card card, String title) {
+		applyOptionPaneStyle();
+		JOptionPane.showMessageDialog(this, card.getDescription(), title, JOptionPane.INFORMATION_MESSAGE);
+		resetOptionPaneStyle();
+	}
 
-		// Return true if the user chose to buy, false otherwise
-		return choice == 0;
+	/**
+	 * Shows a message to the players. Messages with the title "Error" are shown as
+	 * an error.
+	 *
+	 * @param title   the title of the popup
+	 * @param message the text of the popup
+	 */
+	@Override
+	public void showMessage(String title, String message) {
+		int messageType = "Error".equals(title) ? JOptionPane.ERROR_MESSAGE : JOptionPane.INFORMATION_MESSAGE;
+		applyOptionPaneStyle();
+		JOptionPane.showMessageDialog(this, message, title, messageType);
+		resetOptionPaneStyle();
+	}
+
+	/**
+	 * Shows the roll result next to the die.
+	 *
+	 * @param value the rolled value
+	 */
+	@Override
+	public void dieRolled(int value) {
+		lblDieOutput.setText("Roll result: " + value);
+	}
+
+	/**
+	 * Moves the icon of a player on the board.
+	 *
+	 * @param player      the player that moved
+	 * @param playerIndex the index of the player in the list of players
+	 */
+	@Override
+	public void playerMoved(Player player, int playerIndex) {
+		getBoardPanel().updatePlayerPosition(player, playerIndex);
+	}
+
+	/**
+	 * Moves the victory star to the new victory tile.
+	 *
+	 * @param victoryTile the new victory tile
+	 */
+	@Override
+	public void victoryTileChanged(Tile victoryTile) {
+		getBoardPanel().setVictoryTile(victoryTile);
+	}
+
+	/**
+	 * Highlights the player whose turn it is.
+	 *
+	 * @param player      the player whose turn it is now
+	 * @param playerIndex the index of that player in the list of players
+	 */
+	@Override
+	public void turnChanged(Player player, int playerIndex) {
+		updateUIForCurrentPlayer();
+	}
+
+	/**
+	 * Deletes the turn journal once the last turn of a game has ended, as a
+	 * finished game has nothing left to resume.
+	 */
+	@Override
+	public void turnEnded() {
+		if (engine.isGameOver()) {
+			try {
+				journal.delete();
+			} catch (IOException e) {
+				System.err.println("Error deleting the turn journal: " + e.getMessage());
+			}
+		}
 	}
 
 	/**
 	 * Displays the end-of-game dialog when a player wins and prompts for restart or
 	 * exit.
+	 *
+	 * @param winner the player that won the game
 	 */
 	@Override
+	public void gameOver(Player winner) {
+		showEndOfGamePopup();
+	}
+
+	/**
+	 * Displays the end-of-game dialog when a player wins and prompts for restart or
+	 * exit. Both are done once the current turn has ended and its journal is
+	 * deleted.
+	 */
 	public void showEndOfGamePopup() {
 		String[] options = { "Restart the Game", "Exit" };
 
-		// Customize option pane appearance
+		applyOptionPaneStyle();
+		int choice = JOptionPane.showOptionDialog(this,
+				getCurrentPlayer().getName() + " has won the game!\nWhat would you like to do?", "Game Over",
+				JOptionPane.DEFAULT_OPTION, JOptionPane.INFORMATION_MESSAGE, null, options, options[0]);
+		resetOptionPaneStyle();
+
+		if (choice == 0) {
+			// Start the new game in this window once the current turn has finished
+			EventQueue.invokeLater(this::restartGame);
+		} else {
+			// Exit game once the current turn has finished
+			EventQueue.invokeLater(() -> System.exit(0));
+		}
+	}
+
+	/**
+	 * Starts a new game in this window after the game settings dialogs. The board,
+	 * the cards, the decoded images and the board panel with its tiles are kept,
+	 * only the players, the card order, the card effects and the victory tile are
+	 * new, so a rematch starts without loading or building anything again.
+	 */
+	private void restartGame() {
+		int[] settings = SettingsPanel.showGameSettingsPopup();
+		String[][] playerInfo = SettingsPanel.showPlayerNameInputPopup(settings[0]);
+
+		long start = System.nanoTime();
+		createEngine(engine.getBoard(), engine.getCardDecks(), settings[1], settings[2], playerInfo);
+
+		// The player tables depend on the number of players, so they are built again
+		BorderLayout layout = (BorderLayout) getContentPane().getLayout();
+		remove(layout.getLayoutComponent(BorderLayout.WEST));
+		add(createPlayerPanel(), BorderLayout.WEST);
+		getBoardPanel().setPlayers(getPlayers());
+		getBoardPanel().setVictoryTile(engine.getVictoryTile());
+		lblDieOutput.setText("Roll result: -");
+		revalidate();
+		repaint();
+		updateUIForCurrentPlayer();
+
+		if (Boolean.getBoolean(StartupPipeline.REPORT_PROPERTY)) {
+			System.out.printf("Warm restart: %.1f ms%n", (System.nanoTime() - start) / 1e6);
+		}
+	}
+
+	/**
+	 * Applies the game's colours and font to the option panes.
+	 */
+	private static void applyOptionPaneStyle() {
 		UIManager.put("OptionPane.background", SystemColor.control);
 		UIManager.put("Panel.background", SystemColor.control);
 		UIManager.put("Button.background", BUTTON_COLOR);
 		UIManager.put("Button.foreground", Color.WHITE);
 		UIManager.put("Button.font", LABEL_FONT);
-		
-		int choice = JOptionPane.showOptionDialog(this,
-				currentPlayer.getName() + " has won the game!\nWhat would you like to do?", "Game Over",
-				JOptionPane.DEFAULT_OPTION, JOptionPane.INFORMATION_MESSAGE, null, options, options[0]);
-		
-		// Reset UI manager settings
+	}
+
+	/**
+	 * Resets the option panes to the default look.
+	 */
+	private static void resetOptionPaneStyle() {
 		UIManager.put("OptionPane.background", null);
 		UIManager.put("Panel.background", null);
 		UIManager.put("Button.background", null);
 		UIManager.put("Button.foreground", null);
 		UIManager.put("Button.font", null);
-
-		if (choice == 0) {
-			// Close current game window
-			this.dispose();
-
-			// Relaunch game setup in a new window
-			EventQueue.invokeLater(() -> {
-				try {
-					int[] settings = SettingsPanel.showGameSettingsPopup();
-					int numberOfPlayers = settings[0];
-					int dieNumFaces = settings[1];
-					int numOfWinPoints = settings[2];
-					String[][] playerInfo = SettingsPanel.showPlayerNameInputPopup(numberOfPlayers);
-					GameOfStrife newGame = new GameOfStrife(numberOfPlayers, dieNumFaces, numOfWinPoints, playerInfo);
-					newGame.setVisible(true);
-				} catch (Exception e) {
-					e.printStackTrace();
-				}
-			});
-		} else {
-			// Exit game
-			System.exit(0);
-		}
 	}
 
 	/**
@@ -436,17 +612,8 @@ public class GameOfStrife extends JFrame implements GameMovementController {
 	 *
 	 * @return the victory Tile
 	 */
-	@Override
 	public Tile getVictoryTile() {
-		return getBoardPanel().getVictoryTile();
-	}
-
-	/**
-	 * Designate a tile on the board as the victory tile.
-	 */
-	@Override
-	public void setVictoryTile() {
-		getBoardPanel().setVictoryTile();
+		return engine.getVictoryTile();
 	}
 
 	/**
@@ -454,9 +621,8 @@ public class GameOfStrife extends JFrame implements GameMovementController {
 	 *
 	 * @return the starting Tile
 	 */
-	@Override
 	public Tile getStartingTile() {
-		return getBoard().getStartingTile();
+		return engine.getStartingTile();
 	}
 
 	/**
@@ -464,9 +630,8 @@ public class GameOfStrife extends JFrame implements GameMovementController {
 	 *
 	 * @return the number of victory points
 	 */
-	@Override
 	public int getNumWinPoints() {
-		return this.numWinPoints;
+		return engine.getNumWinPoints();
 	}
 
 	/**
@@ -474,9 +639,8 @@ public class GameOfStrife extends JFrame implements GameMovementController {
 	 *
 	 * @return the current Player
 	 */
-	@Override
 	public Player getCurrentPlayer() {
-		return this.currentPlayer;
+		return engine.getCurrentPlayer();
 	}
 
 	/**
@@ -484,28 +648,17 @@ public class GameOfStrife extends JFrame implements GameMovementController {
 	 *
 	 * @return the current player's turn number
 	 */
-	@Override
 	public int getCurrentPlayerTurn() {
-		return this.currentPlayerTurn;
-	}
-
-	/**
-	 * Updates the board Panel to reflect a player's new position.
-	 *
-	 * @param player      the player to move
-	 * @param playerIndex the index of the player in the list
-	 */
-	@Override
-	public void updatePlayerPosition(Player player, int playerIndex) {
-		getBoardPanel().updatePlayerPosition(player, playerIndex);
+		return engine.getCurrentPlayerTurn();
 	}
 
 	/**
-	 * Repaints the board Panel.
+	 * Returns the engine that holds the state of this game.
+	 * 
+	 * @return the GameEngine of this game
 	 */
-	@Override
-	public void repaint() {
-		getBoardPanel().repaint();
+	public GameEngine getEngine() {
+		return engine;
 	}
 
 	/**
@@ -514,16 +667,7 @@ public class GameOfStrife extends JFrame implements GameMovementController {
 	 * @return the list of Player objects representing the players
 	 */
 	public List<Player> getPlayers() {
-		return players;
-	}
-
-	/**
-	 * Sets the list of players for the game.
-	 * 
-	 * @param players the list of Player objects to set
-	 */
-	public void setPlayers(List<Player> players) {
-		this.players = players;
+		return engine.getPlayers();
 	}
 
 	/**
@@ -545,22 +689,12 @@ public class GameOfStrife extends JFrame implements GameMovementController {
 	}
 
 	/**
-	 * Returns the list of active cards in the game.
-	 * Each card is represented as an Object array containing card data.
+	 * Returns the scheduler with the active card effects of the game.
 	 * 
-	 * @return the list of active cards
+	 * @return the EffectScheduler of the game
 	 */
-	public List<Object[]> getActiveCardsList() {
-		return activeCardsList;
-	}
-
-	/**
-	 * Sets the list of active cards in the game.
-	 * 
-	 * @param activeCardsList the list of card data (as Object arrays) to set
-	 */
-	public void setActiveCardsList(List<Object[]> activeCardsList) {
-		this.activeCardsList = activeCardsList;
+	public EffectScheduler getEffectScheduler() {
+		return engine.getEffectScheduler();
 	}
 
 	/**
@@ -569,16 +703,7 @@ public class GameOfStrife extends JFrame implements GameMovementController {
 	 * @return the number of players
 	 */
 	public int getNumberOfPlayers() {
-		return numberOfPlayers;
-	}
-
-	/**
-	 * Sets the number of players for the game.
-	 * 
-	 * @param numberOfPlayers the number of players to set
-	 */
-	public void setNumberOfPlayers(int numberOfPlayers) {
-		this.numberOfPlayers = numberOfPlayers;
+		return engine.getNumberOfPlayers();
 	}
 
 	/**
@@ -587,16 +712,7 @@ public class GameOfStrife extends JFrame implements GameMovementController {
 	 * @return the Die object representing the game die
 	 */
 	public Die getDie() {
-		return die;
-	}
-
-	/**
-	 * Sets the die to be used in the game.
-	 * 
-	 * @param die the Die object to set
-	 */
-	public void setDie(Die die) {
-		this.die = die;
+		return engine.getDie();
 	}
 
 	/**
@@ -605,15 +721,6 @@ public class GameOfStrife extends JFrame implements GameMovementController {
 	 * @return the Board object representing the game board
 	 */
 	public Board getBoard() {
-		return board;
-	}
-
-	/**
-	 * Sets the game board.
-	 * 
-	 * @param board the Board object to set
-	 */
-	public void setBoard(Board board) {
-		this.board = board;
+		return engine.getBoard();
 	}
 }
@@ -5,6 +5,8 @@ import javax.swing.*;
 import static game.SymbolicConstants.*;
 
 import java.awt.*;
+import java.io.IOException;
+
 import game.Player;
 
 /**
@@ -43,23 +45,18 @@ public class PlayerPanel extends JPanel {
 		this.playerIcons = new ImageIcon[numberOfPlayers];
 		this.numberOfPlayers = numberOfPlayers;
 
-		// Load player icons
+		// Load player icons, shared with the BoardPanel through the AssetCache
 		for (int i = 0; i < numberOfPlayers; i++) {
 			String country = players[i].getCountry();
 			String path = DATA_PATH + country + ".png";
-			ImageIcon icon = new ImageIcon(path);
-
-			// Verify that icon loaded successfully
-			if (icon.getImageLoadStatus() != MediaTracker.COMPLETE) {
+			try {
+				// Scale icon
+				playerIcons[i] = new ImageIcon(AssetCache.getScaledImage(path, 40, 40));
+			} catch (IOException e) {
 				JOptionPane.showMessageDialog(null, "Error loading icon for " + country + " from " + path, "Error",
 						JOptionPane.ERROR_MESSAGE);
 				System.exit(0);
 				playerPanels[i] = null;
-			} else {
-
-				// Scale icon
-				Image image = icon.getImage().getScaledInstance(40, 40, Image.SCALE_SMOOTH);
-				playerIcons[i] = new ImageIcon(image);
 			}
 		}
 		// Configure the main panel
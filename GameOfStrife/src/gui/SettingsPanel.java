@@ -7,6 +7,7 @@ import java.awt.*;
 import java.util.HashSet;
 import java.util.Set;
 
+import game.Player;
 import static game.SymbolicConstants.*;
 
 /**
@@ -115,7 +116,7 @@ public class SettingsPanel {
 	 */
 	public static String[][] showPlayerNameInputPopup(int numberOfPlayers) {
 		// Available country options
-		String[] countryOptions = { "Netherlands", "Morocco", "Friesland", "Hungary", "Iran", "Turkiye", "Ethiopia", "France" };
+		String[] countryOptions = Player.COUNTRIES.toArray(new String[0]);
 		JPanel panel = new JPanel(new GridLayout(numberOfPlayers, 2, 10, 10));
 
 		// Main panel setup
@@ -0,0 +1,215 @@
+package gui;
+
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A SpriteAtlas holds square images, already scaled to every size they are
+ * drawn at, packed together on one sheet. Drawing a sprite copies a part of the
+ * sheet pixel for pixel, so nothing is scaled or interpolated while painting.
+ *
+ * The sprites are packed in rows, from the largest to the smallest, in an
+ * image in the pixel format of the screen. An atlas is made for one scale of
+ * the board and is replaced by a new one when the scale changes.
+ */
+public final class SpriteAtlas {
+	private BufferedImage sheet;
+
+	// The sizes of every image, sorted, and where the sprites of each image start
+	private int[][] sizes;
+	private int[] firstSprite;
+
+	// The top left corner of every sprite on the sheet, -1 if it is missing
+	private int[] spriteX;
+	private int[] spriteY;
+
+	/**
+	 * Constructs an atlas with every image at each of its sizes. An image that
+	 * cannot be loaded has no sprites, sizes below 1 are left out.
+	 *
+	 * @param filePaths the paths to the image files, null for a missing image
+	 * @param sizes     the widths and heights every image is drawn at
+	 */
+	public SpriteAtlas(String[] filePaths, int[][] sizes) {
+		this.sizes = new int[filePaths.length][];
+		firstSprite = new int[filePaths.length];
+		int spriteCount = 0;
+		for (int i = 0; i < filePaths.length; i++) {
+			this.sizes[i] = Arrays.stream(sizes[i]).filter(size -> size >= 1).distinct().sorted().toArray();
+			firstSprite[i] = spriteCount;
+			spriteCount += this.sizes[i].length;
+		}
+		spriteX = new int[spriteCount];
+		spriteY = new int[spriteCount];
+		Arrays.fill(spriteX, -1);
+		Arrays.fill(spriteY, -1);
+
+		BufferedImage[] sprites = loadSprites(filePaths, spriteCount);
+		int sheetWidth = pack(sprites);
+		int sheetHeight = 0;
+		for (int sprite = 0; sprite < spriteCount; sprite++) {
+			if (sprites[sprite] != null) {
+				sheetHeight = Math.max(sheetHeight, spriteY[sprite] + sprites[sprite].getHeight());
+			}
+		}
+		if (sheetWidth > 0 && sheetHeight > 0) {
+			sheet = createSheet(sheetWidth, sheetHeight);
+			Graphics2D g = sheet.createGraphics();
+			for (int sprite = 0; sprite < spriteCount; sprite++) {
+				if (sprites[sprite] != null) {
+					g.drawImage(sprites[sprite], spriteX[sprite], spriteY[sprite], null);
+				}
+			}
+			g.dispose();
+		}
+	}
+
+	/**
+	 * Scales every image to each of its sizes through the AssetCache.
+	 *
+	 * @return the sprites in the order of the images and their sizes, null for
+	 *         the sprites of images that cannot be loaded
+	 */
+	private BufferedImage[] loadSprites(String[] filePaths, int spriteCount) {
+		BufferedImage[] sprites = new BufferedImage[spriteCount];
+		for (int i = 0; i < filePaths.length; i++) {
+			if (filePaths[i] == null) {
+				continue;
+			}
+			try {
+				for (int j = 0; j < sizes[i].length; j++) {
+					sprites[firstSprite[i] + j] = AssetCache.getScaledImage(filePaths[i], sizes[i][j], sizes[i][j]);
+				}
+			} catch (IOException e) {
+				// The image has no sprites and is not drawn
+			}
+		}
+		return sprites;
+	}
+
+	/**
+	 * Places the sprites in rows on a sheet that is about as wide as it is high,
+	 * largest first so every row is filled evenly.
+	 *
+	 * @param sprites the sprites, null for a missing sprite
+	 * @return the width of the sheet
+	 */
+	private int pack(BufferedImage[] sprites) {
+		Integer[] order = new Integer[sprites.length];
+		long area = 0;
+		int largest = 0;
+		for (int sprite = 0; sprite < sprites.length; sprite++) {
+			order[sprite] = sprite;
+			if (sprites[sprite] != null) {
+				area += (long) sprites[sprite].getWidth() * sprites[sprite].getHeight();
+				largest = Math.max(largest, sprites[sprite].getWidth());
+			}
+		}
+		Arrays.sort(order, (a, b) -> Integer.compare(width(sprites[b]), width(sprites[a])));
+
+		int rowWidth = Math.max(largest, (int) Math.ceil(Math.sqrt(area)));
+		int x = 0;
+		int y = 0;
+		int rowHeight = 0;
+		int sheetWidth = 0;
+		for (int sprite : order) {
+			if (sprites[sprite] == null) {
+				continue;
+			}
+			if (x + sprites[sprite].getWidth() > rowWidth) {
+				x = 0;
+				y += rowHeight;
+				rowHeight = 0;
+			}
+			spriteX[sprite] = x;
+			spriteY[sprite] = y;
+			x += sprites[sprite].getWidth();
+			rowHeight = Math.max(rowHeight, sprites[sprite].getHeight());
+			sheetWidth = Math.max(sheetWidth, x);
+		}
+		return sheetWidth;
+	}
+
+	private static int width(BufferedImage sprite) {
+		return sprite == null ? 0 : sprite.getWidth();
+	}
+
+	/**
+	 * @return a transparent image in the pixel format of the screen, or a plain
+	 *         ARGB image when there is no screen
+	 */
+	private static BufferedImage createSheet(int width, int height) {
+		if (GraphicsEnvironment.isHeadless()) {
+			return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		}
+		return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration()
+				.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+	}
+
+	/**
+	 * Draws an image at one of its sizes.
+	 *
+	 * @param g     the graphics to draw on
+	 * @param image the index of the image in the file paths of the atlas
+	 * @param size  the size to draw the image at
+	 * @param x     the x coordinate of the top left corner
+	 * @param y     the y coordinate of the top left corner
+	 * @return whether the image was drawn, false if the atlas has no sprite of
+	 *         the image at that size
+	 */
+	public boolean draw(Graphics g, int image, int size, int x, int y) {
+		int sprite = indexOf(image, size);
+		if (sprite < 0) {
+			return false;
+		}
+		int sx = spriteX[sprite];
+		int sy = spriteY[sprite];
+		g.drawImage(sheet, x, y, x + size, y + size, sx, sy, sx + size, sy + size, null);
+		return true;
+	}
+
+	/**
+	 * @param image the index of the image in the file paths of the atlas
+	 * @param size  the size of the sprite
+	 * @return whether the atlas has a sprite of the image at that size
+	 */
+	public boolean contains(int image, int size) {
+		return indexOf(image, size) >= 0;
+	}
+
+	/**
+	 * @return the number of sprites on the sheet
+	 */
+	public int size() {
+		int count = 0;
+		for (int x : spriteX) {
+			if (x >= 0) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * @return the sheet with all sprites, null if the atlas is empty
+	 */
+	public BufferedImage getSheet() {
+		return sheet;
+	}
+
+	private int indexOf(int image, int size) {
+		if (image < 0 || image >= sizes.length) {
+			return -1;
+		}
+		int j = Arrays.binarySearch(sizes[image], size);
+		if (j < 0 || spriteX[firstSprite[image] + j] < 0) {
+			return -1;
+		}
+		return firstSprite[image] + j;
+	}
+}
@@ -0,0 +1,223 @@
+package gui;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import org.json.JSONException;
+
+import game.BinaryCache;
+import game.Board;
+import game.CardCatalog;
+import game.CardDecks;
+import game.Player;
+import static game.SymbolicConstants.*;
+
+/**
+ * The StartupPipeline loads the board, the cards and the images of a game in the
+ * background while the settings dialogs are still on screen, so the game window
+ * can be built as soon as the players are chosen. Every file is loaded by its
+ * own task, so a slow disk delays the loads side by side instead of one after
+ * the other. The GameOfStrife frame joins the tasks when it needs their result.
+ *
+ * The tasks never show a dialog themselves, as they do not run on the event
+ * dispatch thread. A file that cannot be loaded fails its task with a
+ * LoadException, which is thrown again when the task is joined on the event
+ * dispatch thread, where it is reported.
+ *
+ * The pipeline also times every phase of the startup, including the time the
+ * event dispatch thread waited for a task. Run the game with
+ * -Dgameofstrife.startupReport=true to print the times when the first frame is
+ * shown.
+ */
+public class StartupPipeline {
+	public static final String REPORT_PROPERTY = "gameofstrife.startupReport";
+
+	// The images of the BoardPanel and the window, besides the country flags
+	private static final String[] IMAGE_FILES = { "background.png", "star.png", "icon.png" };
+
+	private final long startTime = System.nanoTime();
+	private final Map<String, Long> phaseTimes = new LinkedHashMap<>();
+	private final CompletableFuture<Board> board;
+	private final CompletableFuture<CardDecks> cardDecks;
+	private final CompletableFuture<Void> images;
+
+	/**
+	 * Thrown when the board or the cards cannot be loaded, with a message for the
+	 * players.
+	 */
+	public static class LoadException extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+
+		LoadException(String message, Throwable cause) {
+			super(message, cause);
+		}
+	}
+
+	/**
+	 * Starts loading the files of a game in the background.
+	 *
+	 * @param boardPath the path JSON file of the board
+	 * @param cardsPath the JSON file with the cards
+	 */
+	public StartupPipeline(String boardPath, String cardsPath) {
+		ExecutorService executor = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()),
+				task -> {
+					Thread thread = new Thread(task, "startup");
+					thread.setDaemon(true);
+					return thread;
+				});
+
+		board = CompletableFuture.supplyAsync(timed("load board", () -> loadBoard(boardPath)), executor);
+		cardDecks = CompletableFuture.supplyAsync(timed("load cards", () -> loadCards(cardsPath)), executor);
+
+		// The flags of every country, as the players are not chosen yet
+		List<String> files = new ArrayList<>(Arrays.asList(IMAGE_FILES));
+		for (String country : Player.COUNTRIES) {
+			files.add(country + ".png");
+		}
+		List<CompletableFuture<?>> imageTasks = new ArrayList<>();
+		long imagesStart = System.nanoTime();
+		for (String file : files) {
+			imageTasks.add(CompletableFuture.runAsync(() -> AssetCache.preload(DATA_PATH + file), executor));
+		}
+		images = CompletableFuture.allOf(imageTasks.toArray(new CompletableFuture<?>[0]))
+				.thenRun(() -> record("load images", imagesStart));
+
+		// The threads are only needed until every file is loaded
+		CompletableFuture.allOf(board, cardDecks, images).whenComplete((result, error) -> executor.shutdown());
+	}
+
+	/**
+	 * Loads the board, with the same messages as Board.loadPathFromJson when it
+	 * cannot be loaded.
+	 */
+	private static Board loadBoard(String boardPath) {
+		try {
+			return new Board(BinaryCache.loadBoard(boardPath));
+		} catch (IOException e) {
+			throw new LoadException("You don't have the correct path JSON file", e);
+		} catch (JSONException e) {
+			throw new LoadException("Take a look at your path JSON file, there is an error in the file", e);
+		}
+	}
+
+	/**
+	 * Loads the cards, with the same messages as CardDecks.loadCardDeckFromJson
+	 * when they cannot be loaded.
+	 */
+	private static CardDecks loadCards(String cardsPath) {
+		try {
+			return new CardDecks(CardCatalog.load(cardsPath));
+		} catch (IOException e) {
+			throw new LoadException("You don't have the correct Cards JSON file", e);
+		} catch (JSONException e) {
+			throw new LoadException("Take a look at your Cards JSON file, there is an error in the file", e);
+		} catch (IllegalArgumentException e) {
+			throw new LoadException(
+					"Take a look at your Cards JSON file, there is an error in a card: " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Wraps a task so its time is recorded as a phase.
+	 */
+	private <T> Supplier<T> timed(String phase, Supplier<T> task) {
+		return () -> {
+			long start = System.nanoTime();
+			T result = task.get();
+			record(phase, start);
+			return result;
+		};
+	}
+
+	/**
+	 * Records the time of a phase that started at the given time and ends now.
+	 *
+	 * @param phase the name of the phase
+	 * @param start the System.nanoTime() at the start of the phase
+	 */
+	public void record(String phase, long start) {
+		long time = System.nanoTime() - start;
+		synchronized (phaseTimes) {
+			phaseTimes.merge(phase, time, Long::sum);
+		}
+	}
+
+	/**
+	 * Waits for the board to be loaded.
+	 *
+	 * @return the loaded board
+	 * @throws LoadException if the board cannot be loaded
+	 */
+	public Board getBoard() {
+		return join("wait for board", board);
+	}
+
+	/**
+	 * Waits for the card decks to be loaded.
+	 *
+	 * @return the loaded card decks
+	 * @throws LoadException if the cards cannot be loaded
+	 */
+	public CardDecks getCardDecks() {
+		return join("wait for cards", cardDecks);
+	}
+
+	/**
+	 * Waits for every image to be decoded into the AssetCache.
+	 */
+	public void awaitImages() {
+		join("wait for images", images);
+	}
+
+	/**
+	 * Waits for a task and records how long the caller waited.
+	 */
+	private <T> T join(String phase, CompletableFuture<T> task) {
+		long start = System.nanoTime();
+		try {
+			return task.join();
+		} catch (CompletionException e) {
+			// A LoadException is reported by the caller, anything else is a bug
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		} finally {
+			record(phase, start);
+		}
+	}
+
+	/**
+	 * @return the time of every phase so far, and the time since the pipeline was
+	 *         started
+	 */
+	public String getReport() {
+		StringBuilder report = new StringBuilder("Startup times:");
+		synchronized (phaseTimes) {
+			for (Map.Entry<String, Long> phase : phaseTimes.entrySet()) {
+				report.append(String.format("%n  %-20s %8.1f ms", phase.getKey(), phase.getValue() / 1e6));
+			}
+		}
+		report.append(String.format("%n  %-20s %8.1f ms", "total", (System.nanoTime() - startTime) / 1e6));
+		return report.toString();
+	}
+
+	/**
+	 * Prints the report if it was asked for with the system property.
+	 */
+	public void printReport() {
+		if (Boolean.getBoolean(REPORT_PROPERTY)) {
+			System.out.println(getReport());
+		}
+	}
+}
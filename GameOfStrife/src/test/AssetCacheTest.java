@@ -0,0 +1,79 @@
+package test;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+
+import gui.AssetCache;
+import junit.framework.TestCase;
+
+/**
+ * Unit tests for the AssetCache class, which decodes every image once and keeps
+ * its scaled variants.
+ */
+public class AssetCacheTest extends TestCase {
+	private static final String STAR = "./data/star.png";
+
+	/**
+	 * Starts every test with an empty cache.
+	 */
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		AssetCache.clear();
+	}
+
+	/**
+	 * Tests that an image is decoded once, however its path is written.
+	 */
+	public void testImageIsDecodedOnce() throws IOException {
+		BufferedImage star = AssetCache.getImage(STAR);
+		assertNotNull(star);
+		assertSame(star, AssetCache.getImage("data/star.png"));
+		assertSame(star, AssetCache.getImage("./data/../data/star.png"));
+		assertEquals(1, AssetCache.size());
+	}
+
+	/**
+	 * Tests that scaled variants have the right size and are kept by size.
+	 */
+	public void testScaledVariants() throws IOException {
+		BufferedImage star = AssetCache.getImage(STAR);
+		BufferedImage small = AssetCache.getScaledImage(STAR, 40, 40);
+		assertEquals(40, small.getWidth());
+		assertEquals(40, small.getHeight());
+		assertSame(small, AssetCache.getScaledImage(STAR, 40, 40));
+
+		BufferedImage wide = AssetCache.getScaledImage(STAR, star.getWidth() * 2, 7);
+		assertEquals(star.getWidth() * 2, wide.getWidth());
+		assertEquals(7, wide.getHeight());
+
+		assertSame(star, AssetCache.getScaledImage(STAR, star.getWidth(), star.getHeight()));
+	}
+
+	/**
+	 * Tests that a missing image and an invalid size are errors.
+	 */
+	public void testErrors() {
+		try {
+			AssetCache.getImage("./data/doesNotExist.png");
+			fail("Expected an exception for a missing image");
+		} catch (IOException e) {
+			// expected
+		}
+		try {
+			AssetCache.getScaledImage(STAR, 0, 10);
+			fail("Expected an exception for an empty size");
+		} catch (IllegalArgumentException | IOException e) {
+			// expected
+		}
+		assertEquals(1, AssetCache.size());
+	}
+
+	/**
+	 * Tests that preloading decodes the images and skips missing ones.
+	 */
+	public void testPreload() {
+		AssetCache.preload(STAR, "./data/icon.png", "./data/doesNotExist.png");
+		assertEquals(2, AssetCache.size());
+	}
+}
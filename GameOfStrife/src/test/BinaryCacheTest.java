@@ -0,0 +1,220 @@
+package test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.List;
+
+import game.BinaryCache;
+import game.BlueCard;
+import game.BoardReader;
+import game.Card;
+import game.CardEffect;
+import game.CompiledBoard;
+import game.RedCard;
+import static game.SymbolicConstants.*;
+import static test.BoardAssert.assertSameBoard;
+import junit.framework.TestCase;
+
+/**
+ * Unit tests for the BinaryCache class, which keeps boards and cards in a binary
+ * form next to their JSON files.
+ */
+public class BinaryCacheTest extends TestCase {
+	private File folder;
+
+	/**
+	 * Creates an empty folder for the files of a test.
+	 */
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		folder = Files.createTempDirectory("binary-cache").toFile();
+	}
+
+	/**
+	 * Deletes the folder of the test.
+	 */
+	@Override
+	protected void tearDown() throws Exception {
+		for (File file : folder.listFiles()) {
+			file.delete();
+		}
+		folder.delete();
+		super.tearDown();
+	}
+
+	/**
+	 * Copies a data file into the folder of the test.
+	 */
+	private String copy(String path) throws IOException {
+		File copy = new File(folder, new File(path).getName());
+		Files.copy(new File(path).toPath(), copy.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		return copy.getPath();
+	}
+
+	/**
+	 * Checks that two compiled effects do the same.
+	 */
+	private static void assertSameEffect(CardEffect expected, CardEffect actual) {
+		assertEquals(expected.getOpcode(), actual.getOpcode());
+		assertEquals(expected.getValue(), actual.getValue());
+		assertEquals(expected.getOtherValue(), actual.getOtherValue());
+		assertEquals(expected.getDuration(), actual.getDuration());
+		assertEquals(expected.getChance(), actual.getChance());
+	}
+
+	/**
+	 * Checks that two cards have the same class, text and compiled effects.
+	 */
+	private static void assertSameCard(Card expected, Card actual) {
+		assertEquals(expected.getClass(), actual.getClass());
+		assertEquals(expected.getType(), actual.getType());
+		assertEquals(expected.getDescription(), actual.getDescription());
+		assertEquals(expected.getValueChange(), actual.getValueChange());
+		if (expected instanceof RedCard) {
+			assertSameEffect(((RedCard) expected).getEffect(), ((RedCard) actual).getEffect());
+		} else if (expected instanceof BlueCard) {
+			BlueCard a = (BlueCard) expected;
+			BlueCard b = (BlueCard) actual;
+			assertEquals(a.getPlayerEffect() == null, b.getPlayerEffect() == null);
+			if (a.getPlayerEffect() != null) {
+				assertSameEffect(a.getPlayerEffect(), b.getPlayerEffect());
+			}
+			assertEquals(a.getOptionEffects().length, b.getOptionEffects().length);
+			for (int i = 0; i < a.getOptionEffects().length; i++) {
+				assertEquals(a.getOptionDescriptions()[i], b.getOptionDescriptions()[i]);
+				assertSameEffect(a.getOptionEffects()[i], b.getOptionEffects()[i]);
+			}
+		}
+	}
+
+	/**
+	 * Tests that a board is the same when it is loaded from its binary form.
+	 */
+	public void testBoardFromBinary() throws Exception {
+		String path = copy(JSON_PATH_BOARD);
+		CompiledBoard fromJson = BoardReader.read(path);
+
+		assertSameBoard(fromJson, BinaryCache.loadBoard(path));
+		File binary = BinaryCache.binaryFile(path);
+		assertTrue(binary.exists());
+		long modified = binary.lastModified();
+		assertSameBoard(fromJson, BinaryCache.loadBoard(path));
+		assertEquals(modified, binary.lastModified());
+	}
+
+	/**
+	 * Tests that a changed JSON file is read again instead of its old binary form.
+	 */
+	public void testChangedJsonIsReadAgain() throws Exception {
+		String path = copy(JSON_PATH_BOARD);
+		assertEquals(86, BinaryCache.loadBoard(path).size());
+
+		String json = "{ \"path\": [ { \"ID\": 0, \"type\": \"start\", \"x_coord\": 0, \"y_coord\": 0, "
+				+ "\"width\": 10, \"height\": 10, \"next\": [] } ] }";
+		Files.write(new File(path).toPath(), json.getBytes(StandardCharsets.UTF_8));
+		CompiledBoard board = BinaryCache.loadBoard(path);
+		assertEquals(1, board.size());
+		assertEquals(1, BinaryCache.loadBoard(path).size());
+	}
+
+	/**
+	 * Tests that a JSON file with a new modification time but the same content
+	 * keeps its binary form, which is only written again to store the new time.
+	 */
+	public void testTouchedJsonKeepsBinary() throws Exception {
+		String path = copy(JSON_PATH_BOARD);
+		CompiledBoard fromJson = BinaryCache.loadBoard(path);
+		File binary = BinaryCache.binaryFile(path);
+		binary.setLastModified(1000000000000L);
+		new File(path).setLastModified(1500000000000L);
+
+		assertSameBoard(fromJson, BinaryCache.loadBoard(path));
+		long rewritten = binary.lastModified();
+		assertTrue(rewritten != 1000000000000L);
+		binary.setLastModified(1000000000000L);
+		assertSameBoard(fromJson, BinaryCache.loadBoard(path));
+		assertEquals(1000000000000L, binary.lastModified());
+	}
+
+	/**
+	 * Tests that a damaged binary form is ignored and written again.
+	 */
+	public void testDamagedBinary() throws Exception {
+		String path = copy(JSON_PATH_BOARD);
+		CompiledBoard fromJson = BoardReader.read(path);
+		BinaryCache.loadBoard(path);
+
+		File binary = BinaryCache.binaryFile(path);
+		try (RandomAccessFile file = new RandomAccessFile(binary, "rw")) {
+			file.setLength(binary.length() / 2);
+		}
+		assertSameBoard(fromJson, BinaryCache.loadBoard(path));
+		assertSameBoard(fromJson, BinaryCache.loadBoard(path));
+
+		Files.write(binary.toPath(), new byte[] { 1, 2, 3 });
+		assertSameBoard(fromJson, BinaryCache.loadBoard(path));
+	}
+
+	/**
+	 * Tests that the cards are the same when they are loaded from their compiled
+	 * binary form, and that the binary form is much smaller than the JSON.
+	 */
+	public void testCardsFromBinary() throws Exception {
+		String path = copy(JSON_PATH_CARDS);
+		List<Card> fromJson = BinaryCache.loadCards(path);
+		File binary = BinaryCache.binaryFile(path);
+		assertTrue(binary.exists());
+		assertTrue(binary.length() < new File(path).length() * 3 / 4);
+
+		List<Card> fromBinary = BinaryCache.loadCards(path);
+		assertEquals(fromJson.size(), fromBinary.size());
+		for (int i = 0; i < fromJson.size(); i++) {
+			assertNotSame(fromJson.get(i), fromBinary.get(i));
+			assertSameCard(fromJson.get(i), fromBinary.get(i));
+		}
+	}
+
+	/**
+	 * Tests that the binary form can be read by everyone who can read the JSON,
+	 * not only by the user that wrote it.
+	 */
+	public void testBinaryHasPermissionsOfJson() throws Exception {
+		String path = copy(JSON_PATH_BOARD);
+		if (!new File(path).toPath().getFileSystem().supportedFileAttributeViews().contains("posix")) {
+			return;
+		}
+		Files.setPosixFilePermissions(new File(path).toPath(), PosixFilePermissions.fromString("rw-r--r--"));
+		BinaryCache.loadBoard(path);
+		assertEquals(PosixFilePermissions.fromString("rw-r--r--"),
+				Files.getPosixFilePermissions(BinaryCache.binaryFile(path).toPath()));
+
+		String cards = copy(JSON_PATH_CARDS);
+		Files.setPosixFilePermissions(new File(cards).toPath(), PosixFilePermissions.fromString("rwxrw-r--"));
+		BinaryCache.loadCards(cards);
+		assertFalse(Files.getPosixFilePermissions(BinaryCache.binaryFile(cards).toPath())
+				.contains(PosixFilePermission.OWNER_EXECUTE));
+		assertTrue(Files.getPosixFilePermissions(BinaryCache.binaryFile(cards).toPath())
+				.contains(PosixFilePermission.OTHERS_READ));
+	}
+
+	/**
+	 * Tests that no binary form is written when the cache is turned off.
+	 */
+	public void testDisabled() throws Exception {
+		String path = copy(JSON_PATH_BOARD);
+		System.setProperty(BinaryCache.ENABLED_PROPERTY, "false");
+		try {
+			assertEquals(86, BinaryCache.loadBoard(path).size());
+			assertFalse(BinaryCache.binaryFile(path).exists());
+		} finally {
+			System.clearProperty(BinaryCache.ENABLED_PROPERTY);
+		}
+	}
+}
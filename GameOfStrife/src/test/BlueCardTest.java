@@ -1,9 +1,13 @@
 package test;
 
+import game.AutoDecisions;
 import game.BlueCard;
 import game.BlueCardInterface;
+import game.Board;
+import game.CardDecks;
+import game.GameEngine;
 import game.Tile;
-import gui.GameOfStrife;
+import static game.SymbolicConstants.*;
 import junit.framework.TestCase;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -33,7 +37,7 @@ public class BlueCardTest extends TestCase {
     private BlueCard selfMoneyCard;
     private BlueCardInterface changeStepsCard;
     private BlueCardInterface changeIncomeCard;
-    private GameOfStrife game;
+    private GameEngine game;
     private int originalDieFaces;
 
     /**
@@ -45,7 +49,11 @@ public class BlueCardTest extends TestCase {
             {PLAYER_NAME_1, PLAYER_COUNTRY_1}, 
             {PLAYER_NAME_2, PLAYER_COUNTRY_2}
         };
-        game = new GameOfStrife(2, 6, 4, testPlayerInfo);
+        Board board = new Board();
+        board.loadPathFromJson(JSON_PATH_BOARD);
+        CardDecks cardDecks = new CardDecks();
+        cardDecks.loadCardDeckFromJson(JSON_PATH_CARDS);
+        game = new GameEngine(board, cardDecks, 6, 4, testPlayerInfo, new AutoDecisions());
         originalDieFaces = game.getDie().getNumFaces();
 
         // Create test cards
@@ -118,6 +126,46 @@ public class BlueCardTest extends TestCase {
         assertEquals(0, selfMoneyCard.getValueChange()); // BlueCards use options for values
     }
 
+    /**
+     * Verifies that a card with an unknown method type or a missing value fails when it is created,
+     * instead of when it is drawn.
+     */
+    public void testMalformedCardFailsAtLoad() {
+        try {
+            createPlayerChoiceCard("flyToTheMoon");
+            fail("An unknown method type should be rejected");
+        } catch (IllegalArgumentException expected) {
+            // expected
+        }
+
+        List<Map<String, Object>> options = new ArrayList<>();
+        Map<String, Object> option = new HashMap<>();
+        option.put("methodType", METHOD_SELF_MONEY_CHANGE);
+        options.add(option);
+        try {
+            new BlueCard(CARD_DESCRIPTION, CARD_TYPE, CARD_CATEGORY_OPTIONS, "", options, new HashMap<>());
+            fail("An option without its value should be rejected");
+        } catch (IllegalArgumentException expected) {
+            // expected
+        }
+    }
+
+    /**
+     * Tests that the compiled option cards change the money, steps and income of the current player.
+     */
+    public void testOptionEffects() {
+        int resources = game.getCurrentPlayer().getResources();
+        int income = game.getCurrentPlayer().getIncome();
+
+        selfMoneyCard.executeCard(game);
+        changeStepsCard.executeCard(game);
+        changeIncomeCard.executeCard(game);
+
+        assertEquals(resources + 100, game.getCurrentPlayer().getResources());
+        assertEquals(income + 20, game.getCurrentPlayer().getIncome());
+        assertEquals(2, game.getEffectScheduler().size());
+    }
+
     /**
      * Resets the die face count to its original value after each test.
      */
@@ -0,0 +1,44 @@
+package test;
+
+import game.CompiledBoard;
+import game.Tile;
+import junit.framework.Assert;
+
+/**
+ * BoardAssert compares compiled boards in the tests that load, cache or generate
+ * the same board in different ways.
+ */
+public final class BoardAssert {
+	private BoardAssert() {
+	}
+
+	/**
+	 * Checks that two compiled boards have the same tiles, connections and start
+	 * tile, and that the next tiles of every Tile are the Tiles of the board.
+	 *
+	 * @param expected the board to compare with
+	 * @param actual   the board to check
+	 */
+	public static void assertSameBoard(CompiledBoard expected, CompiledBoard actual) {
+		Assert.assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			Tile a = expected.getTile(i);
+			Tile b = actual.getTile(i);
+			Assert.assertEquals(a.getID(), b.getID());
+			Assert.assertEquals(a.getType(), b.getType());
+			Assert.assertEquals(a.getX(), b.getX());
+			Assert.assertEquals(a.getY(), b.getY());
+			Assert.assertEquals(a.getWidth(), b.getWidth());
+			Assert.assertEquals(a.getHeight(), b.getHeight());
+			Assert.assertEquals(a.getVictory(), b.getVictory());
+			Assert.assertEquals(i, b.getIndex());
+			Assert.assertEquals(expected.getNextCount(i), actual.getNextCount(i));
+			Assert.assertEquals(a.getNextTiles().size(), b.getNextTiles().size());
+			for (int j = 0; j < expected.getNextCount(i); j++) {
+				Assert.assertEquals(expected.getNext(i, j), actual.getNext(i, j));
+				Assert.assertSame(actual.getTile(actual.getNext(i, j)), b.getNextTiles().get(j));
+			}
+		}
+		Assert.assertEquals(expected.getStartIndex(), actual.getStartIndex());
+	}
+}
@@ -0,0 +1,135 @@
+package test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import game.BinaryCache;
+import game.Board;
+import game.BoardGenerator;
+import game.BoardReport;
+import game.BoardReader;
+import game.BoardValidator;
+import game.CompiledBoard;
+import static test.BoardAssert.assertSameBoard;
+import junit.framework.TestCase;
+
+/**
+ * Unit tests for the BoardGenerator class, which makes boards of any size.
+ */
+public class BoardGeneratorTest extends TestCase {
+
+	/**
+	 * Reads the JSON a generator writes.
+	 */
+	private static CompiledBoard readJson(BoardGenerator generator) throws IOException {
+		StringWriter json = new StringWriter();
+		generator.write(json);
+		return BoardReader.read(new ByteArrayInputStream(json.toString().getBytes(StandardCharsets.UTF_8)));
+	}
+
+	/**
+	 * Tests that the JSON and the compiled board of a generator are the same
+	 * board, and that the same seed gives the same board.
+	 */
+	public void testJsonAndCompiledAreTheSame() throws IOException {
+		BoardGenerator generator = new BoardGenerator(5000, 42);
+		CompiledBoard board = generator.generate();
+		assertEquals(5000, board.size());
+		assertSameBoard(board, readJson(generator));
+		assertSameBoard(board, new BoardGenerator(5000, 42).generate());
+	}
+
+	/**
+	 * Tests that generated boards have no defects with any settings.
+	 */
+	public void testGeneratedBoardsAreValid() {
+		for (int tiles : new int[] { 2, 3, 10, 1000, 20000 }) {
+			BoardGenerator generator = new BoardGenerator(tiles, tiles);
+			generator.setBranchChance(0.5);
+			generator.setBranchFactor(4);
+			BoardReport report = BoardValidator.validate(generator.generate());
+			assertTrue(report.toString(), report.isValid());
+		}
+	}
+
+	/**
+	 * Tests the branch factor, the colour weights and the victory density.
+	 */
+	public void testSettings() {
+		BoardGenerator generator = new BoardGenerator(2000, 7);
+		generator.setBranchChance(1);
+		generator.setBranchFactor(3);
+		generator.setColourWeights(0, 0, 1, 0);
+		generator.setVictoryDensity(0);
+		CompiledBoard board = generator.generate();
+
+		assertEquals("start", board.getTile(board.getStartIndex()).getType());
+		boolean threeWay = false;
+		for (int i = 1; i < board.size(); i++) {
+			assertEquals("red", board.getTile(i).getType());
+			assertFalse(board.isVictory(i));
+			assertTrue(board.getNextCount(i) <= 3);
+			threeWay |= board.getNextCount(i) == 3;
+		}
+		assertTrue(threeWay);
+
+		generator.setVictoryDensity(1);
+		board = generator.generate();
+		for (int i = 1; i < board.size(); i++) {
+			assertTrue(board.isVictory(i));
+		}
+	}
+
+	/**
+	 * Tests that invalid settings are rejected.
+	 */
+	public void testInvalidSettings() {
+		try {
+			new BoardGenerator(1, 0);
+			fail("Expected an exception for a board of one tile");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+		BoardGenerator generator = new BoardGenerator(10, 0);
+		try {
+			generator.setBranchFactor(1);
+			fail("Expected an exception for a branch factor of 1");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+		try {
+			generator.setColourWeights(0, 0, 0, 0);
+			fail("Expected an exception without any colour");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+
+	/**
+	 * Tests that a written board file comes with its binary form and loads like a
+	 * board made by hand.
+	 */
+	public void testWriteFile() throws IOException {
+		File folder = Files.createTempDirectory("board-generator").toFile();
+		String path = new File(folder, "generated.json").getPath();
+		try {
+			BoardGenerator generator = new BoardGenerator(300, 3);
+			generator.writeFile(path);
+			assertTrue(BinaryCache.binaryFile(path).isFile());
+
+			Board board = new Board();
+			board.loadPathFromJson(path);
+			assertSameBoard(generator.generate(), board.getCompiledBoard());
+			assertTrue(BoardValidator.validate(path).isValid());
+		} finally {
+			for (File file : folder.listFiles()) {
+				file.delete();
+			}
+			folder.delete();
+		}
+	}
+}
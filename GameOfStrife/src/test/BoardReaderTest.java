@@ -0,0 +1,230 @@
+package test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import game.BoardReader;
+import game.CompiledBoard;
+import game.Tile;
+import junit.framework.TestCase;
+
+/**
+ * Unit tests for the BoardReader class, which reads a board file straight into
+ * a CompiledBoard.
+ */
+public class BoardReaderTest extends TestCase {
+
+	/**
+	 * Reads a board from JSON text.
+	 */
+	private static CompiledBoard read(String json) throws IOException {
+		return BoardReader.read(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	/**
+	 * Tests that every board in the data folder is read the same as with org.json.
+	 */
+	public void testSameAsJsonObjects() throws Exception {
+		for (String name : new String[] { "path1.json", "path2.json", "pathTest.json", "pathTestBlue.json",
+				"emptyPath.json" }) {
+			String path = "./data/" + name;
+			CompiledBoard board = BoardReader.read(path);
+			JSONArray tiles = new JSONObject(new String(Files.readAllBytes(Paths.get(path)), StandardCharsets.UTF_8))
+					.getJSONArray("path");
+			assertEquals(name, tiles.length(), board.size());
+
+			Map<Integer, Integer> indexById = new HashMap<>();
+			for (int i = 0; i < tiles.length(); i++) {
+				indexById.put(tiles.getJSONObject(i).getInt("ID"), i);
+			}
+			for (int i = 0; i < tiles.length(); i++) {
+				JSONObject data = tiles.getJSONObject(i);
+				Tile tile = board.getTile(i);
+				assertEquals(data.getInt("ID"), tile.getID());
+				assertEquals(data.getString("type"), tile.getType());
+				assertEquals(data.getInt("x_coord"), tile.getX());
+				assertEquals(data.getInt("y_coord"), tile.getY());
+				assertEquals(data.getInt("width"), tile.getWidth());
+				assertEquals(data.getInt("height"), tile.getHeight());
+				assertEquals(data.optBoolean("victory", false), tile.getVictory());
+
+				JSONArray next = data.optJSONArray("next");
+				int count = next == null ? 0 : next.length();
+				assertEquals(count, tile.getNextTiles().size());
+				assertEquals(count, board.getNextCount(i));
+				for (int j = 0; j < count; j++) {
+					int index = indexById.get(next.getInt(j));
+					assertSame(board.getTile(index), tile.getNextTiles().get(j));
+					assertEquals(index, board.getNext(i, j));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Tests next tiles later in the file, unknown next tiles, unknown keys and
+	 * values written as strings.
+	 */
+	public void testForwardReferencesAndUnknownKeys() throws Exception {
+		CompiledBoard board = read("{ \"name\": { \"nested\": [1, {\"a\": \"]}\"}] }, \"path\": [\n"
+				+ "{ \"next\": [2, 99, 1], \"ID\": 0, \"type\": \"start\", \"x_coord\": 1, \"y_coord\": \"2\","
+				+ " \"width\": 3.7, \"height\": -4, \"color\": null },\n"
+				+ "{ \"ID\": 1, \"type\": \"gr\\u0065en\", \"x_coord\": 0, \"y_coord\": 0, \"width\": 1e1,"
+				+ " \"height\": 10, \"victory\": true, \"next\": [] },\n"
+				+ "{ \"ID\": 2, \"type\": \"green\", \"x_coord\": 0, \"y_coord\": 0, \"width\": 10, \"height\": 10,"
+				+ " \"victory\": \"TRUE\", \"next\": [0] }\n" + "], \"extra\": false }");
+
+		assertEquals(3, board.size());
+		Tile start = board.getTile(0);
+		assertEquals(2, start.getY());
+		assertEquals(3, start.getWidth());
+		assertEquals(-4, start.getHeight());
+		assertEquals(2, start.getNextTiles().size());
+		assertSame(board.getTile(2), start.getNextTiles().get(0));
+		assertSame(board.getTile(1), start.getNextTiles().get(1));
+
+		assertEquals("green", board.getTile(1).getType());
+		assertSame(board.getTile(1).getType(), board.getTile(2).getType());
+		assertEquals(10, board.getTile(1).getWidth());
+		assertTrue(board.isVictory(1));
+		assertTrue(board.isVictory(2));
+		assertFalse(board.isVictory(0));
+		assertSame(start, board.getTile(2).getNextTiles().get(0));
+	}
+
+	/**
+	 * Tests that broken files are reported as JSON errors.
+	 */
+	public void testErrors() throws Exception {
+		String[] broken = { "", "{", "{ \"tiles\": [] }", "{ \"path\": [ { \"ID\": 0 } ] }",
+				"{ \"path\": [ { \"ID\": \"zero\", \"type\": \"start\", \"x_coord\": 0, \"y_coord\": 0, "
+						+ "\"width\": 1, \"height\": 1 } ] }",
+				"{ \"path\": [ { \"ID\": 0, \"type\": \"start\" ", "{ \"path\": [ } " };
+		for (String json : broken) {
+			try {
+				read(json);
+				fail("Should not read: " + json);
+			} catch (JSONException e) {
+				assertTrue(e.getMessage().contains("at byte"));
+			}
+		}
+	}
+
+	/**
+	 * Tests that a comma after the last member of an object or array is allowed,
+	 * as org.json allows it.
+	 */
+	public void testTrailingCommas() throws Exception {
+		String json = "{ \"path\": [\n"
+				+ "{ \"ID\": 0, \"type\": \"start\", \"x_coord\": 0, \"y_coord\": 0, \"width\": 1, \"height\": 1,"
+				+ " \"next\": [1,], },\n"
+				+ "{ \"ID\": 1, \"type\": \"green\", \"x_coord\": 0, \"y_coord\": 0, \"width\": 1, \"height\": 1,"
+				+ " \"next\": [0, 1 , ] },\n" + "], }";
+		assertEquals(2, new JSONObject(json).getJSONArray("path").length());
+
+		CompiledBoard board = read(json);
+		assertEquals(2, board.size());
+		assertEquals(1, board.getNextCount(0));
+		assertEquals(1, board.getNext(0, 0));
+		assertEquals(2, board.getNextCount(1));
+	}
+
+	/**
+	 * Tests that a "victory" that is not true or false is an error, as it is for
+	 * getBoolean of org.json, and that true and false are read in any case.
+	 */
+	public void testInvalidVictory() throws Exception {
+		String tile = "{ \"path\": [ { \"ID\": 0, \"type\": \"start\", \"x_coord\": 0, \"y_coord\": 0, "
+				+ "\"width\": 1, \"height\": 1, \"victory\": %s } ] }";
+		for (String value : new String[] { "\"maybe\"", "\"Ture\"", "1", "null", "[]", "{}", "truth" }) {
+			try {
+				read(String.format(tile, value));
+				fail("Should not read victory " + value);
+			} catch (JSONException e) {
+				assertTrue(e.getMessage().contains("at byte"));
+			}
+		}
+		assertTrue(read(String.format(tile, "\"True\"")).isVictory(0));
+		assertFalse(read(String.format(tile, "\"FALSE\"")).isVictory(0));
+		assertFalse(read(String.format(tile, "false")).isVictory(0));
+	}
+
+	/**
+	 * Tests that a key repeated in a tile is rejected, as org.json does, for the
+	 * keys of a tile as well as for unknown keys.
+	 */
+	public void testRepeatedTileKey() throws Exception {
+		String tile = "{ \"path\": [ { \"ID\": 0, \"type\": \"start\", \"x_coord\": 0, \"y_coord\": 0, "
+				+ "\"width\": 1, \"height\": 1, %s } ] }";
+		for (String repeated : new String[] { "\"ID\": 1", "\"next\": [], \"next\": [0]",
+				"\"victory\": true, \"victory\": false", "\"color\": 1, \"color\": 2" }) {
+			String json = String.format(tile, repeated);
+			try {
+				new JSONObject(json);
+				fail("org.json should not read " + repeated);
+			} catch (JSONException e) {
+				assertTrue(e.getMessage().contains("Duplicate key"));
+			}
+			try {
+				read(json);
+				fail("Should not read " + repeated);
+			} catch (JSONException e) {
+				assertTrue(e.getMessage().contains("Duplicate key"));
+			}
+		}
+		// The same unknown key in two tiles is no repeat
+		String other = "{ \"ID\": %d, \"type\": \"green\", \"x_coord\": 0, \"y_coord\": 0, \"width\": 1, "
+				+ "\"height\": 1, \"color\": \"red\" }";
+		String json = "{ \"path\": [" + String.format(other, 0) + ", " + String.format(other, 1) + "] }";
+		assertEquals(2, read(json).size());
+	}
+
+	/**
+	 * Tests that anything but whitespace after the board object is rejected.
+	 */
+	public void testTextAfterBoard() throws Exception {
+		String json = "{ \"path\": [] }";
+		assertEquals(0, read(json + " \r\n\t").size());
+		for (String trailing : new String[] { " garbage", "}", ", {}", " {}" }) {
+			try {
+				read(json + trailing);
+				fail("Should not read text after the board: " + trailing);
+			} catch (JSONException e) {
+				assertTrue(e.getMessage().contains("at byte"));
+			}
+		}
+	}
+
+	/**
+	 * Tests that a second "path" is rejected, as org.json does, instead of being
+	 * read over the tiles of the first.
+	 */
+	public void testDuplicatePath() throws Exception {
+		String tile = "{ \"ID\": %d, \"type\": \"green\", \"x_coord\": 0, \"y_coord\": 0, \"width\": 1, "
+				+ "\"height\": 1, \"next\": [] }";
+		String json = "{ \"path\": [" + String.format(tile, 0) + ", " + String.format(tile, 1) + ", "
+				+ String.format(tile, 2) + "], \"path\": [" + String.format(tile, 3) + ", " + String.format(tile, 4)
+				+ "] }";
+		try {
+			new JSONObject(json);
+			fail("org.json should not read a duplicate path");
+		} catch (JSONException e) {
+			assertTrue(e.getMessage().contains("Duplicate key \"path\""));
+		}
+		try {
+			read(json);
+			fail("Should not read a duplicate path");
+		} catch (JSONException e) {
+			assertTrue(e.getMessage().contains("Duplicate key \"path\""));
+		}
+	}
+}
@@ -0,0 +1,174 @@
+package test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import game.Board;
+import game.BoardReport;
+import game.BoardReport.Kind;
+import game.BoardValidator;
+import game.Tile;
+import junit.framework.TestCase;
+
+/**
+ * Unit tests for the BoardValidator class, which reports every defect of a
+ * board at once.
+ */
+public class BoardValidatorTest extends TestCase {
+	private File folder;
+
+	/**
+	 * Creates an empty folder for the boards of a test.
+	 */
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		folder = Files.createTempDirectory("board-validator").toFile();
+	}
+
+	/**
+	 * Deletes the folder of the test.
+	 */
+	@Override
+	protected void tearDown() throws Exception {
+		for (File file : folder.listFiles()) {
+			file.delete();
+		}
+		folder.delete();
+		super.tearDown();
+	}
+
+	/**
+	 * Writes a board with the given tiles, each written as "ID type next..." with
+	 * a trailing "!" on the type for a victory tile.
+	 */
+	private String write(String... tiles) throws IOException {
+		StringBuilder json = new StringBuilder("{ \"path\": [");
+		for (int i = 0; i < tiles.length; i++) {
+			String[] parts = tiles[i].split(" ");
+			String type = parts[1];
+			boolean victory = type.endsWith("!");
+			if (victory) {
+				type = type.substring(0, type.length() - 1);
+			}
+			json.append(i == 0 ? "" : ",").append("{ \"ID\": ").append(parts[0]).append(", \"type\": \"")
+					.append(type).append("\", \"x_coord\": 0, \"y_coord\": 0, \"width\": 10, \"height\": 10")
+					.append(", \"victory\": ").append(victory).append(", \"next\": [");
+			for (int j = 2; j < parts.length; j++) {
+				json.append(j == 2 ? "" : ",").append(parts[j]);
+			}
+			json.append("] }");
+		}
+		File file = new File(folder, "board.json");
+		Files.write(file.toPath(), json.append("] }").toString().getBytes(StandardCharsets.UTF_8));
+		return file.getPath();
+	}
+
+	/**
+	 * Tests that the boards of the game have no defects.
+	 */
+	public void testValidBoards() {
+		for (String name : new String[] { "path1.json", "pathTest.json", "pathTestBlue.json" }) {
+			BoardReport report = BoardValidator.validate("./data/" + name);
+			assertTrue(report.toString(), report.isValid());
+			assertTrue(report.getTileCount() > 0);
+		}
+	}
+
+	/**
+	 * Tests that a board with several defects reports all of them at once.
+	 */
+	public void testReportsEveryDefect() throws IOException {
+		String path = write("0 start 1", "1 green 2 7", "2 red", "3 blue 4", "4 white! 3", "3 green 1");
+		BoardReport report = BoardValidator.validate(path);
+
+		assertFalse(report.isValid());
+		assertEquals(6, report.getTileCount());
+		assertEquals(0, report.getCount(Kind.MISSING_START));
+		assertEquals(1, report.getCount(Kind.DANGLING_EDGE));
+		assertEquals(1, report.getCount(Kind.DUPLICATE_ID));
+		assertEquals(1, report.getCount(Kind.DEAD_END_BEFORE_VICTORY));
+		assertEquals(3, report.getCount(Kind.UNREACHABLE_TILE));
+		assertEquals(report.getTotalCount(), report.getDefects().size());
+
+		BoardReport.Defect dangling = report.getDefects(Kind.DANGLING_EDGE).get(0);
+		assertEquals(1, dangling.getTileId());
+		assertEquals(7, dangling.getOtherId());
+		assertEquals(1, dangling.getIndex());
+
+		BoardReport.Defect duplicate = report.getDefects(Kind.DUPLICATE_ID).get(0);
+		assertEquals(3, duplicate.getTileId());
+		assertEquals(3, duplicate.getIndex());
+
+		assertEquals(2, report.getDefects(Kind.DEAD_END_BEFORE_VICTORY).get(0).getTileId());
+	}
+
+	/**
+	 * Tests that a dead end after a victory tile is allowed, but one that can be
+	 * reached around the victory tile is not.
+	 */
+	public void testDeadEndsAndVictory() throws IOException {
+		BoardReport report = BoardValidator.validate(write("0 start 1", "1 green! 2", "2 red"));
+		assertTrue(report.toString(), report.isValid());
+
+		report = BoardValidator.validate(write("0 start 1 3", "1 green! 2", "2 red", "3 blue 2"));
+		assertEquals(1, report.getCount(Kind.DEAD_END_BEFORE_VICTORY));
+		assertEquals(2, report.getDefects().get(0).getTileId());
+	}
+
+	/**
+	 * Tests a board without a start tile and without a tile with ID 0.
+	 */
+	public void testMissingStart() throws IOException {
+		BoardReport report = BoardValidator.validate(write("1 green 2", "2 red! 1"));
+		assertEquals(1, report.getCount(Kind.MISSING_START));
+		assertEquals(0, report.getCount(Kind.UNREACHABLE_TILE));
+
+		report = BoardValidator.validate("./data/pathWithoutStartTile.json");
+		assertEquals(1, report.getCount(Kind.MISSING_START));
+	}
+
+	/**
+	 * Tests that a file that cannot be read is reported instead of exiting.
+	 */
+	public void testParseError() throws IOException {
+		BoardReport report = BoardValidator.validate("./data/doesNotExist.json");
+		assertEquals(1, report.getCount(Kind.PARSE_ERROR));
+
+		File file = new File(folder, "broken.json");
+		Files.write(file.toPath(), "{ \"path\": [ { \"ID\": 0 ".getBytes(StandardCharsets.UTF_8));
+		report = BoardValidator.validate(file.getPath());
+		assertEquals(1, report.getTotalCount());
+		assertEquals(1, report.getCount(Kind.PARSE_ERROR));
+	}
+
+	/**
+	 * Tests that only a limited number of defects of a kind get a message, while
+	 * all of them are counted.
+	 */
+	public void testManyDefectsAreCounted() throws IOException {
+		String[] tiles = new String[3001];
+		tiles[0] = "0 start!";
+		for (int i = 1; i < tiles.length; i++) {
+			tiles[i] = i + " green " + i;
+		}
+		BoardReport report = BoardValidator.validate(write(tiles));
+		assertEquals(3000, report.getCount(Kind.UNREACHABLE_TILE));
+		assertEquals(3000, report.getTotalCount());
+		assertTrue(report.getDefects().size() < 3000);
+		assertTrue(report.toString().contains("more"));
+	}
+
+	/**
+	 * Tests that the start tile of a board does not have to be the first tile.
+	 */
+	public void testStartTileNotFirst() throws IOException {
+		Board board = new MockUpBoard();
+		board.loadPathFromJson(write("1 green 2", "0 start 1", "2 red! 1"));
+		Tile start = board.getStartingTile();
+		assertEquals(0, start.getID());
+		assertTrue(board.validate().isValid());
+	}
+}
@@ -0,0 +1,125 @@
+package test;
+
+import java.util.List;
+
+import game.Card;
+import game.CardCatalog;
+import game.CardDeck;
+import game.CardDecks;
+import game.GameRandom;
+import static game.SymbolicConstants.*;
+import junit.framework.TestCase;
+
+/**
+ * Unit tests for the CardCatalog class, which holds the cards of a card file
+ * once for every game.
+ */
+public class CardCatalogTest extends TestCase {
+
+	/**
+	 * Tests that a card file is parsed only once and that every type of card is in
+	 * the catalog.
+	 */
+	public void testLoadedOnce() throws Exception {
+		CardCatalog catalog = CardCatalog.load(JSON_PATH_CARDS);
+		assertSame(catalog, CardCatalog.load(JSON_PATH_CARDS));
+		assertSame(catalog, CardCatalog.load("./data/../data/cards1.json"));
+
+		int total = 0;
+		for (String type : catalog.getTypes()) {
+			total += catalog.getCards(type).size();
+		}
+		assertEquals(catalog.size(), total);
+		assertNotNull(catalog.getCards(TYPE_GREEN));
+		assertNotNull(catalog.getCards(TYPE_BLUE));
+		assertNotNull(catalog.getCards(TYPE_RED));
+		assertNull(catalog.getCards("purple"));
+	}
+
+	/**
+	 * Tests that the decks of different games share the cards of the catalog, but
+	 * not the order in which they are drawn.
+	 */
+	public void testDecksShareCards() throws Exception {
+		CardDecks first = new CardDecks();
+		first.loadCardDeckFromJson(JSON_PATH_CARDS);
+		CardDecks second = new CardDecks(CardCatalog.load(JSON_PATH_CARDS));
+		assertSame(first.getCatalog(), second.getCatalog());
+
+		first.setRandom(new GameRandom(1));
+		second.setRandom(new GameRandom(2));
+		first.resetAllDecks();
+		second.resetAllDecks();
+
+		CardDeck firstDeck = first.getDeck(TYPE_RED);
+		CardDeck secondDeck = second.getDeck(TYPE_RED);
+		int size = firstDeck.size();
+		for (int i = 0; i < size; i++) {
+			secondDeck.draw(second.getRandom());
+		}
+		assertEquals(size, firstDeck.remaining());
+		assertEquals(0, secondDeck.remaining());
+
+		List<Card> cards = first.getCatalog().getCards(TYPE_RED);
+		for (Card card : second.getUsedCardsByType(TYPE_RED)) {
+			assertTrue(cards.contains(card));
+		}
+	}
+
+	/**
+	 * Tests that the catalog cannot be changed by a game.
+	 */
+	public void testCatalogIsImmutable() throws Exception {
+		CardCatalog catalog = CardCatalog.load(JSON_PATH_CARDS);
+		try {
+			catalog.getCards(TYPE_GREEN).clear();
+			fail("The cards of a catalog should not be changeable");
+		} catch (UnsupportedOperationException e) {
+			// expected
+		}
+		try {
+			catalog.getTypes().clear();
+			fail("The types of a catalog should not be changeable");
+		} catch (UnsupportedOperationException e) {
+			// expected
+		}
+	}
+
+	/**
+	 * Tests parsing a catalog from text.
+	 */
+	public void testParse() {
+		CardCatalog catalog = CardCatalog.parse("{ \"cards\": [ { \"type\": \"green\", \"description\": \"Found money\", "
+				+ "\"valueChange\": 10 } ] }");
+		assertEquals(1, catalog.size());
+		assertEquals("Found money", catalog.getCards(TYPE_GREEN).get(0).getDescription());
+		assertEquals(10, catalog.getCards(TYPE_GREEN).get(0).getValueChange());
+	}
+
+	/**
+	 * Tests that a card of an unknown type is rejected instead of skipped.
+	 */
+	public void testParseUnknownType() {
+		try {
+			CardCatalog.parse("{ \"cards\": [ { \"type\": \"purple\", \"description\": \"Lost\" } ] }");
+			fail("A card of an unknown type should not be parsed");
+		} catch (IllegalArgumentException e) {
+			assertEquals("Unknown card type purple", e.getMessage());
+		}
+	}
+
+	/**
+	 * Tests that an option whose methodType is not a string is rejected with an
+	 * IllegalArgumentException, like any other invalid card.
+	 */
+	public void testParseInvalidMethodType() {
+		try {
+			CardCatalog.parse("{ \"cards\": [ { \"type\": \"blue\", \"description\": \"Choose\", "
+					+ "\"choiceType\": \"options\", \"options\": [ { \"description\": \"Earn\", "
+					+ "\"methodType\": 7, \"valueChange\": 150 } ] } ] }");
+			fail("An option with a numeric methodType should not be parsed");
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid methodType: 7", e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,104 @@
+package test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import game.Card;
+import game.CardDeck;
+import game.GameRandom;
+import game.GreenCard;
+import static game.SymbolicConstants.*;
+import junit.framework.TestCase;
+
+/**
+ * Unit tests for the CardDeck class, a deck of cards in one array with a draw
+ * cursor.
+ */
+public class CardDeckTest extends TestCase {
+	private static final int CARDS = 7;
+
+	private List<Card> cards;
+	private CardDeck deck;
+	private GameRandom random;
+
+	/**
+	 * Creates a deck of green cards before each test.
+	 */
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		cards = new ArrayList<>();
+		for (int i = 0; i < CARDS; i++) {
+			cards.add(new GreenCard("Card " + i, i, TYPE_GREEN));
+		}
+		deck = new CardDeck(cards);
+		random = new GameRandom(5L);
+	}
+
+	/**
+	 * Tests that every card is drawn exactly once before the deck is reshuffled.
+	 */
+	public void testDrawEveryCardOncePerRound() {
+		deck.reset(random);
+		for (int round = 0; round < 3; round++) {
+			Set<Card> drawn = new HashSet<>();
+			for (int i = 0; i < CARDS; i++) {
+				assertTrue("A card should not be drawn twice in one round", drawn.add(deck.draw(random)));
+			}
+			assertEquals(0, deck.remaining());
+			assertEquals(CARDS, deck.getDrawnCards().size());
+			assertTrue(drawn.containsAll(cards));
+		}
+	}
+
+	/**
+	 * Tests that a copy can be drawn from without changing the original deck.
+	 */
+	public void testCopyIsIndependent() {
+		deck.reset(random);
+		deck.draw(random);
+		CardDeck copy = deck.copy();
+		GameRandom copyRandom = new GameRandom(9L);
+		GameRandom deckRandom = new GameRandom(9L);
+
+		List<Card> fromCopy = new ArrayList<>();
+		for (int i = 0; i < CARDS * 2; i++) {
+			fromCopy.add(copy.draw(copyRandom));
+		}
+		assertEquals(CARDS - 1, deck.remaining());
+		for (int i = 0; i < CARDS * 2; i++) {
+			assertSame(fromCopy.get(i), deck.draw(deckRandom));
+		}
+	}
+
+	/**
+	 * Tests that a saved state can be restored and that a wrong state is
+	 * rejected.
+	 */
+	public void testSetState() {
+		deck.reset(random);
+		deck.draw(random);
+		int[] order = deck.getOrder();
+		int cursor = deck.getCursor();
+		Card next = deck.draw(random);
+
+		deck.setState(order, cursor);
+		assertSame(next, deck.draw(random));
+
+		try {
+			deck.setState(new int[CARDS], 0);
+			fail("An order that is not a permutation should be rejected");
+		} catch (IllegalArgumentException expected) {
+			// expected
+		}
+	}
+
+	/**
+	 * Tests that an empty deck draws nothing.
+	 */
+	public void testEmptyDeck() {
+		assertNull(new CardDeck(new ArrayList<Card>()).draw(random));
+	}
+}
@@ -1,6 +1,9 @@
 package test;
 
+import game.BoardReader;
 import game.CardDecks;
+import game.CompiledBoard;
+import game.Tile;
 import game.Card;
 import junit.framework.TestCase;
 
@@ -132,4 +135,20 @@ public class CardDecksTest extends TestCase {
 		assertTrue("All red cards should still be present after shuffle",
 				shuffledRedCards.containsAll(originalRedCards));
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Tests that the deck for a tile of a compiled board, found by its type code,
+	 * is the deck of its type name, and that a tile built by hand finds the same
+	 * deck.
+	 */
+	public void testGetDeckForTile() throws Exception {
+		CompiledBoard board = BoardReader.read(JSON_PATH_BOARD);
+		for (int i = 0; i < board.size(); i++) {
+			Tile tile = board.getTile(i);
+			assertSame("Tile " + tile.getID() + " should draw from the deck of its type",
+					cardDecks.getDeck(tile.getType()), cardDecks.getDeckForTile(tile));
+		}
+		assertSame("A tile built by hand should draw from the deck of its type", cardDecks.getDeck(BLUE),
+				cardDecks.getDeckForTile(new Tile(1, BLUE, 0, 0, 10, 10, false)));
+	}
+}
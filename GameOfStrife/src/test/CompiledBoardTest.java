@@ -0,0 +1,120 @@
+package test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import game.Board;
+import game.BoardReader;
+import game.CompiledBoard;
+import game.Tile;
+import static game.SymbolicConstants.*;
+import junit.framework.TestCase;
+
+/**
+ * Unit tests for the CompiledBoard class, which holds a loaded board in int
+ * arrays.
+ */
+public class CompiledBoardTest extends TestCase {
+	private Board board;
+	private CompiledBoard compiled;
+
+	/**
+	 * Loads the standard board before each test.
+	 */
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		board = new Board();
+		board.loadPathFromJson(JSON_PATH_BOARD);
+		compiled = board.getCompiledBoard();
+	}
+
+	/**
+	 * Tests that every tile can be found by its ID and has the right index.
+	 */
+	public void testLookupEveryTile() {
+		List<Tile> tiles = board.getAllTiles();
+		assertEquals(tiles.size(), compiled.size());
+		for (int i = 0; i < tiles.size(); i++) {
+			Tile tile = tiles.get(i);
+			assertEquals(i, tile.getIndex());
+			assertEquals(i, compiled.indexOf(tile.getID()));
+			assertSame(tile, compiled.findTileByID(tile.getID()));
+			assertSame(tile, board.findTileByID(tile.getID()));
+			assertEquals(tile.getVictory(), compiled.isVictory(i));
+			assertEquals(CompiledBoard.typeCode(tile.getType()), compiled.getTypeCode(i));
+		}
+	}
+
+	/**
+	 * Tests that the compiled connections are the same as the next tiles of every
+	 * tile.
+	 */
+	public void testNextTiles() {
+		for (Tile tile : board.getAllTiles()) {
+			int index = tile.getIndex();
+			assertEquals(tile.getNextTiles().size(), compiled.getNextCount(index));
+			for (int j = 0; j < tile.getNextTiles().size(); j++) {
+				assertSame(tile.getNextTiles().get(j), compiled.getTile(compiled.getNext(index, j)));
+			}
+		}
+	}
+
+	/**
+	 * Tests that the start index points to the starting tile and that unknown IDs
+	 * are not found.
+	 */
+	public void testStartAndUnknownId() {
+		assertEquals(CompiledBoard.TYPE_START, compiled.getTypeCode(compiled.getStartIndex()));
+		assertEquals(-1, compiled.indexOf(-12345));
+		assertNull(compiled.findTileByID(Integer.MAX_VALUE));
+	}
+
+	/**
+	 * Tests the lookup of very sparse IDs, which uses the hash table instead of a
+	 * direct table.
+	 */
+	public void testSparseIds() {
+		List<Tile> tiles = new ArrayList<>();
+		int[] ids = { 0, 7, 1000000, -50, Integer.MAX_VALUE, 123456789 };
+		for (int id : ids) {
+			tiles.add(new Tile(id, "green", 0, 0, 10, 10, false));
+		}
+		for (int i = 0; i < tiles.size() - 1; i++) {
+			tiles.get(i).addNextTile(tiles.get(i + 1));
+		}
+
+		CompiledBoard sparse = new CompiledBoard(tiles);
+		for (int i = 0; i < ids.length; i++) {
+			assertEquals(i, sparse.indexOf(ids[i]));
+		}
+		assertEquals(-1, sparse.indexOf(8));
+		assertEquals(0, sparse.getStartIndex());
+		assertEquals(0, sparse.getNextCount(ids.length - 1));
+		assertEquals(2, sparse.getNext(1, 0));
+	}
+
+	/**
+	 * Tests that a board read from a file creates its Tile objects only when they
+	 * are asked for, always gives the same Tile for an index, and links the next
+	 * tiles to those same Tiles.
+	 */
+	public void testTilesCreatedOnDemand() throws Exception {
+		CompiledBoard board = BoardReader.read(JSON_PATH_BOARD);
+		int start = board.getStartIndex();
+		Tile tile = board.getTile(start);
+		assertSame(tile, board.getTile(start));
+		assertSame(tile, board.getTiles().get(start));
+		assertSame(tile, board.findTileByID(board.getId(start)));
+		assertEquals(start, tile.getIndex());
+		assertEquals(board.getX(start), tile.getX());
+		assertEquals(board.getTypeName(start), tile.getType());
+
+		assertEquals(board.getNextCount(start), tile.getNextTiles().size());
+		for (int j = 0; j < board.getNextCount(start); j++) {
+			assertSame(board.getTile(board.getNext(start, j)), tile.getNextTiles().get(j));
+		}
+		assertSame(tile.getNextTiles(), tile.getNextTiles());
+		assertEquals(board.size(), board.getTiles().size());
+	}
+}
@@ -2,6 +2,7 @@ package test;
 
 import junit.framework.TestCase;
 import game.Die;
+import game.GameRandom;
 
 public class DieTest extends TestCase {
 
@@ -35,6 +36,19 @@ public class DieTest extends TestCase {
 		}
 	}
 
+	/**
+	 * Test that two dice with the same seed roll the same values
+	 */
+	public void testSameSeedSameRolls() {
+		Die first = new Die(6, new GameRandom(99L));
+		Die second = new Die(6, new GameRandom(99L));
+		for (int i = 0; i < 50; i++) {
+			first.roll();
+			second.roll();
+			assertEquals(first.getValue(), second.getValue());
+		}
+	}
+
 	/**
 	 * Test that a die with 0 or negative faces defaults to 1 on roll.
 	 */
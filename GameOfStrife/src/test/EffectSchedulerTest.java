@@ -0,0 +1,75 @@
+package test;
+
+import game.ActiveEffect;
+import game.AutoDecisions;
+import game.Board;
+import game.CardDecks;
+import game.EffectScheduler;
+import game.GameEngine;
+import game.Player;
+import game.RedCard;
+import static game.SymbolicConstants.*;
+import junit.framework.TestCase;
+
+/**
+ * Unit tests for the EffectScheduler class, which removes card effects when
+ * they expire.
+ */
+public class EffectSchedulerTest extends TestCase {
+	private GameEngine game;
+	private EffectScheduler scheduler;
+	private RedCard incomeCard;
+
+	/**
+	 * Sets up a headless game with two players before each test.
+	 */
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		String[][] testPlayerInfo = { { "Test Player 1", "netherlands" }, { "Test Player 2", "morocco" } };
+		Board board = new Board();
+		board.loadPathFromJson(JSON_PATH_BOARD);
+		CardDecks cardDecks = new CardDecks();
+		cardDecks.loadCardDeckFromJson(JSON_PATH_CARDS);
+		game = new GameEngine(board, cardDecks, 6, 3, testPlayerInfo, new AutoDecisions());
+		scheduler = game.getEffectScheduler();
+		incomeCard = new RedCard("Income change", 10, TYPE_RED, INCOME_CHANGE, 1);
+	}
+
+	/**
+	 * Tests that effects are removed exactly at their expiry turn, in order.
+	 */
+	public void testAdvanceRemovesExpiredEffects() {
+		Player player = game.getCurrentPlayer();
+		int income = player.getIncome();
+		player.adjustIncome(30);
+		scheduler.schedule(incomeCard, player, ActiveEffect.Kind.INCOME, 10, 3);
+		scheduler.schedule(incomeCard, player, ActiveEffect.Kind.INCOME, 20, 1);
+
+		assertEquals(1, scheduler.getActiveEffects().get(0).getExpiryTurn());
+		scheduler.advance(game);
+		assertEquals(1, scheduler.size());
+		assertEquals(income + 10, player.getIncome());
+
+		scheduler.advance(game);
+		assertEquals(1, scheduler.size());
+		scheduler.advance(game);
+		assertEquals(0, scheduler.size());
+		assertEquals(income, player.getIncome());
+	}
+
+	/**
+	 * Tests that taking a turn back makes every effect last one turn longer.
+	 */
+	public void testRewindDelaysExpiry() {
+		Player player = game.getCurrentPlayer();
+		player.adjustIncome(10);
+		scheduler.schedule(incomeCard, player, ActiveEffect.Kind.INCOME, 10, 1);
+
+		scheduler.rewind();
+		scheduler.advance(game);
+		assertEquals(1, scheduler.size());
+		scheduler.advance(game);
+		assertEquals(0, scheduler.size());
+	}
+}
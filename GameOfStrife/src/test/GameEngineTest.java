@@ -0,0 +1,127 @@
+package test;
+
+import game.AutoDecisions;
+import game.GameEngine;
+import game.GameRandom;
+import game.Player;
+import static test.TestGames.*;
+import junit.framework.TestCase;
+
+/**
+ * Unit tests for the GameEngine class, playing turns and complete games without
+ * any user interface.
+ */
+public class GameEngineTest extends TestCase {
+	private GameEngine game;
+
+	/**
+	 * Sets up a headless game with four players before each test.
+	 */
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		game = newGame(new GameRandom());
+	}
+
+	/**
+	 * Creates a headless game with four players on freshly loaded decks.
+	 *
+	 * @param random the random source of the game
+	 * @return the new game
+	 */
+	private GameEngine newGame(GameRandom random) {
+		return TestGames.newGame(4, 6, 2, random);
+	}
+
+	/**
+	 * Tests that a new game starts with player 1, who has received the first
+	 * income, and that a victory tile has been chosen.
+	 */
+	public void testNewGame() {
+		assertEquals(4, game.getNumberOfPlayers());
+		assertEquals(1, game.getCurrentPlayerTurn());
+		assertSame(game.getPlayers().get(0), game.getCurrentPlayer());
+		assertEquals(550, game.getCurrentPlayer().getResources());
+		assertNotNull(game.getVictoryTile());
+		assertTrue(game.getVictoryTile().getVictory());
+		assertFalse(game.isGameOver());
+	}
+
+	/**
+	 * Tests that playing a turn rolls the die and counts the turn.
+	 */
+	public void testPlayTurn() {
+		game.playTurn();
+		assertEquals(1, game.getTurnsPlayed());
+		assertTrue(game.getDie().getValue() >= 1 && game.getDie().getValue() <= 6);
+	}
+
+	/**
+	 * Tests that nextTurn passes the turn to the next player and pays their
+	 * income.
+	 */
+	public void testNextTurn() {
+		Player second = game.getPlayers().get(1);
+		int resources = second.getResources();
+		game.nextTurn();
+		assertEquals(2, game.getCurrentPlayerTurn());
+		assertSame(second, game.getCurrentPlayer());
+		assertEquals(resources + second.getIncome(), second.getResources());
+	}
+
+	/**
+	 * Tests that a complete game can be played headless and ends with a winner
+	 * that has the required number of victory points.
+	 */
+	public void testPlayGame() {
+		Player winner = game.playGame(MAX_TURNS);
+		assertNotNull("The game should have a winner", winner);
+		assertTrue(game.isGameOver());
+		assertSame(winner, game.getWinner());
+		assertEquals(2, winner.getVictoryPoints());
+	}
+
+	/**
+	 * Tests that no turns are played anymore once the game is over.
+	 */
+	public void testPlayGameStopsWhenOver() {
+		game.playGame(MAX_TURNS);
+		int turns = game.getTurnsPlayed();
+		game.playGame(MAX_TURNS);
+		assertEquals(turns, game.getTurnsPlayed());
+	}
+
+	/**
+	 * Tests that two games with the same seed play out exactly the same.
+	 */
+	public void testSameSeedSameGame() {
+		GameEngine first = newGame(new GameRandom(1234L));
+		GameEngine second = newGame(new GameRandom(1234L));
+		assertEquals(first.getVictoryTile().getID(), second.getVictoryTile().getID());
+
+		first.playGame(MAX_TURNS);
+		second.playGame(MAX_TURNS);
+		assertEquals(first.getTurnsPlayed(), second.getTurnsPlayed());
+		assertEquals(first.getPlayers().indexOf(first.getWinner()), second.getPlayers().indexOf(second.getWinner()));
+		for (int i = 0; i < first.getNumberOfPlayers(); i++) {
+			assertEquals(first.getPlayers().get(i).getResources(), second.getPlayers().get(i).getResources());
+			assertEquals(first.getPlayers().get(i).getIncome(), second.getPlayers().get(i).getIncome());
+		}
+	}
+
+	/**
+	 * Tests that a new game on the board and decks of a finished game, like a
+	 * restart of the game window, starts exactly like a game on freshly loaded
+	 * ones.
+	 */
+	public void testRestartOnSameBoardAndDecks() {
+		game.playGame(MAX_TURNS);
+		GameRandom random = new GameRandom(99L);
+		GameEngine restarted = new GameEngine(game.getBoard(), game.getCardDecks(), 6, 2, playerInfo(4),
+				new AutoDecisions(random.split()), random);
+		GameEngine fresh = newGame(new GameRandom(99L));
+		assertEquals(fresh.snapshot(), restarted.snapshot());
+		assertEquals(0, restarted.getEffectScheduler().size());
+		assertFalse(restarted.isGameOver());
+	}
+}
@@ -0,0 +1,135 @@
+package test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+import game.AutoDecisions;
+import game.CardDeck;
+import game.GameEngine;
+import game.GameReplay;
+import game.GameSnapshot;
+import game.ReplayResult;
+import static game.SymbolicConstants.*;
+import static test.TestGames.*;
+import junit.framework.TestCase;
+
+/**
+ * Unit tests for the GameReplay class, which replays archived games and checks
+ * that they play out exactly like they did.
+ */
+public class GameReplayTest extends TestCase {
+	private static final int GAMES = 20;
+
+	private File directory;
+	private GameReplay replay;
+	private List<String> journals;
+
+	/**
+	 * Records a set of games in a temporary directory before each test.
+	 */
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		directory = Files.createTempDirectory("replays").toFile();
+		replay = new GameReplay(JSON_PATH_BOARD, JSON_PATH_CARDS);
+		journals = replay.record(directory.getPath(), GAMES, 4, 42);
+	}
+
+	/**
+	 * Deletes the recorded games after each test.
+	 */
+	@Override
+	protected void tearDown() throws Exception {
+		for (File file : directory.listFiles()) {
+			file.delete();
+		}
+		directory.delete();
+		super.tearDown();
+	}
+
+	/**
+	 * Tests that recorded games replay exactly, with the same checksum on any
+	 * number of threads.
+	 */
+	public void testReplay() {
+		assertEquals(GAMES, journals.size());
+		ReplayResult result = replay.verify(journals, 1);
+		assertEquals(result.getFailures().toString(), GAMES, result.getGamesReplayed());
+		assertTrue(result.getTurnsReplayed() > GAMES);
+
+		ReplayResult parallel = replay.verify(journals, 3);
+		assertEquals(GAMES, parallel.getGamesReplayed());
+		assertEquals(result.getTurnsReplayed(), parallel.getTurnsReplayed());
+		assertEquals(result.getChecksum(), parallel.getChecksum());
+	}
+
+	/**
+	 * Tests that a game whose state differs from its journal is reported with the
+	 * turn where it differs, and the other games still replay.
+	 */
+	public void testDriftIsReported() throws IOException {
+		// Change the state hash at the end of the last turn of one game
+		byte[] data = Files.readAllBytes(Paths.get(journals.get(3)));
+		int last = data.length - 1;
+		while (data[last] == 0) {
+			last--;
+		}
+		data[last] = (byte) (data[last] == 0x7f ? 0x7e : data[last] + 1);
+		Files.write(Paths.get(journals.get(3)), data);
+
+		ReplayResult result = replay.verify(journals, 2);
+		assertEquals(GAMES - 1, result.getGamesReplayed());
+		List<String> failures = result.getFailures();
+		assertEquals(1, failures.size());
+		assertTrue(failures.get(0), failures.get(0).startsWith(journals.get(3)));
+		assertTrue(failures.get(0), failures.get(0).contains("differs from the journal at turn"));
+	}
+
+	/**
+	 * Tests that a different card order is reported at the first turn, even when
+	 * the swapped cards are not drawn yet, as it is the kind of drift a change in
+	 * the shuffle causes.
+	 */
+	public void testCardOrderDriftIsReported() throws IOException {
+		// Swap the last two red cards in the snapshot at the start of one game
+		byte[] data = Files.readAllBytes(Paths.get(journals.get(5)));
+		int length = ByteBuffer.wrap(data, 5, 4).getInt();
+		GameSnapshot snapshot = GameSnapshot.fromByteArray(Arrays.copyOfRange(data, 9, 9 + length));
+		GameEngine game = new GameEngine(loadBoard(), loadCardDecks(), snapshot, new AutoDecisions());
+		CardDeck deck = game.getCardDecks().getDeck(TYPE_RED);
+		int[] order = deck.getOrder();
+		int last = order.length - 1;
+		assertTrue(deck.getCursor() < last - 1);
+		int swapped = order[last];
+		order[last] = order[last - 1];
+		order[last - 1] = swapped;
+		deck.setState(order, deck.getCursor());
+
+		byte[] changed = game.snapshot().toByteArray();
+		assertEquals(length, changed.length);
+		System.arraycopy(changed, 0, data, 9, length);
+		Files.write(Paths.get(journals.get(5)), data);
+
+		ReplayResult result = replay.verify(journals, 2);
+		assertEquals(GAMES - 1, result.getGamesReplayed());
+		List<String> failures = result.getFailures();
+		assertEquals(1, failures.size());
+		assertTrue(failures.get(0), failures.get(0).startsWith(journals.get(5)));
+		assertTrue(failures.get(0), failures.get(0).contains("differs from the journal at turn 1"));
+	}
+
+	/**
+	 * Tests that a file that is not a journal is reported as a failure.
+	 */
+	public void testOtherFileIsReported() {
+		journals.add(JSON_PATH_CARDS);
+		ReplayResult result = replay.verify(journals, 1);
+		assertEquals(GAMES, result.getGamesReplayed());
+		assertEquals(1, result.getFailures().size());
+	}
+}
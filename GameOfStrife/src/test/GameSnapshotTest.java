@@ -0,0 +1,187 @@
+package test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import game.AutoDecisions;
+import game.CompiledBoard;
+import game.GameEngine;
+import game.GameRandom;
+import game.GameSnapshot;
+import game.Player;
+import static test.TestGames.*;
+import junit.framework.TestCase;
+
+/**
+ * Unit tests for the GameSnapshot class, which saves the complete state of a
+ * game in a compact binary form.
+ */
+public class GameSnapshotTest extends TestCase {
+	private GameEngine game;
+
+	/**
+	 * Sets up a headless game with four players that has played some turns.
+	 */
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		game = newGame(4, 6, 5, new GameRandom(17));
+		for (int i = 0; i < 40 && !game.isGameOver(); i++) {
+			game.playTurn();
+		}
+	}
+
+	/**
+	 * Creates a game on new decks from the same files that continues from a
+	 * snapshot, with decisions from a fixed seed.
+	 */
+	private GameEngine resume(GameSnapshot snapshot) {
+		return new GameEngine(game.getBoard(), loadCardDecks(), snapshot, new AutoDecisions(new GameRandom(3)));
+	}
+
+	/**
+	 * Tests that a restored game has the same state as the original.
+	 */
+	public void testRoundTrip() {
+		GameSnapshot snapshot = game.snapshot();
+		GameEngine restored = resume(GameSnapshot.fromByteArray(snapshot.toByteArray()));
+
+		assertEquals(snapshot, restored.snapshot());
+		assertEquals(game.getCurrentPlayerTurn(), restored.getCurrentPlayerTurn());
+		assertEquals(game.getTurnsPlayed(), restored.getTurnsPlayed());
+		assertEquals(game.getNumWinPoints(), restored.getNumWinPoints());
+		assertSame(game.getVictoryTile(), restored.getVictoryTile());
+		assertEquals(game.getDie().getValue(), restored.getDie().getValue());
+		for (int i = 0; i < game.getNumberOfPlayers(); i++) {
+			Player original = game.getPlayers().get(i);
+			Player copy = restored.getPlayers().get(i);
+			assertEquals(original.getName(), copy.getName());
+			assertEquals(original.getCountry(), copy.getCountry());
+			assertEquals(original.getState(), copy.getState());
+			assertEquals(original.getResources(), copy.getResources());
+			assertEquals(original.getIncome(), copy.getIncome());
+			assertEquals(original.getStepsBonus(), copy.getStepsBonus());
+			assertEquals(original.getVictoryPoints(), copy.getVictoryPoints());
+			assertSame(original.getCurrentTile(), copy.getCurrentTile());
+		}
+		assertEquals(game.getEffectScheduler().getActiveEffects().size(),
+				restored.getEffectScheduler().getActiveEffects().size());
+		assertTrue("A snapshot should be compact, was " + snapshot.size() + " bytes", snapshot.size() < 4096);
+	}
+
+	/**
+	 * Tests that two games restored from the same snapshot play on exactly the
+	 * same with the same decisions.
+	 */
+	public void testRestoredGamesPlayOnTheSame() {
+		GameSnapshot snapshot = game.snapshot();
+		GameEngine first = resume(snapshot);
+		GameEngine second = resume(snapshot);
+
+		Player firstWinner = first.playGame(MAX_TURNS);
+		Player secondWinner = second.playGame(MAX_TURNS);
+		assertEquals(first.getTurnsPlayed(), second.getTurnsPlayed());
+		assertEquals(first.getPlayers().indexOf(firstWinner), second.getPlayers().indexOf(secondWinner));
+		assertEquals(first.snapshot(), second.snapshot());
+	}
+
+	/**
+	 * Tests that a copy can be played ahead without changing the original game.
+	 */
+	public void testCopyIsIndependent() {
+		GameSnapshot before = game.snapshot();
+		GameEngine copy = game.copy(new AutoDecisions(new GameRandom(5)));
+		assertEquals(before, copy.snapshot());
+
+		copy.playGame(MAX_TURNS);
+		assertTrue(copy.isGameOver());
+		assertEquals(before, game.snapshot());
+	}
+
+	/**
+	 * Tests that copies of a game can be played at the same time on a
+	 * ForkJoinPool, where they share the board of the game, and that they play
+	 * the same games as on this thread and end on the Tiles of that board.
+	 */
+	public void testCopiesOnForkJoinPool() throws Exception {
+		GameSnapshot before = game.snapshot();
+		List<GameEngine> copies = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			copies.add(game.copy(new AutoDecisions(new GameRandom(i))));
+		}
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			List<ForkJoinTask<Player>> tasks = new ArrayList<>();
+			for (GameEngine copy : copies) {
+				tasks.add(pool.submit(() -> copy.playGame(MAX_TURNS)));
+			}
+			for (ForkJoinTask<Player> task : tasks) {
+				task.get();
+			}
+		} finally {
+			pool.shutdown();
+		}
+
+		CompiledBoard board = game.getBoard().getCompiledBoard();
+		for (int i = 0; i < copies.size(); i++) {
+			GameEngine copy = copies.get(i);
+			assertTrue(copy.isGameOver());
+			for (Player player : copy.getPlayers()) {
+				assertSame(board.getTile(player.getCurrentTile().getIndex()), player.getCurrentTile());
+			}
+			GameEngine again = game.copy(new AutoDecisions(new GameRandom(i)));
+			again.playGame(MAX_TURNS);
+			assertEquals(again.snapshot(), copy.snapshot());
+		}
+		assertEquals(before, game.snapshot());
+	}
+
+	/**
+	 * Tests that a snapshot can be saved to a file and loaded again.
+	 */
+	public void testSaveAndLoad() throws IOException {
+		File file = File.createTempFile("game", ".save");
+		try {
+			GameSnapshot snapshot = game.snapshot();
+			snapshot.save(file.getPath());
+			assertEquals(snapshot.size(), file.length());
+
+			GameSnapshot loaded = GameSnapshot.load(file.getPath());
+			assertEquals(snapshot, loaded);
+			assertEquals(5, loaded.getNumWinPoints());
+			assertEquals("morocco", loaded.getPlayerInfo()[1][1]);
+		} finally {
+			file.delete();
+		}
+	}
+
+	/**
+	 * Tests that damaged snapshots are rejected and leave the game as it was.
+	 */
+	public void testDamagedSnapshotIsRejected() {
+		byte[] data = game.snapshot().toByteArray();
+		try {
+			GameSnapshot.fromByteArray(new byte[] { 1, 2, 3 });
+			fail("Expected an exception for bytes that are not a snapshot");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+
+		GameSnapshot before = game.snapshot();
+		for (int length = 0; length < data.length; length += 7) {
+			byte[] truncated = Arrays.copyOf(data, length);
+			try {
+				GameSnapshot.fromByteArray(truncated).restore(game);
+				fail("Expected an exception for a snapshot of " + length + " bytes");
+			} catch (IllegalArgumentException e) {
+				// expected
+			}
+		}
+		assertEquals(before, game.snapshot());
+	}
+}
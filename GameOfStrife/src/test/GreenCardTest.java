@@ -1,8 +1,12 @@
 package test;
 
+import game.AutoDecisions;
+import game.Board;
+import game.CardDecks;
+import game.GameEngine;
 import game.GreenCard;
+import static game.SymbolicConstants.*;
 import junit.framework.TestCase;
-import gui.GameOfStrife;
 
 /**
  * Unit tests for the GreenCard class.
@@ -11,17 +15,21 @@ public class GreenCardTest extends TestCase {
 	private GreenCard card1;
 	private GreenCard card2;
 	private GreenCard card3;
-	private GameOfStrife game;
+	private GameEngine game;
 
 	/**
-	 * Sets up the test environment before each test. Initializes a GameofStrife
+	 * Sets up the test environment before each test. Initializes a GameEngine
 	 * instance with players and several GreenCard instances to simulate both
 	 * positive and negative effects.
 	 */
 	public void setUp() throws Exception {
 		String[][] testPlayerInfo = { { "Test Player 1", "netherlands" }, { "Test Player 2", "morocco" },
 				{ "Test Player 3", "friesland" }, { "Test Player 4", "hungary" } };
-		game = new GameOfStrife(4, 6, 4, testPlayerInfo);
+		Board board = new Board();
+		board.loadPathFromJson(JSON_PATH_BOARD);
+		CardDecks cardDecks = new CardDecks();
+		cardDecks.loadCardDeckFromJson(JSON_PATH_CARDS);
+		game = new GameEngine(board, cardDecks, 6, 4, testPlayerInfo, new AutoDecisions());
 
 		card1 = new GreenCard("You won the beauty contest!!", 100, "GREEN"); // Positive effect (+100)
 		card2 = new GreenCard("You paid a fine", 50, "GREEN"); // Negative effect (-50)
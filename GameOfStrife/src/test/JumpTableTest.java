@@ -0,0 +1,146 @@
+package test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import game.AutoDecisions;
+import game.CompiledBoard;
+import game.GameEngine;
+import game.GameRandom;
+import game.JumpTable;
+import game.Tile;
+import static test.TestGames.*;
+import junit.framework.TestCase;
+
+/**
+ * Unit tests for the JumpTable class, which moves players over runs without
+ * choices in one go.
+ */
+public class JumpTableTest extends TestCase {
+
+	/**
+	 * Walks a number of steps one tile at a time, as a reference for the jumps.
+	 */
+	private static int walk(CompiledBoard board, int index, int steps) {
+		for (int i = 0; i < steps; i++) {
+			index = board.getNext(index, 0);
+		}
+		return index;
+	}
+
+	/**
+	 * Checks every jump and every target from every tile against walking step by
+	 * step.
+	 */
+	private static void checkAllJumps(CompiledBoard board) {
+		JumpTable table = board.getJumpTable();
+		for (int from = 0; from < board.size(); from++) {
+			int forced = table.getForcedSteps(from);
+			for (int steps = 0; steps <= forced; steps++) {
+				int landing = walk(board, from, steps);
+				assertEquals(landing, table.jump(from, steps));
+				if (steps > 0 && table.stepsTo(from, landing, forced) != steps) {
+					fail("Target " + landing + " should be " + steps + " steps from " + from);
+				}
+			}
+			if (forced >= 0) {
+				int end = walk(board, from, forced);
+				assertTrue("A run should end on a branch point or dead end", board.getNextCount(end) != 1);
+			}
+		}
+	}
+
+	/**
+	 * Tests all jumps on the standard board.
+	 */
+	public void testJumpsOnBoard() {
+		checkAllJumps(loadBoard().getCompiledBoard());
+	}
+
+	/**
+	 * Tests jumps on runs that merge, end in a dead end or loop forever.
+	 */
+	public void testMergesDeadEndsAndLoops() {
+		List<Tile> tiles = new ArrayList<>();
+		for (int id = 0; id < 40; id++) {
+			tiles.add(new Tile(id, "green", 0, 0, 10, 10, false));
+		}
+		// A long run 0 -> 19 ending in a dead end
+		for (int id = 0; id < 19; id++) {
+			tiles.get(id).addNextTile(tiles.get(id + 1));
+		}
+		// Two side runs 20 -> 24 and 25 -> 27 that merge into the long run
+		for (int id = 20; id < 24; id++) {
+			tiles.get(id).addNextTile(tiles.get(id + 1));
+		}
+		tiles.get(24).addNextTile(tiles.get(10));
+		tiles.get(25).addNextTile(tiles.get(26));
+		tiles.get(26).addNextTile(tiles.get(27));
+		tiles.get(27).addNextTile(tiles.get(5));
+		// A branch point 28 into the long run and a side run
+		tiles.get(28).addNextTile(tiles.get(0));
+		tiles.get(28).addNextTile(tiles.get(20));
+		// A loop 30 -> 34 -> 30 with a tail 35 -> 36 -> 30
+		for (int id = 30; id < 34; id++) {
+			tiles.get(id).addNextTile(tiles.get(id + 1));
+		}
+		tiles.get(34).addNextTile(tiles.get(30));
+		tiles.get(35).addNextTile(tiles.get(36));
+		tiles.get(36).addNextTile(tiles.get(30));
+
+		CompiledBoard board = new CompiledBoard(tiles);
+		JumpTable table = board.getJumpTable();
+		checkAllJumps(board);
+
+		assertEquals(19, table.getForcedSteps(0));
+		assertEquals(0, table.getForcedSteps(19));
+		assertEquals(0, table.getForcedSteps(28));
+		assertEquals(-1, table.getForcedSteps(32));
+		assertEquals(-1, table.getForcedSteps(35));
+		// Tile 24 merges into the long run, tile 7 is not on its way
+		assertEquals(-1, table.stepsTo(20, 7, table.getForcedSteps(20)));
+		assertEquals(5, table.stepsTo(20, 10, table.getForcedSteps(20)));
+		assertEquals(-1, table.stepsTo(20, 10, 4));
+	}
+
+	/**
+	 * Tests that games where players jump over runs play out exactly the same as
+	 * games where players move one tile at a time, also with a very large die.
+	 */
+	public void testSameGameAsStepByStep() {
+		for (int faces : new int[] { 6, 60 }) {
+			for (long seed = 1; seed <= 5; seed++) {
+				GameEngine jumping = newGame(faces, seed, false);
+				GameEngine stepping = newGame(faces, seed, true);
+				jumping.playGame(MAX_TURNS);
+				stepping.playGame(MAX_TURNS);
+
+				assertEquals(stepping.getTurnsPlayed(), jumping.getTurnsPlayed());
+				for (int i = 0; i < stepping.getNumberOfPlayers(); i++) {
+					assertEquals(stepping.getPlayers().get(i).getCurrentTile().getID(),
+							jumping.getPlayers().get(i).getCurrentTile().getID());
+					assertEquals(stepping.getPlayers().get(i).getResources(),
+							jumping.getPlayers().get(i).getResources());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Creates a seeded game, where the players either use the compiled board or
+	 * move one tile at a time.
+	 */
+	private static GameEngine newGame(int faces, long seed, boolean stepByStep) {
+		GameRandom random = new GameRandom(seed);
+		if (!stepByStep) {
+			return TestGames.newGame(3, faces, 3, random);
+		}
+		return new GameEngine(loadBoard(), loadCardDecks(), faces, 3, playerInfo(3),
+				new AutoDecisions(random.split()), random) {
+			@Override
+			public CompiledBoard getCompiledBoard() {
+				return null;
+			}
+		};
+	}
+}
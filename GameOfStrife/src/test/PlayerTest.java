@@ -74,6 +74,26 @@ public class PlayerTest extends TestCase {
 		assertEquals(300, player.getResources());
 	}
 
+	/**
+	 * Tests that only going from positive resources to below 0 counts as a
+	 * bankruptcy, not a penalty while the player has nothing left.
+	 */
+	public void testBankruptcies() {
+		player.adjustResources(-INITIAL_RESOURCES);
+		assertEquals(0, player.getResources());
+		assertEquals(0, player.getBankruptcies());
+
+		player.adjustResources(-100);
+		assertEquals(0, player.getBankruptcies());
+
+		player.adjustResources(30);
+		player.adjustResources(-100);
+		assertEquals(0, player.getResources());
+		assertEquals(1, player.getBankruptcies());
+		player.adjustResources(-100);
+		assertEquals(1, player.getBankruptcies());
+	}
+
 	/**
 	 * Confirms getPaid() increases resources by current income.
 	 */
@@ -206,5 +226,10 @@ public class PlayerTest extends TestCase {
 		public void showEndOfGamePopup() {
 			// no-op
 		}
+
+		@Override
+		public void showMessage(String message) {
+			// no-op
+		}
 	}
 }
@@ -1,10 +1,14 @@
 package test;
 
+import game.AutoDecisions;
+import game.Board;
+import game.CardDecks;
+import game.GameEngine;
+import game.Player;
 import game.RedCard;
 import game.Tile;
 import static game.SymbolicConstants.*;
 import junit.framework.TestCase;
-import gui.GameOfStrife;
 
 public class RedCardTest extends TestCase {
 	private RedCard selfMoneyCard;
@@ -14,7 +18,7 @@ public class RedCardTest extends TestCase {
 	private RedCard skipTurnCard;
 	private RedCard moveToStartCard;
 	private RedCard rollAgainCard;
-	private GameOfStrife game;
+	private GameEngine game;
 
 	/**
 	 * Setup the game, which is needed for the card function to work
@@ -22,7 +26,11 @@ public class RedCardTest extends TestCase {
 	public void setUp() throws Exception {
 		String[][] testPlayerInfo = { { "Test Player 1", "netherlands" }, { "Test Player 2", "morocco" },
 				{ "Test Player 3", "friesland" }, { "Test Player 4", "hungary" } };
-		game = new GameOfStrife(4, 6, 4, testPlayerInfo);
+		Board board = new Board();
+		board.loadPathFromJson(JSON_PATH_BOARD);
+		CardDecks cardDecks = new CardDecks();
+		cardDecks.loadCardDeckFromJson(JSON_PATH_CARDS);
+		game = new GameEngine(board, cardDecks, 6, 4, testPlayerInfo, new AutoDecisions());
 
 		selfMoneyCard = new RedCard("Self money change", VALUE_SELF_MONEY, TYPE_RED, METHOD_SELF_MONEY, 0);
 		otherMoneyCard = new RedCard("Other money change", VALUE_OTHER_MONEY, TYPE_RED, METHOD_OTHER_MONEY, 0);
@@ -69,7 +77,7 @@ public class RedCardTest extends TestCase {
 		int initialIncome = game.getCurrentPlayer().getIncome();
 		incomeChangeCard.executeCard(game);
 		assertEquals(initialIncome + VALUE_INCOME_CHANGE, game.getCurrentPlayer().getIncome());
-		assertEquals(1, game.getActiveCardsList().size());
+		assertEquals(1, game.getEffectScheduler().size());
 	}
 
 	/**
@@ -78,7 +86,7 @@ public class RedCardTest extends TestCase {
 	public void testDieChange() {
 		dieChangeCard.executeCard(game);
 		assertEquals(10, game.getDie().getNumFaces());
-		assertEquals(1, game.getActiveCardsList().size());
+		assertEquals(1, game.getEffectScheduler().size());
 	}
 
 	/**
@@ -111,13 +119,30 @@ public class RedCardTest extends TestCase {
 		assertEquals(initialTurn, game.getCurrentPlayerTurn());
 	}
 
+	/**
+	 * Tests that rewinding the turn for a roll again takes back the income without
+	 * counting a bankruptcy, also when the player has less than their income, and
+	 * that the income is paid again.
+	 */
+	public void testRollAgainIsNoBankruptcy() {
+		Player player = game.getCurrentPlayer();
+		player.setResources(10);
+		rollAgainCard.executeCard(game);
+		game.nextTurn();
+		assertSame(player, game.getCurrentPlayer());
+		assertEquals(player.getIncome(), player.getResources());
+		for (Player other : game.getPlayers()) {
+			assertEquals(0, other.getBankruptcies());
+		}
+	}
+
 	/**
 	 * test if removing the income effect works correctly
 	 */
 	public void testRemoveIncomeEffect() {
 		int initialIncome = game.getCurrentPlayer().getIncome();
 		incomeChangeCard.executeCard(game);
-		incomeChangeCard.removeEffect(game, null);
+		incomeChangeCard.removeEffect(game, game.getEffectScheduler().getActiveEffects().get(0));
 		assertEquals(initialIncome, game.getCurrentPlayer().getIncome());
 	}
 
@@ -130,17 +155,17 @@ public class RedCardTest extends TestCase {
 
 		dieChangeCard.executeCard(game);
 		assertEquals(10, game.getDie().getNumFaces());
-		assertEquals(1, game.getActiveCardsList().size());
+		assertEquals(1, game.getEffectScheduler().size());
 
 		for (int i = 0; i < expectedDuration - 1; i++) {
 			game.nextTurn();
 			assertEquals(10, game.getDie().getNumFaces());
-			assertEquals(1, game.getActiveCardsList().size());
+			assertEquals(1, game.getEffectScheduler().size());
 		}
 
 		game.nextTurn();
 		assertEquals(originalFaces, game.getDie().getNumFaces());
-		assertEquals(0, game.getActiveCardsList().size());
+		assertEquals(0, game.getEffectScheduler().size());
 	}
 
 	/**
@@ -153,17 +178,48 @@ public class RedCardTest extends TestCase {
 
 		incomeChangeCard.executeCard(game);
 		assertEquals(originalIncome + VALUE_INCOME_CHANGE, game.getCurrentPlayer().getIncome());
-		assertEquals(1, game.getActiveCardsList().size());
+		assertEquals(1, game.getEffectScheduler().size());
 
 		for (int i = 0; i < expectedDuration - 1; i++) {
 			game.nextTurn();
 			assertEquals(originalIncome + VALUE_INCOME_CHANGE, game.getPlayers().get(0).getIncome());
-			assertEquals(1, game.getActiveCardsList().size());
+			assertEquals(1, game.getEffectScheduler().size());
 		}
 
 		game.nextTurn();
 		assertEquals(originalIncome, game.getCurrentPlayer().getIncome());
-		assertEquals(0, game.getActiveCardsList().size());
+		assertEquals(0, game.getEffectScheduler().size());
+	}
+
+	/**
+	 * test if an income effect is removed from the player that drew the card, not
+	 * from whoever's turn it is when the effect is removed
+	 */
+	public void testIncomeEffectRemovedFromOwner() {
+		Player owner = game.getCurrentPlayer();
+		int ownerIncome = owner.getIncome();
+		incomeChangeCard.executeCard(game);
+
+		game.nextTurn();
+		Player other = game.getCurrentPlayer();
+		int otherIncome = other.getIncome();
+		assertNotSame(owner, other);
+
+		incomeChangeCard.removeEffect(game, game.getEffectScheduler().getActiveEffects().get(0));
+		assertEquals(ownerIncome, owner.getIncome());
+		assertEquals(otherIncome, other.getIncome());
+	}
+
+	/**
+	 * test if a red card with an unknown method type fails when it is created
+	 */
+	public void testUnknownMethodTypeFailsAtLoad() {
+		try {
+			new RedCard("Unknown", 0, TYPE_RED, "flyToTheMoon", 0);
+			fail("An unknown method type should be rejected");
+		} catch (IllegalArgumentException expected) {
+			// expected
+		}
 	}
 
 	/**
@@ -0,0 +1,101 @@
+package test;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+
+import gui.AssetCache;
+import gui.SpriteAtlas;
+import junit.framework.TestCase;
+
+/**
+ * Unit tests for the SpriteAtlas class, which keeps images scaled to the sizes
+ * they are drawn at on one sheet.
+ */
+public class SpriteAtlasTest extends TestCase {
+	private static final String STAR = "./data/star.png";
+	private static final String ICON = "./data/icon.png";
+
+	/**
+	 * Tests that a sprite is drawn pixel for pixel like the scaled image.
+	 */
+	public void testDrawCopiesScaledImage() throws IOException {
+		SpriteAtlas atlas = new SpriteAtlas(new String[] { STAR, ICON }, new int[][] { { 40, 12 }, { 25 } });
+		assertEquals(3, atlas.size());
+
+		BufferedImage scaled = AssetCache.getScaledImage(ICON, 25, 25);
+		BufferedImage canvas = new BufferedImage(50, 50, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g = canvas.createGraphics();
+		assertTrue(atlas.draw(g, 1, 25, 10, 5));
+		g.dispose();
+		for (int x = 0; x < 25; x++) {
+			for (int y = 0; y < 25; y++) {
+				assertEquals(scaled.getRGB(x, y), canvas.getRGB(10 + x, 5 + y));
+			}
+		}
+		assertEquals(0, canvas.getRGB(9, 5));
+		assertEquals(0, canvas.getRGB(35, 30));
+	}
+
+	/**
+	 * Tests that only the sizes that were asked for are in the atlas, and that
+	 * missing images and empty sizes are left out.
+	 */
+	public void testMissingSprites() {
+		SpriteAtlas atlas = new SpriteAtlas(new String[] { STAR, null, "./data/doesNotExist.png" },
+				new int[][] { { 20, 20, 0 }, { 20 }, { 20 } });
+		assertEquals(1, atlas.size());
+		assertTrue(atlas.contains(0, 20));
+		assertFalse(atlas.contains(0, 21));
+		assertFalse(atlas.contains(0, 0));
+		assertFalse(atlas.contains(1, 20));
+		assertFalse(atlas.contains(2, 20));
+		assertFalse(atlas.contains(3, 20));
+
+		BufferedImage canvas = new BufferedImage(10, 10, BufferedImage.TYPE_INT_ARGB);
+		assertFalse(atlas.draw(canvas.createGraphics(), 1, 20, 0, 0));
+
+		SpriteAtlas empty = new SpriteAtlas(new String[] { null }, new int[][] { {} });
+		assertEquals(0, empty.size());
+		assertNull(empty.getSheet());
+	}
+
+	/**
+	 * Tests that the sprites do not overlap on the sheet and the sheet is not much
+	 * larger than the sprites together.
+	 */
+	public void testPacking() throws IOException {
+		int[] sizes = new int[30];
+		long area = 0;
+		for (int i = 0; i < sizes.length; i++) {
+			sizes[i] = 5 + i * 3;
+			area += 2L * sizes[i] * sizes[i];
+		}
+		SpriteAtlas atlas = new SpriteAtlas(new String[] { STAR, ICON }, new int[][] { sizes, sizes });
+		assertEquals(60, atlas.size());
+		BufferedImage sheet = atlas.getSheet();
+		assertTrue("Sheet of " + sheet.getWidth() + "x" + sheet.getHeight(),
+				(long) sheet.getWidth() * sheet.getHeight() < area * 2);
+
+		// Every sprite drawn on its own canvas matches its scaled image, so no
+		// sprite was drawn over another one
+		for (int image = 0; image < 2; image++) {
+			for (int size : sizes) {
+				BufferedImage canvas = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+				Graphics2D g = canvas.createGraphics();
+				atlas.draw(g, image, size, 0, 0);
+				g.dispose();
+				assertSameImage(image == 0 ? STAR : ICON, size, canvas);
+			}
+		}
+	}
+
+	private void assertSameImage(String path, int size, BufferedImage canvas) throws IOException {
+		BufferedImage scaled = AssetCache.getScaledImage(path, size, size);
+		for (int x = 0; x < size; x++) {
+			for (int y = 0; y < size; y++) {
+				assertEquals(path + " at " + size, scaled.getRGB(x, y), canvas.getRGB(x, y));
+			}
+		}
+	}
+}
@@ -0,0 +1,73 @@
+package test;
+
+import game.Board;
+import game.CardDecks;
+import gui.AssetCache;
+import gui.StartupPipeline;
+import junit.framework.TestCase;
+
+/**
+ * Unit tests for the StartupPipeline class, which loads the files of a game in
+ * the background.
+ */
+public class StartupPipelineTest extends TestCase {
+
+	/**
+	 * Tests that the pipeline loads the board, the cards and every image, and
+	 * reports the time of every phase.
+	 */
+	public void testLoadsEverything() {
+		AssetCache.clear();
+		StartupPipeline startup = new StartupPipeline("./data/path1.json", "./data/cards1.json");
+
+		Board board = startup.getBoard();
+		assertEquals(86, board.getAllTiles().size());
+		assertNotNull(board.getStartingTile());
+
+		CardDecks cardDecks = startup.getCardDecks();
+		assertNotNull(cardDecks.getCatalog());
+		assertTrue(cardDecks.getCatalog().size() > 0);
+
+		startup.awaitImages();
+		// The background, the star, the window icon and eight flags
+		assertEquals(11, AssetCache.size());
+
+		String report = startup.getReport();
+		for (String phase : new String[] { "load board", "load cards", "load images", "wait for board",
+				"wait for cards", "wait for images", "total" }) {
+			assertTrue(report, report.contains(phase));
+		}
+	}
+
+	/**
+	 * Tests that every pipeline loads its own board, so games started in separate
+	 * windows or processes never share a board. A restart in the same window
+	 * reuses its board on purpose and does not go through a new pipeline.
+	 */
+	public void testEveryGameGetsItsOwnBoard() {
+		Board first = new StartupPipeline("./data/path1.json", "./data/cards1.json").getBoard();
+		Board second = new StartupPipeline("./data/path1.json", "./data/cards1.json").getBoard();
+		assertNotSame(first, second);
+		assertEquals(first.getAllTiles().size(), second.getAllTiles().size());
+	}
+
+	/**
+	 * Tests that a file that cannot be loaded fails its task instead of showing a
+	 * dialog on a background thread, and is thrown when the task is joined.
+	 */
+	public void testLoadErrorIsThrownWhenJoined() {
+		StartupPipeline startup = new StartupPipeline("./data/doesNotExist.json", "./data/path1.json");
+		try {
+			startup.getBoard();
+			fail("A missing board file must fail");
+		} catch (StartupPipeline.LoadException e) {
+			assertEquals("You don't have the correct path JSON file", e.getMessage());
+		}
+		try {
+			startup.getCardDecks();
+			fail("A board file is not a card file");
+		} catch (StartupPipeline.LoadException e) {
+			assertTrue(e.getMessage(), e.getMessage().contains("Cards JSON file"));
+		}
+	}
+}
@@ -0,0 +1,72 @@
+package test;
+
+import java.util.Arrays;
+
+import game.AutoDecisions;
+import game.Board;
+import game.CardDecks;
+import game.GameEngine;
+import game.GameRandom;
+import static game.SymbolicConstants.*;
+
+/**
+ * TestGames holds the players and files that the tests of headless games share,
+ * so every test class only sets up the game it needs.
+ */
+public final class TestGames {
+	// Games that take longer than this are stopped without a winner
+	public static final int MAX_TURNS = 100000;
+
+	private static final String[][] PLAYER_INFO = { { "Test Player 1", "netherlands" },
+			{ "Test Player 2", "morocco" }, { "Test Player 3", "friesland" }, { "Test Player 4", "hungary" } };
+
+	private TestGames() {
+	}
+
+	/**
+	 * Returns the names and countries of the first players of the test players.
+	 *
+	 * @param players the number of players, at most 4
+	 * @return a new array with a name and country for every player
+	 */
+	public static String[][] playerInfo(int players) {
+		String[][] playerInfo = new String[players][];
+		for (int i = 0; i < players; i++) {
+			playerInfo[i] = Arrays.copyOf(PLAYER_INFO[i], 2);
+		}
+		return playerInfo;
+	}
+
+	/**
+	 * @return the standard board, freshly loaded
+	 */
+	public static Board loadBoard() {
+		Board board = new Board();
+		board.loadPathFromJson(JSON_PATH_BOARD);
+		return board;
+	}
+
+	/**
+	 * @return the standard card decks, freshly loaded
+	 */
+	public static CardDecks loadCardDecks() {
+		CardDecks cardDecks = new CardDecks();
+		cardDecks.loadCardDeckFromJson(JSON_PATH_CARDS);
+		return cardDecks;
+	}
+
+	/**
+	 * Creates a headless game on the standard board and decks, where every choice
+	 * is made by AutoDecisions from the given random source.
+	 *
+	 * @param players   the number of players, at most 4
+	 * @param dieFaces  the number of faces of the die
+	 * @param winPoints the number of victory points needed to win
+	 * @param random    the random source of the game
+	 * @return the new game
+	 */
+	public static GameEngine newGame(int players, int dieFaces, int winPoints, GameRandom random) {
+		return new GameEngine(loadBoard(), loadCardDecks(), dieFaces, winPoints, playerInfo(players),
+				new AutoDecisions(random.split()), random);
+	}
+}
@@ -0,0 +1,124 @@
+package test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import game.BoardGenerator;
+import game.CompiledBoard;
+import game.TileGrid;
+import junit.framework.TestCase;
+
+/**
+ * Unit tests for the TileGrid class, which finds the tiles in an area of the
+ * board without looking at every tile.
+ */
+public class TileGridTest extends TestCase {
+	private int[] x;
+	private int[] y;
+	private int[] width;
+	private int[] height;
+
+	/**
+	 * Copies the tiles of a compiled board into the arrays of the grid.
+	 */
+	private TileGrid gridOf(CompiledBoard board) {
+		int size = board.size();
+		x = new int[size];
+		y = new int[size];
+		width = new int[size];
+		height = new int[size];
+		for (int i = 0; i < size; i++) {
+			x[i] = board.getTile(i).getX();
+			y[i] = board.getTile(i).getY();
+			width[i] = board.getTile(i).getWidth();
+			height[i] = board.getTile(i).getHeight();
+		}
+		return new TileGrid(x, y, width, height);
+	}
+
+	/**
+	 * Finds the tiles in an area by looking at every tile.
+	 */
+	private int[] bruteForce(int areaX, int areaY, int areaWidth, int areaHeight) {
+		return IntStream.range(0, x.length)
+				.filter(i -> x[i] < areaX + areaWidth && areaX < x[i] + Math.max(1, width[i])
+						&& y[i] < areaY + areaHeight && areaY < y[i] + Math.max(1, height[i]))
+				.toArray();
+	}
+
+	/**
+	 * Tests that a search finds the same tiles as looking at every tile, in the
+	 * order of the board.
+	 */
+	public void testQueryMatchesEveryTile() {
+		BoardGenerator generator = new BoardGenerator(5000, 3);
+		generator.setLayout(70, 20);
+		TileGrid grid = gridOf(generator.generate());
+		int[] result = new int[grid.size()];
+
+		Random random = new Random(5);
+		for (int n = 0; n < 200; n++) {
+			int areaX = random.nextInt(1600) - 100;
+			int areaY = random.nextInt(1600) - 100;
+			int areaWidth = random.nextInt(300) + 1;
+			int areaHeight = random.nextInt(300) + 1;
+			int count = grid.query(areaX, areaY, areaWidth, areaHeight, result);
+			assertTrue(Arrays.equals(bruteForce(areaX, areaY, areaWidth, areaHeight), Arrays.copyOf(result, count)));
+		}
+
+		assertEquals(grid.size(), grid.query(-10, -10, 100000, 100000, result));
+		assertEquals(grid.size() - 1, result[grid.size() - 1]);
+		assertEquals(0, grid.query(-500, -500, 100, 100, result));
+		assertEquals(0, grid.query(10, 10, 0, 100, result));
+		assertEquals(3, grid.query(0, 0, 1400, 1400, new int[3]));
+	}
+
+	/**
+	 * Tests that the tile at a point is found, and that the tile drawn last wins
+	 * where tiles overlap.
+	 */
+	public void testTileAt() {
+		x = new int[] { 0, 50, 40, 500, 0 };
+		y = new int[] { 0, 0, 10, 500, 0 };
+		width = new int[] { 50, 50, 20, 10, 1000 };
+		height = new int[] { 50, 50, 20, 10, 2 };
+		TileGrid grid = new TileGrid(x, y, width, height);
+
+		assertEquals(0, grid.tileAt(10, 10));
+		assertEquals(1, grid.tileAt(70, 40));
+		assertEquals(2, grid.tileAt(45, 15));
+		assertEquals(2, grid.tileAt(55, 29));
+		assertEquals(3, grid.tileAt(505, 505));
+		assertEquals(4, grid.tileAt(900, 1));
+		assertEquals(4, grid.tileAt(10, 0));
+		assertEquals(-1, grid.tileAt(300, 300));
+		assertEquals(-1, grid.tileAt(-1, 10));
+		assertEquals(-1, grid.tileAt(510, 510));
+
+		int[] result = new int[5];
+		assertEquals(4, grid.query(45, 1, 10, 10, result));
+		assertTrue(Arrays.equals(new int[] { 0, 1, 2, 4 }, Arrays.copyOf(result, 4)));
+	}
+
+	/**
+	 * Tests that a board with a lot of empty space between its tiles gets larger
+	 * cells instead of running out of memory, and still finds every tile.
+	 */
+	public void testSparseBoard() {
+		x = new int[] { 0, 10000000, 0, 10000000 };
+		y = new int[] { 0, 0, 10000000, 10000000 };
+		width = new int[] { 10, 10, 10, 10 };
+		height = new int[] { 10, 10, 10, 10 };
+		TileGrid grid = new TileGrid(x, y, width, height);
+		assertTrue(grid.getCellSize() > 1000);
+		assertEquals(3, grid.tileAt(10000005, 10000005));
+		int[] result = new int[4];
+		assertEquals(1, grid.query(9999990, -5, 100, 100, result));
+		assertEquals(1, result[0]);
+
+		TileGrid empty = new TileGrid(new int[0], new int[0], new int[0], new int[0]);
+		assertEquals(-1, empty.tileAt(0, 0));
+		assertEquals(0, empty.query(0, 0, 10, 10, result));
+	}
+}
@@ -0,0 +1,59 @@
+package test;
+
+import game.Tournament;
+import game.TournamentResult;
+import static game.SymbolicConstants.*;
+import junit.framework.TestCase;
+
+/**
+ * Unit tests for the Tournament class, which plays many headless games in
+ * parallel.
+ */
+public class TournamentTest extends TestCase {
+	private static final int GAMES = 200;
+	private static final int PLAYERS = 3;
+
+	/**
+	 * Tests that every game is played exactly once and that the statistics add up.
+	 */
+	public void testRun() {
+		Tournament tournament = new Tournament(JSON_PATH_BOARD, JSON_PATH_CARDS, PLAYERS, 6, 1);
+		TournamentResult result = tournament.run(GAMES, 4);
+
+		assertEquals(GAMES, result.getGamesPlayed());
+		assertEquals(GAMES, result.getGamesWon());
+
+		long seatWins = 0;
+		for (int seat = 0; seat < PLAYERS; seat++) {
+			seatWins += result.getSeatWins(seat);
+		}
+		assertEquals(result.getGamesWon(), seatWins);
+		assertTrue(result.getAverageTurnsToWin() > 0);
+		assertTrue(result.getBankruptcyFrequency() >= 0 && result.getBankruptcyFrequency() <= 1);
+	}
+
+	/**
+	 * Tests that the result is the same on one thread as on several threads.
+	 */
+	public void testRunSingleThread() {
+		Tournament tournament = new Tournament(JSON_PATH_BOARD, JSON_PATH_CARDS, PLAYERS, 6, 1);
+		TournamentResult result = tournament.run(GAMES / 4, 1);
+		assertEquals(GAMES / 4, result.getGamesPlayed());
+	}
+
+	/**
+	 * Tests that a tournament with a fixed seed gives the same results on one
+	 * thread as on several threads.
+	 */
+	public void testSameSeedSameResult() {
+		Tournament tournament = new Tournament(JSON_PATH_BOARD, JSON_PATH_CARDS, PLAYERS, 6, 1, 42L);
+		TournamentResult single = tournament.run(GAMES, 1);
+		TournamentResult parallel = tournament.run(GAMES, 4);
+
+		assertEquals(single.getAverageTurnsToWin(), parallel.getAverageTurnsToWin());
+		assertEquals(single.getBankruptcyFrequency(), parallel.getBankruptcyFrequency());
+		for (int seat = 0; seat < PLAYERS; seat++) {
+			assertEquals(single.getSeatWins(seat), parallel.getSeatWins(seat));
+		}
+	}
+}
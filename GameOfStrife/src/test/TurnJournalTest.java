@@ -0,0 +1,140 @@
+package test;
+
+import java.io.File;
+import java.io.IOException;
+
+import game.AutoDecisions;
+import game.Board;
+import game.GameEngine;
+import game.GameRandom;
+import game.TurnJournal;
+import static game.SymbolicConstants.*;
+import static test.TestGames.*;
+import junit.framework.TestCase;
+
+/**
+ * Unit tests for the TurnJournal class, which records the decisions of a game
+ * so it can be recovered after a crash.
+ */
+public class TurnJournalTest extends TestCase {
+	private File file;
+	private Board board;
+
+	/**
+	 * Creates a temporary journal file and loads the board before each test.
+	 */
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		file = File.createTempFile("game", ".journal");
+		board = loadBoard();
+	}
+
+	/**
+	 * Deletes the journal file after each test.
+	 */
+	@Override
+	protected void tearDown() throws Exception {
+		file.delete();
+		super.tearDown();
+	}
+
+	/**
+	 * Starts a journaled game with a fixed seed.
+	 */
+	private GameEngine startGame(TurnJournal journal) throws IOException {
+		GameEngine game = new GameEngine(board, loadCardDecks(), 6, 5, playerInfo(4), journal, new GameRandom(11));
+		journal.start(game);
+		return game;
+	}
+
+	/**
+	 * Tests that a game recovered from the journal is exactly where the original
+	 * game was, and that it keeps recording.
+	 */
+	public void testRecover() throws IOException {
+		TurnJournal journal = new TurnJournal(file.getPath(), new AutoDecisions(new GameRandom(1)));
+		GameEngine game = startGame(journal);
+		int headerSize = journal.size();
+		for (int i = 0; i < 60 && !game.isGameOver(); i++) {
+			game.playTurn();
+		}
+		assertTrue(TurnJournal.canRecover(file.getPath()));
+		// A turn is a handful of records of a few bytes each
+		assertTrue("Journal of " + journal.size() + " bytes",
+				journal.size() - headerSize < 60 * 16);
+
+		// The journal is never closed, as if the game crashed
+		TurnJournal recovering = new TurnJournal(file.getPath(), new AutoDecisions(new GameRandom(2)));
+		GameEngine recovered = recovering.recover(board, loadCardDecks());
+		assertEquals(game.snapshot(), recovered.snapshot());
+
+		// The recovered game goes on recording, so it can be recovered again
+		for (int i = 0; i < 20 && !recovered.isGameOver(); i++) {
+			recovered.playTurn();
+		}
+		GameEngine again = new TurnJournal(file.getPath(), new AutoDecisions()).recover(board, loadCardDecks());
+		assertEquals(recovered.snapshot(), again.snapshot());
+		recovering.close();
+	}
+
+	/**
+	 * Tests that the records of an interrupted turn are dropped, so the game is
+	 * recovered at the end of the last complete turn.
+	 */
+	public void testInterruptedTurnIsDropped() throws IOException {
+		TurnJournal journal = new TurnJournal(file.getPath(), new AutoDecisions(new GameRandom(1)));
+		GameEngine game = startGame(journal);
+		for (int i = 0; i < 10; i++) {
+			game.playTurn();
+		}
+		int turnEnd = journal.size();
+		journal.dieRolled(4);
+		journal.buyVictoryPoint(game.getCurrentPlayer());
+
+		TurnJournal recovering = new TurnJournal(file.getPath(), new AutoDecisions(new GameRandom(2)));
+		GameEngine recovered = recovering.recover(board, loadCardDecks());
+		assertEquals(game.snapshot(), recovered.snapshot());
+		assertEquals(turnEnd, recovering.size());
+		recovering.close();
+	}
+
+	/**
+	 * Tests that a finished game cannot be recovered, and neither can a missing or
+	 * damaged journal.
+	 */
+	public void testCanRecover() throws IOException {
+		TurnJournal journal = new TurnJournal(file.getPath(), new AutoDecisions(new GameRandom(1)));
+		GameEngine game = startGame(journal);
+		game.playGame(MAX_TURNS);
+		assertTrue(game.isGameOver());
+		journal.close();
+		assertFalse(TurnJournal.canRecover(file.getPath()));
+
+		journal.delete();
+		assertFalse(file.exists());
+		assertFalse(TurnJournal.canRecover(file.getPath()));
+		assertFalse(TurnJournal.canRecover(JSON_PATH_CARDS));
+	}
+
+	/**
+	 * Tests that a journal that does not belong to the game is rejected.
+	 */
+	public void testOtherGameIsRejected() throws IOException {
+		try {
+			new TurnJournal(JSON_PATH_CARDS, new AutoDecisions()).recover(board, loadCardDecks());
+			fail("Expected an exception for a file that is not a journal");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+
+		TurnJournal journal = new TurnJournal(file.getPath(), new AutoDecisions());
+		GameEngine game = new GameEngine(board, loadCardDecks(), 6, 5, playerInfo(4), new AutoDecisions());
+		try {
+			journal.start(game);
+			fail("Expected an exception for a game that does not use the journal");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+}